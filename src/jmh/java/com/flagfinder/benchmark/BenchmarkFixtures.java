@@ -0,0 +1,122 @@
+package com.flagfinder.benchmark;
+
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.model.Country;
+import com.flagfinder.model.Game;
+import com.flagfinder.model.Guess;
+import com.flagfinder.model.Room;
+import com.flagfinder.model.Round;
+import com.flagfinder.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Builds detached entity graphs shaped like the ones the game services work on.
+ */
+final class BenchmarkFixtures {
+
+    /**
+     * Size of a typical SVG flag in the countries table.
+     */
+    static final int FLAG_BYTES = 16 * 1024;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a user with an ID, game name and email.
+     *
+     * @param index used to make the names unique
+     * @return the user
+     */
+    static User user(int index) {
+        User user = User.builder()
+                .gameName("player" + index)
+                .email("player" + index + "@flagfinder.local")
+                .password("password")
+                .enabled(true)
+                .build();
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+
+    /**
+     * Creates a country, optionally with flag bytes.
+     *
+     * @param index used to make the name unique
+     * @param withFlag whether to attach flag bytes
+     * @return the country
+     */
+    static Country country(int index, boolean withFlag) {
+        Country country = new Country();
+        country.setId(UUID.randomUUID());
+        country.setNameOfCounty("Country " + index);
+        country.setCca2("C" + index);
+        if (withFlag) {
+            byte[] flag = new byte[FLAG_BYTES];
+            new Random(index).nextBytes(flag);
+            country.setFlagImage(flag);
+        }
+        return country;
+    }
+
+    /**
+     * Creates an in-progress game with played rounds, where every player has guessed in every round.
+     *
+     * @param players the number of players
+     * @param rounds the number of rounds already started
+     * @param withFlags whether round countries carry flag bytes
+     * @return the game
+     */
+    static Game game(int players, int rounds, boolean withFlags) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            users.add(user(i));
+        }
+
+        Room room = new Room();
+        room.setId(UUID.randomUUID());
+        room.setHost(users.get(0));
+        room.setGuest(users.get(1));
+
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setRoom(room);
+        game.setUsers(users);
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setStartedAt(LocalDateTime.now());
+        game.setTotalRounds(rounds);
+        game.setHostScore(0);
+        game.setGuestScore(0);
+        for (User user : users) {
+            game.getScores().put(user.getId(), 0);
+        }
+
+        List<Round> gameRounds = new ArrayList<>();
+        for (int r = 1; r <= rounds; r++) {
+            Country country = country(r, withFlags);
+            Round round = new Round();
+            round.setId(UUID.randomUUID());
+            round.setGame(game);
+            round.setCountry(country);
+            round.setRoundNumber(r);
+            for (User user : users) {
+                Guess guess = new Guess();
+                guess.setId(UUID.randomUUID());
+                guess.setRound(round);
+                guess.setUser(user);
+                guess.setGuessedCountry(country);
+                guess.setCorrect(true);
+                round.getGuesses().add(guess);
+                game.getScores().merge(user.getId(), 1, Integer::sum);
+            }
+            gameRounds.add(round);
+        }
+        game.setRounds(gameRounds);
+        return game;
+    }
+}
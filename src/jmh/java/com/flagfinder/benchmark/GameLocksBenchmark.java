@@ -0,0 +1,104 @@
+package com.flagfinder.benchmark;
+
+import com.flagfinder.service.impl.GameLocks;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures guesses per second on the path a guess takes: the game's lock is taken on the request thread, then the
+ * guess does some CPU work and holds one of the pooled database connections for the length of its transaction.
+ * The transaction is simulated by parking the thread, since that is what a blocking JDBC call does to it.
+ * <p>
+ * {@code locks} runs the guess under {@link GameLocks} on the calling thread, as {@code GameController} does.
+ * {@code shards} dispatches the same guess to one single-threaded executor per core and waits for it, the way
+ * game work used to be partitioned; it can never keep more transactions open than there are cores, however
+ * large the connection pool is. {@code cores} sets the number of shards, so the shard numbers can be compared for
+ * machines larger than the one running the benchmark; it does not change the locks.
+ * Lock cost and contention with timeout batches are measured by {@link GameLocksContentionBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class GameLocksBenchmark {
+
+    private static final int ACTIVE_GAMES = 10_000;
+
+    /**
+     * CPU work of one guess, in JMH tokens; roughly the in-memory part of scoring it.
+     */
+    private static final long STEP_TOKENS = 5_000;
+
+    /**
+     * Time a guess transaction holds its connection, in microseconds.
+     */
+    private static final long TRANSACTION_MICROS = 2_000;
+
+    @Param({"locks", "shards"})
+    public String dispatch;
+
+    @Param({"8", "20"})
+    public int connections;
+
+    @Param({"1", "2", "4", "8"})
+    public int cores;
+
+    private GameLocks gameLocks;
+    private ExecutorService[] shards;
+    private Semaphore connectionPool;
+    private UUID[] gameIds;
+    private final AtomicInteger nextGame = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        gameLocks = new GameLocks(256);
+        shards = new ExecutorService[cores];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = Executors.newSingleThreadExecutor();
+        }
+        connectionPool = new Semaphore(connections, true);
+        gameIds = new UUID[ACTIVE_GAMES];
+        for (int i = 0; i < ACTIVE_GAMES; i++) {
+            gameIds[i] = UUID.randomUUID();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (ExecutorService shard : shards) {
+            shard.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public Integer guess() throws ExecutionException, InterruptedException {
+        UUID gameId = gameIds[Math.floorMod(nextGame.getAndIncrement(), ACTIVE_GAMES)];
+        if ("shards".equals(dispatch)) {
+            return shards[Math.floorMod(gameId.hashCode(), shards.length)].submit(() -> submitGuess(gameId)).get();
+        }
+        return gameLocks.call(gameId, () -> submitGuess(gameId));
+    }
+
+    private Integer submitGuess(UUID gameId) {
+        Blackhole.consumeCPU(STEP_TOKENS);
+        connectionPool.acquireUninterruptibly();
+        try {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(TRANSACTION_MICROS));
+        } finally {
+            connectionPool.release();
+        }
+        return gameLocks.stripeOf(gameId);
+    }
+}
@@ -0,0 +1,150 @@
+package com.flagfinder.benchmark;
+
+import com.flagfinder.service.impl.GameLocks;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures what {@link GameLocks} costs on its own and how much tick-mode timeout batches slow guesses down.
+ * <p>
+ * {@code lockedStep} and {@code unlockedStep} run the same tiny step with and without a game's lock on one thread,
+ * which is the price every guess pays when its game is not busy.
+ * <p>
+ * The {@code batches} group runs guesses next to one timer thread that ends {@code batchSize} rounds at a time
+ * under {@link GameLocks#runAll}, like {@code GameTimerServiceImpl} does. As there, a batch only holds games of one
+ * of its eight stripe groups, and holds their stripes for its whole transaction, so a guess on any game sharing one
+ * of those stripes waits for it.
+ * {@code batchSize} 1 is the same timer work without batching. Both sides share one connection pool and simulate
+ * their transactions by parking, as in {@link GameLocksBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLocksContentionBenchmark {
+
+    private static final int ACTIVE_GAMES = 10_000;
+    private static final int CONNECTIONS = 20;
+    private static final int STRIPES = 256;
+    private static final int BATCH_GROUPS = 8;
+
+    /**
+     * CPU work of one guess, in JMH tokens; roughly the in-memory part of scoring it.
+     */
+    private static final long STEP_TOKENS = 5_000;
+
+    /**
+     * Time a guess transaction holds its connection, in microseconds.
+     */
+    private static final long TRANSACTION_MICROS = 2_000;
+
+    /**
+     * Extra time a timeout batch holds its connection for every game it ends, in microseconds.
+     */
+    private static final long BATCH_MICROS_PER_GAME = 300;
+
+    @State(Scope.Benchmark)
+    public static class Uncontended {
+        final GameLocks gameLocks = new GameLocks(STRIPES);
+        final UUID gameId = UUID.randomUUID();
+    }
+
+    @State(Scope.Group)
+    public static class Batches {
+
+        @Param({"1", "16", "64", "256"})
+        public int batchSize;
+
+        GameLocks gameLocks;
+        Semaphore connectionPool;
+        UUID[] gameIds;
+        List<List<UUID>> gamesByGroup;
+        int nextGroup;
+
+        @Setup
+        public void setUp() {
+            gameLocks = new GameLocks(STRIPES);
+            connectionPool = new Semaphore(CONNECTIONS, true);
+            gameIds = new UUID[ACTIVE_GAMES];
+            gamesByGroup = new ArrayList<>();
+            for (int group = 0; group < BATCH_GROUPS; group++) {
+                gamesByGroup.add(new ArrayList<>());
+            }
+            for (int i = 0; i < ACTIVE_GAMES; i++) {
+                gameIds[i] = UUID.randomUUID();
+                gamesByGroup.get(gameLocks.stripeOf(gameIds[i]) % BATCH_GROUPS).add(gameIds[i]);
+            }
+        }
+
+        UUID randomGame() {
+            return gameIds[ThreadLocalRandom.current().nextInt(ACTIVE_GAMES)];
+        }
+
+        void transaction(long micros) {
+            connectionPool.acquireUninterruptibly();
+            try {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+            } finally {
+                connectionPool.release();
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(1)
+    public Integer lockedStep(Uncontended state) {
+        return state.gameLocks.call(state.gameId, () -> step(state));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(1)
+    public Integer unlockedStep(Uncontended state) {
+        return step(state);
+    }
+
+    @Benchmark
+    @Group("batches")
+    @GroupThreads(31)
+    public Integer guess(Batches state) {
+        UUID gameId = state.randomGame();
+        return state.gameLocks.call(gameId, () -> {
+            Blackhole.consumeCPU(STEP_TOKENS);
+            state.transaction(TRANSACTION_MICROS);
+            return state.gameLocks.stripeOf(gameId);
+        });
+    }
+
+    @Benchmark
+    @Group("batches")
+    @GroupThreads(1)
+    public int timeoutBatch(Batches state) {
+        List<UUID> group = state.gamesByGroup.get(state.nextGroup++ % BATCH_GROUPS);
+        List<UUID> batch = new ArrayList<>(state.batchSize);
+        for (int i = 0; i < state.batchSize; i++) {
+            batch.add(group.get(ThreadLocalRandom.current().nextInt(group.size())));
+        }
+        state.gameLocks.runAll(batch, () -> {
+            Blackhole.consumeCPU(STEP_TOKENS * batch.size());
+            state.transaction(TRANSACTION_MICROS + BATCH_MICROS_PER_GAME * batch.size());
+        });
+        return batch.size();
+    }
+
+    private static Integer step(Uncontended state) {
+        Blackhole.consumeCPU(10);
+        return state.gameLocks.stripeCount();
+    }
+}
@@ -0,0 +1,75 @@
+package com.flagfinder.benchmark;
+
+import com.flagfinder.dto.GameDto;
+import com.flagfinder.mapper.GameMapper;
+import com.flagfinder.mapper.RoundMapper;
+import com.flagfinder.model.Game;
+import com.flagfinder.service.GameTimerService;
+import com.flagfinder.service.impl.GameLocks;
+import com.flagfinder.service.impl.GameServiceImpl;
+import com.flagfinder.service.impl.GameTimerServiceImpl;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code GameServiceImpl.populateCurrentRoundData}, which runs for every round-started and game state push.
+ * The method is private, so it is called reflectively on a service built with only the collaborators it uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameServiceBenchmark {
+
+    @Param({"2", "10", "50"})
+    public int players;
+
+    private final GameMapper gameMapper = Mappers.getMapper(GameMapper.class);
+    private final GameTimerServiceImpl gameTimerService = new GameTimerServiceImpl(null, new GameLocks(1));
+
+    private GameServiceImpl gameService;
+    private Method populateCurrentRoundData;
+    private Game game;
+
+    @Setup
+    public void setUp() throws Exception {
+        Constructor<?> constructor = GameServiceImpl.class.getConstructors()[0];
+        Object[] arguments = new Object[constructor.getParameterCount()];
+        Class<?>[] types = constructor.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == GameTimerService.class) {
+                arguments[i] = gameTimerService;
+            } else if (types[i] == RoundMapper.class) {
+                arguments[i] = Mappers.getMapper(RoundMapper.class);
+            } else if (types[i] == GameMapper.class) {
+                arguments[i] = gameMapper;
+            }
+        }
+        gameService = (GameServiceImpl) constructor.newInstance(arguments);
+
+        populateCurrentRoundData = GameServiceImpl.class.getDeclaredMethod("populateCurrentRoundData", GameDto.class, Game.class);
+        populateCurrentRoundData.setAccessible(true);
+
+        game = BenchmarkFixtures.game(players, 5, true);
+        gameTimerService.startRoundTimer(game.getId(), 5, 3600);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameTimerService.cancelGameTimers(game.getId());
+        gameTimerService.shutdown();
+    }
+
+    @Benchmark
+    public GameDto populateCurrentRoundData() throws Exception {
+        GameDto dto = gameMapper.gameToGameDto(game);
+        populateCurrentRoundData.invoke(gameService, dto, game);
+        return dto;
+    }
+}
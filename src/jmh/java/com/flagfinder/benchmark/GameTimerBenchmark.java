@@ -0,0 +1,60 @@
+package com.flagfinder.benchmark;
+
+import com.flagfinder.service.impl.GameLocks;
+import com.flagfinder.service.impl.GameTimerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the round timer paths hit on every round start, guess and state push.
+ * Timers are scheduled far in the future so they never fire during a measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameTimerBenchmark {
+
+    private static final int FAR_FUTURE_SECONDS = 3600;
+
+    @Param({"0", "1000"})
+    public int otherActiveGames;
+
+    private final GameTimerServiceImpl gameTimerService = new GameTimerServiceImpl(null, new GameLocks(1));
+    private UUID gameId;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < otherActiveGames; i++) {
+            gameTimerService.startRoundTimer(UUID.randomUUID(), 1, FAR_FUTURE_SECONDS);
+        }
+        gameId = UUID.randomUUID();
+        gameTimerService.startRoundTimer(gameId, 1, FAR_FUTURE_SECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameTimerService.shutdown();
+    }
+
+    @Benchmark
+    public void scheduleAndCancel() {
+        UUID id = UUID.randomUUID();
+        gameTimerService.startRoundTimer(id, 1, FAR_FUTURE_SECONDS);
+        gameTimerService.cancelGameTimers(id);
+    }
+
+    @Benchmark
+    public Long getRemainingTime() {
+        return gameTimerService.getRemainingTime(gameId, 1);
+    }
+
+    @Benchmark
+    public boolean isRoundActive() {
+        return gameTimerService.isRoundActive(gameId, 1);
+    }
+}
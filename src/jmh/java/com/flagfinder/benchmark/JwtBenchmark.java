@@ -0,0 +1,54 @@
+package com.flagfinder.benchmark;
+
+import com.flagfinder.model.User;
+import com.flagfinder.service.impl.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JWT handling done on every authenticated HTTP request and STOMP connect.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private final JwtService jwtService = new JwtService();
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new Random(42).nextBytes(secret);
+        ReflectionTestUtils.setField(jwtService, "secretKey", Base64.getEncoder().encodeToString(secret));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+
+        user = BenchmarkFixtures.user(0);
+        token = jwtService.generateToken(Map.of("gameName", user.getGameName()), user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean parseAndVerify() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(Map.of("gameName", user.getGameName()), user);
+    }
+}
@@ -0,0 +1,56 @@
+package com.flagfinder.benchmark;
+
+import com.flagfinder.dto.GameDto;
+import com.flagfinder.dto.RoundDto;
+import com.flagfinder.mapper.GameMapper;
+import com.flagfinder.mapper.RoundMapper;
+import com.flagfinder.model.Game;
+import com.flagfinder.model.Round;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the MapStruct mappings done for every game state push.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"2", "10", "50"})
+    public int players;
+
+    private final GameMapper gameMapper = Mappers.getMapper(GameMapper.class);
+    private final RoundMapper roundMapper = Mappers.getMapper(RoundMapper.class);
+
+    private Game game;
+    private Round roundWithFlag;
+    private Round roundWithoutFlag;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkFixtures.game(players, 5, true);
+        roundWithFlag = game.getRounds().get(game.getRounds().size() - 1);
+        roundWithoutFlag = BenchmarkFixtures.game(players, 1, false).getRounds().get(0);
+    }
+
+    @Benchmark
+    public GameDto gameToGameDto() {
+        return gameMapper.gameToGameDto(game);
+    }
+
+    @Benchmark
+    public RoundDto roundToRoundDtoWithFlag() {
+        return roundMapper.roundToRoundDto(roundWithFlag);
+    }
+
+    @Benchmark
+    public RoundDto roundToRoundDtoWithoutFlag() {
+        return roundMapper.roundToRoundDto(roundWithoutFlag);
+    }
+}
@@ -0,0 +1,61 @@
+package com.flagfinder.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.flagfinder.dto.GameDto;
+import com.flagfinder.dto.GuessResponseDto;
+import com.flagfinder.mapper.GameMapper;
+import com.flagfinder.mapper.RoundMapper;
+import com.flagfinder.model.Game;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of the payloads pushed over STOMP and returned by the guess endpoint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"2", "50"})
+    public int players;
+
+    @Param({"true", "false"})
+    public boolean withFlag;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private GameDto gameDto;
+    private GuessResponseDto guessResponseDto;
+
+    @Setup
+    public void setUp() {
+        Game game = BenchmarkFixtures.game(players, 5, withFlag);
+        gameDto = Mappers.getMapper(GameMapper.class).gameToGameDto(game);
+        gameDto.setCurrentRound(5);
+        gameDto.setCurrentRoundData(Mappers.getMapper(RoundMapper.class).roundToRoundDto(game.getRounds().get(4)));
+
+        guessResponseDto = new GuessResponseDto();
+        guessResponseDto.setGame(gameDto);
+        guessResponseDto.setCorrect(true);
+        guessResponseDto.setMessage("Correct!");
+        guessResponseDto.setPointsAwarded(1);
+        guessResponseDto.setCorrectCountryName("Country 5");
+    }
+
+    @Benchmark
+    public byte[] serializeGameDto() throws Exception {
+        return objectMapper.writeValueAsBytes(gameDto);
+    }
+
+    @Benchmark
+    public byte[] serializeGuessResponseDto() throws Exception {
+        return objectMapper.writeValueAsBytes(guessResponseDto);
+    }
+}
@@ -0,0 +1,162 @@
+package com.flagfinder.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A simulated player. Talks to the REST API over HTTP and receives game events over STOMP,
+ * the same way the web client does.
+ */
+final class BotClient {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    final String userName;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private String accessToken;
+    private StompSession session;
+
+    BotClient(String userName, String baseUrl, HttpClient httpClient) {
+        this.userName = userName;
+        this.baseUrl = baseUrl;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Registers the bot as a new user and keeps the returned access token.
+     *
+     * @throws IOException if the request fails or is rejected
+     */
+    void register() throws IOException {
+        JsonNode response = post("/api/v1/auth/register", Map.of(
+                "userName", userName,
+                "email", userName + "@loadtest.local",
+                "password", "loadtest1",
+                "mobileNumber", "000000"
+        ));
+        accessToken = response.get("accessToken").asText();
+    }
+
+    /**
+     * Opens the STOMP session and subscribes to the game events the web client listens to.
+     *
+     * @param stompClient the shared STOMP client
+     * @param onRoundStarted handler for {@code /user/queue/round-started}, which carries the full game state
+     * @param onRoundAdvanced handler for {@code /user/queue/round-advanced}, which announces later rounds
+     * @param onGameStarted handler for {@code /user/queue/game-started}
+     * @param onGameEnded handler for {@code /user/queue/game-ended}
+     * @throws Exception if the connection cannot be established
+     */
+    void connect(WebSocketStompClient stompClient,
+                 Consumer<JsonNode> onRoundStarted,
+                 Consumer<JsonNode> onRoundAdvanced,
+                 Consumer<JsonNode> onGameStarted,
+                 Consumer<JsonNode> onGameEnded) throws Exception {
+        String url = baseUrl.replaceFirst("^http", "ws") + "/ws-native?token=" + accessToken;
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + accessToken);
+
+        session = stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+        }).get(30, TimeUnit.SECONDS);
+
+        subscribe("/user/queue/round-started", onRoundStarted);
+        subscribe("/user/queue/round-advanced", onRoundAdvanced);
+        subscribe("/user/queue/game-started", onGameStarted);
+        subscribe("/user/queue/game-ended", onGameEnded);
+    }
+
+    /**
+     * Closes the STOMP session.
+     */
+    void disconnect() {
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    /**
+     * Sends an authenticated JSON POST request.
+     *
+     * @param path the API path
+     * @param body the request body
+     * @return the parsed response body, or an empty node if there is none
+     * @throws IOException if the request fails or is rejected
+     */
+    JsonNode post(String path, Object body) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(body)));
+        return send(request);
+    }
+
+    /**
+     * Sends an authenticated GET request.
+     *
+     * @param path the API path
+     * @return the parsed response body, or an empty node if there is none
+     * @throws IOException if the request fails or is rejected
+     */
+    JsonNode get(String path) throws IOException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    private JsonNode send(HttpRequest.Builder request) throws IOException {
+        if (accessToken != null) {
+            request.header("Authorization", "Bearer " + accessToken);
+        }
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+        if (response.statusCode() >= 400) {
+            throw new RejectedRequestException(response.statusCode(), response.body());
+        }
+        return response.body().isEmpty() ? OBJECT_MAPPER.createObjectNode() : OBJECT_MAPPER.readTree(response.body());
+    }
+
+    private void subscribe(String destination, Consumer<JsonNode> handler) {
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return JsonNode.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                handler.accept((JsonNode) payload);
+            }
+        });
+    }
+
+    /**
+     * Thrown when the application answers with an error status.
+     */
+    static final class RejectedRequestException extends IOException {
+        final int status;
+
+        RejectedRequestException(int status, String body) {
+            super("HTTP " + status + ": " + body);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.flagfinder.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects latency samples and summarizes them as percentiles.
+ * Samples are kept in full so percentiles are exact; a run records at most a few hundred thousand samples.
+ */
+final class LatencyRecorder {
+
+    private final String name;
+    private long[] samples = new long[1024];
+    private int count;
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param nanos the measured latency in nanoseconds
+     */
+    synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    /**
+     * Summarizes the recorded samples.
+     *
+     * @return the sample count and the p50, p99 and maximum latency in milliseconds
+     */
+    synchronized Map<String, Object> summary() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("name", name);
+        summary.put("count", count);
+        summary.put("p50Millis", percentileMillis(sorted, 0.50));
+        summary.put("p99Millis", percentileMillis(sorted, 0.99));
+        summary.put("maxMillis", count > 0 ? sorted[count - 1] / 1_000_000.0 : 0.0);
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
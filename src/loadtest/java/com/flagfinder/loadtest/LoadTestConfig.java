@@ -0,0 +1,96 @@
+package com.flagfinder.loadtest;
+
+/**
+ * Settings of a load test run, read from system properties prefixed with {@code loadtest.}.
+ * For example {@code mvn -Ploadtest test-compile exec:java -Dloadtest.bots=200 -Dloadtest.accuracy=0.6}.
+ */
+final class LoadTestConfig {
+
+    /**
+     * Base URL of the running application.
+     */
+    final String baseUrl;
+
+    /**
+     * Number of simulated players.
+     */
+    final int bots;
+
+    /**
+     * Number of players per room, including the host.
+     */
+    final int playersPerRoom;
+
+    /**
+     * Number of rounds in each game.
+     */
+    final int roundsPerGame;
+
+    /**
+     * Number of games each room plays back to back.
+     */
+    final int gamesPerRoom;
+
+    /**
+     * Probability that a guess names the correct country.
+     */
+    final double accuracy;
+
+    /**
+     * Probability that a bot does not guess in a round, letting the round timer expire.
+     */
+    final double skipRate;
+
+    /**
+     * Median think time before a guess, in milliseconds.
+     */
+    final long thinkMedianMillis;
+
+    /**
+     * Spread of the log-normal think time distribution.
+     */
+    final double thinkSigma;
+
+    /**
+     * Time over which room starts are spread, in milliseconds.
+     */
+    final long rampUpMillis;
+
+    /**
+     * Maximum duration of the whole run, in seconds.
+     */
+    final long timeoutSeconds;
+
+    /**
+     * File the JSON report is written to.
+     */
+    final String reportFile;
+
+    private LoadTestConfig() {
+        baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+        bots = Integer.getInteger("loadtest.bots", 20);
+        playersPerRoom = Integer.getInteger("loadtest.playersPerRoom", 2);
+        roundsPerGame = Integer.getInteger("loadtest.roundsPerGame", 5);
+        gamesPerRoom = Integer.getInteger("loadtest.gamesPerRoom", 1);
+        accuracy = Double.parseDouble(System.getProperty("loadtest.accuracy", "0.7"));
+        skipRate = Double.parseDouble(System.getProperty("loadtest.skipRate", "0.05"));
+        thinkMedianMillis = Long.getLong("loadtest.thinkMedianMillis", 2500L);
+        thinkSigma = Double.parseDouble(System.getProperty("loadtest.thinkSigma", "0.5"));
+        rampUpMillis = Long.getLong("loadtest.rampUpMillis", 5000L);
+        timeoutSeconds = Long.getLong("loadtest.timeoutSeconds", 600L);
+        reportFile = System.getProperty("loadtest.reportFile", "target/loadtest-report.json");
+    }
+
+    /**
+     * Reads the settings from system properties, falling back to defaults.
+     *
+     * @return the load test settings
+     */
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig();
+        if (config.playersPerRoom < 2 || config.bots < config.playersPerRoom) {
+            throw new IllegalArgumentException("Need at least 2 players per room and enough bots to fill one room");
+        }
+        return config;
+    }
+}
@@ -0,0 +1,60 @@
+package com.flagfinder.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side measurements shared by all bots of a run.
+ */
+final class LoadTestMetrics {
+
+    /**
+     * Time from sending a guess to receiving the HTTP response.
+     */
+    final LatencyRecorder guessRoundTrip = new LatencyRecorder("guessRoundTrip");
+
+    /**
+     * Time from the host's start request to each player receiving {@code /queue/game-started}.
+     */
+    final LatencyRecorder gameStartFanOut = new LatencyRecorder("gameStartFanOut");
+
+    /**
+     * Time between the first and the last player of a game receiving the same round announcement.
+     */
+    final LatencyRecorder roundStartSpread = new LatencyRecorder("roundStartSpread");
+
+    final LongAdder guessesSent = new LongAdder();
+    final LongAdder guessesRejected = new LongAdder();
+    final LongAdder guessesSkipped = new LongAdder();
+    final LongAdder requestErrors = new LongAdder();
+    final LongAdder gamesCompleted = new LongAdder();
+    final LongAdder gamesTimedOut = new LongAdder();
+
+    private final Map<String, long[]> roundArrivals = new ConcurrentHashMap<>();
+
+    /**
+     * Records that a player received the start of a round.
+     * Once every player of the game has received it, the spread between the first and last arrival is recorded.
+     *
+     * @param gameId the ID of the game
+     * @param roundNumber the round number
+     * @param playersInGame the number of players in the game
+     * @param arrivalNanos the arrival time from {@link System#nanoTime()}
+     */
+    void recordRoundArrival(String gameId, int roundNumber, int playersInGame, long arrivalNanos) {
+        String key = gameId + ":" + roundNumber;
+        long[] arrivals = roundArrivals.compute(key, (ignored, current) -> {
+            if (current == null) {
+                return new long[]{arrivalNanos, arrivalNanos, 1};
+            }
+            current[0] = Math.min(current[0], arrivalNanos);
+            current[1] = Math.max(current[1], arrivalNanos);
+            current[2]++;
+            return current;
+        });
+        if (arrivals[2] >= playersInGame && roundArrivals.remove(key) != null) {
+            roundStartSpread.record(arrivals[1] - arrivals[0]);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.flagfinder.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless load generator for end-to-end game benchmarks.
+ * Registers simulated players against a running application, seats them in rooms, plays full games over
+ * REST and STOMP and reports guess round trip, fan-out and timer drift percentiles together with database counters.
+ * <p>
+ * Start the application with the LOADTEST profile against a local Postgres that has countries loaded, then run
+ * {@code mvn -Ploadtest test-compile exec:java -Dloadtest.bots=100}. See {@link LoadTestConfig} for all settings.
+ */
+public final class LoadTestRunner {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(32))
+                .build();
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(64, config.bots));
+        ScheduledExecutorService guessScheduler = Executors.newScheduledThreadPool(16);
+
+        List<BotClient> bots = new ArrayList<>();
+        for (int i = 0; i < config.bots; i++) {
+            bots.add(new BotClient("lt" + runId + "b" + i, config.baseUrl, httpClient));
+        }
+        runAll(workers, bots, BotClient::register);
+        System.out.println("Registered " + bots.size() + " bots");
+
+        List<String> countryNames = new ArrayList<>();
+        for (JsonNode country : bots.get(0).get("/api/v1/countries/search?prefix=a")) {
+            countryNames.add(country.path("nameOfCounty").asText());
+        }
+        if (countryNames.isEmpty()) {
+            throw new IllegalStateException("No countries found; load countries into the database before running the load test");
+        }
+
+        boolean serverStatsAvailable = resetServerStats(bots.get(0));
+
+        Map<String, String> countryNamesById = new ConcurrentHashMap<>();
+        List<RoomDriver> rooms = new ArrayList<>();
+        for (int i = 0; i + config.playersPerRoom <= bots.size(); i += config.playersPerRoom) {
+            rooms.add(new RoomDriver(bots.subList(i, i + config.playersPerRoom), config, metrics, guessScheduler,
+                    countryNames, countryNamesById));
+        }
+        for (RoomDriver room : rooms) {
+            runAll(workers, room.bots(), bot -> bot.connect(stompClient,
+                    game -> room.onRoundStarted(bot, game),
+                    round -> room.onRoundAdvanced(bot, round),
+                    game -> room.onGameStarted(bot, game),
+                    game -> room.onGameEnded(bot, game)));
+        }
+        System.out.println("Connected " + rooms.size() + " rooms of " + config.playersPerRoom + " players");
+
+        long startedAt = System.nanoTime();
+        ExecutorService roomThreads = Executors.newFixedThreadPool(rooms.size());
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            long delayMillis = rooms.size() > 1 ? config.rampUpMillis * i / (rooms.size() - 1) : 0;
+            RoomDriver room = rooms.get(i);
+            running.add(roomThreads.submit(() -> {
+                sleep(delayMillis);
+                room.run();
+            }));
+        }
+        long deadline = startedAt + TimeUnit.SECONDS.toNanos(config.timeoutSeconds);
+        for (Future<?> room : running) {
+            try {
+                room.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                room.cancel(true);
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("bots", config.bots);
+        report.put("rooms", rooms.size());
+        report.put("playersPerRoom", config.playersPerRoom);
+        report.put("roundsPerGame", config.roundsPerGame);
+        report.put("durationMillis", elapsedMillis);
+        report.put("gamesCompleted", metrics.gamesCompleted.sum());
+        report.put("gamesTimedOut", metrics.gamesTimedOut.sum());
+        report.put("guessesSent", metrics.guessesSent.sum());
+        report.put("guessesRejected", metrics.guessesRejected.sum());
+        report.put("guessesSkipped", metrics.guessesSkipped.sum());
+        report.put("requestErrors", metrics.requestErrors.sum());
+        report.put("guessRoundTrip", metrics.guessRoundTrip.summary());
+        report.put("gameStartFanOut", metrics.gameStartFanOut.summary());
+        report.put("roundStartSpread", metrics.roundStartSpread.summary());
+        if (serverStatsAvailable) {
+            JsonNode serverStats = bots.get(0).get("/api/v1/loadtest/stats");
+            report.put("server", serverStats);
+            long guesses = Math.max(1, metrics.guessesSent.sum());
+            report.put("statementsPerGuess", serverStats.path("preparedStatementCount").asLong() / (double) guesses);
+        }
+
+        String json = OBJECT_MAPPER.writeValueAsString(report);
+        System.out.println(json);
+        File reportFile = new File(config.reportFile);
+        if (reportFile.getParentFile() != null) {
+            reportFile.getParentFile().mkdirs();
+        }
+        OBJECT_MAPPER.writeValue(reportFile, report);
+        System.out.println("Report written to " + reportFile.getAbsolutePath());
+
+        bots.forEach(BotClient::disconnect);
+        roomThreads.shutdownNow();
+        guessScheduler.shutdownNow();
+        workers.shutdownNow();
+        System.exit(0);
+    }
+
+    /**
+     * Resets the server counters so the report only covers this run.
+     *
+     * @param bot any registered bot, used for authentication
+     * @return false if the application is not running with the LOADTEST profile
+     */
+    private static boolean resetServerStats(BotClient bot) {
+        try {
+            bot.post("/api/v1/loadtest/stats/reset", Map.of());
+            return true;
+        } catch (IOException e) {
+            System.err.println("Server statistics unavailable, start the application with the LOADTEST profile: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void runAll(ExecutorService executor, List<BotClient> bots, BotTask task) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (BotClient bot : bots) {
+            futures.add(executor.submit(() -> {
+                task.run(bot);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BotTask {
+        void run(BotClient bot) throws Exception;
+    }
+}
@@ -0,0 +1,195 @@
+package com.flagfinder.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Plays the games of one room: the first bot creates the room, the others join, and the host starts each game.
+ * Guesses are scheduled on a shared scheduler after a log-normal think time.
+ */
+final class RoomDriver implements Runnable {
+
+    private static final long ROUND_DURATION_MILLIS = 12_000;
+
+    private final List<BotClient> bots;
+    private final LoadTestConfig config;
+    private final LoadTestMetrics metrics;
+    private final ScheduledExecutorService guessScheduler;
+    private final List<String> countryNames;
+    private final Map<String, String> countryNamesById;
+    private final Set<String> handledRounds = ConcurrentHashMap.newKeySet();
+
+    private volatile CountDownLatch gameEnded;
+    private volatile long startRequestedNanos;
+
+    RoomDriver(List<BotClient> bots, LoadTestConfig config, LoadTestMetrics metrics,
+               ScheduledExecutorService guessScheduler, List<String> countryNames,
+               Map<String, String> countryNamesById) {
+        this.bots = bots;
+        this.config = config;
+        this.metrics = metrics;
+        this.guessScheduler = guessScheduler;
+        this.countryNames = countryNames;
+        this.countryNamesById = countryNamesById;
+    }
+
+    List<BotClient> bots() {
+        return bots;
+    }
+
+    @Override
+    public void run() {
+        BotClient host = bots.get(0);
+        for (int game = 0; game < config.gamesPerRoom; game++) {
+            try {
+                JsonNode room = host.post("/api/v1/rooms/create", Map.of(
+                        "numberOfRounds", config.roundsPerGame,
+                        "maxPlayers", bots.size()
+                ));
+                String roomId = room.get("id").asText();
+                for (BotClient guest : bots.subList(1, bots.size())) {
+                    guest.post("/api/v1/rooms/join", Map.of("roomId", roomId));
+                }
+
+                gameEnded = new CountDownLatch(bots.size());
+                startRequestedNanos = System.nanoTime();
+                host.post("/api/v1/games/start", Map.of("roomId", roomId));
+
+                long maxGameMillis = config.roundsPerGame * (ROUND_DURATION_MILLIS + 3_000);
+                if (!gameEnded.await(maxGameMillis, TimeUnit.MILLISECONDS)) {
+                    metrics.gamesTimedOut.increment();
+                }
+            } catch (IOException e) {
+                metrics.requestErrors.increment();
+                System.err.println("Room of " + host.userName + " failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Handles {@code /queue/game-started} for one of the room's bots.
+     *
+     * @param bot the receiving bot
+     * @param game the started game
+     */
+    void onGameStarted(BotClient bot, JsonNode game) {
+        metrics.gameStartFanOut.record(System.nanoTime() - startRequestedNanos);
+    }
+
+    /**
+     * Handles {@code /queue/round-started}, which announces a game's first round with the full game state,
+     * and schedules the bot's guess.
+     *
+     * @param bot the receiving bot
+     * @param game the game with the new round
+     */
+    void onRoundStarted(BotClient bot, JsonNode game) {
+        String correctName = game.path("currentRoundData").path("countryName").asText();
+        onRound(bot, game.path("id").asText(), game.path("currentRound").asInt(), () -> correctName);
+    }
+
+    /**
+     * Handles {@code /queue/round-advanced}, which announces later rounds with only their flag, and schedules
+     * the bot's guess. The answer is looked up from the flag's country like a player recognising the flag would.
+     *
+     * @param bot the receiving bot
+     * @param round the started round
+     */
+    void onRoundAdvanced(BotClient bot, JsonNode round) {
+        String flagUrl = round.path("flagUrl").asText();
+        onRound(bot, round.path("gameId").asText(), round.path("roundNumber").asInt(), () -> countryName(bot, flagUrl));
+    }
+
+    /**
+     * Handles {@code /queue/game-ended} for one of the room's bots.
+     *
+     * @param bot the receiving bot
+     * @param game the completed game
+     */
+    void onGameEnded(BotClient bot, JsonNode game) {
+        CountDownLatch latch = gameEnded;
+        if (latch != null) {
+            latch.countDown();
+            if (latch.getCount() == 0) {
+                metrics.gamesCompleted.increment();
+            }
+        }
+    }
+
+    private void onRound(BotClient bot, String gameId, int roundNumber, Supplier<String> correctName) {
+        long arrivalNanos = System.nanoTime();
+        if (!handledRounds.add(bot.userName + ":" + gameId + ":" + roundNumber)) {
+            return;
+        }
+        metrics.recordRoundArrival(gameId, roundNumber, bots.size(), arrivalNanos);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < config.skipRate) {
+            metrics.guessesSkipped.increment();
+            return;
+        }
+
+        boolean correct = random.nextDouble() < config.accuracy || countryNames.isEmpty();
+        String wrongName = correct ? null : countryNames.get(random.nextInt(countryNames.size()));
+        long thinkMillis = Math.min(ROUND_DURATION_MILLIS - 500,
+                (long) (config.thinkMedianMillis * Math.exp(config.thinkSigma * random.nextGaussian())));
+
+        guessScheduler.schedule(() -> guess(bot, gameId, roundNumber, correct ? correctName.get() : wrongName),
+                thinkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Resolves the country shown by a flag URL of the form {@code /api/v1/countries/{id}/flag}.
+     * Names are cached for the whole run, so each country is fetched at most a few times.
+     *
+     * @param bot the bot whose credentials are used
+     * @param flagUrl the flag URL from the round announcement
+     * @return the country name, or a random known name if it cannot be resolved
+     */
+    private String countryName(BotClient bot, String flagUrl) {
+        String countryId = flagUrl.replaceFirst("^.*/countries/([^/]+)/flag$", "$1");
+        String cached = countryNamesById.get(countryId);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            String name = bot.get("/api/v1/countries/" + countryId).path("nameOfCounty").asText();
+            countryNamesById.put(countryId, name);
+            return name;
+        } catch (IOException e) {
+            metrics.requestErrors.increment();
+            return countryNames.get(ThreadLocalRandom.current().nextInt(countryNames.size()));
+        }
+    }
+
+    private void guess(BotClient bot, String gameId, int roundNumber, String guessedName) {
+        long sentNanos = System.nanoTime();
+        metrics.guessesSent.increment();
+        try {
+            bot.post("/api/v1/games/guess", Map.of(
+                    "gameId", gameId,
+                    "roundNumber", roundNumber,
+                    "guessedCountryName", guessedName
+            ));
+            metrics.guessRoundTrip.record(System.nanoTime() - sentNanos);
+        } catch (BotClient.RejectedRequestException e) {
+            metrics.guessRoundTrip.record(System.nanoTime() - sentNanos);
+            metrics.guessesRejected.increment();
+        } catch (IOException e) {
+            metrics.requestErrors.increment();
+        }
+    }
+}
@@ -24,7 +24,7 @@ public class GlobalExceptionHandler {
     /**
      * Handles ResponseStatusException thrown by controllers or service layers.
      * This method captures the exception and returns a response with the HTTP
-     * status code and reason provided by the exception.
+     * status code, headers and reason provided by the exception.
      *
      * @param ex the ResponseStatusException thrown by the application
      * @return the reason message of the exception, if it matches the expected status
@@ -32,6 +32,6 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ResponseStatusException.class)
     @ResponseBody
     public ResponseEntity<String> handleResponseStatusException(ResponseStatusException ex) {
-        return ResponseEntity.status(ex.getStatusCode()).body(ex.getReason());
+        return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).body(ex.getReason());
     }
 }
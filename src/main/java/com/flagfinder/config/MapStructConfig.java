@@ -115,4 +115,14 @@ public class MapStructConfig {
     public com.flagfinder.mapper.SinglePlayerRoundMapper singlePlayerRoundMapper() {
         return Mappers.getMapper(com.flagfinder.mapper.SinglePlayerRoundMapper.class);
     }
+
+    /**
+     * Creates a ProjectionMapper bean for dependency injection.
+     * 
+     * @return configured ProjectionMapper instance
+     */
+    @Bean
+    public com.flagfinder.mapper.ProjectionMapper projectionMapper() {
+        return Mappers.getMapper(com.flagfinder.mapper.ProjectionMapper.class);
+    }
 }
@@ -1,5 +1,6 @@
 package com.flagfinder.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -78,6 +79,7 @@ public class SecurityConfiguration {
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(authorize -> authorize
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/v1/auth/**",
                                 "/api/v1/oauth2/**",
@@ -116,6 +118,13 @@ public class SecurityConfiguration {
                         .requestMatchers("/api/v1/countries/load-us-states-api").hasAnyRole(ADMIN.name())
                         .requestMatchers(POST, "/api/v1/countries/load-us-states-api").hasAnyAuthority(ADMIN_CREATE.name())
 
+                        .requestMatchers("/api/v1/stats/projections/**").hasAnyRole(ADMIN.name())
+                        .requestMatchers(POST, "/api/v1/stats/projections/**").hasAnyAuthority(ADMIN_CREATE.name())
+                        .requestMatchers("/api/v1/games/admin/**").hasAnyRole(ADMIN.name())
+                        .requestMatchers(GET, "/api/v1/games/admin/**").hasAnyAuthority(ADMIN_READ.name())
+                        .requestMatchers("/api/v1/stats/ratings/**").hasAnyRole(ADMIN.name())
+                        .requestMatchers(POST, "/api/v1/stats/ratings/**").hasAnyAuthority(ADMIN_CREATE.name())
+
                         .anyRequest()
                         .authenticated()
                 )
@@ -2,10 +2,12 @@ package com.flagfinder.controller;
 
 import com.flagfinder.dto.BilingualCountrySearchDto;
 import com.flagfinder.dto.CountryCreateDto;
+import com.flagfinder.dto.CountryDifficultyDto;
 import com.flagfinder.dto.CountrySearchDto;
 import com.flagfinder.enumeration.Continent;
 import com.flagfinder.model.Country;
 import com.flagfinder.service.CountryService;
+import com.flagfinder.service.StatsProjectionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +34,8 @@ public class CountryController {
     
     private final CountryService countryService;
 
+    private final StatsProjectionService statsProjectionService;
+
     /**
      * Creates a new country with flag image from URL
      * 
@@ -155,6 +159,18 @@ public class CountryController {
         return ResponseEntity.ok(result);
     }
     
+    /**
+     * Retrieves the recognition statistics of every country shown so far, hardest first, and returns a ResponseEntity
+     * object with status code 200 (OK) and the list of CountryDifficultyDto objects in the response body.
+     * Each entry carries accuracy, mean response time, difficulty band and the wrong countries most often guessed.
+     *
+     * @return a ResponseEntity object with status code 200 (OK) and the list of CountryDifficultyDto objects in the response body
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CountryDifficultyDto>> getCountryStats() {
+        return ResponseEntity.ok(statsProjectionService.getCountryDifficulty());
+    }
+
     /**
      * Gets a random country from specified continents
      * 
@@ -0,0 +1,59 @@
+package com.flagfinder.controller;
+
+import com.flagfinder.dto.DailyChallengeDto;
+import com.flagfinder.dto.LeaderboardEntryDto;
+import com.flagfinder.service.DailyChallengeService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller class for handling daily challenge API endpoints.
+ * The challenge is played by starting a single player game in the DAILY_CHALLENGE mode.
+ *
+ * @author Dragan Jovanovic
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/daily-challenge")
+@RequiredArgsConstructor
+@CrossOrigin
+public class DailyChallengeController {
+
+    /**
+     * The service used for reading the daily challenge.
+     */
+    private final DailyChallengeService dailyChallengeService;
+
+    /**
+     * Retrieves today's challenge and returns a ResponseEntity object with status code 200 (OK)
+     * and the DailyChallengeDto object in the response body.
+     *
+     * @return a ResponseEntity object with status code 200 (OK) and the DailyChallengeDto object in the response body
+     */
+    @GetMapping
+    public ResponseEntity<DailyChallengeDto> getToday() {
+        return ResponseEntity.ok(dailyChallengeService.getToday());
+    }
+
+    /**
+     * Retrieves the best players of a day's challenge and returns a ResponseEntity object with status code 200 (OK)
+     * and the list of LeaderboardEntryDto objects in the response body.
+     *
+     * @param date the day of the challenge, today when omitted
+     * @param limit the maximum number of players
+     * @return a ResponseEntity object with status code 200 (OK) and the list of LeaderboardEntryDto objects in the response body
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryDto>> getLeaderboard(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                                    @RequestParam(defaultValue = "100") @Min(1) @Max(500) Integer limit) {
+        return ResponseEntity.ok(dailyChallengeService.getLeaderboard(date, limit));
+    }
+}
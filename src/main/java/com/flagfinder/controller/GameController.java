@@ -1,16 +1,27 @@
 package com.flagfinder.controller;
 
 import com.flagfinder.dto.*;
+import com.flagfinder.enumeration.AccuracyWindow;
+import com.flagfinder.enumeration.HistoryExportFormat;
 import com.flagfinder.model.Game;
 import com.flagfinder.service.GameService;
+import com.flagfinder.service.HistoryExportService;
+import com.flagfinder.service.UserStatsService;
+import com.flagfinder.service.impl.AdmissionControl;
+import com.flagfinder.service.impl.AdmissionControl.Work;
+import com.flagfinder.service.impl.GameLocks;
 import com.flagfinder.service.impl.HelperMethods;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -36,16 +47,38 @@ public class GameController {
     private final HelperMethods helperMethods;
 
     /**
-     * Starts a new game from a room with exactly 2 players and returns a ResponseEntity object with status code 201 (Created)
+     * The service used for reading user statistics.
+     */
+    private final UserStatsService userStatsService;
+
+    /**
+     * The service used for streaming game history exports.
+     */
+    private final HistoryExportService historyExportService;
+
+    /**
+     * The locks that serialize changes to the same game.
+     */
+    private final GameLocks gameLocks;
+
+    /**
+     * The admission control that sheds game creation and reads under load before gameplay.
+     */
+    private final AdmissionControl admissionControl;
+
+    /**
+     * Starts a new game from a room with at least 2 players and returns a ResponseEntity object with status code 201 (Created)
      * and the created GameDto object in the response body.
      *
      * @param request the DTO containing the room ID from which to start the game
      * @return a ResponseEntity object with status code 201 (Created) and the created GameDto object in the response body
-     * @throws ResponseStatusException if the room is not found or doesn't have exactly 2 players
+     * @throws ResponseStatusException if the room is not found or doesn't have at least 2 players,
+     *         or with status 503 (Service Unavailable) if the server is too busy to start a game
      */
     @PostMapping("/start")
     public ResponseEntity<GameDto> startGame(@RequestBody GameStartRequestDto request) {
-        GameDto game = gameService.startGame(request.getRoomId(), request.getContinents());
+        GameDto game = admissionControl.admit(Work.GAME_CREATION,
+                () -> gameService.startGame(request.getRoomId(), request.getContinents(), request.getDifficulty()));
 
         return ResponseEntity.status(HttpStatus.CREATED).body(game);
     }
@@ -56,11 +89,13 @@ public class GameController {
      *
      * @param request the DTO containing the room ID from which to start the game
      * @return a ResponseEntity object with status code 201 (Created) and the created GameDto object in the response body
-     * @throws ResponseStatusException if the room is not found or doesn't have exactly 2 players
+     * @throws ResponseStatusException if the room is not found or doesn't have exactly 2 players,
+     *         or with status 503 (Service Unavailable) if the server is too busy to start a game
      */
     @PostMapping("/start-single-player-game")
     public ResponseEntity<SinglePlayerGameDto> startSinglePlayerGame(@RequestBody GameStartRequestDto request) {
-        SinglePlayerGameDto singlePlayerGameDto = gameService.startSinglePlayerGame(request.getRoomId(), request.getContinents());
+        SinglePlayerGameDto singlePlayerGameDto = admissionControl.admit(Work.GAME_CREATION, () -> gameService.startSinglePlayerGame(
+                request.getRoomId(), request.getContinents(), request.getDifficulty(), request.getMode()));
 
         return ResponseEntity.status(HttpStatus.CREATED).body(singlePlayerGameDto);
     }
@@ -75,7 +110,8 @@ public class GameController {
      */
     @PostMapping("/guess")
     public ResponseEntity<GuessResponseDto> submitGuess(@RequestBody GuessRequestDto guessRequest) {
-        GuessResponseDto response = gameService.submitGuess(guessRequest);
+        GuessResponseDto response = admissionControl.admit(Work.GAMEPLAY,
+                () -> gameLocks.call(guessRequest.getGameId(), () -> gameService.submitGuess(guessRequest)));
 
         return ResponseEntity.ok(response);
     }
@@ -128,20 +164,35 @@ public class GameController {
      */
     @PostMapping("/{gameId}/end")
     public ResponseEntity<GameDto> endGame(@PathVariable UUID gameId) {
-        GameDto game = gameService.endGame(gameId);
+        GameDto game = admissionControl.admit(Work.GAMEPLAY, () -> gameLocks.call(gameId, () -> gameService.endGame(gameId)));
 
         return ResponseEntity.ok(game);
     }
+
+    /**
+     * Starts a rematch of a finished game in the same room with the same players and settings,
+     * returning a ResponseEntity object with status code 200 (OK) and the new GameDto object in the response body.
+     *
+     * @param gameId the unique UUID identifier of the finished game
+     * @return a ResponseEntity object with status code 200 (OK) and the new GameDto object in the response body
+     * @throws ResponseStatusException if the rematch is no longer available or the user did not play in the game
+     */
+    @PostMapping("/{gameId}/rematch")
+    public ResponseEntity<GameDto> rematch(@PathVariable UUID gameId) {
+        return ResponseEntity.ok(admissionControl.admit(Work.GAME_CREATION, () -> gameService.rematch(gameId)));
+    }
     
     /**
      * Retrieves all games for a specific user by username and returns a ResponseEntity object with status code 200 (OK)
      * and the list of Game objects in the response body.
      *
      * @return a ResponseEntity object with status code 200 (OK) and the list of Game objects in the response body
+     * @deprecated loads the whole history with rounds and guesses; use {@code /user/game-history/cursor}
      */
+    @Deprecated
     @GetMapping("/user/game-history")
     public ResponseEntity<List<CompletedGameDto>> getGamesByUser() {
-        List<CompletedGameDto> games = gameService.getGamesByUser();
+        List<CompletedGameDto> games = admissionControl.admit(Work.READ, gameService::getGamesByUser);
 
         return ResponseEntity.ok(games);
     }
@@ -158,10 +209,51 @@ public class GameController {
     public ResponseEntity<Page<CompletedGameDto>> getGamesByUserPaginated(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "pageSize", defaultValue = "5") @Min(1) int pageSize) {
-        Page<CompletedGameDto> games = gameService.getGamesByUser(page, pageSize);
+        Page<CompletedGameDto> games = admissionControl.admit(Work.READ, () -> gameService.getGamesByUser(page, pageSize));
 
         return ResponseEntity.ok(games);
     }
+
+    /**
+     * Retrieves a page of the authenticated user's game history after a cursor and returns a ResponseEntity object
+     * with status code 200 (OK) and the GameHistoryPageDto object in the response body.
+     * Round details of a game are loaded on demand from {@code /{gameId}/rounds}.
+     *
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param pageSize the number of games per page
+     * @return a ResponseEntity object with status code 200 (OK) and the GameHistoryPageDto object in the response body
+     * @throws ResponseStatusException if the cursor is malformed
+     */
+    @GetMapping("/user/game-history/cursor")
+    public ResponseEntity<GameHistoryPageDto> getGameHistoryPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", defaultValue = "10") @Min(1) @Max(100) int pageSize) {
+        return ResponseEntity.ok(admissionControl.admit(Work.READ, () -> gameService.getGameHistoryPage(cursor, pageSize)));
+    }
+
+    /**
+     * Streams the authenticated user's whole game history as a file and returns a ResponseEntity object
+     * with status code 200 (OK) and the streamed NDJSON or CSV rows in the response body.
+     *
+     * @param format the file format
+     * @return a ResponseEntity object with status code 200 (OK) and the streamed export in the response body
+     */
+    @GetMapping("/user/game-history/export")
+    public ResponseEntity<StreamingResponseBody> exportGameHistory(@RequestParam(defaultValue = "NDJSON") HistoryExportFormat format) {
+        return exportResponse(format, "game-history", historyExportService.exportUserHistory(format));
+    }
+
+    /**
+     * Streams the game history of every player as a file and returns a ResponseEntity object
+     * with status code 200 (OK) and the streamed NDJSON or CSV rows in the response body.
+     *
+     * @param format the file format
+     * @return a ResponseEntity object with status code 200 (OK) and the streamed export in the response body
+     */
+    @GetMapping("/admin/game-history/export")
+    public ResponseEntity<StreamingResponseBody> exportAllGameHistory(@RequestParam(defaultValue = "NDJSON") HistoryExportFormat format) {
+        return exportResponse(format, "all-game-history", historyExportService.exportAllHistory(format));
+    }
     
     /**
      * Retrieves count of won games for the authenticated user.
@@ -170,7 +262,7 @@ public class GameController {
      */
     @GetMapping("/user/won-games-count")
     public ResponseEntity<Long> getWonGamesCount() {
-        Long wonGamesCount = gameService.getWonGamesCount();
+        Long wonGamesCount = admissionControl.admit(Work.READ, gameService::getWonGamesCount);
         return ResponseEntity.ok(wonGamesCount);
     }
     
@@ -181,7 +273,7 @@ public class GameController {
      */
     @GetMapping("/user/draw-games-count")
     public ResponseEntity<Long> getDrawGamesCount() {
-        Long drawGamesCount = gameService.getDrawGamesCount();
+        Long drawGamesCount = admissionControl.admit(Work.READ, gameService::getDrawGamesCount);
         return ResponseEntity.ok(drawGamesCount);
     }
     
@@ -200,6 +292,61 @@ public class GameController {
         return ResponseEntity.ok(rounds);
     }
 
+    /**
+     * Retrieves the replay of a finished game, decoded from its event log, and returns a ResponseEntity object
+     * with status code 200 (OK) and the GameReplayDto object in the response body.
+     *
+     * @param gameId the unique UUID identifier of the game to replay
+     * @return a ResponseEntity object with status code 200 (OK) and the GameReplayDto object in the response body
+     * @throws ResponseStatusException if the game has no event log
+     */
+    @GetMapping("/{gameId}/replay")
+    public ResponseEntity<GameReplayDto> getGameReplay(@PathVariable UUID gameId) {
+        return ResponseEntity.ok(gameService.getGameReplay(gameId));
+    }
+
+    /**
+     * Retrieves the packed binary event log of a finished game and returns it as application/octet-stream.
+     *
+     * @param gameId the unique UUID identifier of the game to replay
+     * @return a ResponseEntity object with status code 200 (OK) and the encoded event log in the response body
+     * @throws ResponseStatusException if the game has no event log
+     */
+    @GetMapping(value = "/{gameId}/replay/raw", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getGameEventLog(@PathVariable UUID gameId) {
+        return ResponseEntity.ok(gameService.getGameEventLog(gameId));
+    }
+
+    /**
+     * Retrieves a user's guessing accuracy over a window of games and returns a ResponseEntity object
+     * with status code 200 (OK) and the AccuracyDto object in the response body.
+     *
+     * @param userName the game name of the user
+     * @param window the window of games: LAST_GAMES, LAST_7_DAYS or ALL_TIME
+     * @param games the number of most recent games for the LAST_GAMES window
+     * @return a ResponseEntity object with status code 200 (OK) and the AccuracyDto object in the response body
+     */
+    @GetMapping("/user/accuracy")
+    public ResponseEntity<AccuracyDto> getAccuracy(
+            @RequestParam("userName") String userName,
+            @RequestParam(value = "window", defaultValue = "LAST_GAMES") AccuracyWindow window,
+            @RequestParam(value = "games", defaultValue = "10") @Min(1) int games) {
+        return ResponseEntity.ok(admissionControl.admit(Work.READ, () -> gameService.getAccuracy(userName, window, games)));
+    }
+
+    /**
+     * Retrieves the running statistics of a user and returns a ResponseEntity object with status code 200 (OK)
+     * and the UserStatsDto object in the response body.
+     *
+     * @param userName the game name of the user
+     * @return a ResponseEntity object with status code 200 (OK) and the UserStatsDto object in the response body
+     * @throws ResponseStatusException if the user is not found
+     */
+    @GetMapping("/user/stats")
+    public ResponseEntity<UserStatsDto> getUserStats(@RequestParam("userName") String userName) {
+        return ResponseEntity.ok(admissionControl.admit(Work.READ, () -> userStatsService.getUserStats(userName)));
+    }
+
     /**
      * Retrieves user information including winnings count for a specific user.
      *
@@ -211,4 +358,12 @@ public class GameController {
 
         return  ResponseEntity.ok(helperMethods.setPlayerInfoCard(sendUserNameDto.getUserName()));
     }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(HistoryExportFormat format, String fileName, StreamingResponseBody body) {
+        boolean csv = format == HistoryExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
 }
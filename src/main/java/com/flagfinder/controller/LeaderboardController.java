@@ -0,0 +1,110 @@
+package com.flagfinder.controller;
+
+import com.flagfinder.dto.LeaderboardEntryDto;
+import com.flagfinder.enumeration.LeaderboardPeriod;
+import com.flagfinder.enumeration.LeaderboardType;
+import com.flagfinder.service.LeaderboardService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller class for handling global and friends leaderboard API endpoints, all time or per day and week.
+ *
+ * @author Dragan Jovanovic
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/leaderboard")
+@RequiredArgsConstructor
+@CrossOrigin
+public class LeaderboardController {
+
+    /**
+     * The service used for reading the leaderboards.
+     */
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Retrieves the best players of a leaderboard and returns a ResponseEntity object with status code 200 (OK)
+     * and the list of LeaderboardEntryDto objects in the response body.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @param limit the maximum number of players
+     * @return a ResponseEntity object with status code 200 (OK) and the list of LeaderboardEntryDto objects in the response body
+     */
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntryDto>> getTop(@RequestParam(defaultValue = "WINS") LeaderboardType type,
+                                                            @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period,
+                                                            @RequestParam(defaultValue = "100") @Min(1) @Max(500) Integer limit) {
+        return ResponseEntity.ok(leaderboardService.getTop(type, period, limit));
+    }
+
+    /**
+     * Retrieves the authenticated user's rank and returns a ResponseEntity object with status code 200 (OK)
+     * and the LeaderboardEntryDto object in the response body.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @return a ResponseEntity object with status code 200 (OK) and the LeaderboardEntryDto object in the response body
+     */
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardEntryDto> getMyRank(@RequestParam(defaultValue = "WINS") LeaderboardType type,
+                                                         @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period) {
+        return ResponseEntity.ok(leaderboardService.getMyRank(type, period));
+    }
+
+    /**
+     * Retrieves the players ranked around the authenticated user and returns a ResponseEntity object with status code 200 (OK)
+     * and the list of LeaderboardEntryDto objects in the response body.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @param radius the number of players to include above and below the user
+     * @return a ResponseEntity object with status code 200 (OK) and the list of LeaderboardEntryDto objects in the response body
+     */
+    @GetMapping("/around-me")
+    public ResponseEntity<List<LeaderboardEntryDto>> getAroundMe(@RequestParam(defaultValue = "WINS") LeaderboardType type,
+                                                                 @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period,
+                                                                 @RequestParam(defaultValue = "5") @Min(0) @Max(50) Integer radius) {
+        return ResponseEntity.ok(leaderboardService.getAroundMe(type, period, radius));
+    }
+
+    /**
+     * Retrieves the leaderboard of the authenticated user and their friends and returns a ResponseEntity object
+     * with status code 200 (OK) and the list of LeaderboardEntryDto objects in the response body.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @return a ResponseEntity object with status code 200 (OK) and the list of LeaderboardEntryDto objects in the response body
+     */
+    @GetMapping("/friends")
+    public ResponseEntity<List<LeaderboardEntryDto>> getFriends(@RequestParam(defaultValue = "WINS") LeaderboardType type,
+                                                                @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period) {
+        return ResponseEntity.ok(leaderboardService.getFriends(type, period));
+    }
+
+    /**
+     * Retrieves the stored top of a closed daily or weekly leaderboard and returns a ResponseEntity object
+     * with status code 200 (OK) and the list of LeaderboardEntryDto objects in the response body.
+     *
+     * @param type the leaderboard to read
+     * @param period the daily or weekly period
+     * @param windowStart any day inside the window
+     * @return a ResponseEntity object with status code 200 (OK) and the list of LeaderboardEntryDto objects in the response body
+     */
+    @GetMapping("/history")
+    public ResponseEntity<List<LeaderboardEntryDto>> getClosedWindow(@RequestParam(defaultValue = "WINS") LeaderboardType type,
+                                                                     @RequestParam LeaderboardPeriod period,
+                                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate windowStart) {
+        return ResponseEntity.ok(leaderboardService.getClosedWindow(type, period, windowStart));
+    }
+}
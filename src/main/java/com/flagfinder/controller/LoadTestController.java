@@ -0,0 +1,78 @@
+package com.flagfinder.controller;
+
+import com.flagfinder.dto.LoadTestStatsDto;
+import com.flagfinder.service.impl.GameTimerServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller exposing server-side counters to the load test runner.
+ * Only registered when the LOADTEST profile is active, which also enables Hibernate statistics.
+ *
+ * @author Dragan Jovanovic
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/loadtest")
+@RequiredArgsConstructor
+@Profile("LOADTEST")
+public class LoadTestController {
+
+    /**
+     * The entity manager factory used to read Hibernate statistics.
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * The round timer service used to read timer drift.
+     */
+    private final GameTimerServiceImpl gameTimerService;
+
+    /**
+     * Retrieves the database and timer counters and returns a ResponseEntity object with status code 200 (OK)
+     * and the LoadTestStatsDto object in the response body.
+     *
+     * @return a ResponseEntity object with status code 200 (OK) and the LoadTestStatsDto object in the response body
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<LoadTestStatsDto> getStats() {
+        Statistics statistics = statistics();
+
+        LoadTestStatsDto stats = new LoadTestStatsDto();
+        stats.setPreparedStatementCount(statistics.getPrepareStatementCount());
+        stats.setQueryExecutionCount(statistics.getQueryExecutionCount());
+        stats.setEntityLoadCount(statistics.getEntityLoadCount());
+        stats.setCollectionFetchCount(statistics.getCollectionFetchCount());
+        stats.setTransactionCount(statistics.getSuccessfulTransactionCount());
+        stats.setSlowestQuery(statistics.getQueryExecutionMaxTimeQueryString());
+        stats.setSlowestQueryMillis(statistics.getQueryExecutionMaxTime());
+        stats.setTimersFired(gameTimerService.getTimersFired());
+        stats.setAverageTimerDriftMillis(gameTimerService.getAverageTimerDriftMillis());
+        stats.setMaxTimerDriftMillis(gameTimerService.getMaxTimerDriftMillis());
+
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Resets the database and timer counters and returns a ResponseEntity object with status code 204 (No Content).
+     *
+     * @return a ResponseEntity object with status code 204 (No Content)
+     */
+    @PostMapping("/stats/reset")
+    public ResponseEntity<Void> resetStats() {
+        statistics().clear();
+        gameTimerService.resetTimerDrift();
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
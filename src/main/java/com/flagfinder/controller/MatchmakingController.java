@@ -0,0 +1,69 @@
+package com.flagfinder.controller;
+
+import com.flagfinder.dto.MatchmakingStatsDto;
+import com.flagfinder.dto.QueueTicketDto;
+import com.flagfinder.dto.QuickMatchRequestDto;
+import com.flagfinder.service.MatchmakingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Controller class for handling quick match queue API endpoints.
+ *
+ * @author Dragan Jovanovic
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/matchmaking")
+@RequiredArgsConstructor
+@CrossOrigin
+public class MatchmakingController {
+
+    /**
+     * The service used for matchmaking operations.
+     */
+    private final MatchmakingService matchmakingService;
+
+    /**
+     * Puts the authenticated user into the quick match queue and returns a ResponseEntity object with status code 202 (Accepted)
+     * and the QueueTicketDto object in the response body. The match is announced on {@code /user/queue/match-found}.
+     *
+     * @param request the DTO containing the continent filter and number of rounds
+     * @return a ResponseEntity object with status code 202 (Accepted) and the QueueTicketDto object in the response body
+     * @throws ResponseStatusException if the user is not found
+     */
+    @PostMapping("/queue")
+    public ResponseEntity<QueueTicketDto> enqueue(@RequestBody QuickMatchRequestDto request) {
+        QueueTicketDto ticket = matchmakingService.enqueue(request);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
+    }
+
+    /**
+     * Removes the authenticated user from the quick match queue and returns a ResponseEntity object with status code 204 (No Content).
+     *
+     * @return a ResponseEntity object with status code 204 (No Content)
+     * @throws ResponseStatusException if the user is not waiting in the queue
+     */
+    @DeleteMapping("/queue")
+    public ResponseEntity<Void> leaveQueue() {
+        matchmakingService.leaveQueue();
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retrieves the queue depth and wait time metrics and returns a ResponseEntity object with status code 200 (OK)
+     * and the MatchmakingStatsDto object in the response body.
+     *
+     * @return a ResponseEntity object with status code 200 (OK) and the MatchmakingStatsDto object in the response body
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<MatchmakingStatsDto> getStats() {
+        return ResponseEntity.ok(matchmakingService.getStats());
+    }
+}
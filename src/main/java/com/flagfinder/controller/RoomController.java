@@ -2,6 +2,8 @@ package com.flagfinder.controller;
 
 import com.flagfinder.dto.*;
 import com.flagfinder.service.RoomService;
+import com.flagfinder.service.impl.AdmissionControl;
+import com.flagfinder.service.impl.AdmissionControl.Work;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -15,13 +17,15 @@ import org.springframework.web.bind.annotation.*;
 public class RoomController {
     
     private final RoomService roomService;
+
+    private final AdmissionControl admissionControl;
     
     /**
      * Creates a new room
      */
     @PostMapping("/create")
     public ResponseEntity<RoomDto> createRoom(@RequestBody CreateRoomRequestDto request) {
-        RoomDto roomDto = roomService.createRoom(request);
+        RoomDto roomDto = admissionControl.admit(Work.GAME_CREATION, () -> roomService.createRoom(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(roomDto);
     }
 
@@ -30,7 +34,8 @@ public class RoomController {
      */
     @PostMapping("/create-single-player-room")
     public ResponseEntity<SinglePlayerRoomDto> createSinglePlayerRoom(@RequestBody CreateSinglePlayerRoomRequestDto request) {
-        SinglePlayerRoomDto singlePlayerRoomDto = roomService.createSinglePlayerRoom(request);
+        SinglePlayerRoomDto singlePlayerRoomDto = admissionControl.admit(Work.GAME_CREATION,
+                () -> roomService.createSinglePlayerRoom(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(singlePlayerRoomDto);
     }
 
@@ -81,4 +86,12 @@ public class RoomController {
         RoomDto roomDto = roomService.updateRounds(id, request);
         return ResponseEntity.ok(roomDto);
     }
+
+    /**
+     * Adds the bot as a guest to a room
+     */
+    @PostMapping("/{id}/bot")
+    public ResponseEntity<RoomDto> addBotGuest(@PathVariable("id") java.util.UUID id) {
+        return ResponseEntity.ok(roomService.addBotGuest(id));
+    }
 }
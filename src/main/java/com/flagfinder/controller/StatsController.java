@@ -0,0 +1,125 @@
+package com.flagfinder.controller;
+
+import com.flagfinder.dto.CountryDifficultyDto;
+import com.flagfinder.dto.ProjectionStatusDto;
+import com.flagfinder.dto.RatingRecomputeStatusDto;
+import com.flagfinder.dto.UserGameAggregateDto;
+import com.flagfinder.dto.UserGameHistoryDto;
+import com.flagfinder.service.RatingService;
+import com.flagfinder.service.StatsProjectionService;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Controller class for handling statistics API endpoints served from the outbox projections.
+ *
+ * @author Dragan Jovanovic
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/stats")
+@RequiredArgsConstructor
+@CrossOrigin
+public class StatsController {
+
+    /**
+     * The service used for reading and rebuilding the projections.
+     */
+    private final StatsProjectionService statsProjectionService;
+
+    /**
+     * The service used for recomputing ratings.
+     */
+    private final RatingService ratingService;
+
+    /**
+     * Retrieves a page of the authenticated user's game history and returns a ResponseEntity object with status code 200 (OK)
+     * and the page of UserGameHistoryDto objects in the response body.
+     *
+     * @param page the page number (0-based)
+     * @param pageSize the number of items per page
+     * @return a ResponseEntity object with status code 200 (OK) and the page of UserGameHistoryDto objects in the response body
+     */
+    @GetMapping("/history")
+    public ResponseEntity<Page<UserGameHistoryDto>> getGameHistory(@RequestParam(defaultValue = "0") @Min(0) Integer page,
+                                                                   @RequestParam(defaultValue = "10") @Min(1) Integer pageSize) {
+        return ResponseEntity.ok(statsProjectionService.getGameHistory(page, pageSize));
+    }
+
+    /**
+     * Retrieves the authenticated user's multiplayer totals and returns a ResponseEntity object with status code 200 (OK)
+     * and the UserGameAggregateDto object in the response body.
+     *
+     * @return a ResponseEntity object with status code 200 (OK) and the UserGameAggregateDto object in the response body
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<UserGameAggregateDto> getGameAggregate() {
+        return ResponseEntity.ok(statsProjectionService.getGameAggregate());
+    }
+
+    /**
+     * Retrieves the recognition counters of all countries, hardest first, and returns a ResponseEntity object
+     * with status code 200 (OK) and the list of CountryDifficultyDto objects in the response body.
+     *
+     * @return a ResponseEntity object with status code 200 (OK) and the list of CountryDifficultyDto objects in the response body
+     */
+    @GetMapping("/countries")
+    public ResponseEntity<List<CountryDifficultyDto>> getCountryDifficulty() {
+        return ResponseEntity.ok(statsProjectionService.getCountryDifficulty());
+    }
+
+    /**
+     * Retrieves the checkpoint and lag of every projection and returns a ResponseEntity object with status code 200 (OK)
+     * and the list of ProjectionStatusDto objects in the response body.
+     *
+     * @return a ResponseEntity object with status code 200 (OK) and the list of ProjectionStatusDto objects in the response body
+     */
+    @GetMapping("/projections")
+    public ResponseEntity<List<ProjectionStatusDto>> getProjectionStatus() {
+        return ResponseEntity.ok(statsProjectionService.getProjectionStatus());
+    }
+
+    /**
+     * Starts rebuilding a projection from the beginning of the outbox and returns a ResponseEntity object
+     * with status code 202 (Accepted) and the ProjectionStatusDto object in the response body.
+     *
+     * @param name the name of the projection to rebuild
+     * @return a ResponseEntity object with status code 202 (Accepted) and the ProjectionStatusDto object in the response body
+     * @throws ResponseStatusException if the projection does not exist or is already being rebuilt
+     */
+    @PostMapping("/projections/{name}/rebuild")
+    public ResponseEntity<ProjectionStatusDto> rebuildProjection(@PathVariable String name) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(statsProjectionService.rebuildProjection(name));
+    }
+
+    /**
+     * Starts recomputing all Elo ratings from the game history and returns a ResponseEntity object
+     * with status code 202 (Accepted) and the RatingRecomputeStatusDto object in the response body.
+     *
+     * @return a ResponseEntity object with status code 202 (Accepted) and the RatingRecomputeStatusDto object in the response body
+     * @throws ResponseStatusException if a recomputation is already running
+     */
+    @PostMapping("/ratings/recompute")
+    public ResponseEntity<RatingRecomputeStatusDto> recomputeRatings() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ratingService.recomputeRatings());
+    }
+
+    /**
+     * Retrieves the progress of the last rating recomputation and returns a ResponseEntity object
+     * with status code 200 (OK) and the RatingRecomputeStatusDto object in the response body.
+     *
+     * @return a ResponseEntity object with status code 200 (OK) and the RatingRecomputeStatusDto object in the response body
+     */
+    @GetMapping("/ratings/recompute")
+    public ResponseEntity<RatingRecomputeStatusDto> getRecomputeStatus() {
+        return ResponseEntity.ok(ratingService.getRecomputeStatus());
+    }
+}
@@ -0,0 +1,84 @@
+package com.flagfinder.controller;
+
+import com.flagfinder.dto.CreateTournamentRequestDto;
+import com.flagfinder.dto.TournamentDto;
+import com.flagfinder.service.TournamentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+
+/**
+ * Controller class for handling tournament-related API endpoints.
+ *
+ * @author Dragan Jovanovic
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/tournaments")
+@RequiredArgsConstructor
+@CrossOrigin
+public class TournamentController {
+
+    /**
+     * The service used for tournament operations.
+     */
+    private final TournamentService tournamentService;
+
+    /**
+     * Creates a new tournament hosted by the authenticated user and returns a ResponseEntity object with status code 201 (Created)
+     * and the created TournamentDto object in the response body.
+     *
+     * @param request the DTO containing the tournament format and game settings
+     * @return a ResponseEntity object with status code 201 (Created) and the created TournamentDto object in the response body
+     */
+    @PostMapping
+    public ResponseEntity<TournamentDto> createTournament(@RequestBody CreateTournamentRequestDto request) {
+        TournamentDto tournament = tournamentService.createTournament(request);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(tournament);
+    }
+
+    /**
+     * Registers the authenticated user for a tournament and returns a ResponseEntity object with status code 200 (OK)
+     * and the updated TournamentDto object in the response body.
+     *
+     * @param tournamentId the ID of the tournament to join
+     * @return a ResponseEntity object with status code 200 (OK) and the updated TournamentDto object in the response body
+     * @throws ResponseStatusException if the tournament is not found, already started or full
+     */
+    @PostMapping("/{tournamentId}/join")
+    public ResponseEntity<TournamentDto> joinTournament(@PathVariable UUID tournamentId) {
+        return ResponseEntity.ok(tournamentService.joinTournament(tournamentId));
+    }
+
+    /**
+     * Starts a tournament and returns a ResponseEntity object with status code 200 (OK)
+     * and the started TournamentDto object in the response body.
+     *
+     * @param tournamentId the ID of the tournament to start
+     * @return a ResponseEntity object with status code 200 (OK) and the started TournamentDto object in the response body
+     * @throws ResponseStatusException if the user is not the host, or the tournament already started or has fewer than 2 players
+     */
+    @PostMapping("/{tournamentId}/start")
+    public ResponseEntity<TournamentDto> startTournament(@PathVariable UUID tournamentId) {
+        return ResponseEntity.ok(tournamentService.startTournament(tournamentId));
+    }
+
+    /**
+     * Retrieves a tournament's standings and pairings and returns a ResponseEntity object with status code 200 (OK)
+     * and the TournamentDto object in the response body.
+     *
+     * @param tournamentId the ID of the tournament
+     * @return a ResponseEntity object with status code 200 (OK) and the TournamentDto object in the response body
+     * @throws ResponseStatusException if the tournament is not found
+     */
+    @GetMapping("/{tournamentId}")
+    public ResponseEntity<TournamentDto> getTournament(@PathVariable UUID tournamentId) {
+        return ResponseEntity.ok(tournamentService.getTournament(tournamentId));
+    }
+}
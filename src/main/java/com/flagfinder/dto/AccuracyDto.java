@@ -0,0 +1,35 @@
+package com.flagfinder.dto;
+
+import com.flagfinder.enumeration.AccuracyWindow;
+import lombok.Data;
+
+/**
+ * DTO representing a user's guessing accuracy over a window of games.
+ */
+@Data
+public class AccuracyDto {
+    /**
+     * The window the accuracy was computed over.
+     */
+    private AccuracyWindow window;
+
+    /**
+     * The number of games inside the window.
+     */
+    private long games;
+
+    /**
+     * The number of rounds played in those games.
+     */
+    private long rounds;
+
+    /**
+     * The number of rounds the user guessed correctly.
+     */
+    private long correctGuesses;
+
+    /**
+     * Correct guesses as a percentage of rounds (0-100).
+     */
+    private int accuracyPercentage;
+}
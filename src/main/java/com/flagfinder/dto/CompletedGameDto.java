@@ -4,6 +4,7 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -41,6 +42,11 @@ public class CompletedGameDto {
      * The final score achieved by the guest player.
      */
     private Integer guestScore;
+
+    /**
+     * The final score of every player keyed by username.
+     */
+    private Map<String, Integer> scores;
     
     /**
      * List of all rounds played in the game.
@@ -0,0 +1,35 @@
+package com.flagfinder.dto;
+
+import com.flagfinder.enumeration.Continent;
+import lombok.Data;
+
+/**
+ * DTO representing a user's rounds and correct guesses for countries of one continent.
+ */
+@Data
+public class ContinentStatsDto {
+    /**
+     * The continent of the rounds' countries.
+     */
+    private Continent continent;
+
+    /**
+     * The number of multiplayer rounds with a country on the continent.
+     */
+    private long multiplayerRounds;
+
+    /**
+     * The number of those multiplayer rounds guessed correctly.
+     */
+    private long multiplayerCorrectGuesses;
+
+    /**
+     * The number of single player rounds with a country on the continent.
+     */
+    private long singlePlayerRounds;
+
+    /**
+     * The number of those single player rounds guessed correctly.
+     */
+    private long singlePlayerCorrectGuesses;
+}
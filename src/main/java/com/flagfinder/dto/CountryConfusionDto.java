@@ -0,0 +1,26 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * DTO representing a wrong country that players pick for a flag.
+ */
+@Data
+public class CountryConfusionDto {
+    /**
+     * The ID of the wrong country.
+     */
+    private UUID guessedCountryId;
+
+    /**
+     * The name of the wrong country.
+     */
+    private String guessedCountryName;
+
+    /**
+     * The number of times it was guessed for the flag.
+     */
+    private long picks;
+}
@@ -0,0 +1,59 @@
+package com.flagfinder.dto;
+
+import com.flagfinder.enumeration.Difficulty;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO representing how often a country's flag is recognized.
+ */
+@Data
+public class CountryDifficultyDto {
+    /**
+     * The ID of the country.
+     */
+    private UUID countryId;
+
+    /**
+     * The name of the country.
+     */
+    private String countryName;
+
+    /**
+     * The number of rounds the country was shown in.
+     */
+    private long timesShown;
+
+    /**
+     * The number of guesses made for the country's flag.
+     */
+    private long attempts;
+
+    /**
+     * The number of correct guesses for the country's flag.
+     */
+    private long correctAttempts;
+
+    /**
+     * Correct guesses as a percentage of all guesses.
+     */
+    private int accuracyPercentage;
+
+    /**
+     * The mean time from round start to guess, in milliseconds.
+     */
+    private long averageResponseMillis;
+
+    /**
+     * The difficulty band the country is picked for in difficulty-weighted games.
+     */
+    private Difficulty difficulty;
+
+    /**
+     * The wrong countries most often guessed for the flag, most picked first.
+     */
+    private List<CountryConfusionDto> commonWrongGuesses = new ArrayList<>();
+}
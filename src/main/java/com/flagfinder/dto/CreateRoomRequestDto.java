@@ -13,4 +13,10 @@ public class CreateRoomRequestDto {
      * Defaults to 5 rounds if not specified.
      */
     private Integer numberOfRounds = 5;
+
+    /**
+     * The maximum number of players allowed in the room, including the host.
+     * Defaults to 2 players if not specified.
+     */
+    private Integer maxPlayers = 2;
 }
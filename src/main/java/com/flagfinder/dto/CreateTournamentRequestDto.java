@@ -0,0 +1,36 @@
+package com.flagfinder.dto;
+
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.TournamentFormat;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for creating a new tournament request.
+ * Contains the tournament format and the settings used for every tournament game.
+ */
+@Data
+public class CreateTournamentRequestDto {
+    /**
+     * The display name of the tournament.
+     */
+    private String name;
+
+    /**
+     * The pairing format of the tournament.
+     * Defaults to single elimination if not specified.
+     */
+    private TournamentFormat format = TournamentFormat.SINGLE_ELIMINATION;
+
+    /**
+     * The number of rounds played in each tournament game.
+     * Defaults to 5 rounds if not specified.
+     */
+    private Integer roundsPerGame = 5;
+
+    /**
+     * The continents to select countries from, or empty for all continents.
+     */
+    private List<Continent> continents;
+}
@@ -0,0 +1,36 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * DTO representing today's daily challenge and the authenticated user's part in it.
+ */
+@Data
+public class DailyChallengeDto {
+    /**
+     * The day of the challenge.
+     */
+    private LocalDate date;
+
+    /**
+     * The number of rounds every player plays.
+     */
+    private int rounds;
+
+    /**
+     * The number of players who finished the challenge so far.
+     */
+    private int players;
+
+    /**
+     * Whether the user already started today's challenge. Each player gets one attempt per day.
+     */
+    private boolean attempted;
+
+    /**
+     * The user's place on today's board, or null until they finish the challenge.
+     */
+    private LeaderboardEntryDto result;
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -47,6 +48,11 @@ public class GameDto {
      * Current score of the guest player.
      */
     private Integer guestScore;
+
+    /**
+     * Current score of every player keyed by username.
+     */
+    private Map<String, Integer> scores;
     
     /**
      * Total number of rounds in the game.
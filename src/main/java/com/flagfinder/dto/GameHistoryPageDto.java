@@ -0,0 +1,22 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO representing one page of a player's game history read by cursor.
+ */
+@Data
+public class GameHistoryPageDto {
+    /**
+     * The games of the page, most recent first. Round details are loaded separately per game.
+     */
+    private List<UserGameHistoryDto> games = new ArrayList<>();
+
+    /**
+     * The cursor of the next page, or null if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO representing a finished game decoded from its event log.
+ */
+@Data
+public class GameReplayDto {
+    /**
+     * The ID of the replayed game.
+     */
+    private UUID gameId;
+
+    /**
+     * The server time the game started at.
+     */
+    private Instant startedAt;
+
+    /**
+     * The game names of the players, in seat order.
+     */
+    private List<String> players = new ArrayList<>();
+
+    /**
+     * The events of the game in the order they happened.
+     */
+    private List<GameReplayEventDto> events = new ArrayList<>();
+}
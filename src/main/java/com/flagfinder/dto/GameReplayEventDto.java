@@ -0,0 +1,47 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * DTO representing a single event of a game replay.
+ * Only the fields that apply to the event type are set.
+ */
+@Data
+public class GameReplayEventDto {
+    /**
+     * The event type: GAME_STARTED, ROUND_STARTED, GUESS, SCORE or GAME_ENDED.
+     */
+    private String type;
+
+    /**
+     * Milliseconds between the game start and the event, as seen by the server.
+     */
+    private long offsetMillis;
+
+    /**
+     * The round the event belongs to, for round and guess events.
+     */
+    private Integer roundNumber;
+
+    /**
+     * The game name of the player, for guess and score events, or the winner for the end event.
+     */
+    private String userName;
+
+    /**
+     * The ID of the round's country for round events, or of the guessed country for guess events.
+     */
+    private UUID countryId;
+
+    /**
+     * Whether the guess was correct, for guess events.
+     */
+    private Boolean correct;
+
+    /**
+     * The player's new score, for score events.
+     */
+    private Integer score;
+}
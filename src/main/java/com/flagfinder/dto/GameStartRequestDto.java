@@ -1,6 +1,8 @@
 package com.flagfinder.dto;
 
 import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.Difficulty;
+import com.flagfinder.enumeration.SinglePlayerMode;
 import lombok.Data;
 
 import java.util.List;
@@ -21,4 +23,14 @@ public class GameStartRequestDto {
      * List of continents/regions to include in the game.
      */
     private List<Continent> continents;
+
+    /**
+     * The difficulty to weight country selection towards, or null for uniform selection.
+     */
+    private Difficulty difficulty;
+
+    /**
+     * How the countries of a single player game are chosen, classic when not set.
+     */
+    private SinglePlayerMode mode;
 }
@@ -0,0 +1,24 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+/**
+ * DTO representing a player's place on a leaderboard.
+ */
+@Data
+public class LeaderboardEntryDto {
+    /**
+     * The player's rank. Players with equal scores share a rank.
+     */
+    private int rank;
+
+    /**
+     * The game name of the player.
+     */
+    private String userName;
+
+    /**
+     * The score the leaderboard ranks by.
+     */
+    private long score;
+}
@@ -0,0 +1,60 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+/**
+ * DTO containing server-side counters read by the load test runner.
+ * Database counters come from Hibernate statistics and timer counters from the round timer service.
+ */
+@Data
+public class LoadTestStatsDto {
+    /**
+     * The number of JDBC statements prepared since the last reset.
+     */
+    private long preparedStatementCount;
+
+    /**
+     * The number of HQL and native queries executed since the last reset.
+     */
+    private long queryExecutionCount;
+
+    /**
+     * The number of entities loaded since the last reset.
+     */
+    private long entityLoadCount;
+
+    /**
+     * The number of collections fetched since the last reset.
+     */
+    private long collectionFetchCount;
+
+    /**
+     * The number of committed transactions since the last reset.
+     */
+    private long transactionCount;
+
+    /**
+     * The slowest query executed since the last reset.
+     */
+    private String slowestQuery;
+
+    /**
+     * The execution time of the slowest query in milliseconds.
+     */
+    private long slowestQueryMillis;
+
+    /**
+     * The number of round timers that fired since the last reset.
+     */
+    private long timersFired;
+
+    /**
+     * The average delay between a round timer's deadline and the moment it fired, in milliseconds.
+     */
+    private long averageTimerDriftMillis;
+
+    /**
+     * The largest delay between a round timer's deadline and the moment it fired, in milliseconds.
+     */
+    private long maxTimerDriftMillis;
+}
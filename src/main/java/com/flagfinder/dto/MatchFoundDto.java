@@ -0,0 +1,31 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * DTO sent to both players when the quick match queue pairs them.
+ */
+@Data
+public class MatchFoundDto {
+    /**
+     * The unique identifier of the room created for the match.
+     */
+    private UUID roomId;
+
+    /**
+     * The unique identifier of the game started for the match.
+     */
+    private UUID gameId;
+
+    /**
+     * The username of the opponent.
+     */
+    private String opponentUserName;
+
+    /**
+     * The time the player spent in the queue, in milliseconds.
+     */
+    private long waitMillis;
+}
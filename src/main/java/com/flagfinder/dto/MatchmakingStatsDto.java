@@ -0,0 +1,44 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+/**
+ * DTO exposing quick match queue metrics.
+ */
+@Data
+public class MatchmakingStatsDto {
+    /**
+     * The number of players currently waiting in the queue.
+     */
+    private int queueDepth;
+
+    /**
+     * The number of rating/continent buckets that currently hold tickets.
+     */
+    private int activeBuckets;
+
+    /**
+     * The total number of players that entered the queue since startup.
+     */
+    private long totalEnqueued;
+
+    /**
+     * The total number of matches made since startup.
+     */
+    private long matchesMade;
+
+    /**
+     * The average time matched players spent in the queue, in milliseconds.
+     */
+    private long averageWaitMillis;
+
+    /**
+     * The longest time a matched player spent in the queue, in milliseconds.
+     */
+    private long maxWaitMillis;
+
+    /**
+     * The time the longest waiting player has currently been in the queue, in milliseconds.
+     */
+    private long oldestWaitingMillis;
+}
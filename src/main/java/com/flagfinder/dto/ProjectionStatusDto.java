@@ -0,0 +1,36 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * DTO representing how far a projection has consumed the outbox.
+ */
+@Data
+public class ProjectionStatusDto {
+    /**
+     * The name of the projection.
+     */
+    private String name;
+
+    /**
+     * The ID of the last outbox event applied to the projection.
+     */
+    private long lastEventId;
+
+    /**
+     * The number of outbox events not applied yet.
+     */
+    private long lag;
+
+    /**
+     * Whether the projection is being rebuilt.
+     */
+    private boolean rebuilding;
+
+    /**
+     * The date and time when the checkpoint last moved.
+     */
+    private Instant updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.flagfinder.dto;
+
+import com.flagfinder.enumeration.Continent;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO describing a player's place in the quick match queue.
+ */
+@Data
+public class QueueTicketDto {
+    /**
+     * The rating the player was queued with.
+     */
+    private int rating;
+
+    /**
+     * The continents the player wants to play with.
+     */
+    private List<Continent> continents;
+
+    /**
+     * The moment the player entered the queue.
+     */
+    private Instant queuedAt;
+
+    /**
+     * The number of players waiting in the queue at the time of the response.
+     */
+    private int queueDepth;
+}
@@ -0,0 +1,24 @@
+package com.flagfinder.dto;
+
+import com.flagfinder.enumeration.Continent;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for joining the quick match queue.
+ * Players are only paired with others who selected the same continents.
+ */
+@Data
+public class QuickMatchRequestDto {
+    /**
+     * List of continents/regions to play with, or empty for all continents.
+     */
+    private List<Continent> continents;
+
+    /**
+     * The number of rounds to be played once a match is found.
+     * Defaults to 5 rounds if not specified.
+     */
+    private Integer numberOfRounds = 5;
+}
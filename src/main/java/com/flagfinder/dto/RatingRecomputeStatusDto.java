@@ -0,0 +1,51 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * DTO representing the progress of the last rating recomputation.
+ */
+@Data
+public class RatingRecomputeStatusDto {
+    /**
+     * Whether a recomputation is running.
+     */
+    private boolean running;
+
+    /**
+     * Whether the last recomputation failed.
+     */
+    private boolean failed;
+
+    /**
+     * The date and time when the last recomputation started.
+     */
+    private Instant startedAt;
+
+    /**
+     * The date and time when the last recomputation finished.
+     */
+    private Instant finishedAt;
+
+    /**
+     * The number of games replayed.
+     */
+    private long gamesReplayed;
+
+    /**
+     * The number of independent groups of players replayed in parallel.
+     */
+    private int components;
+
+    /**
+     * The number of games in the largest group of players, which bounds the replay time.
+     */
+    private int largestComponentGames;
+
+    /**
+     * The number of stored ratings that changed.
+     */
+    private long ratingsUpdated;
+}
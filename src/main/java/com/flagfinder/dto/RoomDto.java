@@ -4,6 +4,7 @@ import com.flagfinder.enumeration.RoomStatus;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * DTO representing a multiplayer game room.
@@ -20,6 +21,16 @@ public class RoomDto extends BaseEntityDto {
      * The username of the guest player who joined the room.
      */
     private String guestUserName;
+
+    /**
+     * The usernames of all players in the room, starting with the host.
+     */
+    private List<String> playerUserNames;
+
+    /**
+     * The maximum number of players allowed in the room, including the host.
+     */
+    private Integer maxPlayers;
     
     /**
      * The current status of the room.
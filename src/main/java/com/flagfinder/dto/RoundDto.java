@@ -50,4 +50,9 @@ public class RoundDto {
      * List of guesses made by players in this round.
      */
     private List<GuessDto> guesses;
+
+    /**
+     * The URL of the next round's flag, so clients can load it ahead of time, or null in the last round.
+     */
+    private String nextFlagUrl;
 }
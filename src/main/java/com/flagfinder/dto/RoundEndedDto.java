@@ -0,0 +1,37 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO announcing the result of a multiplayer round together with the flag of the round that follows.
+ */
+@Data
+public class RoundEndedDto {
+    /**
+     * The unique identifier of the game.
+     */
+    private UUID gameId;
+
+    /**
+     * The number of the round that ended.
+     */
+    private Integer roundNumber;
+
+    /**
+     * The name of the country that was shown.
+     */
+    private String correctCountryName;
+
+    /**
+     * Score of every player keyed by game name, after the round.
+     */
+    private Map<String, Integer> scores;
+
+    /**
+     * The URL of the next round's flag, so clients can load it before the round starts, or null after the last round.
+     */
+    private String nextFlagUrl;
+}
@@ -0,0 +1,38 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * DTO announcing the start of a multiplayer round whose flag was sent ahead with the previous round.
+ * Sent on {@code /queue/round-advanced} and carries only what changes between rounds; the full game state stays
+ * available from the game endpoint.
+ */
+@Data
+public class RoundStartedDto {
+    /**
+     * The unique identifier of the game.
+     */
+    private UUID gameId;
+
+    /**
+     * The number of the round that started.
+     */
+    private Integer roundNumber;
+
+    /**
+     * The URL of this round's flag, as announced with the previous round.
+     */
+    private String flagUrl;
+
+    /**
+     * The URL of the next round's flag, so clients can load it ahead of time, or null in the last round.
+     */
+    private String nextFlagUrl;
+
+    /**
+     * The time to answer in seconds.
+     */
+    private Long timeRemaining;
+}
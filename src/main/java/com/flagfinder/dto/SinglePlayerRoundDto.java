@@ -45,6 +45,11 @@ public class SinglePlayerRoundDto {
      * Indicates whether this round is currently active.
      */
     private boolean roundActive;
+
+    /**
+     * The answers to choose from in a multiple-choice game, or null in other modes.
+     */
+    private List<String> options;
     
     /**
      * The guess made by the player in this round.
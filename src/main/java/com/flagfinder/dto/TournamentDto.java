@@ -0,0 +1,72 @@
+package com.flagfinder.dto;
+
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.TournamentFormat;
+import com.flagfinder.enumeration.TournamentStatus;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for Tournament entity.
+ * Contains the tournament settings together with the live standings and pairings.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class TournamentDto extends BaseEntityDto {
+    /**
+     * The display name of the tournament.
+     */
+    private String name;
+
+    /**
+     * The game name of the user who created the tournament.
+     */
+    private String hostUserName;
+
+    /**
+     * The pairing format of the tournament.
+     */
+    private TournamentFormat format;
+
+    /**
+     * The current status of the tournament.
+     */
+    private TournamentStatus status;
+
+    /**
+     * The number of rounds played in each tournament game.
+     */
+    private Integer roundsPerGame;
+
+    /**
+     * The continents countries are selected from, or empty for all continents.
+     */
+    private List<Continent> continents;
+
+    /**
+     * The tournament round currently being played, or 0 before the start.
+     */
+    private int currentRound;
+
+    /**
+     * The total number of tournament rounds, known once the tournament starts.
+     */
+    private int totalRounds;
+
+    /**
+     * The standings of all players, best first.
+     */
+    private List<TournamentParticipantDto> participants;
+
+    /**
+     * The pairings of all rounds played so far.
+     */
+    private List<TournamentMatchDto> matches;
+
+    /**
+     * The game name of the tournament winner, or null until the tournament is completed.
+     */
+    private String winnerUserName;
+}
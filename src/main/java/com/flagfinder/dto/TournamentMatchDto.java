@@ -0,0 +1,46 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * DTO representing a single pairing in a tournament round.
+ */
+@Data
+public class TournamentMatchDto {
+    /**
+     * The tournament round the match belongs to.
+     */
+    private int round;
+
+    /**
+     * The game name of the first player, who hosts the match room.
+     */
+    private String playerOneUserName;
+
+    /**
+     * The game name of the second player, or null if the first player has a bye.
+     */
+    private String playerTwoUserName;
+
+    /**
+     * The ID of the room created for the match, or null if it has not started.
+     */
+    private UUID roomId;
+
+    /**
+     * The ID of the game played for the match, or null if it has not started.
+     */
+    private UUID gameId;
+
+    /**
+     * The game name of the match winner, or null while the match is running or if it was drawn.
+     */
+    private String winnerUserName;
+
+    /**
+     * The status of the match: PENDING, IN_PROGRESS or COMPLETED.
+     */
+    private String status;
+}
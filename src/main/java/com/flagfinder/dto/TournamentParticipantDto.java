@@ -0,0 +1,29 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+/**
+ * DTO representing a player's standing in a tournament.
+ */
+@Data
+public class TournamentParticipantDto {
+    /**
+     * The game name of the player.
+     */
+    private String userName;
+
+    /**
+     * The player's seed, in join order starting from 1.
+     */
+    private int seed;
+
+    /**
+     * The player's tournament points: 1 for a win or bye and 0.5 for a draw.
+     */
+    private double points;
+
+    /**
+     * Whether the player has been eliminated from a single elimination tournament.
+     */
+    private boolean eliminated;
+}
@@ -0,0 +1,51 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO representing the multiplayer totals of a player.
+ */
+@Data
+public class UserGameAggregateDto {
+    /**
+     * The number of finished games the player took part in.
+     */
+    private long gamesPlayed;
+
+    /**
+     * The number of games the player won.
+     */
+    private long wins;
+
+    /**
+     * The number of games the player drew.
+     */
+    private long draws;
+
+    /**
+     * The number of games the player lost.
+     */
+    private long losses;
+
+    /**
+     * The number of rounds the player was dealt.
+     */
+    private long roundsPlayed;
+
+    /**
+     * The number of correct guesses the player made.
+     */
+    private long correctGuesses;
+
+    /**
+     * Correct guesses as a percentage of rounds played.
+     */
+    private int accuracyPercentage;
+
+    /**
+     * Timestamp when the player's last counted game ended.
+     */
+    private LocalDateTime lastGameEndedAt;
+}
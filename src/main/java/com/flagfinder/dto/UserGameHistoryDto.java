@@ -0,0 +1,63 @@
+package com.flagfinder.dto;
+
+import com.flagfinder.enumeration.GameResult;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat DTO representing one finished game from the point of view of the requesting player.
+ */
+@Data
+public class UserGameHistoryDto {
+    /**
+     * The ID of the game.
+     */
+    private UUID gameId;
+
+    /**
+     * Timestamp when the game started.
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Timestamp when the game ended.
+     */
+    private LocalDateTime endedAt;
+
+    /**
+     * The outcome of the game for the player.
+     */
+    private GameResult result;
+
+    /**
+     * The player's final score.
+     */
+    private Integer score;
+
+    /**
+     * The highest score among the other players.
+     */
+    private Integer bestOpponentScore;
+
+    /**
+     * The game names of the other players, comma separated.
+     */
+    private String opponentNames;
+
+    /**
+     * The game name of the winner, or null for a draw.
+     */
+    private String winnerUserName;
+
+    /**
+     * The number of rounds played.
+     */
+    private Integer roundsPlayed;
+
+    /**
+     * The number of correct guesses the player made.
+     */
+    private Integer correctGuesses;
+}
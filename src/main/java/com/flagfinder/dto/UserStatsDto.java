@@ -0,0 +1,92 @@
+package com.flagfinder.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO representing the running statistics of a user.
+ */
+@Data
+public class UserStatsDto {
+    /**
+     * The game name of the user.
+     */
+    private String userName;
+
+    /**
+     * The number of finished multiplayer games.
+     */
+    private long gamesPlayed;
+
+    /**
+     * The number of multiplayer games won.
+     */
+    private long wins;
+
+    /**
+     * The number of multiplayer games drawn.
+     */
+    private long draws;
+
+    /**
+     * The number of multiplayer games lost.
+     */
+    private long losses;
+
+    /**
+     * The number of multiplayer games won in a row up to the last game.
+     */
+    private int currentStreak;
+
+    /**
+     * The longest run of multiplayer games won in a row.
+     */
+    private int bestStreak;
+
+    /**
+     * The Elo rating from multiplayer games, rounded to a whole number.
+     */
+    private long rating;
+
+    /**
+     * The number of multiplayer games that changed the rating.
+     */
+    private int ratedGames;
+
+    /**
+     * The number of finished single player games.
+     */
+    private long singlePlayerGamesPlayed;
+
+    /**
+     * The number of multiplayer rounds played.
+     */
+    private long multiplayerRounds;
+
+    /**
+     * The number of multiplayer rounds guessed correctly.
+     */
+    private long multiplayerCorrectGuesses;
+
+    /**
+     * The number of single player rounds played.
+     */
+    private long singlePlayerRounds;
+
+    /**
+     * The number of single player rounds guessed correctly.
+     */
+    private long singlePlayerCorrectGuesses;
+
+    /**
+     * Multiplayer accuracy over the most recent games (0-100).
+     */
+    private int recentAccuracyPercentage;
+
+    /**
+     * Rounds and correct guesses split by continent, for continents with at least one round.
+     */
+    private List<ContinentStatsDto> continents = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.flagfinder.enumeration;
+
+/**
+ * Enumeration representing the range of games an accuracy figure is computed over.
+ */
+public enum AccuracyWindow {
+    /**
+     * The user's most recent games, up to a requested count.
+     */
+    LAST_GAMES,
+
+    /**
+     * Games created in the last seven days.
+     */
+    LAST_7_DAYS,
+
+    /**
+     * Every game the user played.
+     */
+    ALL_TIME
+}
@@ -0,0 +1,21 @@
+package com.flagfinder.enumeration;
+
+/**
+ * Enumeration representing how hard a flag is to recognize, used to weight country selection.
+ */
+public enum Difficulty {
+    /**
+     * Flags most players recognize.
+     */
+    EASY,
+
+    /**
+     * Flags recognized about half of the time.
+     */
+    MEDIUM,
+
+    /**
+     * Flags most players miss.
+     */
+    HARD
+}
@@ -0,0 +1,21 @@
+package com.flagfinder.enumeration;
+
+/**
+ * Enumeration representing the outcome of a game for a single player.
+ */
+public enum GameResult {
+    /**
+     * The player had the single highest score.
+     */
+    WIN,
+
+    /**
+     * Several players shared the highest score, including this player.
+     */
+    DRAW,
+
+    /**
+     * Another player won the game.
+     */
+    LOSS
+}
@@ -0,0 +1,16 @@
+package com.flagfinder.enumeration;
+
+/**
+ * Enumeration representing the file formats game history can be exported in.
+ */
+public enum HistoryExportFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON,
+
+    /**
+     * Comma separated values with a header row.
+     */
+    CSV
+}
@@ -0,0 +1,21 @@
+package com.flagfinder.enumeration;
+
+/**
+ * Enumeration representing the time window a leaderboard counts results in.
+ */
+public enum LeaderboardPeriod {
+    /**
+     * Every result since the player started.
+     */
+    ALL_TIME,
+
+    /**
+     * Results of games that ended today.
+     */
+    DAILY,
+
+    /**
+     * Results of games that ended this week, starting on Monday.
+     */
+    WEEKLY
+}
@@ -0,0 +1,21 @@
+package com.flagfinder.enumeration;
+
+/**
+ * Enumeration representing the score a leaderboard ranks players by.
+ */
+public enum LeaderboardType {
+    /**
+     * Multiplayer games won.
+     */
+    WINS,
+
+    /**
+     * Elo rating from multiplayer games.
+     */
+    RATING,
+
+    /**
+     * Correct guesses in multiplayer games.
+     */
+    CORRECT_GUESSES
+}
@@ -0,0 +1,28 @@
+package com.flagfinder.enumeration;
+
+/**
+ * Enumeration representing how the countries of a single player game are chosen.
+ */
+public enum SinglePlayerMode {
+    /**
+     * Countries are picked at random, optionally weighted by difficulty.
+     */
+    CLASSIC,
+
+    /**
+     * Countries are picked from the player's spaced-repetition learning queue,
+     * so missed flags come back sooner and known flags later.
+     */
+    PRACTICE,
+
+    /**
+     * Every player gets the same shared sequence of countries for the day and is ranked on the daily challenge leaderboard.
+     */
+    DAILY_CHALLENGE,
+
+    /**
+     * Countries are picked at random and each round offers four answers,
+     * with the wrong ones taken from the flags that look most like the right one.
+     */
+    MULTIPLE_CHOICE
+}
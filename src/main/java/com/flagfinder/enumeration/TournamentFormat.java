@@ -0,0 +1,16 @@
+package com.flagfinder.enumeration;
+
+/**
+ * Enumeration representing the pairing format of a tournament.
+ */
+public enum TournamentFormat {
+    /**
+     * Players are paired in a bracket and the loser of each match is eliminated.
+     */
+    SINGLE_ELIMINATION,
+
+    /**
+     * Every player plays each round against a player with a similar score, without elimination.
+     */
+    SWISS
+}
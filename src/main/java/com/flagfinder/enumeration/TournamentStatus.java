@@ -0,0 +1,21 @@
+package com.flagfinder.enumeration;
+
+/**
+ * Enumeration representing the status of a tournament.
+ */
+public enum TournamentStatus {
+    /**
+     * Tournament is accepting players.
+     */
+    REGISTRATION,
+
+    /**
+     * Tournament matches are being played.
+     */
+    IN_PROGRESS,
+
+    /**
+     * All tournament rounds have been played and the winner is decided.
+     */
+    COMPLETED
+}
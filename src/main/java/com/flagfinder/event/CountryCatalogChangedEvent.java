@@ -0,0 +1,9 @@
+package com.flagfinder.event;
+
+/**
+ * Event published when countries were added or removed, so in-memory data built from the catalog is rebuilt.
+ * Listeners that read the countries from the database should use a transactional event listener,
+ * so they only see committed changes.
+ */
+public class CountryCatalogChangedEvent {
+}
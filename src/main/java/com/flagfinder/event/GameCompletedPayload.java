@@ -0,0 +1,88 @@
+package com.flagfinder.event;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox payload describing a completed multiplayer game.
+ * It carries everything the projection builders need, so they never read the normalized game tables.
+ */
+@Data
+public class GameCompletedPayload {
+
+    /**
+     * The outbox event type of this payload.
+     */
+    public static final String TYPE = "GAME_COMPLETED";
+
+    /**
+     * The ID of the completed game.
+     */
+    private UUID gameId;
+
+    /**
+     * Timestamp when the game started.
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Timestamp when the game ended.
+     */
+    private LocalDateTime endedAt;
+
+    /**
+     * The game name of the winner, or null for a draw.
+     */
+    private String winnerUserName;
+
+    /**
+     * The continents the game's countries were drawn from, empty for all countries.
+     */
+    private List<String> continents = new ArrayList<>();
+
+    /**
+     * The players with their final results, host first.
+     */
+    private List<PlayerResult> players = new ArrayList<>();
+
+    /**
+     * The rounds played, in round order.
+     */
+    private List<RoundResult> rounds = new ArrayList<>();
+
+    /**
+     * Final result of one player.
+     */
+    @Data
+    public static class PlayerResult {
+        private UUID userId;
+        private String gameName;
+        private int score;
+    }
+
+    /**
+     * A played round and its guesses.
+     */
+    @Data
+    public static class RoundResult {
+        private int roundNumber;
+        private UUID countryId;
+        private String countryName;
+        private List<GuessResult> guesses = new ArrayList<>();
+    }
+
+    /**
+     * A guess of one player in a round.
+     */
+    @Data
+    public static class GuessResult {
+        private UUID userId;
+        private UUID guessedCountryId;
+        private boolean correct;
+        private long responseMillis;
+    }
+}
@@ -0,0 +1,42 @@
+package com.flagfinder.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Event published when a multiplayer game is completed.
+ * Listeners that need the final result committed should use a transactional event listener.
+ */
+@Getter
+@RequiredArgsConstructor
+public class GameEndedEvent {
+
+    /**
+     * The ID of the completed game.
+     */
+    private final UUID gameId;
+
+    /**
+     * The ID of the room the game was played in, or null if the game has no room.
+     */
+    private final UUID roomId;
+
+    /**
+     * The game name of the winner, or null for a draw.
+     */
+    private final String winnerUserName;
+
+    /**
+     * The game names of all players, host first.
+     */
+    private final List<String> playerUserNames;
+
+    /**
+     * Final score per player keyed by game name.
+     */
+    private final Map<String, Integer> scores;
+}
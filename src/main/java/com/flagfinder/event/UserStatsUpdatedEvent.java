@@ -0,0 +1,41 @@
+package com.flagfinder.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Event published when a user's statistics row changed.
+ * In-memory indexes built from the statistics should use a transactional event listener,
+ * so they only see values that were committed.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserStatsUpdatedEvent {
+
+    /**
+     * The ID of the user.
+     */
+    private final UUID userId;
+
+    /**
+     * The game name of the user.
+     */
+    private final String userName;
+
+    /**
+     * The user's multiplayer wins after the change.
+     */
+    private final long wins;
+
+    /**
+     * The user's Elo rating after the change.
+     */
+    private final double rating;
+
+    /**
+     * The user's correct guesses in multiplayer games after the change.
+     */
+    private final long correctGuesses;
+}
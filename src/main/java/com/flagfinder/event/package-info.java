@@ -0,0 +1,10 @@
+/**
+ * This package contains the application events published by the services of the application.
+ * Events let other services react to changes in the game lifecycle, such as a game ending,
+ * without the publishing service depending on them.
+ *
+ * @author Dragan Jovanovic
+ * @version 1.0
+ * @since 1.0
+ */
+package com.flagfinder.event;
@@ -3,10 +3,13 @@ package com.flagfinder.mapper;
 import com.flagfinder.dto.CompletedGameDto;
 import com.flagfinder.dto.GameDto;
 import com.flagfinder.model.Game;
+import com.flagfinder.model.User;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Mapper interface for converting between Game entities and DTOs.
@@ -24,6 +27,7 @@ public interface GameMapper {
     @Mapping(target = "hostName", expression = "java(game.getUsers().size() > 0 ? game.getUsers().get(0).getGameName() : null)")
     @Mapping(target = "guestName", expression = "java(game.getUsers().size() > 1 ? game.getUsers().get(1).getGameName() : null)")
     @Mapping(target = "playerNames", expression = "java(game.getUsers().stream().map(user -> user.getGameName()).collect(java.util.stream.Collectors.toList()))")
+    @Mapping(target = "scores", expression = "java(scoresByGameName(game))")
     @Mapping(target = "currentRound", ignore = true)
     @Mapping(target = "currentRoundData", ignore = true)
     GameDto gameToGameDto(Game game);
@@ -40,6 +44,7 @@ public interface GameMapper {
     @Mapping(target = "winnerUserName", source = "winnerUserName")
     @Mapping(target = "hostScore", source = "hostScore")
     @Mapping(target = "guestScore", source = "guestScore")
+    @Mapping(target = "scores", expression = "java(scoresByGameName(game))")
     @Mapping(target = "roundDtos", source = "rounds")
     @Mapping(target = "startedAt", source = "startedAt")
     @Mapping(target = "endedAt", source = "endedAt")
@@ -52,4 +57,25 @@ public interface GameMapper {
      * @return a list of GameDto objects
      */
     List<GameDto> gamesToGameDtos(List<Game> games);
+
+    /**
+     * Resolves the per-player score map of a game to game names, keeping player order.
+     * Games created before per-player scores fall back to the host and guest columns.
+     *
+     * @param game the Game object whose scores are mapped
+     * @return a map of player game name to score
+     */
+    default Map<String, Integer> scoresByGameName(Game game) {
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        List<User> users = game.getUsers();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            Integer score = game.getScores().get(user.getId());
+            if (score == null) {
+                score = i == 0 ? game.getHostScore() : i == 1 ? game.getGuestScore() : null;
+            }
+            scores.put(user.getGameName(), score != null ? score : 0);
+        }
+        return scores;
+    }
 }
@@ -0,0 +1,59 @@
+package com.flagfinder.mapper;
+
+import com.flagfinder.dto.CountryDifficultyDto;
+import com.flagfinder.dto.UserGameAggregateDto;
+import com.flagfinder.dto.UserGameHistoryDto;
+import com.flagfinder.model.CountryDifficulty;
+import com.flagfinder.model.UserGameAggregate;
+import com.flagfinder.model.UserGameHistory;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * MapStruct mapper interface for converting projection rows to DTOs.
+ * Percentages and averages are derived from the stored counters.
+ */
+@Mapper
+public interface ProjectionMapper {
+
+    /**
+     * Maps a history row to a UserGameHistoryDto.
+     *
+     * @param history the history row to be mapped
+     * @return a UserGameHistoryDto containing the game from the player's point of view
+     */
+    UserGameHistoryDto userGameHistoryToDto(UserGameHistory history);
+
+    /**
+     * Maps an aggregate row to a UserGameAggregateDto.
+     *
+     * @param aggregate the aggregate row to be mapped
+     * @return a UserGameAggregateDto containing the player's totals
+     */
+    @Mapping(target = "accuracyPercentage", expression = "java(percentage(aggregate.getCorrectGuesses(), aggregate.getRoundsPlayed()))")
+    UserGameAggregateDto userGameAggregateToDto(UserGameAggregate aggregate);
+
+    /**
+     * Maps a difficulty row to a CountryDifficultyDto.
+     *
+     * @param difficulty the difficulty row to be mapped
+     * @return a CountryDifficultyDto containing the country's recognition counters;
+     *         the difficulty band and common wrong guesses are filled in by the caller
+     */
+    @Mapping(target = "difficulty", ignore = true)
+    @Mapping(target = "commonWrongGuesses", ignore = true)
+    @Mapping(target = "accuracyPercentage", expression = "java(percentage(difficulty.getCorrectAttempts(), difficulty.getAttempts()))")
+    @Mapping(target = "averageResponseMillis", expression = "java(difficulty.getAttempts() == 0 ? 0 : difficulty.getTotalResponseMillis() / difficulty.getAttempts())")
+    CountryDifficultyDto countryDifficultyToDto(CountryDifficulty difficulty);
+
+    /**
+     * Computes a rounded percentage, 0 when there is nothing to divide by.
+     *
+     * @param part the counted part
+     * @param total the total
+     * @return the percentage between 0 and 100
+     */
+    default int percentage(long part, long total) {
+        return total == 0 ? 0 : (int) Math.round(part * 100.0 / total);
+    }
+}
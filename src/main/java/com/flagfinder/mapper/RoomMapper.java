@@ -2,9 +2,13 @@ package com.flagfinder.mapper;
 
 import com.flagfinder.dto.RoomDto;
 import com.flagfinder.model.Room;
+import com.flagfinder.model.User;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * MapStruct mapper interface for converting between Room entities and DTOs.
  * Handles mapping of room data with custom field mappings for host and guest user names.
@@ -21,5 +25,28 @@ public interface RoomMapper {
      */
     @Mapping(target = "hostUserName", source = "room.host.gameName")
     @Mapping(target = "guestUserName", source = "room.guest.gameName")
+    @Mapping(target = "playerUserNames", expression = "java(playerUserNames(room))")
+    @Mapping(target = "maxPlayers", expression = "java(room.getMaxPlayers() != null ? room.getMaxPlayers() : 2)")
     RoomDto roomToRoomDtoMapper(Room room);
+
+    /**
+     * Collects the game names of everyone seated in the room, host first, then players in join order.
+     * Rooms created before multi-player support only have a guest, which is included as well.
+     *
+     * @param room the Room entity to read players from
+     * @return the list of player game names
+     */
+    default List<String> playerUserNames(Room room) {
+        List<String> names = new ArrayList<>();
+        if (room.getHost() != null) {
+            names.add(room.getHost().getGameName());
+        }
+        if (room.getGuest() != null && !room.getPlayers().contains(room.getGuest())) {
+            names.add(room.getGuest().getGameName());
+        }
+        for (User player : room.getPlayers()) {
+            names.add(player.getGameName());
+        }
+        return names;
+    }
 }
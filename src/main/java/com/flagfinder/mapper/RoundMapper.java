@@ -16,7 +16,7 @@ public interface RoundMapper {
     /**
      * Maps a Round entity to a RoundDto.
      * Maps country information and guesses to corresponding DTO fields.
-     * Time remaining and round active status are ignored as they are calculated at runtime.
+     * Time remaining, round active status and the next flag are ignored as they are calculated at runtime.
      *
      * @param round the Round entity to be mapped
      * @return a RoundDto containing the round information
@@ -26,6 +26,7 @@ public interface RoundMapper {
     @Mapping(target = "flagImage", source = "country.flagImage")
     @Mapping(target = "timeRemaining", ignore = true)
     @Mapping(target = "roundActive", ignore = true)
+    @Mapping(target = "nextFlagUrl", ignore = true)
     @Mapping(target = "guesses", source = "guesses")
     RoundDto roundToRoundDto(Round round);
 }
@@ -28,6 +28,7 @@ public interface SinglePlayerRoundMapper {
     @Mapping(target = "flagImage", source = "country.flagImage")
     @Mapping(target = "timeRemaining", ignore = true)
     @Mapping(target = "roundActive", ignore = true)
+    @Mapping(target = "options", ignore = true)
     @Mapping(target = "guess", source = "guess")
     SinglePlayerRoundDto singlePlayerRoundToSinglePlayerRoundDto(SinglePlayerRound singlePlayerRound);
 }
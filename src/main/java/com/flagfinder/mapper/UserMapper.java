@@ -42,6 +42,7 @@ public interface UserMapper {
      * @param userDto the UserDto object to be mapped to a User object
      * @return a User object containing the UserDto's information
      */
+    @Mapping(target = "bot", ignore = true)
     User userDtoToUser(UserDto userDto);
 
     /**
@@ -42,6 +42,13 @@ public class Country extends  BaseEntity {
     @Column(name = "flag_image", columnDefinition = "BYTEA")
     private byte[] flagImage;
 
+    /**
+     * Visual features of the flag extracted from its SVG image when the country is ingested,
+     * used to find flags that look alike. Empty if the image could not be read.
+     */
+    @Column(name = "flag_features")
+    private float[] flagFeatures;
+
     /**
      * List of continents this country belongs to.
      * Some countries may belong to multiple continents.
@@ -0,0 +1,38 @@
+package com.flagfinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.UUID;
+
+/**
+ * Projection row counting how often players guessed one wrong country for a shown flag.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Entity
+@Table(
+        name = "country_confusions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"country_id", "guessed_country_id"})
+)
+public class CountryConfusion extends BaseEntity {
+
+    /**
+     * The ID of the country whose flag was shown.
+     */
+    @Column(name = "country_id", nullable = false)
+    private UUID countryId;
+
+    /**
+     * The ID of the wrong country that was guessed.
+     */
+    @Column(name = "guessed_country_id", nullable = false)
+    private UUID guessedCountryId;
+
+    /**
+     * The number of times the wrong country was guessed for the flag.
+     */
+    @Column(name = "pick_count", nullable = false)
+    private long picks;
+}
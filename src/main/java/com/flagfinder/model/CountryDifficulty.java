@@ -0,0 +1,52 @@
+package com.flagfinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Projection row holding how often a country's flag is recognized in multiplayer rounds.
+ */
+@Data
+@Entity
+@Table(name = "country_difficulty")
+public class CountryDifficulty {
+
+    /**
+     * The ID of the country.
+     */
+    @Id
+    @Column(name = "country_id")
+    private UUID countryId;
+
+    /**
+     * The name of the country when it was last shown.
+     */
+    @Column(name = "country_name")
+    private String countryName;
+
+    /**
+     * The number of rounds the country was shown in.
+     */
+    @Column(name = "times_shown", nullable = false)
+    private long timesShown;
+
+    /**
+     * The number of guesses made for the country's flag.
+     */
+    @Column(nullable = false)
+    private long attempts;
+
+    /**
+     * The number of correct guesses for the country's flag.
+     */
+    @Column(name = "correct_attempts", nullable = false)
+    private long correctAttempts;
+
+    /**
+     * The sum of the response times of all guesses, in milliseconds.
+     */
+    @Column(name = "total_response_millis", nullable = false)
+    private long totalResponseMillis;
+}
@@ -0,0 +1,58 @@
+package com.flagfinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One ranked player of a finished daily challenge.
+ * The leaderboard of a day is kept in memory while the day is open and written here once it ends.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Entity
+@Table(
+        name = "daily_challenge_results",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"challenge_date", "position"})
+)
+public class DailyChallengeResult extends BaseEntity {
+
+    /**
+     * The day of the challenge.
+     */
+    @Column(name = "challenge_date", nullable = false)
+    private LocalDate challengeDate;
+
+    /**
+     * The 1-based position of the player on the leaderboard.
+     */
+    @Column(nullable = false)
+    private int position;
+
+    /**
+     * The player's rank. Players with equal scores share a rank.
+     */
+    @Column(name = "player_rank", nullable = false)
+    private int rank;
+
+    /**
+     * The ID of the player.
+     */
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    /**
+     * The game name of the player when the challenge closed.
+     */
+    @Column(name = "user_name")
+    private String userName;
+
+    /**
+     * The player's challenge score.
+     */
+    @Column(nullable = false)
+    private long score;
+}
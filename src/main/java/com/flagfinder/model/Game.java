@@ -1,6 +1,7 @@
 package com.flagfinder.model;
 
 import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.Difficulty;
 import com.flagfinder.enumeration.GameStatus;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -8,7 +9,10 @@ import lombok.EqualsAndHashCode;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Entity representing a game in the FlagFinder application.
@@ -16,7 +20,7 @@ import java.util.List;
  */
 @Data
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = @Index(name = "idx_games_status_ended", columnList = "game_status, ended_at, id"))
 @EqualsAndHashCode(callSuper = false)
 public class Game extends BaseEntity{
 
@@ -34,7 +38,8 @@ public class Game extends BaseEntity{
     @JoinTable(
             name = "user_games",
             joinColumns = @JoinColumn(name = "game_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_user_games_user_game", columnList = "user_id, game_id")
     )
     private List<User> users;
 
@@ -67,6 +72,12 @@ public class Game extends BaseEntity{
      */
     @Column(name = "total_rounds")
     private Integer totalRounds;
+
+    /**
+     * ID of the country already chosen for the next round, announced to players in advance so they can load its flag.
+     */
+    @Column(name = "next_country_id")
+    private UUID nextCountryId;
     
     /**
      * Current score of the host player.
@@ -79,6 +90,16 @@ public class Game extends BaseEntity{
      */
     @Column(name = "guest_score")
     private Integer guestScore;
+
+    /**
+     * Current score of every player keyed by user ID.
+     * Host and guest scores are still mirrored into their own columns for two-player games.
+     */
+    @ElementCollection
+    @CollectionTable(name = "game_scores", joinColumns = @JoinColumn(name = "game_id"))
+    @MapKeyColumn(name = "user_id")
+    @Column(name = "score")
+    private Map<UUID, Integer> scores = new HashMap<>();
     
     /**
      * Current status of the game (IN_PROGRESS, COMPLETED, CANCELLED).
@@ -95,4 +116,11 @@ public class Game extends BaseEntity{
     @CollectionTable(name = "game_continents", joinColumns = @JoinColumn(name = "game_id"))
     @Column(name = "continent")
     private List<Continent> continents = new ArrayList<>();
+
+    /**
+     * The difficulty countries are weighted towards, or null for uniform selection.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column
+    private Difficulty difficulty;
 }
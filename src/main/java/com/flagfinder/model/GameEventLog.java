@@ -0,0 +1,43 @@
+package com.flagfinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.UUID;
+
+/**
+ * Entity holding the packed event log of a finished multiplayer game.
+ * The whole game, from start to end, is stored in a single varint encoded column written once
+ * at game end, so a replay can be served without joining games, rounds, guesses and countries.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Entity
+@Table(name = "game_event_logs")
+public class GameEventLog extends BaseEntity {
+
+    /**
+     * The ID of the game the log belongs to.
+     */
+    @Column(name = "game_id", unique = true, nullable = false)
+    private UUID gameId;
+
+    /**
+     * The version of the binary format the log was written with.
+     */
+    @Column(name = "format_version")
+    private Integer formatVersion;
+
+    /**
+     * The number of events in the log.
+     */
+    @Column(name = "event_count")
+    private Integer eventCount;
+
+    /**
+     * The encoded events.
+     */
+    @Column(name = "events", columnDefinition = "BYTEA")
+    private byte[] events;
+}
@@ -10,7 +10,7 @@ import lombok.EqualsAndHashCode;
  */
 @Data
 @Entity
-@Table(name = "guesses")
+@Table(name = "guesses", indexes = @Index(name = "idx_guesses_round_user", columnList = "round_id, user_id"))
 @EqualsAndHashCode(callSuper = false)
 public class Guess extends BaseEntity{
 
@@ -0,0 +1,74 @@
+package com.flagfinder.model;
+
+import com.flagfinder.enumeration.LeaderboardPeriod;
+import com.flagfinder.enumeration.LeaderboardType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One ranked player of a closed daily or weekly leaderboard window.
+ * The top of a window is written once when the window closes, so past leaderboards are read from this table alone.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Entity
+@Table(
+        name = "leaderboard_snapshots",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"period", "leaderboard_type", "window_start", "position"})
+)
+public class LeaderboardSnapshot extends BaseEntity {
+
+    /**
+     * The length of the window.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LeaderboardPeriod period;
+
+    /**
+     * The score the leaderboard ranks by.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leaderboard_type", nullable = false)
+    private LeaderboardType leaderboardType;
+
+    /**
+     * The first day of the window.
+     */
+    @Column(name = "window_start", nullable = false)
+    private LocalDate windowStart;
+
+    /**
+     * The 1-based position of the player on the leaderboard.
+     */
+    @Column(nullable = false)
+    private int position;
+
+    /**
+     * The player's rank. Players with equal scores share a rank.
+     */
+    @Column(name = "player_rank", nullable = false)
+    private int rank;
+
+    /**
+     * The ID of the player.
+     */
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    /**
+     * The game name of the player when the window closed.
+     */
+    @Column(name = "user_name")
+    private String userName;
+
+    /**
+     * The player's score in the window.
+     */
+    @Column(nullable = false)
+    private long score;
+}
@@ -0,0 +1,70 @@
+package com.flagfinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entity holding the spaced-repetition state of one country for one player.
+ * Practice games schedule the next review of a flag with the SM-2 algorithm from these values.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Entity
+@Table(
+        name = "learning_items",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "country_id"})
+)
+public class LearningItem extends BaseEntity {
+
+    /**
+     * The ID of the player.
+     */
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    /**
+     * The ID of the country.
+     */
+    @Column(name = "country_id", nullable = false)
+    private UUID countryId;
+
+    /**
+     * The SM-2 easiness factor, lower for flags the player keeps missing.
+     */
+    @Column(nullable = false)
+    private double easiness;
+
+    /**
+     * The number of correct answers in a row.
+     */
+    @Column(nullable = false)
+    private int repetitions;
+
+    /**
+     * The current review interval in days, 0 while the flag is being relearned.
+     */
+    @Column(name = "interval_days", nullable = false)
+    private int intervalDays;
+
+    /**
+     * The number of times the player missed the flag.
+     */
+    @Column(nullable = false)
+    private int lapses;
+
+    /**
+     * The date and time when the flag was last reviewed.
+     */
+    @Column(name = "reviewed_at")
+    private Instant reviewedAt;
+
+    /**
+     * The date and time when the flag is due for review again.
+     */
+    @Column(name = "due_at")
+    private Instant dueAt;
+}
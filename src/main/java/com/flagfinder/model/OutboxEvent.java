@@ -0,0 +1,49 @@
+package com.flagfinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entity representing a domain event in the transactional outbox.
+ * Events are written in the same transaction as the change they describe and read in ID order
+ * by the projection builders, so the ID doubles as the offset a projection has consumed up to.
+ */
+@Data
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    /**
+     * The sequential ID of the event, used as the consumer offset.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The type of the event, e.g. {@code GAME_COMPLETED}.
+     */
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    /**
+     * The ID of the entity the event is about.
+     */
+    @Column(name = "aggregate_id")
+    private UUID aggregateId;
+
+    /**
+     * The event payload as JSON.
+     */
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    /**
+     * The date and time when the event was written.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+}
@@ -0,0 +1,35 @@
+package com.flagfinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Entity recording how far a projection has consumed the outbox.
+ * It is updated in the same transaction as the projection rows, so a restarted builder
+ * resumes exactly after the last applied event.
+ */
+@Data
+@Entity
+@Table(name = "projection_checkpoints")
+public class ProjectionCheckpoint {
+
+    /**
+     * The name of the projection.
+     */
+    @Id
+    private String name;
+
+    /**
+     * The ID of the last outbox event applied to the projection.
+     */
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId = 0L;
+
+    /**
+     * The date and time when the checkpoint last moved.
+     */
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
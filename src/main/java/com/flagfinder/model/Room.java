@@ -17,7 +17,7 @@ import java.util.List;
 @Entity
 @Table(name = "rooms")
 @RequiredArgsConstructor
-@EqualsAndHashCode(exclude = {"host", "guest", "game"}, callSuper = false)
+@EqualsAndHashCode(exclude = {"host", "guest", "players", "game"}, callSuper = false)
 public class Room extends BaseEntity {
     /**
      * The user who created and hosts this room.
@@ -33,6 +33,26 @@ public class Room extends BaseEntity {
     @ManyToOne
     @JoinColumn(name = "guest_id")
     private User guest;
+
+    /**
+     * All players who joined this room besides the host, in join order.
+     * The first joined player is also kept in {@link #guest} so two-player clients keep working.
+     */
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "room_players",
+            joinColumns = @JoinColumn(name = "room_id"),
+            inverseJoinColumns = @JoinColumn(name = "user_id")
+    )
+    @OrderColumn(name = "join_order")
+    private List<User> players = new ArrayList<>();
+
+    /**
+     * Maximum number of players including the host.
+     * Default value is 2 players (host and guest).
+     */
+    @Column(name = "max_players")
+    private Integer maxPlayers = 2;
     
     /**
      * Current status of the room (WAITING_FOR_GUEST, ROOM_READY_FOR_START, etc.).
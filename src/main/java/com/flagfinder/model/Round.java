@@ -13,7 +13,7 @@ import java.util.List;
  */
 @Data
 @Entity
-@Table(name = "rounds")
+@Table(name = "rounds", indexes = @Index(name = "idx_rounds_game", columnList = "game_id"))
 @EqualsAndHashCode(callSuper = false)
 public class Round extends BaseEntity {
 
@@ -2,11 +2,15 @@ package com.flagfinder.model;
 
 import com.flagfinder.dto.SinglePlayerRoomDto;
 import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.Difficulty;
 import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.enumeration.SinglePlayerMode;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -80,4 +84,25 @@ public class SinglePlayerGame extends BaseEntity{
     @CollectionTable(name = "single_player_game_continents", joinColumns = @JoinColumn(name = "single_player_game_id"))
     @Column(name = "continent")
     private List<Continent> continents = new ArrayList<>();
+
+    /**
+     * The difficulty countries are weighted towards, or null for uniform selection.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column
+    private Difficulty difficulty;
+
+    /**
+     * How the countries of the game are chosen.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @ColumnDefault("'CLASSIC'")
+    private SinglePlayerMode mode = SinglePlayerMode.CLASSIC;
+
+    /**
+     * The day of the daily challenge the game plays, or null for other modes.
+     */
+    @Column(name = "challenge_date")
+    private LocalDate challengeDate;
 }
@@ -0,0 +1,77 @@
+package com.flagfinder.model;
+
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.TournamentFormat;
+import com.flagfinder.enumeration.TournamentStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity representing a tournament in the FlagFinder application.
+ * The live bracket is kept in memory while the tournament runs and checkpointed
+ * to this entity as JSON whenever it changes, so it can be restored after a restart.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false, exclude = {"host"})
+@Entity
+@Table(name = "tournaments")
+public class Tournament extends BaseEntity {
+
+    /**
+     * The display name of the tournament.
+     */
+    @Column
+    private String name;
+
+    /**
+     * The user who created the tournament and may start it.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "host_id")
+    private User host;
+
+    /**
+     * The pairing format of the tournament.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format")
+    private TournamentFormat format;
+
+    /**
+     * The current status of the tournament.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tournament_status")
+    private TournamentStatus status;
+
+    /**
+     * The number of rounds played in each tournament game.
+     */
+    @Column(name = "rounds_per_game")
+    private Integer roundsPerGame;
+
+    /**
+     * List of continents used for country selection in every tournament game.
+     */
+    @ElementCollection(targetClass = Continent.class, fetch = FetchType.EAGER)
+    @Enumerated(EnumType.STRING)
+    @CollectionTable(name = "tournament_continents", joinColumns = @JoinColumn(name = "tournament_id"))
+    @Column(name = "continent")
+    private List<Continent> continents = new ArrayList<>();
+
+    /**
+     * The game name of the tournament winner, set when the tournament is completed.
+     */
+    @Column(name = "winner_user_name")
+    private String winnerUserName;
+
+    /**
+     * The last checkpoint of the bracket state, serialized as JSON.
+     */
+    @Column(name = "bracket_state", columnDefinition = "TEXT")
+    private String bracketState;
+}
@@ -10,6 +10,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.FilterDef;
 import org.hibernate.annotations.ParamDef;
@@ -152,6 +153,13 @@ public class User extends BaseEntity implements UserDetails {
     @Column(name = "is_online")
     private Boolean isOnline = false;
 
+    /**
+     * Whether this is the server-side bot account that plays as a guest when no human opponent is available.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean bot;
+
     /**
      * The tokens associated with the user.
      */
@@ -0,0 +1,65 @@
+package com.flagfinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection row holding the multiplayer totals of one player.
+ */
+@Data
+@Entity
+@Table(name = "user_game_aggregates")
+public class UserGameAggregate {
+
+    /**
+     * The ID of the player.
+     */
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    /**
+     * The number of finished games the player took part in.
+     */
+    @Column(name = "games_played", nullable = false)
+    private long gamesPlayed;
+
+    /**
+     * The number of games the player won.
+     */
+    @Column(nullable = false)
+    private long wins;
+
+    /**
+     * The number of games the player drew.
+     */
+    @Column(nullable = false)
+    private long draws;
+
+    /**
+     * The number of games the player lost.
+     */
+    @Column(nullable = false)
+    private long losses;
+
+    /**
+     * The number of rounds the player was dealt.
+     */
+    @Column(name = "rounds_played", nullable = false)
+    private long roundsPlayed;
+
+    /**
+     * The number of correct guesses the player made.
+     */
+    @Column(name = "correct_guesses", nullable = false)
+    private long correctGuesses;
+
+    /**
+     * Timestamp when the player's last applied game ended.
+     */
+    @Column(name = "last_game_ended_at")
+    private LocalDateTime lastGameEndedAt;
+}
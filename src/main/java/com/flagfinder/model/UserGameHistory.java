@@ -0,0 +1,91 @@
+package com.flagfinder.model;
+
+import com.flagfinder.enumeration.GameResult;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection row holding one finished multiplayer game from the point of view of one player.
+ * History pages are read from this table alone, without joining games, users, rounds and guesses.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Entity
+@Table(
+        name = "user_game_history",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "game_id"}),
+        indexes = @Index(name = "idx_user_game_history_user_ended", columnList = "user_id, ended_at, game_id")
+)
+public class UserGameHistory extends BaseEntity {
+
+    /**
+     * The ID of the player the row belongs to.
+     */
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    /**
+     * The ID of the game.
+     */
+    @Column(name = "game_id", nullable = false)
+    private UUID gameId;
+
+    /**
+     * Timestamp when the game started.
+     */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    /**
+     * Timestamp when the game ended.
+     */
+    @Column(name = "ended_at")
+    private LocalDateTime endedAt;
+
+    /**
+     * The outcome of the game for the player.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column
+    private GameResult result;
+
+    /**
+     * The player's final score.
+     */
+    @Column
+    private Integer score;
+
+    /**
+     * The highest score among the other players.
+     */
+    @Column(name = "best_opponent_score")
+    private Integer bestOpponentScore;
+
+    /**
+     * The game names of the other players, comma separated.
+     */
+    @Column(name = "opponent_names", length = 2048)
+    private String opponentNames;
+
+    /**
+     * The game name of the winner, or null for a draw.
+     */
+    @Column(name = "winner_user_name")
+    private String winnerUserName;
+
+    /**
+     * The number of rounds played.
+     */
+    @Column(name = "rounds_played")
+    private Integer roundsPlayed;
+
+    /**
+     * The number of correct guesses the player made.
+     */
+    @Column(name = "correct_guesses")
+    private Integer correctGuesses;
+}
@@ -0,0 +1,157 @@
+package com.flagfinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entity holding the running statistics of one user.
+ * The row is updated in the same transaction that ends a game, so a profile card is a single primary key read.
+ * Per-continent counters are stored as arrays indexed by {@link com.flagfinder.enumeration.Continent} ordinal,
+ * which keeps every split in the same row.
+ */
+@Data
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+
+    /**
+     * The ID of the user.
+     */
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    /**
+     * The number of finished multiplayer games.
+     */
+    @Column(name = "games_played", nullable = false)
+    private long gamesPlayed;
+
+    /**
+     * The number of multiplayer games won.
+     */
+    @Column(nullable = false)
+    private long wins;
+
+    /**
+     * The number of multiplayer games drawn.
+     */
+    @Column(nullable = false)
+    private long draws;
+
+    /**
+     * The number of multiplayer games lost.
+     */
+    @Column(nullable = false)
+    private long losses;
+
+    /**
+     * The number of multiplayer games won in a row up to the last game.
+     */
+    @Column(name = "current_streak", nullable = false)
+    private int currentStreak;
+
+    /**
+     * The longest run of multiplayer games won in a row.
+     */
+    @Column(name = "best_streak", nullable = false)
+    private int bestStreak;
+
+    /**
+     * The Elo rating from multiplayer games.
+     */
+    @ColumnDefault("1500")
+    @Column(nullable = false)
+    private double rating = 1500;
+
+    /**
+     * The number of multiplayer games that changed the rating.
+     */
+    @ColumnDefault("0")
+    @Column(name = "rated_games", nullable = false)
+    private int ratedGames;
+
+    /**
+     * The number of finished single player games.
+     */
+    @Column(name = "single_player_games_played", nullable = false)
+    private long singlePlayerGamesPlayed;
+
+    /**
+     * The number of multiplayer rounds the user was dealt.
+     */
+    @Column(name = "multiplayer_rounds", nullable = false)
+    private long multiplayerRounds;
+
+    /**
+     * The number of multiplayer rounds the user guessed correctly.
+     */
+    @Column(name = "multiplayer_correct", nullable = false)
+    private long multiplayerCorrect;
+
+    /**
+     * The number of single player rounds the user was dealt.
+     */
+    @Column(name = "single_player_rounds", nullable = false)
+    private long singlePlayerRounds;
+
+    /**
+     * The number of single player rounds the user guessed correctly.
+     */
+    @Column(name = "single_player_correct", nullable = false)
+    private long singlePlayerCorrect;
+
+    /**
+     * Multiplayer rounds per continent of the round's country.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "multiplayer_continent_rounds")
+    private long[] multiplayerContinentRounds;
+
+    /**
+     * Correct multiplayer rounds per continent of the round's country.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "multiplayer_continent_correct")
+    private long[] multiplayerContinentCorrect;
+
+    /**
+     * Single player rounds per continent of the round's country.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "single_player_continent_rounds")
+    private long[] singlePlayerContinentRounds;
+
+    /**
+     * Correct single player rounds per continent of the round's country.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "single_player_continent_correct")
+    private long[] singlePlayerContinentCorrect;
+
+    /**
+     * Rounds of the most recent multiplayer games, oldest first, used for the recent accuracy figure.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "recent_game_rounds")
+    private int[] recentGameRounds;
+
+    /**
+     * Correct guesses of the most recent multiplayer games, aligned with {@link #recentGameRounds}.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "recent_game_correct")
+    private int[] recentGameCorrect;
+
+    /**
+     * The date and time when the row was last updated.
+     */
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
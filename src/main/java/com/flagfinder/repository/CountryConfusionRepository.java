@@ -0,0 +1,31 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.model.CountryConfusion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for CountryConfusion projection rows.
+ */
+@Repository
+public interface CountryConfusionRepository extends JpaRepository<CountryConfusion, UUID> {
+
+    /**
+     * Finds the wrong guess counters of the given shown countries.
+     *
+     * @param countryIds the IDs of the shown countries
+     * @return the counters of those countries
+     */
+    List<CountryConfusion> findByCountryIdIn(Collection<UUID> countryIds);
+
+    /**
+     * Finds all wrong guess counters, most picked first.
+     *
+     * @return every counter ordered by descending pick count
+     */
+    List<CountryConfusion> findAllByOrderByPicksDesc();
+}
@@ -0,0 +1,14 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.model.CountryDifficulty;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository interface for CountryDifficulty projection rows.
+ */
+@Repository
+public interface CountryDifficultyRepository extends JpaRepository<CountryDifficulty, UUID> {
+}
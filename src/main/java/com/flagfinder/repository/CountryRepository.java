@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -71,6 +72,41 @@ public interface CountryRepository extends JpaRepository<Country, UUID> {
     )
     Country findRandomCountry();
 
+    /**
+     * Finds the ID of every country paired with each of its continents, without loading flag images.
+     * Countries without continents are returned once with a null continent.
+     *
+     * @return rows of [country ID, continent]
+     */
+    @Query("SELECT c.id, cont FROM Country c LEFT JOIN c.continents cont")
+    List<Object[]> findAllIdsWithContinents();
+
+    /**
+     * Finds the names of the given countries without loading flag images.
+     *
+     * @param ids the IDs of the countries
+     * @return rows of [country ID, country name]
+     */
+    @Query("SELECT c.id, c.nameOfCounty FROM Country c WHERE c.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Finds the names and flag features of every country whose features were extracted, without loading flag images.
+     *
+     * @return rows of [country ID, country name, flag features]
+     */
+    @Query("SELECT c.id, c.nameOfCounty, c.flagFeatures FROM Country c WHERE c.flagFeatures IS NOT NULL")
+    List<Object[]> findAllFlagFeatures();
+
+    /**
+     * Finds the IDs of countries that have a flag image but no extracted flag features yet,
+     * e.g. countries ingested before features were stored.
+     *
+     * @return list of country IDs whose flag features need to be backfilled
+     */
+    @Query("SELECT c.id FROM Country c WHERE c.flagFeatures IS NULL AND c.flagImage IS NOT NULL")
+    List<UUID> findIdsWithoutFlagFeatures();
+
     /**
      * Finds countries whose names contain the given keyword (case insensitive).
      * Results are ordered alphabetically by country name.
@@ -0,0 +1,34 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.model.DailyChallengeResult;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for the stored leaderboards of finished daily challenges.
+ */
+@Repository
+public interface DailyChallengeResultRepository extends JpaRepository<DailyChallengeResult, UUID> {
+
+    /**
+     * Finds the stored leaderboard of a day in leaderboard order.
+     *
+     * @param challengeDate the day of the challenge
+     * @param pageable the number of rows to read
+     * @return the result rows ordered by position
+     */
+    List<DailyChallengeResult> findByChallengeDateOrderByPositionAsc(LocalDate challengeDate, Pageable pageable);
+
+    /**
+     * Checks whether the leaderboard of a day was already stored.
+     *
+     * @param challengeDate the day of the challenge
+     * @return true if any result row of the day exists
+     */
+    boolean existsByChallengeDate(LocalDate challengeDate);
+}
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,6 +38,21 @@ public interface FriendshipRepository extends JpaRepository<Friendship, UUID> {
 """)
     Page<Friendship> findAllFriendshipsOfUser(@Param("userId") UUID userId, @Param("friendshipStatus") FriendshipStatus friendshipStatusm,  Pageable pageable);
 
+    /**
+     * Finds the IDs of the users on the other side of a user's friendships with a given status.
+     *
+     * @param userId the UUID of the user
+     * @param friendshipStatus the friendship status to filter by
+     * @return list of friend user IDs
+     */
+    @Query("""
+    SELECT CASE WHEN f.initiator.id = :userId THEN f.target.id ELSE f.initiator.id END
+    FROM Friendship f
+    WHERE (f.initiator.id = :userId OR f.target.id = :userId)
+    AND f.friendshipStatus = :friendshipStatus
+""")
+    List<UUID> findFriendIds(@Param("userId") UUID userId, @Param("friendshipStatus") FriendshipStatus friendshipStatus);
+
     /**
      * Finds a friendship by specific initiator and target users.
      * Directional search - only matches exact initiator-target relationship.
@@ -0,0 +1,24 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.model.GameEventLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for GameEventLog entity operations.
+ * Extends JpaRepository to provide CRUD operations and lookup of a game's packed event log.
+ */
+@Repository
+public interface GameEventLogRepository extends JpaRepository<GameEventLog, UUID> {
+
+    /**
+     * Finds the event log of a game.
+     *
+     * @param gameId the UUID of the game
+     * @return the event log, or empty if the game has no log
+     */
+    Optional<GameEventLog> findByGameId(UUID gameId);
+}
@@ -10,6 +10,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,6 +46,40 @@ public interface GameRepository extends JpaRepository <Game, UUID> {
            "WHERE g.id = :gameId")
     Optional<Game> findByIdWithRelations(@Param("gameId") UUID gameId);
 
+    /**
+     * Finds several games with their room and users, e.g. every game whose round expired in the same timer tick.
+     *
+     * @param gameIds the IDs of the games
+     * @return the games that exist, with room and users fetched
+     */
+    @Query("SELECT DISTINCT g FROM Game g " +
+           "LEFT JOIN FETCH g.room " +
+           "LEFT JOIN FETCH g.users " +
+           "WHERE g.id IN :gameIds")
+    List<Game> findAllByIdWithRelations(@Param("gameIds") Collection<UUID> gameIds);
+
+    /**
+     * Finds a page of games in a status that have no outbox event of the given type yet, in game ID order,
+     * e.g. games that finished before the outbox was introduced.
+     *
+     * @param status the status of the games
+     * @param eventType the outbox event type the games are missing
+     * @param afterGameId the exclusive lower bound of the game IDs
+     * @param pageable the number of IDs to return
+     * @return the IDs of the games
+     */
+    @Query("""
+            SELECT g.id FROM Game g
+            WHERE g.status = :status
+            AND g.id > :afterGameId
+            AND NOT EXISTS (SELECT 1 FROM OutboxEvent e WHERE e.eventType = :eventType AND e.aggregateId = g.id)
+            ORDER BY g.id
+            """)
+    List<UUID> findIdsWithoutOutboxEvent(@Param("status") GameStatus status,
+                                         @Param("eventType") String eventType,
+                                         @Param("afterGameId") UUID afterGameId,
+                                         Pageable pageable);
+
     /**
      * Counts the number of games won by a specific user (case insensitive).
      *
@@ -52,19 +89,101 @@ public interface GameRepository extends JpaRepository <Game, UUID> {
     long countByWinnerUserNameIgnoreCase(String userName);
 
     /**
-     * Finds recent games for a specific user ordered by creation date.
+     * Counts a user's games, rounds and correct guesses inside a window in a single query.
+     * The window is the user's most recent games created at or after {@code since}, limited to {@code maxGames}.
      *
-     * @param userName the username to find games for
-     * @param pageable pagination information for limiting results
-     * @return list of recent games for the user
+     * @param userName the game name of the user, matched case-insensitively
+     * @param since the earliest game creation time to include
+     * @param maxGames the maximum number of most recent games to include
+     * @return the counts for the window
+     */
+    @Query(value = """
+            WITH windowed_games AS (
+                SELECT g.id AS game_id, u.id AS user_id
+                FROM games g
+                JOIN user_games ug ON ug.game_id = g.id
+                JOIN users u ON u.id = ug.user_id
+                WHERE LOWER(u.game_name) = LOWER(:userName)
+                AND g.created_at >= :since
+                ORDER BY g.created_at DESC
+                LIMIT :maxGames
+            )
+            SELECT COUNT(DISTINCT w.game_id) AS "games",
+                   COUNT(r.id) AS "rounds",
+                   COALESCE(SUM(CASE WHEN gs.is_correct THEN 1 ELSE 0 END), 0) AS "correctGuesses"
+            FROM windowed_games w
+            LEFT JOIN rounds r ON r.game_id = w.game_id
+            LEFT JOIN guesses gs ON gs.round_id = r.id AND gs.user_id = w.user_id
+            """, nativeQuery = true)
+    AccuracyCounts countAccuracy(@Param("userName") String userName, @Param("since") Instant since, @Param("maxGames") int maxGames);
+
+    /**
+     * Counts each player's wins in games that ended inside a time window.
+     *
+     * @param status the game status to filter by
+     * @param from the inclusive start of the window
+     * @param to the exclusive end of the window
+     * @return rows of user ID, game name and wins
      */
     @Query("""
-    SELECT g FROM Game g
-    JOIN g.users u
-    WHERE LOWER(u.gameName) = LOWER(:userName)
-    ORDER BY g.createdAt DESC
-    """)
-    List<Game> findRecentGamesByUser(@Param("userName") String userName, Pageable pageable);
+            SELECT u.id, u.gameName, COUNT(g) FROM Game g JOIN g.users u
+            WHERE g.status = :status AND g.endedAt >= :from AND g.endedAt < :to
+            AND g.winnerUserName = u.gameName
+            GROUP BY u.id, u.gameName
+            """)
+    List<Object[]> countWinsEndedBetween(@Param("status") GameStatus status,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    /**
+     * Counts each player's correct guesses in games that ended inside a time window.
+     *
+     * @param status the game status to filter by
+     * @param from the inclusive start of the window
+     * @param to the exclusive end of the window
+     * @return rows of user ID, game name and correct guesses
+     */
+    @Query("""
+            SELECT u.id, u.gameName, COUNT(gs) FROM Guess gs JOIN gs.round r JOIN r.game g JOIN gs.user u
+            WHERE g.status = :status AND g.endedAt >= :from AND g.endedAt < :to
+            AND gs.correct = true
+            GROUP BY u.id, u.gameName
+            """)
+    List<Object[]> countCorrectGuessesEndedBetween(@Param("status") GameStatus status,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    /**
+     * Finds the player results of the next completed games in end order, for replaying rating history.
+     * Games are paged by the (ended_at, id) key so every page is an index range scan.
+     * Games recorded before per-player scores existed score their winner 1 and everyone else 0.
+     *
+     * @param afterEndedAt the end time of the last game of the previous page
+     * @param afterId the ID of the last game of the previous page
+     * @param maxGames the maximum number of games to return
+     * @return rows of game ID, end time, user ID and score, grouped by game in end order;
+     *         a game without players has a single row with a null user ID
+     */
+    @Query(value = """
+            SELECT g.id, g.ended_at, ug.user_id,
+                   COALESCE(s.score, CASE WHEN u.game_name = g.winner_user_name THEN 1 ELSE 0 END)
+            FROM (
+                SELECT id, ended_at, winner_user_name
+                FROM games
+                WHERE game_status = 'COMPLETED'
+                AND ended_at IS NOT NULL
+                AND (ended_at > :afterEndedAt OR (ended_at = :afterEndedAt AND id > :afterId))
+                ORDER BY ended_at, id
+                LIMIT :maxGames
+            ) g
+            LEFT JOIN user_games ug ON ug.game_id = g.id
+            LEFT JOIN users u ON u.id = ug.user_id
+            LEFT JOIN game_scores s ON s.game_id = g.id AND s.user_id = ug.user_id
+            ORDER BY g.ended_at, g.id
+            """, nativeQuery = true)
+    List<Object[]> findRatingHistoryPage(@Param("afterEndedAt") LocalDateTime afterEndedAt,
+                                         @Param("afterId") UUID afterId,
+                                         @Param("maxGames") int maxGames);
 
     /**
      * Finds all multiplayer games for a specific user.
@@ -132,21 +251,11 @@ AND g.winnerUserName IS NULL
     Long countDrawGamesByUser(@Param("userName") String userName);
 
     /**
-     * Finds completed multiplayer games for a user with specific status, ordered by end date.
-     * Only includes games that have ended and are multiplayer.
-     *
-     * @param userName the username to find games for
-     * @param status the game status to filter by
-     * @return list of completed games ordered by end date
+     * Games, rounds and correct guesses counted by {@link #countAccuracy}.
      */
-    @Query("""
-SELECT DISTINCT g FROM Game g
-JOIN g.users u
-WHERE LOWER(u.gameName) = LOWER(:userName)
-AND g.status = :status
-AND SIZE(g.users) > 1
-AND g.endedAt IS NOT NULL
-ORDER BY g.endedAt ASC
-""")
-    List<Game> findByUserAndStatusOrderByGameEndedAtAsc(@Param("userName") String userName, @Param("status") GameStatus status);
+    interface AccuracyCounts {
+        Long getGames();
+        Long getRounds();
+        Long getCorrectGuesses();
+    }
 }
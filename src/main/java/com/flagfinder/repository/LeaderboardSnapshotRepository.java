@@ -0,0 +1,38 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.enumeration.LeaderboardPeriod;
+import com.flagfinder.enumeration.LeaderboardType;
+import com.flagfinder.model.LeaderboardSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for snapshots of closed leaderboard windows.
+ */
+@Repository
+public interface LeaderboardSnapshotRepository extends JpaRepository<LeaderboardSnapshot, UUID> {
+
+    /**
+     * Finds the stored top of a closed window in leaderboard order.
+     *
+     * @param period the length of the window
+     * @param leaderboardType the score the leaderboard ranks by
+     * @param windowStart the first day of the window
+     * @return the snapshot rows ordered by position
+     */
+    List<LeaderboardSnapshot> findByPeriodAndLeaderboardTypeAndWindowStartOrderByPositionAsc(
+            LeaderboardPeriod period, LeaderboardType leaderboardType, LocalDate windowStart);
+
+    /**
+     * Checks whether a window was already stored.
+     *
+     * @param period the length of the window
+     * @param windowStart the first day of the window
+     * @return true if any snapshot row of the window exists
+     */
+    boolean existsByPeriodAndWindowStart(LeaderboardPeriod period, LocalDate windowStart);
+}
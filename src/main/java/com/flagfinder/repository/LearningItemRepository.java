@@ -0,0 +1,33 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.model.LearningItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for LearningItem entity operations.
+ */
+@Repository
+public interface LearningItemRepository extends JpaRepository<LearningItem, UUID> {
+
+    /**
+     * Finds the learning state of every country a player has reviewed.
+     *
+     * @param userId the ID of the player
+     * @return the player's learning items
+     */
+    List<LearningItem> findByUserId(UUID userId);
+
+    /**
+     * Finds the learning state of some countries of a player.
+     *
+     * @param userId the ID of the player
+     * @param countryIds the IDs of the countries
+     * @return the existing learning items of those countries
+     */
+    List<LearningItem> findByUserIdAndCountryIdIn(UUID userId, Collection<UUID> countryIds);
+}
@@ -0,0 +1,47 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent entity operations.
+ * Extends JpaRepository to provide CRUD operations and ID ordered reads used by the projection builders.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Finds the events in an ID range in ID order.
+     *
+     * @param afterId the exclusive lower bound of the range
+     * @param upToId the inclusive upper bound of the range
+     * @param pageable the maximum number of events to return
+     * @return the events in the range
+     */
+    List<OutboxEvent> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long upToId, Pageable pageable);
+
+    /**
+     * Finds the highest event ID written before the given time.
+     * Builders only read up to this ID so events of transactions still committing are not skipped.
+     *
+     * @param before the time the events must be older than
+     * @return the highest ID, or null if there are no such events
+     */
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e WHERE e.createdAt < :before")
+    Long findMaxIdCreatedBefore(@Param("before") Instant before);
+
+    /**
+     * Finds the highest event ID.
+     *
+     * @return the highest ID, or null if the outbox is empty
+     */
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e")
+    Long findMaxId();
+}
@@ -0,0 +1,12 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.model.ProjectionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ProjectionCheckpoint entity operations.
+ */
+@Repository
+public interface ProjectionCheckpointRepository extends JpaRepository<ProjectionCheckpoint, String> {
+}
@@ -1,13 +1,18 @@
 package com.flagfinder.repository;
 
+import com.flagfinder.enumeration.RoomStatus;
 import com.flagfinder.model.Friendship;
 import com.flagfinder.model.Room;
 import com.flagfinder.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +33,16 @@ public interface RoomRepository extends JpaRepository<Room, UUID> {
      */
     Optional<Room> findOneById(UUID roomId);
 
+    /**
+     * Finds a room by its unique identifier and locks it, so joins to the same room are applied one at a time.
+     *
+     * @param roomId the UUID of the room
+     * @return Optional containing the room if found, locked for update
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :roomId")
+    Optional<Room> findByIdForUpdate(@Param("roomId") UUID roomId);
+
     /**
      * Finds a single room where the user is the host.
      *
@@ -80,6 +95,26 @@ public interface RoomRepository extends JpaRepository<Room, UUID> {
     @Query("SELECT r FROM Room r WHERE r.guest = :guest AND r.status NOT IN ('GAME_IN_PROGRESS', 'GAME_COMPLETED')")
     List<Room> findByGuestAndStatusNotInActiveOrCompleted(@Param("guest") User guest);
 
+    /**
+     * Finds all rooms the user joined, either as the guest or as one of the additional players.
+     *
+     * @param user the User who joined the rooms
+     * @return list of rooms where the user is a player
+     */
+    @Query("SELECT DISTINCT r FROM Room r LEFT JOIN r.players p WHERE r.guest = :user OR p = :user")
+    List<Room> findByPlayer(@Param("user") User user);
+
+    /**
+     * Finds rooms the user joined that are not in active or completed status.
+     * Excludes rooms with status 'GAME_IN_PROGRESS' or 'GAME_COMPLETED'.
+     *
+     * @param user the User who joined the rooms
+     * @return list of non-active/completed rooms where the user is a player
+     */
+    @Query("SELECT DISTINCT r FROM Room r LEFT JOIN r.players p WHERE (r.guest = :user OR p = :user) " +
+           "AND r.status NOT IN ('GAME_IN_PROGRESS', 'GAME_COMPLETED')")
+    List<Room> findByPlayerAndStatusNotInActiveOrCompleted(@Param("user") User user);
+
     /**
      * Finds a room where the user is either host or guest.
      *
@@ -98,4 +133,30 @@ public interface RoomRepository extends JpaRepository<Room, UUID> {
      * @return Optional containing the friendship if found
      */
     Optional<Friendship> findByHostAndGuest(User host, User guest);
+
+    /**
+     * Finds which of the given users are host or player of another room in one of the given states.
+     * Bot accounts sit in many rooms at once and are never reported.
+     *
+     * @param roomId the room to leave out
+     * @param userIds the users to check
+     * @param statuses the room states to look for
+     * @return the IDs of the users found in another room
+     */
+    @Query("SELECT DISTINCT u.id FROM Room r LEFT JOIN r.players p, User u " +
+           "WHERE u.id IN :userIds AND u.bot = false AND r.id <> :roomId AND r.status IN :statuses " +
+           "AND (r.host = u OR r.guest = u OR p = u)")
+    List<UUID> findUsersInOtherRooms(@Param("roomId") UUID roomId, @Param("userIds") Collection<UUID> userIds,
+                                     @Param("statuses") Collection<RoomStatus> statuses);
+
+    /**
+     * Sets the status of a room without loading it.
+     *
+     * @param roomId the ID of the room
+     * @param status the new status
+     * @return the number of updated rooms, 0 if the room does not exist
+     */
+    @Modifying
+    @Query("UPDATE Room r SET r.status = :status WHERE r.id = :roomId")
+    int updateStatus(@Param("roomId") UUID roomId, @Param("status") RoomStatus status);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -66,4 +67,33 @@ public interface SinglePlayerGameRepository extends JpaRepository <SinglePlayerG
     ORDER BY s.createdAt DESC
     """)
     List<SinglePlayerGame> findRecentSinglePlayerGamesByUser(@Param("userName") String userName, Pageable pageable);
+
+    /**
+     * Finds the players who started the daily challenge of a day.
+     *
+     * @param challengeDate the day of the challenge
+     * @return the IDs of the players
+     */
+    @Query("""
+    SELECT DISTINCT s.user.id FROM SinglePlayerGame s
+    WHERE s.challengeDate = :challengeDate
+    """)
+    List<UUID> findUserIdsByChallengeDate(@Param("challengeDate") LocalDate challengeDate);
+
+    /**
+     * Finds every round of the finished daily challenge games of a day.
+     *
+     * @param challengeDate the day of the challenge
+     * @param status the finished game status
+     * @return rows of [user ID, game name, round start, guess correct or null when unanswered, guess time or null]
+     */
+    @Query("""
+    SELECT u.id, u.gameName, r.createdAt, g.correct, g.createdAt
+    FROM SinglePlayerRound r
+    JOIN r.singlePlayerGame s
+    JOIN s.user u
+    LEFT JOIN r.guess g
+    WHERE s.challengeDate = :challengeDate AND s.status = :status
+    """)
+    List<Object[]> findChallengeRounds(@Param("challengeDate") LocalDate challengeDate, @Param("status") GameStatus status);
 }
@@ -1,5 +1,6 @@
 package com.flagfinder.repository;
 
+import com.flagfinder.enumeration.GameStatus;
 import com.flagfinder.model.Country;
 import com.flagfinder.model.Round;
 import com.flagfinder.model.SinglePlayerRound;
@@ -48,6 +49,25 @@ public interface SinglePlayerRoundRepository extends JpaRepository<SinglePlayerR
     @Query("SELECT r FROM SinglePlayerRound r WHERE r.singlePlayerGame.id = :singlePlayerGameId ORDER BY r.roundNumber ASC")
     List<SinglePlayerRound> findByGameIdOrderByRoundNumber(@Param("singlePlayerGameId") UUID singlePlayerGameId);
 
+    /**
+     * Finds the answered and missed flags of a player's finished single player games in play order,
+     * for seeding the player's learning queue.
+     *
+     * @param userId the ID of the player
+     * @param status the finished game status
+     * @return rows of [country ID, guess correct or null when unanswered, round start, guess time or null]
+     */
+    @Query("""
+            SELECT r.country.id, g.correct, r.createdAt, g.createdAt
+            FROM SinglePlayerRound r
+            LEFT JOIN r.guess g
+            WHERE r.singlePlayerGame.user.id = :userId
+            AND r.singlePlayerGame.status = :status
+            AND r.country IS NOT NULL
+            ORDER BY r.createdAt
+            """)
+    List<Object[]> findReviewHistory(@Param("userId") UUID userId, @Param("status") GameStatus status);
+
     /**
      * Deletes all single player rounds associated with a specific country.
      * Used for cascade deletion when a country is removed.
@@ -0,0 +1,25 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.enumeration.TournamentStatus;
+import com.flagfinder.model.Tournament;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for Tournament entity operations.
+ * Extends JpaRepository to provide CRUD operations and status queries used to restore running tournaments.
+ */
+@Repository
+public interface TournamentRepository extends JpaRepository<Tournament, UUID> {
+
+    /**
+     * Finds all tournaments with the given status.
+     *
+     * @param status the tournament status to filter by
+     * @return list of tournaments with the status
+     */
+    List<Tournament> findByStatus(TournamentStatus status);
+}
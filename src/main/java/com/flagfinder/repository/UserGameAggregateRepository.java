@@ -0,0 +1,14 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.model.UserGameAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository interface for UserGameAggregate projection rows.
+ */
+@Repository
+public interface UserGameAggregateRepository extends JpaRepository<UserGameAggregate, UUID> {
+}
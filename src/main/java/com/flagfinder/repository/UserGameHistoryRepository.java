@@ -0,0 +1,91 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.model.UserGameHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for UserGameHistory projection rows.
+ */
+@Repository
+public interface UserGameHistoryRepository extends JpaRepository<UserGameHistory, UUID> {
+
+    /**
+     * Finds a page of a player's history, most recent game first.
+     *
+     * @param userId the UUID of the player
+     * @param pageable the page to return
+     * @return the page of history rows
+     */
+    Page<UserGameHistory> findByUserIdOrderByEndedAtDescGameIdDesc(UUID userId, Pageable pageable);
+
+    /**
+     * Finds the most recent games of a player, without counting the player's whole history.
+     *
+     * @param userId the UUID of the player
+     * @param limit the maximum number of rows
+     * @return the history rows, most recent game first
+     */
+    List<UserGameHistory> findByUserIdOrderByEndedAtDescGameIdDesc(UUID userId, Limit limit);
+
+    /**
+     * Streams a player's whole history, most recent game first, reading the rows from the database in batches.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param userId the UUID of the player
+     * @return a stream of history rows
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM UserGameHistory h WHERE h.userId = :userId ORDER BY h.endedAt DESC, h.gameId DESC")
+    Stream<UserGameHistory> streamByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Streams the history rows of every player in end order, reading the rows from the database in batches.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of history rows
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM UserGameHistory h ORDER BY h.endedAt, h.gameId, h.userId")
+    Stream<UserGameHistory> streamAll();
+
+    /**
+     * Finds the games of a player that ended before a cursor position, seeking the
+     * (user_id, ended_at, game_id) index so every page costs the same as the first one.
+     *
+     * @param userId the UUID of the player
+     * @param endedAt the end time of the last game of the previous page
+     * @param gameId the ID of the last game of the previous page
+     * @param limit the maximum number of rows
+     * @return the history rows, most recent game first
+     */
+    @Query("""
+            SELECT h FROM UserGameHistory h
+            WHERE h.userId = :userId
+            AND (h.endedAt < :endedAt OR (h.endedAt = :endedAt AND h.gameId < :gameId))
+            ORDER BY h.endedAt DESC, h.gameId DESC
+            """)
+    List<UserGameHistory> findPageAfter(@Param("userId") UUID userId,
+                                        @Param("endedAt") LocalDateTime endedAt,
+                                        @Param("gameId") UUID gameId,
+                                        Limit limit);
+}
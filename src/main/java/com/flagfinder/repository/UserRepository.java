@@ -72,4 +72,11 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      * @return an Optional containing the user if found, or empty if not
      */
     Optional<User> findByGoogleId(String googleId);
+
+    /**
+     * Finds the bot account that plays as a guest when no human opponent is available.
+     *
+     * @return an Optional containing the bot user if it was created, or empty if not
+     */
+    Optional<User> findFirstByBotTrue();
 }
@@ -0,0 +1,230 @@
+package com.flagfinder.repository;
+
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.model.UserStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for UserStats entity operations.
+ * Besides row access it holds the history queries used to backfill the row of a user who has none yet.
+ */
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, UUID> {
+
+    /**
+     * Finds a page of users with their wins, rating and correct guesses in user ID order, for loading in-memory rankings.
+     *
+     * @param afterUserId the exclusive lower bound of the user IDs
+     * @param pageable the number of rows to return
+     * @return rows of user ID, game name, wins, rating and multiplayer correct guesses
+     */
+    @Query("""
+            SELECT s.userId, u.gameName, s.wins, s.rating, s.multiplayerCorrect
+            FROM UserStats s JOIN User u ON u.id = s.userId
+            WHERE s.userId > :afterUserId
+            ORDER BY s.userId
+            """)
+    List<Object[]> findRankingPage(@Param("afterUserId") UUID afterUserId, Pageable pageable);
+
+    /**
+     * Finds a page of ratings in user ID order.
+     *
+     * @param afterUserId the exclusive lower bound of the user IDs
+     * @param pageable the number of rows to return
+     * @return rows of user ID, game name, rating and rated games
+     */
+    @Query("""
+            SELECT s.userId, u.gameName, s.rating, s.ratedGames
+            FROM UserStats s JOIN User u ON u.id = s.userId
+            WHERE s.userId > :afterUserId
+            ORDER BY s.userId
+            """)
+    List<Object[]> findRatingPage(@Param("afterUserId") UUID afterUserId, Pageable pageable);
+
+    /**
+     * Finds a page of users other than the bot that have no stats row yet in user ID order, for the one-off backfill.
+     *
+     * @param afterUserId the exclusive lower bound of the user IDs
+     * @param pageable the number of rows to return
+     * @return rows of user ID and game name
+     */
+    @Query("""
+            SELECT u.id, u.gameName
+            FROM User u
+            WHERE u.id > :afterUserId
+            AND u.bot = false
+            AND NOT EXISTS (SELECT 1 FROM UserStats s WHERE s.userId = u.id)
+            ORDER BY u.id
+            """)
+    List<Object[]> findUsersWithoutStats(@Param("afterUserId") UUID afterUserId, Pageable pageable);
+
+    /**
+     * Finds and locks the stats rows of the given users, in user ID order to avoid lock cycles
+     * between games that end at the same time.
+     *
+     * @param userIds the IDs of the users
+     * @return the existing rows, locked for update
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId IN :userIds ORDER BY s.userId")
+    List<UserStats> findAllForUpdate(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Inserts an empty stats row for a user unless one exists. A row being inserted by another transaction
+     * makes this wait for that transaction instead of failing, so the caller can lock the row afterwards.
+     * The counter arrays are left null and sized when the row is read.
+     *
+     * @param userId the ID of the user
+     * @return 1 if the row was inserted, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_stats (user_id, games_played, wins, draws, losses, current_streak, best_streak,
+                                    rating, rated_games, single_player_games_played, multiplayer_rounds,
+                                    multiplayer_correct, single_player_rounds, single_player_correct)
+            VALUES (:userId, 0, 0, 0, 0, 0, 0, 1500, 0, 0, 0, 0, 0, 0)
+            ON CONFLICT (user_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId);
+
+    /**
+     * Finds the winners of a user's finished multiplayer games in the order the games ended.
+     *
+     * @param userId the ID of the user
+     * @param status the finished game status
+     * @param excludedGameId a game to leave out, e.g. the game being recorded
+     * @return the winner game names, null for draws
+     */
+    @Query("""
+            SELECT g.winnerUserName FROM Game g JOIN g.users u
+            WHERE u.id = :userId AND g.status = :status AND g.id <> :excludedGameId
+            ORDER BY g.endedAt ASC
+            """)
+    List<String> findWinnersInEndOrder(@Param("userId") UUID userId,
+                                       @Param("status") GameStatus status,
+                                       @Param("excludedGameId") UUID excludedGameId);
+
+    /**
+     * Counts the rounds and correct guesses of a user's finished multiplayer games per game, most recent first.
+     *
+     * @param userId the ID of the user
+     * @param status the finished game status
+     * @param excludedGameId a game to leave out, e.g. the game being recorded
+     * @param pageable the number of games to return
+     * @return rows of game ID, round count and correct guess count
+     */
+    @Query("""
+            SELECT g.id, COUNT(r), SUM(CASE WHEN gs.correct = true THEN 1 ELSE 0 END)
+            FROM Round r JOIN r.game g JOIN g.users u
+            LEFT JOIN Guess gs ON gs.round = r AND gs.user = u
+            WHERE u.id = :userId AND g.status = :status AND g.id <> :excludedGameId
+            GROUP BY g.id, g.endedAt
+            ORDER BY g.endedAt DESC
+            """)
+    List<Object[]> countRoundsPerGame(@Param("userId") UUID userId,
+                                      @Param("status") GameStatus status,
+                                      @Param("excludedGameId") UUID excludedGameId,
+                                      Pageable pageable);
+
+    /**
+     * Counts the rounds and correct guesses of a user's finished multiplayer games per round country continent.
+     * Rows with a null continent hold rounds whose country has no continent.
+     *
+     * @param userId the ID of the user
+     * @param status the finished game status
+     * @param excludedGameId a game to leave out, e.g. the game being recorded
+     * @return rows of continent, round count and correct guess count
+     */
+    @Query("""
+            SELECT cont, COUNT(r), SUM(CASE WHEN gs.correct = true THEN 1 ELSE 0 END)
+            FROM Round r JOIN r.game g JOIN g.users u JOIN r.country c LEFT JOIN c.continents cont
+            LEFT JOIN Guess gs ON gs.round = r AND gs.user = u
+            WHERE u.id = :userId AND g.status = :status AND g.id <> :excludedGameId
+            GROUP BY cont
+            """)
+    List<Object[]> countMultiplayerRoundsByContinent(@Param("userId") UUID userId,
+                                                     @Param("status") GameStatus status,
+                                                     @Param("excludedGameId") UUID excludedGameId);
+
+    /**
+     * Counts the rounds and correct guesses of a user's finished multiplayer games.
+     *
+     * @param userId the ID of the user
+     * @param status the finished game status
+     * @param excludedGameId a game to leave out, e.g. the game being recorded
+     * @return a single row of round count and correct guess count
+     */
+    @Query("""
+            SELECT COUNT(r), SUM(CASE WHEN gs.correct = true THEN 1 ELSE 0 END)
+            FROM Round r JOIN r.game g JOIN g.users u
+            LEFT JOIN Guess gs ON gs.round = r AND gs.user = u
+            WHERE u.id = :userId AND g.status = :status AND g.id <> :excludedGameId
+            """)
+    List<Object[]> countMultiplayerRounds(@Param("userId") UUID userId,
+                                          @Param("status") GameStatus status,
+                                          @Param("excludedGameId") UUID excludedGameId);
+
+    /**
+     * Counts a user's finished single player games.
+     *
+     * @param userId the ID of the user
+     * @param status the finished game status
+     * @param excludedGameId a game to leave out, e.g. the game being recorded
+     * @return the number of games
+     */
+    @Query("""
+            SELECT COUNT(g) FROM SinglePlayerGame g
+            WHERE g.user.id = :userId AND g.status = :status AND g.id <> :excludedGameId
+            """)
+    long countSinglePlayerGames(@Param("userId") UUID userId,
+                                @Param("status") GameStatus status,
+                                @Param("excludedGameId") UUID excludedGameId);
+
+    /**
+     * Counts the rounds and correct guesses of a user's finished single player games per round country continent.
+     * Rows with a null continent hold rounds whose country has no continent.
+     *
+     * @param userId the ID of the user
+     * @param status the finished game status
+     * @param excludedGameId a game to leave out, e.g. the game being recorded
+     * @return rows of continent, round count and correct guess count
+     */
+    @Query("""
+            SELECT cont, COUNT(r), SUM(CASE WHEN gs.correct = true THEN 1 ELSE 0 END)
+            FROM SinglePlayerRound r JOIN r.singlePlayerGame g JOIN r.country c LEFT JOIN c.continents cont
+            LEFT JOIN r.guess gs
+            WHERE g.user.id = :userId AND g.status = :status AND g.id <> :excludedGameId
+            GROUP BY cont
+            """)
+    List<Object[]> countSinglePlayerRoundsByContinent(@Param("userId") UUID userId,
+                                                      @Param("status") GameStatus status,
+                                                      @Param("excludedGameId") UUID excludedGameId);
+
+    /**
+     * Counts the rounds and correct guesses of a user's finished single player games.
+     *
+     * @param userId the ID of the user
+     * @param status the finished game status
+     * @param excludedGameId a game to leave out, e.g. the game being recorded
+     * @return a single row of round count and correct guess count
+     */
+    @Query("""
+            SELECT COUNT(r), SUM(CASE WHEN gs.correct = true THEN 1 ELSE 0 END)
+            FROM SinglePlayerRound r JOIN r.singlePlayerGame g LEFT JOIN r.guess gs
+            WHERE g.user.id = :userId AND g.status = :status AND g.id <> :excludedGameId
+            """)
+    List<Object[]> countSinglePlayerRounds(@Param("userId") UUID userId,
+                                           @Param("status") GameStatus status,
+                                           @Param("excludedGameId") UUID excludedGameId);
+}
@@ -68,6 +68,20 @@ public interface CountryService {
      */
     Country getRandomCountryFromAnyContinentsExcluding(List<com.flagfinder.enumeration.Continent> continents, 
                                                       List<UUID> excludedCountryIds);
+
+    /**
+     * Gets a random country from any of the specified continents, excluding already used countries,
+     * with countries of the requested difficulty more likely to be picked.
+     *
+     * @param continents list of continents to filter by, or null for all continents
+     * @param excludedCountryIds list of country IDs to exclude from selection
+     * @param difficulty the difficulty to favour, or null to pick uniformly
+     * @return random country from specified continents not in the excluded list
+     * @throws RuntimeException if no country found or filtering fails
+     */
+    Country getRandomCountryFromAnyContinentsExcluding(List<com.flagfinder.enumeration.Continent> continents,
+                                                      List<UUID> excludedCountryIds,
+                                                      com.flagfinder.enumeration.Difficulty difficulty);
     
     /**
      * Gets a country by ID
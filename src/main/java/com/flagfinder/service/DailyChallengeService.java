@@ -0,0 +1,30 @@
+package com.flagfinder.service;
+
+import com.flagfinder.dto.DailyChallengeDto;
+import com.flagfinder.dto.LeaderboardEntryDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for the daily challenge, where every player plays the same sequence of countries once a day.
+ * The challenge itself is started as a single player game in the daily challenge mode.
+ */
+public interface DailyChallengeService {
+
+    /**
+     * Gets today's challenge and the authenticated user's result.
+     *
+     * @return today's challenge
+     */
+    DailyChallengeDto getToday();
+
+    /**
+     * Gets the best players of a day's challenge.
+     *
+     * @param date the day of the challenge, or null for today
+     * @param limit the maximum number of players
+     * @return the best players in rank order
+     */
+    List<LeaderboardEntryDto> getLeaderboard(LocalDate date, int limit);
+}
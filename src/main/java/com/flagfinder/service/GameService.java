@@ -1,6 +1,7 @@
 package com.flagfinder.service;
 
 import com.flagfinder.dto.*;
+import com.flagfinder.enumeration.AccuracyWindow;
 import com.flagfinder.model.Game;
 import com.flagfinder.model.Round;
 import org.springframework.data.domain.Page;
@@ -28,7 +29,9 @@ public interface GameService {
      * Gets all completed games for the authenticated user.
      *
      * @return list of completed game DTOs for the user
+     * @deprecated loads the whole history with rounds and guesses; use {@link #getGameHistoryPage(String, int)}
      */
+    @Deprecated
     List<CompletedGameDto> getGamesByUser();
     
     /**
@@ -39,6 +42,15 @@ public interface GameService {
      * @return paginated list of completed game DTOs
      */
     Page<CompletedGameDto> getGamesByUser(Integer page, Integer pageSize);
+
+    /**
+     * Gets a page of the authenticated user's finished multiplayer games, most recent first, continuing after a cursor.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param pageSize the number of games per page
+     * @return the page of flat history rows and the cursor of the next page
+     */
+    GameHistoryPageDto getGameHistoryPage(String cursor, int pageSize);
     
     /**
      * Gets the count of games won by the authenticated user.
@@ -62,24 +74,39 @@ public interface GameService {
     List<Game> getAllCompletedGames();
     
     /**
-     * Starts a new multiplayer game from a room with 2 players.
+     * Starts a new multiplayer game from a room with the host and at least one joined player.
      *
      * @param roomId the UUID of the room to start the game from
      * @param continents list of continents to include in the game
+     * @param difficulty the difficulty to weight country selection towards, or null for uniform selection
      * @return the started game DTO
      * @throws RuntimeException if room not found or game start fails
      */
-    GameDto startGame(UUID roomId, java.util.List<com.flagfinder.enumeration.Continent> continents);
+    GameDto startGame(UUID roomId, java.util.List<com.flagfinder.enumeration.Continent> continents,
+                      com.flagfinder.enumeration.Difficulty difficulty);
+
+    /**
+     * Starts a rematch of a finished game in the same room, with the same players and settings.
+     *
+     * @param gameId the UUID of the finished game
+     * @return the started game DTO, or the game a rematch already started
+     * @throws RuntimeException if the rematch is no longer available or the user did not play in the game
+     */
+    GameDto rematch(UUID gameId);
 
     /**
      * Starts a new single player game from a room.
      *
      * @param roomId the UUID of the single player room
      * @param continents list of continents to include in the game
+     * @param difficulty the difficulty to weight country selection towards, or null for uniform selection
+     * @param mode how countries are chosen, classic when null
      * @return the started single player game DTO
      * @throws RuntimeException if room not found or game start fails
      */
-    SinglePlayerGameDto startSinglePlayerGame(UUID roomId, java.util.List<com.flagfinder.enumeration.Continent> continents);
+    SinglePlayerGameDto startSinglePlayerGame(UUID roomId, java.util.List<com.flagfinder.enumeration.Continent> continents,
+                                              com.flagfinder.enumeration.Difficulty difficulty,
+                                              com.flagfinder.enumeration.SinglePlayerMode mode);
     
     /**
      * Submits a guess for the current round.
@@ -126,6 +153,24 @@ public interface GameService {
      */
     List<RoundSummaryDto> getGameRoundSummaries(UUID gameId);
 
+    /**
+     * Gets the replay of a finished multiplayer game, decoded from its packed event log.
+     *
+     * @param gameId the UUID of the game
+     * @return the replay DTO with the players and events of the game
+     * @throws RuntimeException if the game has no event log
+     */
+    GameReplayDto getGameReplay(UUID gameId);
+
+    /**
+     * Gets the raw packed event log of a finished multiplayer game.
+     *
+     * @param gameId the UUID of the game
+     * @return the encoded event log
+     * @throws RuntimeException if the game has no event log
+     */
+    byte[] getGameEventLog(UUID gameId);
+
     /**
      * Counts the total number of winning games for a specific user.
      *
@@ -142,6 +187,16 @@ public interface GameService {
      */
     int accuracyPercentage(String userName);
 
+    /**
+     * Calculates a user's accuracy over a window of games.
+     *
+     * @param userName the username to calculate accuracy for
+     * @param window the window of games to count, defaults to the most recent games
+     * @param games the number of most recent games for the LAST_GAMES window, defaults to 10
+     * @return the accuracy DTO with the counted games, rounds and correct guesses
+     */
+    AccuracyDto getAccuracy(String userName, AccuracyWindow window, Integer games);
+
     /**
      * Gets the best winning streak for a specific user.
      *
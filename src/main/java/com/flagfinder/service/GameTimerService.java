@@ -17,6 +17,18 @@ public interface GameTimerService {
      */
     void startRoundTimer(UUID gameId, Integer roundNumber, int durationSeconds);
     
+    /**
+     * Schedules a task to run during a round, e.g. a bot's guess.
+     * The task shares the round timers' scheduler and is cancelled together with the game's timers.
+     *
+     * @param gameId the UUID of the game
+     * @param roundNumber the round number the task belongs to
+     * @param taskName a name that tells the round's tasks apart
+     * @param delayMillis the delay before the task runs, in milliseconds
+     * @param task the task to run
+     */
+    void scheduleRoundTask(UUID gameId, Integer roundNumber, String taskName, long delayMillis, Runnable task);
+
     /**
      * Cancels all timers for a specific game.
      *
@@ -41,4 +53,11 @@ public interface GameTimerService {
      * @return true if the round is still active, false otherwise
      */
     boolean isRoundActive(UUID gameId, Integer roundNumber);
+
+    /**
+     * Gets the number of games with a running round timer, i.e. the games currently being played on this node.
+     *
+     * @return the number of active games
+     */
+    int activeGameCount();
 }
@@ -0,0 +1,26 @@
+package com.flagfinder.service;
+
+import com.flagfinder.enumeration.HistoryExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Service interface for exporting game history as a streamed file.
+ */
+public interface HistoryExportService {
+
+    /**
+     * Prepares a streamed export of the authenticated user's game history, most recent game first.
+     *
+     * @param format the file format
+     * @return the response body that writes the export
+     */
+    StreamingResponseBody exportUserHistory(HistoryExportFormat format);
+
+    /**
+     * Prepares a streamed export of every player's game history in end order.
+     *
+     * @param format the file format
+     * @return the response body that writes the export
+     */
+    StreamingResponseBody exportAllHistory(HistoryExportFormat format);
+}
@@ -0,0 +1,64 @@
+package com.flagfinder.service;
+
+import com.flagfinder.dto.LeaderboardEntryDto;
+import com.flagfinder.enumeration.LeaderboardPeriod;
+import com.flagfinder.enumeration.LeaderboardType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for global and friends leaderboards, all time or per day and week.
+ * Provides methods for reading the top of a leaderboard and the authenticated user's place on it.
+ */
+public interface LeaderboardService {
+
+    /**
+     * Gets the best players of a leaderboard.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @param limit the maximum number of players
+     * @return the best players in rank order
+     */
+    List<LeaderboardEntryDto> getTop(LeaderboardType type, LeaderboardPeriod period, int limit);
+
+    /**
+     * Gets the authenticated user's place on a leaderboard.
+     * A user without a score is ranked with the score of a new player.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @return the user's leaderboard entry
+     */
+    LeaderboardEntryDto getMyRank(LeaderboardType type, LeaderboardPeriod period);
+
+    /**
+     * Gets the players ranked directly above and below the authenticated user.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @param radius the number of players to include on each side
+     * @return the neighbouring players and the user in rank order
+     */
+    List<LeaderboardEntryDto> getAroundMe(LeaderboardType type, LeaderboardPeriod period, int radius);
+
+    /**
+     * Gets the leaderboard of the authenticated user and their accepted friends, ranked among themselves.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @return the user and their friends in rank order
+     */
+    List<LeaderboardEntryDto> getFriends(LeaderboardType type, LeaderboardPeriod period);
+
+    /**
+     * Gets the stored top of a closed daily or weekly leaderboard window.
+     *
+     * @param type the leaderboard to read
+     * @param period the daily or weekly period
+     * @param windowStart any day inside the window
+     * @return the stored players in rank order, empty if the window was not stored
+     */
+    List<LeaderboardEntryDto> getClosedWindow(LeaderboardType type, LeaderboardPeriod period, LocalDate windowStart);
+}
@@ -0,0 +1,35 @@
+package com.flagfinder.service;
+
+import com.flagfinder.dto.MatchmakingStatsDto;
+import com.flagfinder.dto.QueueTicketDto;
+import com.flagfinder.dto.QuickMatchRequestDto;
+
+/**
+ * Service interface for the quick match queue.
+ * Provides methods for entering and leaving the queue and for reading queue metrics.
+ */
+public interface MatchmakingService {
+
+    /**
+     * Puts the authenticated user into the quick match queue.
+     * Enqueueing again while already waiting returns the existing ticket.
+     *
+     * @param request the queue request containing the continent filter and round count
+     * @return the ticket describing the user's place in the queue
+     */
+    QueueTicketDto enqueue(QuickMatchRequestDto request);
+
+    /**
+     * Removes the authenticated user from the quick match queue.
+     *
+     * @throws RuntimeException if the user is not waiting in the queue
+     */
+    void leaveQueue();
+
+    /**
+     * Gets the current queue depth and wait time metrics.
+     *
+     * @return the matchmaking statistics
+     */
+    MatchmakingStatsDto getStats();
+}
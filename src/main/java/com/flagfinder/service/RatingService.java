@@ -0,0 +1,23 @@
+package com.flagfinder.service;
+
+import com.flagfinder.dto.RatingRecomputeStatusDto;
+
+/**
+ * Service interface for the batch recomputation of Elo ratings from the game history.
+ */
+public interface RatingService {
+
+    /**
+     * Starts recomputing every player's rating from the multiplayer game history in the background.
+     *
+     * @return the recomputation status after it was scheduled
+     */
+    RatingRecomputeStatusDto recomputeRatings();
+
+    /**
+     * Gets the progress of the last rating recomputation.
+     *
+     * @return the recomputation status
+     */
+    RatingRecomputeStatusDto getRecomputeStatus();
+}
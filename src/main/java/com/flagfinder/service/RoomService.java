@@ -2,6 +2,7 @@ package com.flagfinder.service;
 
 import com.flagfinder.dto.*;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -71,4 +72,25 @@ public interface RoomService {
      * @throws RuntimeException if room not found or update fails
      */
     RoomDto updateRounds(UUID roomId, UpdateRoundsRequestDto request);
+
+    /**
+     * Creates a room that is already seated with the given players, without invitations or joins.
+     * Used when the server pairs players itself, e.g. from the matchmaking queue.
+     *
+     * @param hostId the UUID of the user hosting the room
+     * @param playerIds the UUIDs of the other players, in seating order
+     * @param numberOfRounds the number of rounds to play, or null for the default
+     * @return the created room DTO, ready for the game to start
+     * @throws RuntimeException if a user is not found
+     */
+    RoomDto createRoomForPlayers(UUID hostId, List<UUID> playerIds, Integer numberOfRounds);
+
+    /**
+     * Seats the server-side bot in the authenticated host's room, for playing when no human opponent is available.
+     *
+     * @param roomId the UUID of the room
+     * @return the updated room DTO, ready for the game to start
+     * @throws RuntimeException if the room is not found, the user is not its host, or the room cannot take a player
+     */
+    RoomDto addBotGuest(UUID roomId);
 }
@@ -0,0 +1,56 @@
+package com.flagfinder.service;
+
+import com.flagfinder.dto.CountryDifficultyDto;
+import com.flagfinder.dto.ProjectionStatusDto;
+import com.flagfinder.dto.UserGameAggregateDto;
+import com.flagfinder.dto.UserGameHistoryDto;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Service interface for the read models built from the game event outbox.
+ * Provides methods for reading the projections and for monitoring and rebuilding them.
+ */
+public interface StatsProjectionService {
+
+    /**
+     * Gets a page of the authenticated user's game history from the history projection.
+     *
+     * @param page the page number (0-based)
+     * @param pageSize the number of items per page
+     * @return a page of history rows, most recent game first
+     */
+    Page<UserGameHistoryDto> getGameHistory(int page, int pageSize);
+
+    /**
+     * Gets the authenticated user's multiplayer totals from the aggregate projection.
+     *
+     * @return the user's totals, all zero if the user has no finished games yet
+     */
+    UserGameAggregateDto getGameAggregate();
+
+    /**
+     * Gets the recognition counters of all countries shown so far, hardest first,
+     * with each country's difficulty band and the wrong countries most often guessed for it.
+     *
+     * @return list of country difficulty DTOs ordered by ascending accuracy
+     */
+    List<CountryDifficultyDto> getCountryDifficulty();
+
+    /**
+     * Gets the checkpoint and lag of every projection.
+     *
+     * @return list of projection status DTOs
+     */
+    List<ProjectionStatusDto> getProjectionStatus();
+
+    /**
+     * Starts rebuilding a projection from the beginning of the outbox in the background.
+     *
+     * @param name the name of the projection
+     * @return the projection status after the rebuild was scheduled
+     * @throws RuntimeException if the projection does not exist or is already being rebuilt
+     */
+    ProjectionStatusDto rebuildProjection(String name);
+}
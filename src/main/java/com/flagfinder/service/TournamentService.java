@@ -0,0 +1,49 @@
+package com.flagfinder.service;
+
+import com.flagfinder.dto.CreateTournamentRequestDto;
+import com.flagfinder.dto.TournamentDto;
+
+import java.util.UUID;
+
+/**
+ * Service interface for tournament management.
+ * Provides methods for creating, joining, starting and viewing single elimination and Swiss tournaments.
+ */
+public interface TournamentService {
+
+    /**
+     * Creates a new tournament hosted by the authenticated user, who is registered as the first player.
+     *
+     * @param request the tournament format and game settings
+     * @return the created tournament
+     */
+    TournamentDto createTournament(CreateTournamentRequestDto request);
+
+    /**
+     * Registers the authenticated user for a tournament that has not started yet.
+     *
+     * @param tournamentId the ID of the tournament to join
+     * @return the updated tournament
+     * @throws RuntimeException if the tournament is not found or already started
+     */
+    TournamentDto joinTournament(UUID tournamentId);
+
+    /**
+     * Starts a tournament and launches the games of its first round.
+     * Only the host can start the tournament.
+     *
+     * @param tournamentId the ID of the tournament to start
+     * @return the started tournament
+     * @throws RuntimeException if the tournament is not found, already started or has fewer than 2 players
+     */
+    TournamentDto startTournament(UUID tournamentId);
+
+    /**
+     * Gets the current standings and pairings of a tournament.
+     *
+     * @param tournamentId the ID of the tournament
+     * @return the tournament
+     * @throws RuntimeException if the tournament is not found
+     */
+    TournamentDto getTournament(UUID tournamentId);
+}
@@ -0,0 +1,49 @@
+package com.flagfinder.service;
+
+import com.flagfinder.dto.UserStatsDto;
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.model.SinglePlayerGame;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service interface for the incrementally maintained per-user statistics.
+ * Provides methods for recording finished games and for reading a user's statistics.
+ */
+public interface UserStatsService {
+
+    /**
+     * Adds a finished multiplayer game to the statistics of every player.
+     * Must be called inside the transaction that ends the game.
+     *
+     * @param game the completed game
+     */
+    void recordMultiplayerGame(GameCompletedPayload game);
+
+    /**
+     * Adds a finished single player game to the statistics of its player.
+     * Must be called inside the transaction that ends the game.
+     *
+     * @param game the completed single player game with its rounds loaded
+     */
+    void recordSinglePlayerGame(SinglePlayerGame game);
+
+    /**
+     * Locks the statistics rows of the players of several games about to end in one transaction, creating missing rows.
+     * Must be called inside that transaction before any of the games is recorded, so the rows of all their players
+     * are locked in one user ID order instead of game by game.
+     *
+     * @param gameNames the game names of the players keyed by user ID
+     */
+    void lockStats(Map<UUID, String> gameNames);
+
+    /**
+     * Gets the statistics of a user.
+     *
+     * @param userName the game name of the user
+     * @return the user's statistics DTO
+     * @throws RuntimeException if the user is not found
+     */
+    UserStatsDto getUserStats(String userName);
+}
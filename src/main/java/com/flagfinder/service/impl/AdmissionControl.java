@@ -0,0 +1,159 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.service.GameTimerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Limits how much database-heavy work a node takes on at once, so a spike is turned away early with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} header instead of piling up until the connection pool
+ * runs dry and every request times out.
+ * <p>
+ * Admitted requests hold one of a fixed number of in-flight permits. Part of the permits is reserved for live
+ * gameplay: game creation and history or statistics reads may only use the rest, so guesses still get through
+ * while those are being shed. A request that finds no permit waits briefly and is rejected once its deadline passes.
+ * New games are also refused outright while the node already runs its maximum number of active games.
+ */
+@Service
+@Slf4j
+public class AdmissionControl {
+
+    private final GameTimerService gameTimerService;
+    private final Semaphore inFlight;
+    private final Semaphore nonGameplay;
+    private final int maxActiveGames;
+    private final long queueTimeoutMillis;
+    private final LongAdder rejected = new LongAdder();
+
+    private static final long RETRY_AFTER_BUSY_SECONDS = 1;
+    private static final long RETRY_AFTER_FULL_SECONDS = GameServiceImpl.ROUND_DURATION_SECONDS;
+    private static final int GAMEPLAY_QUEUE_TIMEOUT_FACTOR = 4;
+
+    /**
+     * Creates the admission controller.
+     *
+     * @param gameTimerService the timer service, which knows how many games are running
+     * @param maxInFlight the number of admitted requests that may run at once
+     * @param reservedForGameplay how many of those are kept free for gameplay
+     * @param maxActiveGames the number of running games above which new games are refused
+     * @param queueTimeoutMillis how long a request may wait for a permit before it is rejected
+     */
+    public AdmissionControl(GameTimerService gameTimerService,
+                            @Value("${application.admission.max-in-flight:40}") int maxInFlight,
+                            @Value("${application.admission.reserved-for-gameplay:10}") int reservedForGameplay,
+                            @Value("${application.admission.max-active-games:5000}") int maxActiveGames,
+                            @Value("${application.admission.queue-timeout-millis:250}") long queueTimeoutMillis) {
+        this.gameTimerService = gameTimerService;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight), true);
+        this.nonGameplay = new Semaphore(Math.max(1, maxInFlight - reservedForGameplay), true);
+        this.maxActiveGames = maxActiveGames;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    /**
+     * The kinds of work that are admitted, in order of priority.
+     */
+    public enum Work {
+        /**
+         * Guesses and other changes to running games; may use every permit and waits longest.
+         */
+        GAMEPLAY,
+        /**
+         * Creating rooms and starting games; refused while the node runs its maximum number of games.
+         */
+        GAME_CREATION,
+        /**
+         * History and statistics reads.
+         */
+        READ
+    }
+
+    /**
+     * Runs a request if the node has capacity for it.
+     *
+     * @param work the kind of work the request does
+     * @param request the request to run
+     * @param <T> the type of the result
+     * @return the request's result
+     * @throws ResponseStatusException with status 503 and a {@code Retry-After} header if the request is shed
+     */
+    public <T> T admit(Work work, Supplier<T> request) {
+        if (work == Work.GAME_CREATION && gameTimerService.activeGameCount() >= maxActiveGames) {
+            throw reject(work, "Too many active games, please try again shortly", RETRY_AFTER_FULL_SECONDS);
+        }
+
+        long timeoutMillis = work == Work.GAMEPLAY ? queueTimeoutMillis * GAMEPLAY_QUEUE_TIMEOUT_FACTOR : queueTimeoutMillis;
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        boolean limited = work != Work.GAMEPLAY;
+        if (limited && !acquire(nonGameplay, deadlineNanos)) {
+            throw reject(work, "Server is busy, please try again shortly", RETRY_AFTER_BUSY_SECONDS);
+        }
+        try {
+            if (!acquire(inFlight, deadlineNanos)) {
+                throw reject(work, "Server is busy, please try again shortly", RETRY_AFTER_BUSY_SECONDS);
+            }
+            try {
+                return request.get();
+            } finally {
+                inFlight.release();
+            }
+        } finally {
+            if (limited) {
+                nonGameplay.release();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of requests rejected since startup.
+     *
+     * @return the rejected request count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private boolean acquire(Semaphore permits, long deadlineNanos) {
+        try {
+            return permits.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private ResponseStatusException reject(Work work, String reason, long retryAfterSeconds) {
+        rejected.increment();
+        log.debug("Shedding {} request: {}", work, reason);
+        return new OverloadedException(reason, retryAfterSeconds);
+    }
+
+    /**
+     * A rejected request, answered with {@code 503 Service Unavailable} and a {@code Retry-After} header.
+     */
+    static final class OverloadedException extends ResponseStatusException {
+
+        private final long retryAfterSeconds;
+
+        OverloadedException(String reason, long retryAfterSeconds) {
+            super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            return headers;
+        }
+    }
+}
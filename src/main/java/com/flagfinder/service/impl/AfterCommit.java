@@ -0,0 +1,49 @@
+package com.flagfinder.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a change until the transaction that made the change has committed,
+ * so timers, caches and messages never act on state that is rolled back afterwards.
+ * Outside a transaction the side effects run straight away.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs an action once the current transaction has committed, or now if there is none.
+     * The action is dropped if the transaction rolls back.
+     *
+     * @param action the side effect to run
+     */
+    static void run(Runnable action) {
+        run(action, null);
+    }
+
+    /**
+     * Runs an action once the current transaction has committed, or now if there is none,
+     * and another one if it rolls back instead.
+     *
+     * @param onCommit the side effect to run after a commit
+     * @param onRollback the clean-up to run after a rollback, or null
+     */
+    static void run(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else if (onRollback != null) {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+}
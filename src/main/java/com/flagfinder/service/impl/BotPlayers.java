@@ -0,0 +1,187 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.Role;
+import com.flagfinder.model.CountryDifficulty;
+import com.flagfinder.model.User;
+import com.flagfinder.repository.CountryDifficultyRepository;
+import com.flagfinder.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The server-side bot that takes the guest seat when no human opponent is available.
+ * A single bot account is shared by every bot game; it has no session and plays only through scheduled round tasks,
+ * so a bot game costs one queued task per round rather than a thread.
+ * How fast and how well the bot answers is sampled per country from the recognition statistics of real players,
+ * so it finds the flags hard that people find hard.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BotPlayers {
+
+    private final UserRepository userRepository;
+    private final CountryDifficultyRepository countryDifficultyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile User bot;
+    private volatile Profiles profiles;
+
+    private static final String BOT_NAME = "FlagBot";
+    private static final long PROFILES_TTL_MILLIS = 10 * 60 * 1000;
+    private static final long DEFAULT_RESPONSE_MILLIS = 6000;
+    private static final long MIN_RESPONSE_MILLIS = 1500;
+    private static final long DEADLINE_MARGIN_MILLIS = 500;
+    private static final double RESPONSE_SPREAD = 0.45;
+
+    /**
+     * Creates the bot account on first start and remembers it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureBotUser() {
+        try {
+            bot = transactionTemplate.execute(status -> userRepository.findFirstByBotTrue()
+                    .orElseGet(this::createBotUser));
+            log.info("Bot player {} is ready", bot.getGameName());
+        } catch (Exception e) {
+            log.error("Failed to create the bot player", e);
+        }
+    }
+
+    /**
+     * Gets the ID of the bot account.
+     *
+     * @return the bot's user ID, or null while the account is not ready
+     */
+    UUID botId() {
+        User current = bot;
+        return current != null ? current.getId() : null;
+    }
+
+    /**
+     * Gets the game name of the bot account.
+     *
+     * @return the bot's game name, or null while the account is not ready
+     */
+    String botName() {
+        User current = bot;
+        return current != null ? current.getGameName() : null;
+    }
+
+    /**
+     * Checks whether a user is the bot.
+     *
+     * @param userId the ID of the user
+     * @return true if the user is the bot account
+     */
+    boolean isBot(UUID userId) {
+        UUID botId = botId();
+        return botId != null && botId.equals(userId);
+    }
+
+    /**
+     * Samples how the bot answers a round: after how long, and whether it recognises the flag.
+     * The answer is correct with the smoothed accuracy of real players for the country, and the response time
+     * is drawn from a log-normal distribution around their mean response time, kept inside the round.
+     *
+     * @param countryId the ID of the country shown in the round
+     * @param roundMillis the length of the round in milliseconds
+     * @return the sampled answer
+     */
+    Plan plan(UUID countryId, long roundMillis) {
+        Profile profile = profiles().byCountry.get(countryId);
+        double accuracy = profile != null ? profile.accuracy : 0.5;
+        long meanMillis = profile != null ? profile.meanResponseMillis : DEFAULT_RESPONSE_MILLIS;
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double factor = Math.exp(RESPONSE_SPREAD * random.nextGaussian() - RESPONSE_SPREAD * RESPONSE_SPREAD / 2);
+        long latest = Math.max(MIN_RESPONSE_MILLIS, roundMillis - DEADLINE_MARGIN_MILLIS);
+        long delayMillis = Math.max(MIN_RESPONSE_MILLIS, Math.min(latest, Math.round(meanMillis * factor)));
+        return new Plan(delayMillis, random.nextDouble() < accuracy);
+    }
+
+    /**
+     * Returns the per-country profiles, reloading them when they are older than the refresh interval.
+     */
+    private Profiles profiles() {
+        Profiles loaded = profiles;
+        if (loaded == null || System.currentTimeMillis() - loaded.loadedAt > PROFILES_TTL_MILLIS) {
+            synchronized (this) {
+                loaded = profiles;
+                if (loaded == null || System.currentTimeMillis() - loaded.loadedAt > PROFILES_TTL_MILLIS) {
+                    loaded = loadProfiles();
+                    profiles = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private Profiles loadProfiles() {
+        Map<UUID, Profile> byCountry = new HashMap<>();
+        for (CountryDifficulty difficulty : countryDifficultyRepository.findAll()) {
+            long attempts = difficulty.getAttempts();
+            byCountry.put(difficulty.getCountryId(), new Profile(
+                    (difficulty.getCorrectAttempts() + 1.0) / (attempts + 2.0),
+                    attempts > 0 ? difficulty.getTotalResponseMillis() / attempts : DEFAULT_RESPONSE_MILLIS));
+        }
+        log.debug("Loaded bot profiles of {} countries", byCountry.size());
+        return new Profiles(System.currentTimeMillis(), byCountry);
+    }
+
+    /**
+     * Creates the bot account. It is never enabled, so nobody can sign in as the bot.
+     * If a player already uses the bot's name, a numbered name is taken instead.
+     */
+    private User createBotUser() {
+        String gameName = BOT_NAME;
+        for (int suffix = 2; userRepository.existsByGameNameIgnoreCase(gameName); suffix++) {
+            gameName = BOT_NAME + suffix;
+        }
+        User user = User.builder()
+                .gameName(gameName)
+                .role(Role.USER)
+                .enabled(false)
+                .initialSetupCompleted(true)
+                .isOnline(false)
+                .bot(true)
+                .build();
+        return userRepository.save(user);
+    }
+
+    /**
+     * How the bot answers one round.
+     *
+     * @param delayMillis the time after the start of the round at which the bot guesses
+     * @param correct whether the bot names the right country
+     */
+    record Plan(long delayMillis, boolean correct) {
+    }
+
+    /**
+     * The bot's behaviour for one country.
+     *
+     * @param accuracy the probability of recognising the flag
+     * @param meanResponseMillis the mean time to answer in milliseconds
+     */
+    private record Profile(double accuracy, long meanResponseMillis) {
+    }
+
+    /**
+     * The loaded profiles of every country with statistics.
+     *
+     * @param loadedAt the time the profiles were loaded, in milliseconds
+     * @param byCountry the profiles by country ID
+     */
+    private record Profiles(long loadedAt, Map<UUID, Profile> byCountry) {
+    }
+}
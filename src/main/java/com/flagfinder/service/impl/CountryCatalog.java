@@ -0,0 +1,424 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.Difficulty;
+import com.flagfinder.event.CountryCatalogChangedEvent;
+import com.flagfinder.model.CountryDifficulty;
+import com.flagfinder.repository.CountryDifficultyRepository;
+import com.flagfinder.repository.CountryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * In-memory catalog of country IDs grouped by continent.
+ * Random country selection samples from this catalog instead of running an {@code ORDER BY RANDOM()}
+ * query per round, so starting many games at once only costs a primary key lookup per round.
+ * The catalog is loaded on first use and reloaded after countries are added or removed.
+ * <p>
+ * Games can ask for a difficulty instead of a uniform pick. Each country is then weighted by how often its flag
+ * is recognized, read from the country difficulty projection, and a Walker alias table is built once per continent
+ * selection and difficulty, so a weighted pick is O(1) and still needs no query per round.
+ * The weights are reloaded every few minutes to follow the projection.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CountryCatalog {
+
+    private final CountryRepository countryRepository;
+    private final CountryDifficultyRepository countryDifficultyRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private volatile Snapshot snapshot;
+    private volatile Weights weights;
+
+    private final Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile UUID[] ordinalIds = new UUID[0];
+
+    private static final int MAX_SAMPLING_ATTEMPTS = 16;
+    private static final long WEIGHTS_TTL_MILLIS = 10 * 60 * 1000;
+    private static final double EASY_ACCURACY = 0.7;
+    private static final double HARD_ACCURACY = 0.4;
+
+    /**
+     * Picks a random country ID from the given continents, skipping excluded countries.
+     *
+     * @param continents the continents to pick from, or null or empty for all countries
+     * @param excludedCountryIds country IDs that must not be picked, e.g. countries already used in the game
+     * @return a random country ID, or null if every candidate is excluded
+     */
+    public UUID pickRandom(List<Continent> continents, Collection<UUID> excludedCountryIds) {
+        return pickRandom(continents, excludedCountryIds, null);
+    }
+
+    /**
+     * Picks a random country ID from the given continents, skipping excluded countries,
+     * with countries of the requested difficulty more likely to be picked.
+     *
+     * @param continents the continents to pick from, or null or empty for all countries
+     * @param excludedCountryIds country IDs that must not be picked, e.g. countries already used in the game
+     * @param difficulty the difficulty to favour, or null to pick uniformly
+     * @return a random country ID, or null if every candidate is excluded
+     */
+    public UUID pickRandom(List<Continent> continents, Collection<UUID> excludedCountryIds, Difficulty difficulty) {
+        if (difficulty == null) {
+            return pickUniform(candidates(continents), excludedCountryIds);
+        }
+        AliasTable table = aliasTable(continents, difficulty);
+        if (table.ids.length == 0) {
+            return null;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean hasExclusions = excludedCountryIds != null && !excludedCountryIds.isEmpty();
+        for (int attempt = 0; attempt < MAX_SAMPLING_ATTEMPTS; attempt++) {
+            UUID candidate = table.sample(random);
+            if (!hasExclusions || !excludedCountryIds.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return table.sampleExcluding(random, excludedCountryIds);
+    }
+
+    /**
+     * Gets the IDs of all countries on the given continents.
+     *
+     * @param continents the continents to include, or null or empty for all countries
+     * @return an unmodifiable list of country IDs
+     */
+    public List<UUID> candidates(List<Continent> continents) {
+        Snapshot current = snapshot();
+        if (continents == null || continents.isEmpty()) {
+            return current.allIds;
+        }
+        if (continents.size() == 1) {
+            return current.idsByContinent.getOrDefault(continents.get(0), List.of());
+        }
+
+        Set<UUID> merged = new LinkedHashSet<>();
+        for (Continent continent : continents) {
+            merged.addAll(current.idsByContinent.getOrDefault(continent, List.of()));
+        }
+        return List.copyOf(merged);
+    }
+
+    /**
+     * Gets the continents a country belongs to.
+     *
+     * @param countryId the ID of the country
+     * @return the country's continents, empty if the country is unknown
+     */
+    public List<Continent> continentsOf(UUID countryId) {
+        return snapshot().continentsById.getOrDefault(countryId, List.of());
+    }
+
+    /**
+     * Gets a small, stable integer for a country, so per-player structures can be plain arrays indexed by country.
+     * Ordinals are assigned on first use and never reused, also across catalog reloads.
+     *
+     * @param countryId the ID of the country
+     * @return the country's ordinal
+     */
+    public int ordinalOf(UUID countryId) {
+        Integer ordinal = ordinals.get(countryId);
+        return ordinal != null ? ordinal : assignOrdinal(countryId);
+    }
+
+    /**
+     * Gets the country with an ordinal.
+     *
+     * @param ordinal an ordinal returned by {@link #ordinalOf(UUID)}
+     * @return the ID of the country
+     */
+    public UUID countryAt(int ordinal) {
+        return ordinalIds[ordinal];
+    }
+
+    /**
+     * Classifies a country by how often its flag is recognized.
+     * Accuracy is smoothed towards one half, so countries with few guesses start as medium.
+     *
+     * @param correctAttempts the number of correct guesses for the flag
+     * @param attempts the number of guesses for the flag
+     * @return the difficulty band of the country
+     */
+    public static Difficulty classify(long correctAttempts, long attempts) {
+        double accuracy = smoothedAccuracy(correctAttempts, attempts);
+        if (accuracy >= EASY_ACCURACY) {
+            return Difficulty.EASY;
+        }
+        return accuracy < HARD_ACCURACY ? Difficulty.HARD : Difficulty.MEDIUM;
+    }
+
+    /**
+     * Drops the loaded catalog so the next selection reloads it from the database,
+     * and announces the change to other in-memory data built from the countries.
+     */
+    public void invalidate() {
+        snapshot = null;
+        weights = null;
+        applicationEventPublisher.publishEvent(new CountryCatalogChangedEvent());
+    }
+
+    private synchronized int assignOrdinal(UUID countryId) {
+        Integer ordinal = ordinals.get(countryId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        int next = ordinalIds.length;
+        UUID[] grown = Arrays.copyOf(ordinalIds, next + 1);
+        grown[next] = countryId;
+        ordinalIds = grown;
+        ordinals.put(countryId, next);
+        return next;
+    }
+
+    private UUID pickUniform(List<UUID> candidates, Collection<UUID> excludedCountryIds) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean hasExclusions = excludedCountryIds != null && !excludedCountryIds.isEmpty();
+        for (int attempt = 0; attempt < MAX_SAMPLING_ATTEMPTS; attempt++) {
+            UUID candidate = candidates.get(random.nextInt(candidates.size()));
+            if (!hasExclusions || !excludedCountryIds.contains(candidate)) {
+                return candidate;
+            }
+        }
+
+        List<UUID> remaining = candidates.stream()
+                .filter(id -> !excludedCountryIds.contains(id))
+                .toList();
+        return remaining.isEmpty() ? null : remaining.get(random.nextInt(remaining.size()));
+    }
+
+    /**
+     * Returns the alias table of a continent selection and difficulty, building it on first use.
+     * The weights are reloaded when they are older than the refresh interval or the catalog was reloaded.
+     *
+     * @param continents the continents to pick from, or null or empty for all countries
+     * @param difficulty the difficulty to favour
+     * @return the alias table over the candidate countries
+     */
+    private AliasTable aliasTable(List<Continent> continents, Difficulty difficulty) {
+        Snapshot current = snapshot();
+        Weights loaded = weights;
+        if (loaded == null || loaded.snapshot != current || System.currentTimeMillis() - loaded.loadedAt > WEIGHTS_TTL_MILLIS) {
+            synchronized (this) {
+                loaded = weights;
+                if (loaded == null || loaded.snapshot != current || System.currentTimeMillis() - loaded.loadedAt > WEIGHTS_TTL_MILLIS) {
+                    loaded = loadWeights(current);
+                    weights = loaded;
+                }
+            }
+        }
+
+        Weights source = loaded;
+        Set<Continent> selection = continents == null ? Set.of() : Set.copyOf(continents);
+        return source.tables.computeIfAbsent(new TableKey(selection, difficulty), key -> AliasTable.build(candidates(continents),
+                countryId -> weight(source.accuracyById.getOrDefault(countryId, 0.5), difficulty)));
+    }
+
+    /**
+     * Loads the smoothed recognition accuracy of every country from the difficulty projection.
+     *
+     * @param current the catalog snapshot the weights belong to
+     * @return the loaded weights with no alias tables built yet
+     */
+    private Weights loadWeights(Snapshot current) {
+        Map<UUID, Double> accuracyById = new HashMap<>();
+        for (CountryDifficulty difficulty : countryDifficultyRepository.findAll()) {
+            accuracyById.put(difficulty.getCountryId(), smoothedAccuracy(difficulty.getCorrectAttempts(), difficulty.getAttempts()));
+        }
+        log.debug("Loaded selection weights of {} countries", accuracyById.size());
+        return new Weights(current, System.currentTimeMillis(), accuracyById, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Gets the relative weight of a country for a difficulty. Every weight is positive,
+     * so any country can still come up, only less often.
+     */
+    private static double weight(double accuracy, Difficulty difficulty) {
+        return switch (difficulty) {
+            case EASY -> accuracy * accuracy;
+            case MEDIUM -> accuracy * (1 - accuracy);
+            case HARD -> (1 - accuracy) * (1 - accuracy);
+        };
+    }
+
+    private static double smoothedAccuracy(long correctAttempts, long attempts) {
+        return (correctAttempts + 1.0) / (attempts + 2.0);
+    }
+
+    /**
+     * Returns the loaded catalog, loading it if needed.
+     *
+     * @return the current catalog snapshot
+     */
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Loads country IDs and their continents from the database.
+     *
+     * @return the loaded catalog snapshot
+     */
+    private Snapshot load() {
+        Set<UUID> allIds = new LinkedHashSet<>();
+        Map<Continent, List<UUID>> idsByContinent = new EnumMap<>(Continent.class);
+        Map<UUID, List<Continent>> continentsById = new HashMap<>();
+
+        for (Object[] row : countryRepository.findAllIdsWithContinents()) {
+            UUID id = (UUID) row[0];
+            allIds.add(id);
+            if (row[1] != null) {
+                idsByContinent.computeIfAbsent((Continent) row[1], continent -> new ArrayList<>()).add(id);
+                continentsById.computeIfAbsent(id, countryId -> new ArrayList<>()).add((Continent) row[1]);
+            }
+        }
+        idsByContinent.replaceAll((continent, ids) -> List.copyOf(ids));
+        continentsById.replaceAll((countryId, continents) -> List.copyOf(continents));
+
+        log.info("Loaded country catalog with {} countries", allIds.size());
+        return new Snapshot(List.copyOf(allIds), idsByContinent, continentsById);
+    }
+
+    /**
+     * Immutable view of the catalog at load time.
+     */
+    private record Snapshot(List<UUID> allIds, Map<Continent, List<UUID>> idsByContinent, Map<UUID, List<Continent>> continentsById) {
+    }
+
+    /**
+     * Recognition accuracy per country and the alias tables built from it.
+     */
+    private record Weights(Snapshot snapshot, long loadedAt, Map<UUID, Double> accuracyById, Map<TableKey, AliasTable> tables) {
+    }
+
+    private record TableKey(Set<Continent> continents, Difficulty difficulty) {
+    }
+
+    /**
+     * Walker alias table for sampling from a discrete distribution in O(1).
+     * Every slot holds the probability of keeping its own country and the country to take otherwise.
+     */
+    private static final class AliasTable {
+        private final UUID[] ids;
+        private final double[] weights;
+        private final double[] probability;
+        private final int[] alias;
+
+        private AliasTable(UUID[] ids, double[] weights, double[] probability, int[] alias) {
+            this.ids = ids;
+            this.weights = weights;
+            this.probability = probability;
+            this.alias = alias;
+        }
+
+        /**
+         * Builds a table in O(n) with Vose's method.
+         */
+        private static AliasTable build(List<UUID> candidates, ToDoubleFunction<UUID> weightOf) {
+            int size = candidates.size();
+            UUID[] ids = candidates.toArray(new UUID[0]);
+            double[] weights = new double[size];
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                weights[i] = weightOf.applyAsDouble(ids[i]);
+                total += weights[i];
+            }
+
+            double[] probability = new double[size];
+            int[] alias = new int[size];
+            double[] scaled = new double[size];
+            int[] small = new int[size];
+            int[] large = new int[size];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < size; i++) {
+                scaled[i] = weights[i] * size / total;
+                if (scaled[i] < 1) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                probability[less] = scaled[less];
+                alias[less] = more;
+                scaled[more] += scaled[less] - 1;
+                if (scaled[more] < 1) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            while (largeCount > 0) {
+                probability[large[--largeCount]] = 1;
+            }
+            while (smallCount > 0) {
+                probability[small[--smallCount]] = 1;
+            }
+            return new AliasTable(ids, weights, probability, alias);
+        }
+
+        private UUID sample(ThreadLocalRandom random) {
+            int slot = random.nextInt(ids.length);
+            return random.nextDouble() < probability[slot] ? ids[slot] : ids[alias[slot]];
+        }
+
+        /**
+         * Samples by walking the weights of the countries that are not excluded, for when most candidates are used up.
+         */
+        private UUID sampleExcluding(ThreadLocalRandom random, Collection<UUID> excludedCountryIds) {
+            double total = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (!excludedCountryIds.contains(ids[i])) {
+                    total += weights[i];
+                }
+            }
+            double target = random.nextDouble() * total;
+            UUID last = null;
+            for (int i = 0; i < ids.length; i++) {
+                if (!excludedCountryIds.contains(ids[i])) {
+                    last = ids[i];
+                    target -= weights[i];
+                    if (target < 0) {
+                        return last;
+                    }
+                }
+            }
+            return last;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.model.CountryConfusion;
+import com.flagfinder.model.CountryDifficulty;
+import com.flagfinder.repository.CountryConfusionRepository;
+import com.flagfinder.repository.CountryDifficultyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the per-country recognition counters from the rounds of completed games,
+ * together with how often each wrong country is guessed for a flag.
+ * Both are keyed by the shown country, so a partition owns a country's counters and its wrong guesses.
+ * Guesses played by the bot are left out, since the bot itself answers from these counters.
+ */
+@Service
+@RequiredArgsConstructor
+public class CountryDifficultyProjection implements ProjectionBuilder {
+
+    static final String NAME = "country_difficulty";
+
+    private final CountryDifficultyRepository countryDifficultyRepository;
+    private final CountryConfusionRepository countryConfusionRepository;
+    private final BotPlayers botPlayers;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(List<GameCompletedPayload> games, int partition, int partitionCount) {
+        Map<UUID, CountryDifficulty> deltas = new LinkedHashMap<>();
+        Map<UUID, Map<UUID, Long>> confusionDeltas = new HashMap<>();
+        for (GameCompletedPayload game : games) {
+            for (GameCompletedPayload.RoundResult round : game.getRounds()) {
+                if (round.getCountryId() == null || !ProjectionBuilder.owns(round.getCountryId(), partition, partitionCount)) {
+                    continue;
+                }
+                CountryDifficulty delta = deltas.computeIfAbsent(round.getCountryId(), this::newDifficulty);
+                delta.setCountryName(round.getCountryName());
+                delta.setTimesShown(delta.getTimesShown() + 1);
+                for (GameCompletedPayload.GuessResult guess : round.getGuesses()) {
+                    if (botPlayers.isBot(guess.getUserId())) {
+                        continue;
+                    }
+                    delta.setAttempts(delta.getAttempts() + 1);
+                    if (guess.isCorrect()) {
+                        delta.setCorrectAttempts(delta.getCorrectAttempts() + 1);
+                    } else if (guess.getGuessedCountryId() != null && !guess.getGuessedCountryId().equals(round.getCountryId())) {
+                        confusionDeltas.computeIfAbsent(round.getCountryId(), countryId -> new HashMap<>())
+                                .merge(guess.getGuessedCountryId(), 1L, Long::sum);
+                    }
+                    delta.setTotalResponseMillis(delta.getTotalResponseMillis() + guess.getResponseMillis());
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, CountryDifficulty> rows = new LinkedHashMap<>();
+        for (CountryDifficulty existing : countryDifficultyRepository.findAllById(deltas.keySet())) {
+            rows.put(existing.getCountryId(), existing);
+        }
+        for (CountryDifficulty delta : deltas.values()) {
+            CountryDifficulty row = rows.get(delta.getCountryId());
+            if (row == null) {
+                rows.put(delta.getCountryId(), delta);
+                continue;
+            }
+            row.setCountryName(delta.getCountryName());
+            row.setTimesShown(row.getTimesShown() + delta.getTimesShown());
+            row.setAttempts(row.getAttempts() + delta.getAttempts());
+            row.setCorrectAttempts(row.getCorrectAttempts() + delta.getCorrectAttempts());
+            row.setTotalResponseMillis(row.getTotalResponseMillis() + delta.getTotalResponseMillis());
+        }
+        countryDifficultyRepository.saveAll(rows.values());
+        applyConfusions(confusionDeltas);
+    }
+
+    @Override
+    public void reset() {
+        countryDifficultyRepository.deleteAllInBatch();
+        countryConfusionRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Adds wrong guess counts to the stored counters, creating counters for new pairs.
+     *
+     * @param deltas wrong guess counts keyed by shown country, then by guessed country
+     */
+    private void applyConfusions(Map<UUID, Map<UUID, Long>> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<CountryConfusion> rows = new ArrayList<>();
+        for (CountryConfusion existing : countryConfusionRepository.findByCountryIdIn(deltas.keySet())) {
+            Long picks = deltas.get(existing.getCountryId()).remove(existing.getGuessedCountryId());
+            if (picks != null) {
+                existing.setPicks(existing.getPicks() + picks);
+                rows.add(existing);
+            }
+        }
+        deltas.forEach((countryId, picksByGuess) -> picksByGuess.forEach((guessedCountryId, picks) -> {
+            CountryConfusion confusion = new CountryConfusion();
+            confusion.setCountryId(countryId);
+            confusion.setGuessedCountryId(guessedCountryId);
+            confusion.setPicks(picks);
+            rows.add(confusion);
+        }));
+        countryConfusionRepository.saveAll(rows);
+    }
+
+    private CountryDifficulty newDifficulty(UUID countryId) {
+        CountryDifficulty difficulty = new CountryDifficulty();
+        difficulty.setCountryId(countryId);
+        return difficulty;
+    }
+}
@@ -55,6 +55,7 @@ public class CountryServiceImpl implements CountryService {
     private final GuessRepository guessRepository;
     private final RoundRepository roundRepository;
     private final SinglePlayerRoundRepository singlePlayerRoundRepository;
+    private final CountryCatalog countryCatalog;
 
     /**
      * Creates a new country from the provided DTO with image URL.
@@ -74,12 +75,15 @@ public class CountryServiceImpl implements CountryService {
                 try {
                     byte[] imageBytes = downloadImageFromUrl(countryCreateDto.getImageUrl());
                     country.setFlagImage(imageBytes);
+                    country.setFlagFeatures(FlagFeatures.extract(imageBytes));
                 } catch (Exception e) {
                     throw new RuntimeException("Failed to download flag image", e);
                 }
             }
 
-            return countryRepository.save(country);
+            Country savedCountry = countryRepository.save(country);
+            countryCatalog.invalidate();
+            return savedCountry;
         } catch (Exception e) {
             throw new RuntimeException("Failed to create country: " + e.getMessage(), e);
         }
@@ -118,6 +122,7 @@ public class CountryServiceImpl implements CountryService {
         singlePlayerRoundRepository.deleteByCountry(country);
 
         countryRepository.delete(country);
+        countryCatalog.invalidate();
     }
 
     /**
@@ -252,6 +257,7 @@ public class CountryServiceImpl implements CountryService {
                 }
             }
 
+            countryCatalog.invalidate();
             String successMessage = "Successfully loaded " + savedCount + " countries from REST Countries API";
             return successMessage;
 
@@ -301,11 +307,13 @@ public class CountryServiceImpl implements CountryService {
                                log.error("Failed to download flag image for {}: {}", country.getNameOfCounty(), flagUrl, e);
                            }
                            country.setFlagImage(flagImageBytes);
+                           country.setFlagFeatures(FlagFeatures.extract(flagImageBytes));
                            country.setContinents(continents);
                             countryRepository.save(country);
                        });
            }
 
+           countryCatalog.invalidate();
            String successMessage = "Successfully loaded " + savedCount + " countries from FLAG CDN API";
            log.info(successMessage);
            return successMessage;
@@ -355,6 +363,7 @@ public class CountryServiceImpl implements CountryService {
             try {
                 byte[] flagImageBytes = downloadImageFromUrl(restCountry.getFlags().getSvg());
                 country.setFlagImage(flagImageBytes);
+                country.setFlagFeatures(FlagFeatures.extract(flagImageBytes));
             } catch (Exception e) {
                 log.error("Failed to download flag image for {}: {}", country.getNameOfCounty(), restCountry.getFlags().getSvg(), e);
             }
@@ -588,6 +597,7 @@ public class CountryServiceImpl implements CountryService {
     /**
      * Gets a random country from any of the specified continents.
      * If continents list is null or empty, returns a random country from all continents.
+     * The country is sampled from the in-memory {@link CountryCatalog} and then loaded by its ID.
      *
      * @param continents list of continents to filter by, or null for all continents
      * @return random country from any of the specified continents
@@ -595,34 +605,13 @@ public class CountryServiceImpl implements CountryService {
      */
     @Override
     public Country getRandomCountryFromAnyContinents(List<com.flagfinder.enumeration.Continent> continents) {
-        try {
-            if (continents == null || continents.isEmpty()) {
-                Country randomCountry = countryRepository.findRandomCountry();
-                if (randomCountry == null) {
-                    throw new RuntimeException("No countries found in database");
-                }
-                return randomCountry;
-            }
-            
-            List<String> continentNames = continents.stream()
-                    .map(Enum::name)
-                    .toList();
-            
-            Country randomCountry = countryRepository.findRandomByAnyContinentIn(continentNames);
-            if (randomCountry == null) {
-                throw new RuntimeException("No countries found for continents: " + continents);
-            }
-            
-            return randomCountry;
-        } catch (Exception e) {
-            log.error("Failed to get random country from continents: {}", continents, e);
-            throw new RuntimeException("Failed to get random country from continents: " + e.getMessage(), e);
-        }
+        return getRandomCountryFromAnyContinentsExcluding(continents, null);
     }
     
     /**
      * Gets a random country from any of the specified continents, excluding already used countries.
      * Ensures no duplicate countries appear in the same game.
+     * The country is sampled from the in-memory {@link CountryCatalog} and then loaded by its ID.
      *
      * @param continents list of continents to filter by, or null for all continents
      * @param excludedCountryIds list of country IDs to exclude from selection
@@ -632,26 +621,34 @@ public class CountryServiceImpl implements CountryService {
     @Override
     public Country getRandomCountryFromAnyContinentsExcluding(List<com.flagfinder.enumeration.Continent> continents, 
                                                             List<UUID> excludedCountryIds) {
+        return getRandomCountryFromAnyContinentsExcluding(continents, excludedCountryIds, null);
+    }
+
+    /**
+     * Gets a random country from any of the specified continents, excluding already used countries,
+     * with countries of the requested difficulty more likely to be picked.
+     * The country is sampled from the in-memory {@link CountryCatalog} and then loaded by its ID.
+     *
+     * @param continents list of continents to filter by, or null for all continents
+     * @param excludedCountryIds list of country IDs to exclude from selection
+     * @param difficulty the difficulty to favour, or null to pick uniformly
+     * @return random country from specified continents not in the excluded list
+     * @throws RuntimeException if no countries found or database query fails
+     */
+    @Override
+    public Country getRandomCountryFromAnyContinentsExcluding(List<com.flagfinder.enumeration.Continent> continents,
+                                                            List<UUID> excludedCountryIds,
+                                                            com.flagfinder.enumeration.Difficulty difficulty) {
         try {
-            if (excludedCountryIds == null || excludedCountryIds.isEmpty()) {
-                return getRandomCountryFromAnyContinents(continents);
-            }
-            
-            if (continents == null || continents.isEmpty()) {
-                Country randomCountry = countryRepository.findRandomCountryExcluding(excludedCountryIds);
-                if (randomCountry == null) {
-                    throw new RuntimeException("No countries found excluding already used countries");
-                }
-                return randomCountry;
+            UUID countryId = countryCatalog.pickRandom(continents, excludedCountryIds, difficulty);
+            if (countryId == null) {
+                throw new RuntimeException("No countries found for continents: " + continents + " excluding already used countries");
             }
-            
-            List<String> continentNames = continents.stream()
-                    .map(Enum::name)
-                    .toList();
-            
-            Country randomCountry = countryRepository.findRandomByAnyContinentInExcluding(continentNames, excludedCountryIds);
+
+            Country randomCountry = countryRepository.findById(countryId).orElse(null);
             if (randomCountry == null) {
-                throw new RuntimeException("No countries found for continents: " + continents + " excluding already used countries");
+                countryCatalog.invalidate();
+                throw new RuntimeException("Country " + countryId + " no longer exists");
             }
             
             return randomCountry;
@@ -0,0 +1,84 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.dto.DailyChallengeDto;
+import com.flagfinder.dto.LeaderboardEntryDto;
+import com.flagfinder.model.User;
+import com.flagfinder.repository.DailyChallengeResultRepository;
+import com.flagfinder.service.DailyChallengeService;
+import com.flagfinder.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Implementation of DailyChallengeService interface.
+ * Today's board is read from memory in {@link DailyChallenges}; boards of past days are read from the rows
+ * written when their day ended.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyChallengeServiceImpl implements DailyChallengeService {
+
+    private final DailyChallenges dailyChallenges;
+    private final DailyChallengeResultRepository dailyChallengeResultRepository;
+    private final UserService userService;
+
+    private static final int MAX_LIMIT = 500;
+
+    /**
+     * Gets today's challenge and the authenticated user's result.
+     *
+     * @return today's challenge with the user's place on the board once they finished it
+     */
+    @Override
+    public DailyChallengeDto getToday() {
+        User user = userService.getUserFromAuthentication();
+        LocalDate today = dailyChallenges.today();
+        RankedIndex board = dailyChallenges.board();
+
+        DailyChallengeDto challenge = new DailyChallengeDto();
+        challenge.setDate(today);
+        challenge.setRounds(dailyChallenges.rounds(today));
+        challenge.setPlayers(board.size());
+        challenge.setAttempted(dailyChallenges.attempted(user.getId()));
+        RankedIndex.Ranked ranked = board.get(user.getId());
+        if (ranked != null) {
+            challenge.setResult(toDto(ranked.rank(), ranked.userName(), ranked.score()));
+        }
+        return challenge;
+    }
+
+    /**
+     * Gets the best players of a day's challenge.
+     *
+     * @param date the day of the challenge, or null for today
+     * @param limit the maximum number of players, capped at 500
+     * @return the best players in rank order
+     */
+    @Override
+    public List<LeaderboardEntryDto> getLeaderboard(LocalDate date, int limit) {
+        int clampedLimit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        if (date == null || date.equals(dailyChallenges.today())) {
+            return dailyChallenges.board().range(1, clampedLimit).stream()
+                    .map(ranked -> toDto(ranked.rank(), ranked.userName(), ranked.score()))
+                    .toList();
+        }
+        return dailyChallengeResultRepository.findByChallengeDateOrderByPositionAsc(date, PageRequest.of(0, clampedLimit))
+                .stream()
+                .map(row -> toDto(row.getRank(), row.getUserName(), row.getScore()))
+                .toList();
+    }
+
+    private static LeaderboardEntryDto toDto(int rank, String userName, long score) {
+        LeaderboardEntryDto entry = new LeaderboardEntryDto();
+        entry.setRank(rank);
+        entry.setUserName(userName);
+        entry.setScore(score);
+        return entry;
+    }
+}
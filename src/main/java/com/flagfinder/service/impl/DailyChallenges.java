@@ -0,0 +1,386 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.model.DailyChallengeResult;
+import com.flagfinder.model.Guess;
+import com.flagfinder.model.SinglePlayerGame;
+import com.flagfinder.model.SinglePlayerRound;
+import com.flagfinder.repository.DailyChallengeResultRepository;
+import com.flagfinder.repository.SinglePlayerGameRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The daily challenge: every player gets the same sequence of countries for the day and plays it once.
+ * The sequence is drawn from the country catalog with a random generator seeded by the date, so every instance
+ * and every restart agrees on it without storing it. It is generated once per day, ahead of midnight by a scheduled
+ * job, and rounds read their country from it, so players starting at 00:00 cost no generation and no random queries.
+ * Finished challenges are ranked in a {@link RankedIndex}; when the day ends, the closed board keeps taking late
+ * results for a grace period and is then written to the database on a background thread.
+ * After a restart the open board is rebuilt once from the challenge games of the day.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyChallenges {
+
+    private final CountryCatalog countryCatalog;
+    private final SinglePlayerGameRepository singlePlayerGameRepository;
+    private final DailyChallengeResultRepository dailyChallengeResultRepository;
+
+    private final AtomicReference<Challenge> open = new AtomicReference<>();
+    private final ScheduledExecutorService resultWriter = Executors.newSingleThreadScheduledExecutor();
+
+    private volatile Challenge prepared;
+    private volatile Challenge closing;
+
+    static final int ROUNDS = 10;
+
+    private static final long ROUND_MILLIS = GameServiceImpl.ROUND_DURATION_SECONDS * 1000L;
+    private static final long SPEED_BONUS = 999;
+    private static final long CLOSE_GRACE_MINUTES = 5;
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    /**
+     * Starts a player's attempt at today's challenge. Each player gets one attempt per day.
+     *
+     * @param userId the ID of the player
+     * @return the day of the challenge the player is playing
+     * @throws ResponseStatusException if the player already played today's challenge
+     */
+    LocalDate begin(UUID userId) {
+        Challenge challenge = current();
+        if (!challenge.attempts.add(userId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Daily challenge already played today");
+        }
+        return challenge.date;
+    }
+
+    /**
+     * Gets the number of rounds of a day's challenge.
+     *
+     * @param date the day of the challenge
+     * @return the length of the day's sequence
+     */
+    int rounds(LocalDate date) {
+        return sequence(date).length;
+    }
+
+    /**
+     * Gets the country of a round of a day's challenge.
+     *
+     * @param date the day of the challenge
+     * @param roundNumber the 1-based round number
+     * @return the ID of the country, or null if the sequence is shorter
+     */
+    UUID countryAt(LocalDate date, int roundNumber) {
+        UUID[] sequence = sequence(date);
+        return roundNumber >= 1 && roundNumber <= sequence.length ? sequence[roundNumber - 1] : null;
+    }
+
+    /**
+     * Ranks a finished challenge game on the board of its day. A result recorded twice keeps its first score,
+     * and results for a day whose board was already written are dropped.
+     *
+     * @param game the completed challenge game with its rounds
+     */
+    void record(SinglePlayerGame game) {
+        if (game.getUser() == null || game.getChallengeDate() == null) {
+            return;
+        }
+        Challenge challenge = challengeOf(game.getChallengeDate());
+        if (challenge == null) {
+            log.info("Dropped daily challenge result of user {} for closed day {}", game.getUser().getId(), game.getChallengeDate());
+            return;
+        }
+        int correct = 0;
+        long responseMillis = 0;
+        for (SinglePlayerRound round : game.getRounds()) {
+            Guess guess = round.getGuess();
+            boolean isCorrect = guess != null && guess.isCorrect();
+            if (isCorrect) {
+                correct++;
+            }
+            responseMillis += responseMillis(isCorrect, round.getCreatedAt(), guess != null ? guess.getCreatedAt() : null);
+        }
+        challenge.board.putIfAbsent(game.getUser().getId(), game.getUser().getGameName(),
+                score(correct, responseMillis, game.getRounds().size()));
+    }
+
+    /**
+     * Gets today's challenge board.
+     *
+     * @return the ranked results of today's challenge
+     */
+    RankedIndex board() {
+        return current().board;
+    }
+
+    /**
+     * Gets the day of the open challenge.
+     *
+     * @return today's date
+     */
+    LocalDate today() {
+        return current().date;
+    }
+
+    /**
+     * Checks whether a player started today's challenge.
+     *
+     * @param userId the ID of the player
+     * @return true if the player used today's attempt
+     */
+    boolean attempted(UUID userId) {
+        return current().attempts.contains(userId);
+    }
+
+    /**
+     * Rebuilds today's board from the challenge games played so far, and stores yesterday's board
+     * if it was missed because the application was not running when the day ended.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBoards() {
+        Challenge challenge = current();
+        load(challenge);
+
+        LocalDate yesterday = challenge.date.minusDays(1);
+        if (!dailyChallengeResultRepository.existsByChallengeDate(yesterday)) {
+            Challenge previous = new Challenge(yesterday, new UUID[0]);
+            load(previous);
+            if (previous.board.size() > 0) {
+                resultWriter.execute(() -> store(previous));
+            }
+        }
+    }
+
+    /**
+     * Generates tomorrow's sequence shortly before midnight, so the first players of the day find it ready.
+     */
+    @Scheduled(cron = "0 55 23 * * *")
+    public void prepareNextDay() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        prepared = new Challenge(tomorrow, generate(tomorrow));
+        log.info("Prepared daily challenge for {}", tomorrow);
+    }
+
+    /**
+     * Closes the challenge of a day that ended even when nobody plays or reads it.
+     */
+    @Scheduled(fixedDelay = 10000)
+    public void rotate() {
+        current();
+    }
+
+    /**
+     * Stops the result writer on shutdown. Yesterday's board, if its grace period had not ended yet,
+     * is stored by {@link #loadBoards()} after the restart.
+     */
+    @PreDestroy
+    void shutdown() {
+        resultWriter.shutdownNow();
+    }
+
+    /**
+     * Returns the open challenge, rotating to today's first if the day changed.
+     * Rotation takes a lock so concurrent callers at midnight share a single generation.
+     *
+     * @return today's challenge
+     */
+    private Challenge current() {
+        LocalDate today = LocalDate.now();
+        Challenge challenge = open.get();
+        if (challenge != null && challenge.date.equals(today)) {
+            return challenge;
+        }
+        synchronized (this) {
+            challenge = open.get();
+            if (challenge == null || !challenge.date.equals(today)) {
+                Challenge ready = prepared;
+                Challenge next = ready != null && ready.date.equals(today) ? ready : new Challenge(today, generate(today));
+                open.set(next);
+                prepared = null;
+                if (challenge != null) {
+                    close(challenge);
+                }
+                log.info("Opened daily challenge for {}", today);
+            }
+            return open.get();
+        }
+    }
+
+    /**
+     * Keeps a finished day open for late results for a grace period, then writes its board.
+     */
+    private void close(Challenge challenge) {
+        closing = challenge;
+        resultWriter.schedule(() -> {
+            if (closing == challenge) {
+                closing = null;
+            }
+            store(challenge);
+        }, CLOSE_GRACE_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Returns the open or closing challenge of a day.
+     *
+     * @return the challenge, or null if the day is neither open nor closing
+     */
+    private Challenge challengeOf(LocalDate date) {
+        Challenge challenge = current();
+        if (challenge.date.equals(date)) {
+            return challenge;
+        }
+        Challenge previous = closing;
+        return previous != null && previous.date.equals(date) ? previous : null;
+    }
+
+    /**
+     * Returns the sequence of a day, generating it again only for days that are neither open nor closing.
+     */
+    private UUID[] sequence(LocalDate date) {
+        Challenge challenge = challengeOf(date);
+        return challenge != null ? challenge.countryIds : generate(date);
+    }
+
+    /**
+     * Draws the countries of a day from the catalog in a fixed order with a generator seeded by the date.
+     *
+     * @param date the day of the challenge
+     * @return the IDs of the countries in round order
+     */
+    private UUID[] generate(LocalDate date) {
+        List<UUID> candidates = new ArrayList<>(countryCatalog.candidates(null));
+        Collections.sort(candidates);
+        Random random = new Random(date.toEpochDay());
+        int count = Math.min(ROUNDS, candidates.size());
+        for (int i = 0; i < count; i++) {
+            Collections.swap(candidates, i, i + random.nextInt(candidates.size() - i));
+        }
+        return candidates.subList(0, count).toArray(new UUID[0]);
+    }
+
+    /**
+     * Marks the players who started a day's challenge and ranks the games they finished.
+     */
+    private void load(Challenge challenge) {
+        challenge.attempts.addAll(singlePlayerGameRepository.findUserIdsByChallengeDate(challenge.date));
+
+        Map<UUID, Result> results = new HashMap<>();
+        for (Object[] row : singlePlayerGameRepository.findChallengeRounds(challenge.date, GameStatus.COMPLETED)) {
+            Result result = results.computeIfAbsent((UUID) row[0], userId -> new Result((String) row[1]));
+            boolean isCorrect = Boolean.TRUE.equals(row[3]);
+            if (isCorrect) {
+                result.correct++;
+            }
+            result.responseMillis += responseMillis(isCorrect, (Instant) row[2], (Instant) row[4]);
+            result.rounds++;
+        }
+        results.forEach((userId, result) ->
+                challenge.board.putIfAbsent(userId, result.userName, score(result.correct, result.responseMillis, result.rounds)));
+    }
+
+    /**
+     * Writes the board of a closed day to the database.
+     *
+     * @param challenge the closed challenge
+     */
+    private void store(Challenge challenge) {
+        int total = challenge.board.size();
+        try {
+            for (int from = 1; from <= total; from += WRITE_BATCH_SIZE) {
+                List<DailyChallengeResult> rows = new ArrayList<>(WRITE_BATCH_SIZE);
+                for (RankedIndex.Ranked ranked : challenge.board.range(from, WRITE_BATCH_SIZE)) {
+                    DailyChallengeResult row = new DailyChallengeResult();
+                    row.setChallengeDate(challenge.date);
+                    row.setPosition(ranked.position());
+                    row.setRank(ranked.rank());
+                    row.setUserId(ranked.userId());
+                    row.setUserName(ranked.userName());
+                    row.setScore(ranked.score());
+                    rows.add(row);
+                }
+                dailyChallengeResultRepository.saveAll(rows);
+            }
+            log.info("Stored daily challenge of {} with {} results", challenge.date, total);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Daily challenge of {} was already stored", challenge.date);
+        } catch (Exception e) {
+            log.error("Failed to store daily challenge of {}", challenge.date, e);
+        }
+    }
+
+    /**
+     * Scores a challenge: a thousand points per correct answer, and up to 999 more for the time left
+     * on the clock in correctly answered rounds, so players with as many correct answers are ranked by speed.
+     */
+    private static long score(int correct, long responseMillis, int rounds) {
+        long maxMillis = rounds * ROUND_MILLIS;
+        long speed = maxMillis > 0 ? SPEED_BONUS * (maxMillis - Math.min(responseMillis, maxMillis)) / maxMillis : 0;
+        return correct * (SPEED_BONUS + 1) + speed;
+    }
+
+    /**
+     * Gets the time a round counts towards the score. Missed and unanswered rounds count as the whole round.
+     */
+    private static long responseMillis(boolean correct, Instant shownAt, Instant answeredAt) {
+        if (!correct || shownAt == null || answeredAt == null) {
+            return ROUND_MILLIS;
+        }
+        return Math.min(ROUND_MILLIS, Math.max(0, answeredAt.toEpochMilli() - shownAt.toEpochMilli()));
+    }
+
+    /**
+     * The sequence, attempts and board of one day.
+     */
+    private static final class Challenge {
+        private final LocalDate date;
+        private final UUID[] countryIds;
+        private final Set<UUID> attempts = ConcurrentHashMap.newKeySet();
+        private final RankedIndex board = new RankedIndex();
+
+        private Challenge(LocalDate date, UUID[] countryIds) {
+            this.date = date;
+            this.countryIds = countryIds;
+        }
+    }
+
+    /**
+     * The answers of one player summed while loading a day from the database.
+     */
+    private static final class Result {
+        private final String userName;
+        private int correct;
+        private long responseMillis;
+        private int rounds;
+
+        private Result(String userName) {
+            this.userName = userName;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.flagfinder.service.impl;
+
+/**
+ * Elo rating rules shared by the incremental update at the end of a game and the batch recomputation.
+ * A game with more than two players is scored as a round robin of pairwise results decided by score,
+ * with the K-factor split across the opponents so a game moves a rating by at most K points.
+ * New players use a larger K-factor for their first games so their rating settles quickly.
+ */
+final class EloRating {
+
+    static final double INITIAL_RATING = 1500;
+
+    private static final double K_FACTOR = 24;
+    private static final double PROVISIONAL_K_FACTOR = 40;
+    private static final int PROVISIONAL_GAMES = 20;
+
+    private EloRating() {
+    }
+
+    /**
+     * Computes the ratings of a game's players after the game.
+     *
+     * @param ratings the players' ratings before the game
+     * @param ratedGames the number of rated games each player played before the game
+     * @param scores the players' scores in the game
+     * @param updated receives the players' ratings after the game, may be the same array as {@code ratings}
+     */
+    static void update(double[] ratings, int[] ratedGames, int[] scores, double[] updated) {
+        int players = ratings.length;
+        if (players < 2) {
+            System.arraycopy(ratings, 0, updated, 0, players);
+            return;
+        }
+
+        double[] deltas = new double[players];
+        for (int i = 0; i < players; i++) {
+            double surplus = 0;
+            for (int j = 0; j < players; j++) {
+                if (i != j) {
+                    double actual = scores[i] > scores[j] ? 1 : scores[i] == scores[j] ? 0.5 : 0;
+                    surplus += actual - expected(ratings[i], ratings[j]);
+                }
+            }
+            deltas[i] = kFactor(ratedGames[i]) * surplus / (players - 1);
+        }
+        for (int i = 0; i < players; i++) {
+            updated[i] = ratings[i] + deltas[i];
+        }
+    }
+
+    private static double expected(double rating, double opponentRating) {
+        return 1 / (1 + Math.pow(10, (opponentRating - rating) / 400));
+    }
+
+    private static double kFactor(int ratedGames) {
+        return ratedGames < PROVISIONAL_GAMES ? PROVISIONAL_K_FACTOR : K_FACTOR;
+    }
+}
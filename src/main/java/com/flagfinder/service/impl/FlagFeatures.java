@@ -0,0 +1,549 @@
+package com.flagfinder.service.impl;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Visual features of a flag extracted from its SVG image, used to find flags that look alike.
+ * The shapes of the SVG are painted in document order onto a coarse grid, each shape filling the cells inside its
+ * bounding box (or ellipse), with its fill snapped to a small palette of common flag colors. The feature vector holds
+ * the share of the flag covered by each palette color, followed by the number of horizontal and vertical stripes,
+ * taken as the median number of color bands along the columns and rows of the grid.
+ * Paths are approximated by their bounding box, so emblems are coarse, but dominant colors and stripe layout,
+ * which are what make flags easy to confuse, come out well.
+ */
+final class FlagFeatures {
+
+    private static final int[][] PALETTE = {
+            {255, 255, 255}, // white
+            {0, 0, 0},       // black
+            {206, 17, 38},   // red
+            {128, 0, 32},    // maroon
+            {255, 130, 0},   // orange
+            {252, 209, 22},  // yellow
+            {0, 122, 61},    // green
+            {0, 56, 168},    // blue
+            {0, 32, 91},     // navy
+            {108, 172, 228}  // light blue
+    };
+
+    static final int LENGTH = PALETTE.length + 2;
+
+    private static final int GRID_WIDTH = 30;
+    private static final int GRID_HEIGHT = 20;
+    private static final int MAX_STRIPES = 5;
+    private static final float STRIPE_WEIGHT = 0.5f;
+
+    private static final Set<String> HIDDEN_ELEMENTS = Set.of("defs", "clipPath", "mask", "symbol", "pattern",
+            "linearGradient", "radialGradient", "filter", "marker", "title", "desc", "metadata");
+    private static final Map<String, Integer> NAMED_COLORS = Map.ofEntries(
+            Map.entry("white", 0xFFFFFF), Map.entry("black", 0x000000), Map.entry("red", 0xFF0000),
+            Map.entry("maroon", 0x800000), Map.entry("orange", 0xFFA500), Map.entry("yellow", 0xFFFF00),
+            Map.entry("gold", 0xFFD700), Map.entry("green", 0x008000), Map.entry("lime", 0x00FF00),
+            Map.entry("blue", 0x0000FF), Map.entry("navy", 0x000080), Map.entry("skyblue", 0x87CEEB),
+            Map.entry("gray", 0x808080), Map.entry("grey", 0x808080), Map.entry("silver", 0xC0C0C0));
+
+    private static final Pattern NUMBER = Pattern.compile("[-+]?(?:\\d+\\.?\\d*|\\.\\d+)(?:[eE][-+]?\\d+)?");
+    private static final Pattern PATH_TOKEN = Pattern.compile("[MmLlHhVvCcSsQqTtAaZz]|" + NUMBER.pattern());
+    private static final Pattern TRANSFORM = Pattern.compile("(matrix|translate|scale|rotate|skewX|skewY)\\s*\\(([^)]*)\\)");
+    private static final Pattern STYLE_FILL = Pattern.compile("(?:^|;)\\s*fill\\s*:\\s*([^;]+)");
+
+    private static final int INHERIT = -2;
+    private static final int TRANSPARENT = -1;
+    private static final int BLACK = 1;
+
+    private FlagFeatures() {
+    }
+
+    /**
+     * Extracts the features of a flag image.
+     *
+     * @param image the SVG image
+     * @return the feature vector, or an empty vector if the image is missing or not a readable SVG
+     */
+    static float[] extract(byte[] image) {
+        if (image == null || image.length == 0) {
+            return new float[0];
+        }
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            SAXParser parser = factory.newSAXParser();
+            Painter painter = new Painter();
+            parser.parse(new ByteArrayInputStream(image), painter);
+            return painter.painted ? painter.features() : new float[0];
+        } catch (Exception e) {
+            return new float[0];
+        }
+    }
+
+    /**
+     * Gets the distance between the features of two flags. Smaller means more alike.
+     *
+     * @param a the features of the first flag
+     * @param b the features of the second flag
+     * @return the L1 distance of the color shares plus the weighted difference in stripes
+     */
+    static float distance(float[] a, float[] b) {
+        float distance = 0;
+        for (int i = 0; i < PALETTE.length; i++) {
+            distance += Math.abs(a[i] - b[i]);
+        }
+        for (int i = PALETTE.length; i < LENGTH; i++) {
+            distance += STRIPE_WEIGHT * Math.abs(a[i] - b[i]);
+        }
+        return distance;
+    }
+
+    private static int nearestPaletteColor(int rgb) {
+        int red = (rgb >> 16) & 0xFF;
+        int green = (rgb >> 8) & 0xFF;
+        int blue = rgb & 0xFF;
+        int best = 0;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < PALETTE.length; i++) {
+            int dr = red - PALETTE[i][0];
+            int dg = green - PALETTE[i][1];
+            int db = blue - PALETTE[i][2];
+            int distance = dr * dr + dg * dg + db * db;
+            if (distance < bestDistance) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Parses a fill value into a palette index.
+     *
+     * @return the palette index, {@link #TRANSPARENT} for no paint, or {@link #INHERIT} if the value is absent
+     */
+    private static int parseFill(String value) {
+        if (value == null) {
+            return INHERIT;
+        }
+        String fill = value.trim().toLowerCase();
+        if (fill.isEmpty() || fill.equals("inherit")) {
+            return INHERIT;
+        }
+        if (fill.equals("none") || fill.equals("transparent") || fill.startsWith("url(") || fill.equals("currentcolor")) {
+            return TRANSPARENT;
+        }
+        if (fill.startsWith("#")) {
+            String hex = fill.substring(1);
+            if (hex.length() == 3) {
+                hex = "" + hex.charAt(0) + hex.charAt(0) + hex.charAt(1) + hex.charAt(1) + hex.charAt(2) + hex.charAt(2);
+            }
+            if (!hex.matches("[0-9a-f]{6}")) {
+                return TRANSPARENT;
+            }
+            return nearestPaletteColor(Integer.parseInt(hex, 16));
+        }
+        if (fill.startsWith("rgb")) {
+            Matcher numbers = NUMBER.matcher(fill);
+            int[] channels = new int[3];
+            for (int i = 0; i < 3 && numbers.find(); i++) {
+                channels[i] = (int) Math.min(255, Math.max(0, Double.parseDouble(numbers.group())));
+            }
+            return nearestPaletteColor((channels[0] << 16) | (channels[1] << 8) | channels[2]);
+        }
+        Integer named = NAMED_COLORS.get(fill);
+        return named != null ? nearestPaletteColor(named) : TRANSPARENT;
+    }
+
+    private static double[] numbers(String value) {
+        if (value == null) {
+            return new double[0];
+        }
+        Matcher matcher = NUMBER.matcher(value);
+        double[] numbers = new double[8];
+        int count = 0;
+        while (matcher.find()) {
+            if (count == numbers.length) {
+                numbers = Arrays.copyOf(numbers, count * 2);
+            }
+            numbers[count++] = Double.parseDouble(matcher.group());
+        }
+        return Arrays.copyOf(numbers, count);
+    }
+
+    private static double number(String value, double fallback) {
+        double[] numbers = numbers(value);
+        return numbers.length > 0 ? numbers[0] : fallback;
+    }
+
+    /**
+     * Multiplies two affine transforms stored as {a, b, c, d, e, f}.
+     */
+    private static double[] multiply(double[] m, double[] n) {
+        return new double[]{
+                m[0] * n[0] + m[2] * n[1], m[1] * n[0] + m[3] * n[1],
+                m[0] * n[2] + m[2] * n[3], m[1] * n[2] + m[3] * n[3],
+                m[0] * n[4] + m[2] * n[5] + m[4], m[1] * n[4] + m[3] * n[5] + m[5]
+        };
+    }
+
+    private static double[] parseTransform(String value, double[] parent) {
+        if (value == null) {
+            return parent;
+        }
+        double[] result = parent;
+        Matcher matcher = TRANSFORM.matcher(value);
+        while (matcher.find()) {
+            double[] p = numbers(matcher.group(2));
+            double[] m = switch (matcher.group(1)) {
+                case "matrix" -> p.length >= 6 ? new double[]{p[0], p[1], p[2], p[3], p[4], p[5]} : null;
+                case "translate" -> p.length >= 1 ? new double[]{1, 0, 0, 1, p[0], p.length > 1 ? p[1] : 0} : null;
+                case "scale" -> p.length >= 1 ? new double[]{p[0], 0, 0, p.length > 1 ? p[1] : p[0], 0, 0} : null;
+                case "rotate" -> {
+                    if (p.length < 1) {
+                        yield null;
+                    }
+                    double angle = Math.toRadians(p[0]);
+                    double cos = Math.cos(angle);
+                    double sin = Math.sin(angle);
+                    double cx = p.length >= 3 ? p[1] : 0;
+                    double cy = p.length >= 3 ? p[2] : 0;
+                    yield new double[]{cos, sin, -sin, cos, cx - cos * cx + sin * cy, cy - sin * cx - cos * cy};
+                }
+                case "skewX" -> p.length >= 1 ? new double[]{1, 0, Math.tan(Math.toRadians(p[0])), 1, 0, 0} : null;
+                default -> p.length >= 1 ? new double[]{1, Math.tan(Math.toRadians(p[0])), 0, 1, 0, 0} : null;
+            };
+            if (m != null) {
+                result = multiply(result, m);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * SAX handler that paints the shapes of an SVG onto the grid.
+     */
+    private static final class Painter extends DefaultHandler {
+        private final int[] grid = new int[GRID_WIDTH * GRID_HEIGHT];
+        private final Deque<int[]> fills = new ArrayDeque<>();
+        private final Deque<double[]> transforms = new ArrayDeque<>();
+
+        private double minX;
+        private double minY;
+        private double width = 640;
+        private double height = 480;
+        private boolean sized;
+        private int hiddenDepth;
+        private boolean painted;
+
+        private Painter() {
+            Arrays.fill(grid, TRANSPARENT);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            String name = qName.contains(":") ? qName.substring(qName.indexOf(':') + 1) : qName;
+            if (hiddenDepth > 0 || HIDDEN_ELEMENTS.contains(name)) {
+                hiddenDepth++;
+                return;
+            }
+            int parentFill = fills.isEmpty() ? BLACK : fills.peek()[0];
+            double[] parentTransform = transforms.isEmpty() ? new double[]{1, 0, 0, 1, 0, 0} : transforms.peek();
+
+            int fill = parseFill(attributes.getValue("fill"));
+            String style = attributes.getValue("style");
+            if (style != null) {
+                Matcher styleFill = STYLE_FILL.matcher(style);
+                if (styleFill.find()) {
+                    fill = parseFill(styleFill.group(1));
+                }
+            }
+            if (fill == INHERIT) {
+                fill = parentFill;
+            }
+            double[] transform = parseTransform(attributes.getValue("transform"), parentTransform);
+            fills.push(new int[]{fill});
+            transforms.push(transform);
+
+            if (name.equals("svg") && !sized) {
+                size(attributes);
+                return;
+            }
+            if (fill == TRANSPARENT) {
+                return;
+            }
+            switch (name) {
+                case "rect" -> {
+                    double x = number(attributes.getValue("x"), 0);
+                    double y = number(attributes.getValue("y"), 0);
+                    double w = length(attributes.getValue("width"), width);
+                    double h = length(attributes.getValue("height"), height);
+                    paintBox(transform, fill, x, y, x + w, y + h, false);
+                }
+                case "circle" -> {
+                    double cx = number(attributes.getValue("cx"), 0);
+                    double cy = number(attributes.getValue("cy"), 0);
+                    double r = number(attributes.getValue("r"), 0);
+                    paintBox(transform, fill, cx - r, cy - r, cx + r, cy + r, true);
+                }
+                case "ellipse" -> {
+                    double cx = number(attributes.getValue("cx"), 0);
+                    double cy = number(attributes.getValue("cy"), 0);
+                    double rx = number(attributes.getValue("rx"), 0);
+                    double ry = number(attributes.getValue("ry"), 0);
+                    paintBox(transform, fill, cx - rx, cy - ry, cx + rx, cy + ry, true);
+                }
+                case "polygon", "polyline" -> paintPoints(transform, fill, numbers(attributes.getValue("points")));
+                case "path" -> paintPath(transform, fill, attributes.getValue("d"));
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (hiddenDepth > 0) {
+                hiddenDepth--;
+                return;
+            }
+            fills.pop();
+            transforms.pop();
+        }
+
+        private void size(Attributes attributes) {
+            double[] viewBox = numbers(attributes.getValue("viewBox"));
+            if (viewBox.length == 4 && viewBox[2] > 0 && viewBox[3] > 0) {
+                minX = viewBox[0];
+                minY = viewBox[1];
+                width = viewBox[2];
+                height = viewBox[3];
+            } else {
+                width = Math.max(1, number(attributes.getValue("width"), width));
+                height = Math.max(1, number(attributes.getValue("height"), height));
+            }
+            sized = true;
+        }
+
+        /**
+         * Parses a length, resolving percentages against the canvas.
+         */
+        private double length(String value, double canvas) {
+            if (value != null && value.trim().endsWith("%")) {
+                return number(value, 100) / 100 * canvas;
+            }
+            return number(value, 0);
+        }
+
+        private void paintPoints(double[] transform, int fill, double[] points) {
+            if (points.length < 4) {
+                return;
+            }
+            Bounds bounds = new Bounds();
+            for (int i = 0; i + 1 < points.length; i += 2) {
+                bounds.add(points[i], points[i + 1]);
+            }
+            paintBox(transform, fill, bounds.minX, bounds.minY, bounds.maxX, bounds.maxY, false);
+        }
+
+        /**
+         * Paints the bounding box of a path. Control points are included, which only makes the box larger.
+         */
+        private void paintPath(double[] transform, int fill, String d) {
+            if (d == null) {
+                return;
+            }
+            Matcher tokens = PATH_TOKEN.matcher(d);
+            Bounds bounds = new Bounds();
+            char command = 'M';
+            double[] args = new double[7];
+            int argCount = 0;
+            double x = 0;
+            double y = 0;
+            double startX = 0;
+            double startY = 0;
+            while (tokens.find()) {
+                String token = tokens.group();
+                char first = token.charAt(0);
+                if (Character.isLetter(first)) {
+                    command = first;
+                    argCount = 0;
+                    if (command == 'Z' || command == 'z') {
+                        x = startX;
+                        y = startY;
+                    }
+                    continue;
+                }
+                args[argCount++] = Double.parseDouble(token);
+                boolean relative = Character.isLowerCase(command);
+                double baseX = relative ? x : 0;
+                double baseY = relative ? y : 0;
+                switch (Character.toUpperCase(command)) {
+                    case 'M', 'L', 'T' -> {
+                        if (argCount == 2) {
+                            x = baseX + args[0];
+                            y = baseY + args[1];
+                            bounds.add(x, y);
+                            if (Character.toUpperCase(command) == 'M') {
+                                startX = x;
+                                startY = y;
+                                command = relative ? 'l' : 'L';
+                            }
+                            argCount = 0;
+                        }
+                    }
+                    case 'H' -> {
+                        x = baseX + args[0];
+                        bounds.add(x, y);
+                        argCount = 0;
+                    }
+                    case 'V' -> {
+                        y = baseY + args[0];
+                        bounds.add(x, y);
+                        argCount = 0;
+                    }
+                    case 'C', 'S', 'Q' -> {
+                        int needed = Character.toUpperCase(command) == 'C' ? 6 : 4;
+                        if (argCount == needed) {
+                            for (int i = 0; i < needed; i += 2) {
+                                bounds.add(baseX + args[i], baseY + args[i + 1]);
+                            }
+                            x = baseX + args[needed - 2];
+                            y = baseY + args[needed - 1];
+                            argCount = 0;
+                        }
+                    }
+                    case 'A' -> {
+                        if (argCount == 7) {
+                            x = baseX + args[5];
+                            y = baseY + args[6];
+                            bounds.add(x, y);
+                            argCount = 0;
+                        }
+                    }
+                    default -> argCount = 0;
+                }
+            }
+            if (bounds.isEmpty()) {
+                return;
+            }
+            paintBox(transform, fill, bounds.minX, bounds.minY, bounds.maxX, bounds.maxY, false);
+        }
+
+        /**
+         * Paints the cells whose centers fall inside a transformed box, or inside the ellipse inscribed in it.
+         */
+        private void paintBox(double[] t, int fill, double x1, double y1, double x2, double y2, boolean ellipse) {
+            Bounds bounds = new Bounds();
+            double[][] corners = {{x1, y1}, {x2, y1}, {x1, y2}, {x2, y2}};
+            for (double[] corner : corners) {
+                bounds.add(t[0] * corner[0] + t[2] * corner[1] + t[4], t[1] * corner[0] + t[3] * corner[1] + t[5]);
+            }
+            if (bounds.maxX <= bounds.minX || bounds.maxY <= bounds.minY) {
+                return;
+            }
+            double centerX = (bounds.minX + bounds.maxX) / 2;
+            double centerY = (bounds.minY + bounds.maxY) / 2;
+            double radiusX = (bounds.maxX - bounds.minX) / 2;
+            double radiusY = (bounds.maxY - bounds.minY) / 2;
+            for (int row = 0; row < GRID_HEIGHT; row++) {
+                double cellY = minY + (row + 0.5) * height / GRID_HEIGHT;
+                if (cellY < bounds.minY || cellY > bounds.maxY) {
+                    continue;
+                }
+                for (int column = 0; column < GRID_WIDTH; column++) {
+                    double cellX = minX + (column + 0.5) * width / GRID_WIDTH;
+                    if (cellX < bounds.minX || cellX > bounds.maxX) {
+                        continue;
+                    }
+                    if (ellipse) {
+                        double dx = (cellX - centerX) / radiusX;
+                        double dy = (cellY - centerY) / radiusY;
+                        if (dx * dx + dy * dy > 1) {
+                            continue;
+                        }
+                    }
+                    grid[row * GRID_WIDTH + column] = fill;
+                    painted = true;
+                }
+            }
+        }
+
+        private float[] features() {
+            float[] features = new float[LENGTH];
+            int cells = 0;
+            for (int color : grid) {
+                if (color >= 0) {
+                    features[color]++;
+                    cells++;
+                }
+            }
+            for (int i = 0; i < PALETTE.length; i++) {
+                features[i] /= cells;
+            }
+            int[] columnBands = new int[GRID_WIDTH];
+            for (int column = 0; column < GRID_WIDTH; column++) {
+                columnBands[column] = bands(column, GRID_WIDTH, GRID_HEIGHT);
+            }
+            int[] rowBands = new int[GRID_HEIGHT];
+            for (int row = 0; row < GRID_HEIGHT; row++) {
+                rowBands[row] = bands(row * GRID_WIDTH, 1, GRID_WIDTH);
+            }
+            features[PALETTE.length] = Math.min(median(columnBands), MAX_STRIPES) / (float) MAX_STRIPES;
+            features[PALETTE.length + 1] = Math.min(median(rowBands), MAX_STRIPES) / (float) MAX_STRIPES;
+            return features;
+        }
+
+        /**
+         * Counts the color bands along a line of the grid, ignoring unpainted cells.
+         */
+        private int bands(int start, int step, int count) {
+            int bands = 0;
+            int previous = TRANSPARENT;
+            for (int i = 0; i < count; i++) {
+                int color = grid[start + i * step];
+                if (color >= 0 && color != previous) {
+                    bands++;
+                    previous = color;
+                }
+            }
+            return bands;
+        }
+
+        private static int median(int[] values) {
+            int[] sorted = values.clone();
+            Arrays.sort(sorted);
+            return sorted[sorted.length / 2];
+        }
+    }
+
+    /**
+     * A growing axis-aligned bounding box.
+     */
+    private static final class Bounds {
+        private double minX = Double.POSITIVE_INFINITY;
+        private double minY = Double.POSITIVE_INFINITY;
+        private double maxX = Double.NEGATIVE_INFINITY;
+        private double maxY = Double.NEGATIVE_INFINITY;
+
+        private void add(double x, double y) {
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+
+        private boolean isEmpty() {
+            return minX > maxX;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.event.CountryCatalogChangedEvent;
+import com.flagfinder.repository.CountryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nearest neighbours of every flag by visual similarity, used to offer look-alike flags as multiple-choice distractors.
+ * The top neighbours of each country are precomputed from the flag features stored at ingest, so picking distractors
+ * for a round is a map lookup. US states are only compared with US states and countries with countries.
+ * The index is rebuilt in the background whenever the country catalog changes: flags ingested before features
+ * were stored are read and backfilled first, then the neighbour lists are computed by a pool of workers,
+ * each taking every n-th country, and the finished index replaces the old one in a single write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FlagSimilarityIndex {
+
+    private final CountryRepository countryRepository;
+    private final CountryCatalog countryCatalog;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService rebuildCoordinator = Executors.newSingleThreadExecutor();
+    private final ExecutorService rebuildWorkers = Executors.newFixedThreadPool(REBUILD_PARALLELISM);
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile Index index = new Index(Map.of(), new UUID[0], new String[0], new int[0][], new int[0][]);
+
+    private static final int NEIGHBOURS = 6;
+
+    private static final int REBUILD_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    /**
+     * Gets the answer options of a multiple-choice round: the country and the flags that look most like it, shuffled.
+     * The same seed always gives the same options, so a round shows the same choices every time it is loaded.
+     * When a flag has too few indexed neighbours, other countries of its group fill the remaining options.
+     *
+     * @param countryId the ID of the country shown in the round
+     * @param countryName the name of the country shown in the round
+     * @param count the total number of options, including the correct one
+     * @param seed the seed for choosing among the neighbours and ordering the options
+     * @return the names of the options in display order
+     */
+    List<String> options(UUID countryId, String countryName, int count, long seed) {
+        Index current = index;
+        Random random = new Random(seed);
+        List<String> options = new ArrayList<>(count);
+        options.add(countryName);
+
+        Integer position = current.positions.get(countryId);
+        if (position != null) {
+            int[] neighbours = current.neighbours[position].clone();
+            shuffle(neighbours, random);
+            for (int i = 0; i < neighbours.length && options.size() < count; i++) {
+                options.add(current.names[neighbours[i]]);
+            }
+            int[] group = current.groups[position];
+            for (int attempt = 0; options.size() < count && attempt < group.length * 2; attempt++) {
+                String name = current.names[group[random.nextInt(group.length)]];
+                if (!options.contains(name)) {
+                    options.add(name);
+                }
+            }
+        }
+        Collections.shuffle(options, random);
+        return options;
+    }
+
+    /**
+     * Picks one of the flags that look most like the given one, e.g. as a plausible wrong answer.
+     *
+     * @param countryId the ID of the country whose flag is mistaken
+     * @param random the source of randomness for choosing among the neighbours
+     * @return the ID of a look-alike country, or null if the flag has no indexed neighbours
+     */
+    UUID lookAlike(UUID countryId, Random random) {
+        Index current = index;
+        Integer position = current.positions.get(countryId);
+        if (position == null || current.neighbours[position].length == 0) {
+            return null;
+        }
+        int[] neighbours = current.neighbours[position];
+        return current.ids[neighbours[random.nextInt(neighbours.length)]];
+    }
+
+    /**
+     * Builds the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        requestRebuild();
+    }
+
+    /**
+     * Rebuilds the index after countries were added or removed.
+     *
+     * @param event the catalog change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CountryCatalogChangedEvent event) {
+        requestRebuild();
+    }
+
+    /**
+     * Stops a running rebuild on shutdown; the index is built again on the next startup.
+     */
+    @PreDestroy
+    void shutdown() {
+        rebuildCoordinator.shutdownNow();
+        rebuildWorkers.shutdownNow();
+    }
+
+    /**
+     * Schedules a rebuild unless one is already waiting, so a burst of catalog changes costs one rebuild.
+     */
+    private void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildCoordinator.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("Failed to rebuild flag similarity index", e);
+                }
+            });
+        }
+    }
+
+    private void rebuild() throws InterruptedException {
+        long started = System.currentTimeMillis();
+        backfillFeatures();
+
+        List<UUID> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<float[]> features = new ArrayList<>();
+        for (Object[] row : countryRepository.findAllFlagFeatures()) {
+            float[] vector = (float[]) row[2];
+            if (vector != null && vector.length == FlagFeatures.LENGTH) {
+                ids.add((UUID) row[0]);
+                names.add((String) row[1]);
+                features.add(vector);
+            }
+        }
+        int size = ids.size();
+
+        Map<UUID, Integer> positions = new HashMap<>(size * 2);
+        boolean[] states = new boolean[size];
+        List<Integer> countries = new ArrayList<>();
+        List<Integer> usStates = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            positions.put(ids.get(i), i);
+            states[i] = countryCatalog.continentsOf(ids.get(i)).contains(Continent.USA_STATE);
+            (states[i] ? usStates : countries).add(i);
+        }
+        int[] countryGroup = countries.stream().mapToInt(Integer::intValue).toArray();
+        int[] stateGroup = usStates.stream().mapToInt(Integer::intValue).toArray();
+        int[][] groups = new int[size][];
+        for (int i = 0; i < size; i++) {
+            groups[i] = states[i] ? stateGroup : countryGroup;
+        }
+
+        int[][] neighbours = new int[size][];
+        List<Callable<Void>> tasks = new ArrayList<>(REBUILD_PARALLELISM);
+        for (int worker = 0; worker < REBUILD_PARALLELISM; worker++) {
+            int first = worker;
+            tasks.add(() -> {
+                for (int i = first; i < size; i += REBUILD_PARALLELISM) {
+                    neighbours[i] = nearest(i, groups[i], features);
+                }
+                return null;
+            });
+        }
+        for (Future<Void> result : rebuildWorkers.invokeAll(tasks)) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Flag similarity worker failed", e.getCause());
+            }
+        }
+
+        index = new Index(positions, ids.toArray(new UUID[0]), names.toArray(new String[0]), neighbours, groups);
+        log.info("Built flag similarity index of {} flags in {} ms", size, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Extracts and stores the features of flags ingested before features were stored, in parallel.
+     * Flags whose image cannot be read get an empty vector, so they are not read again.
+     */
+    private void backfillFeatures() throws InterruptedException {
+        List<UUID> missing = countryRepository.findIdsWithoutFlagFeatures();
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(missing.size());
+        for (UUID countryId : missing) {
+            tasks.add(() -> {
+                transactionTemplate.executeWithoutResult(status -> countryRepository.findById(countryId)
+                        .ifPresent(country -> country.setFlagFeatures(FlagFeatures.extract(country.getFlagImage()))));
+                return null;
+            });
+        }
+        int failed = 0;
+        for (Future<Void> result : rebuildWorkers.invokeAll(tasks)) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                failed++;
+                log.warn("Failed to extract flag features", e.getCause());
+            }
+        }
+        log.info("Extracted features of {} flags, {} failed", missing.size() - failed, failed);
+    }
+
+    /**
+     * Finds the closest flags of the same group, closest first.
+     */
+    private static int[] nearest(int position, int[] group, List<float[]> features) {
+        float[] own = features.get(position);
+        int[] best = new int[NEIGHBOURS];
+        float[] bestDistance = new float[NEIGHBOURS];
+        int found = 0;
+        for (int candidate : group) {
+            if (candidate == position) {
+                continue;
+            }
+            float distance = FlagFeatures.distance(own, features.get(candidate));
+            if (found == NEIGHBOURS && distance >= bestDistance[NEIGHBOURS - 1]) {
+                continue;
+            }
+            int slot = found < NEIGHBOURS ? found++ : NEIGHBOURS - 1;
+            while (slot > 0 && bestDistance[slot - 1] > distance) {
+                best[slot] = best[slot - 1];
+                bestDistance[slot] = bestDistance[slot - 1];
+                slot--;
+            }
+            best[slot] = candidate;
+            bestDistance[slot] = distance;
+        }
+        return Arrays.copyOf(best, found);
+    }
+
+    private static void shuffle(int[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    /**
+     * An immutable build of the index.
+     *
+     * @param positions the position of every indexed country by ID
+     * @param ids the country IDs by position
+     * @param names the country names by position
+     * @param neighbours the positions of the closest flags by position, closest first
+     * @param groups the positions of every country of the same group by position
+     */
+    private record Index(Map<UUID, Integer> positions, UUID[] ids, String[] names, int[][] neighbours, int[][] groups) {
+    }
+}
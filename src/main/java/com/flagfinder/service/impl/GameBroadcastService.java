@@ -0,0 +1,132 @@
+package com.flagfinder.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service for fanning out game messages to every player of a game.
+ * The payload is serialized once per broadcast and the same message is routed to each
+ * player's user destination, so rooms with many players don't pay for one JSON encoding per player.
+ * Work that touches many games at once can collect its messages and send them together once it has finished.
+ * Messages sent inside a transaction are only delivered once it commits, so players never see a change
+ * that is rolled back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameBroadcastService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ThreadLocal<List<Runnable>> collected = new ThreadLocal<>();
+
+    /**
+     * Runs the given work while holding back the messages it sends on this thread, then sends them all in order.
+     * When the work commits a transaction, players are only notified once its changes are visible.
+     * Messages are dropped if the work fails.
+     *
+     * @param work the work to run
+     */
+    public void collect(Runnable work) {
+        if (collected.get() != null) {
+            work.run();
+            return;
+        }
+        List<Runnable> sends = new ArrayList<>();
+        collected.set(sends);
+        try {
+            work.run();
+        } finally {
+            collected.remove();
+        }
+        for (Runnable send : sends) {
+            send.run();
+        }
+    }
+
+    /**
+     * Sends the same payload to the given user destination of every listed player.
+     * Delivery failures for a single player are logged and don't stop delivery to the others.
+     *
+     * @param gameNames the game names of the players to notify
+     * @param destination the user destination, e.g. {@code /queue/round-started}
+     * @param payload the object to serialize and send
+     */
+    public void broadcast(Collection<String> gameNames, String destination, Object payload) {
+        if (gameNames.isEmpty()) {
+            return;
+        }
+
+        Message<?> message;
+        try {
+            message = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        } catch (Exception e) {
+            log.warn("Failed to serialize payload for {}", destination, e);
+            return;
+        }
+        if (message == null) {
+            return;
+        }
+
+        List<String> recipients = List.copyOf(gameNames);
+        List<Runnable> sends = collected.get();
+        if (sends != null) {
+            sends.add(() -> sendToAll(recipients, destination, message));
+            return;
+        }
+        AfterCommit.run(() -> sendToAll(recipients, destination, message));
+    }
+
+    private void sendToAll(Collection<String> gameNames, String destination, Message<?> message) {
+        for (String gameName : gameNames) {
+            try {
+                messagingTemplate.send(userDestination(gameName, destination), message);
+            } catch (Exception e) {
+                log.debug("Failed to send {} to {}", destination, gameName, e);
+            }
+        }
+    }
+
+    /**
+     * Sends a payload to a single player's user destination.
+     *
+     * @param gameName the game name of the player to notify
+     * @param destination the user destination
+     * @param payload the object to serialize and send
+     */
+    public void send(String gameName, String destination, Object payload) {
+        List<Runnable> sends = collected.get();
+        if (sends != null) {
+            sends.add(() -> send(gameName, destination, payload));
+            return;
+        }
+        AfterCommit.run(() -> {
+            try {
+                messagingTemplate.convertAndSendToUser(gameName, destination, payload);
+            } catch (Exception e) {
+                log.debug("Failed to send {} to {}", destination, gameName, e);
+            }
+        });
+    }
+
+    /**
+     * Builds the broker destination for a user destination the same way
+     * {@link SimpMessagingTemplate#convertAndSendToUser} does.
+     *
+     * @param gameName the game name of the player
+     * @param destination the user destination
+     * @return the full destination including the user prefix
+     */
+    private String userDestination(String gameName, String destination) {
+        return messagingTemplate.getUserDestinationPrefix()
+                + StringUtils.replace(gameName, "/", "%2F")
+                + destination;
+    }
+}
@@ -0,0 +1,326 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.dto.GameReplayDto;
+import com.flagfinder.dto.GameReplayEventDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary encoding of a game's event log.
+ * The log starts with a header holding the format version, the game ID, the start time and the
+ * player table, followed by the events. Every event is a type byte, the milliseconds since the
+ * previous event and a type specific payload. Integers are LEB128 varints, players are referenced
+ * by their index in the player table and IDs are written as two fixed 64 bit halves, so a typical
+ * three round game fits in a few hundred bytes.
+ */
+final class GameEventLogCodec {
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int GAME_STARTED = 1;
+    static final int ROUND_STARTED = 2;
+    static final int GUESS = 3;
+    static final int SCORE = 4;
+    static final int GAME_ENDED = 5;
+
+    private static final String[] TYPE_NAMES = {null, "GAME_STARTED", "ROUND_STARTED", "GUESS", "SCORE", "GAME_ENDED"};
+
+    private GameEventLogCodec() {
+    }
+
+    /**
+     * Decodes an event log.
+     *
+     * @param data the encoded log
+     * @return the decoded replay
+     * @throws IllegalArgumentException if the log is truncated or has an unknown version or event type
+     */
+    static GameReplayDto decode(byte[] data) {
+        Reader reader = new Reader(data);
+        int version = reader.readVarInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported event log version: " + version);
+        }
+
+        GameReplayDto replay = new GameReplayDto();
+        replay.setGameId(reader.readUuid());
+        long startedAt = reader.readVarLong();
+        replay.setStartedAt(Instant.ofEpochMilli(startedAt));
+
+        int playerCount = reader.readVarInt();
+        String[] players = new String[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            reader.readUuid();
+            players[i] = reader.readString();
+        }
+        replay.setPlayers(List.of(players));
+
+        long offset = 0;
+        while (reader.hasRemaining()) {
+            int type = reader.readVarInt();
+            if (type < GAME_STARTED || type > GAME_ENDED) {
+                throw new IllegalArgumentException("Unknown event type: " + type);
+            }
+            offset += reader.readVarLong();
+
+            GameReplayEventDto event = new GameReplayEventDto();
+            event.setType(TYPE_NAMES[type]);
+            event.setOffsetMillis(offset);
+            switch (type) {
+                case ROUND_STARTED -> {
+                    event.setRoundNumber(reader.readVarInt());
+                    event.setCountryId(reader.readUuid());
+                }
+                case GUESS -> {
+                    event.setUserName(player(players, reader.readVarInt()));
+                    event.setRoundNumber(reader.readVarInt());
+                    event.setCountryId(reader.readUuid());
+                    event.setCorrect(reader.readVarInt() == 1);
+                }
+                case SCORE -> {
+                    event.setUserName(player(players, reader.readVarInt()));
+                    event.setScore(reader.readVarInt());
+                }
+                case GAME_ENDED -> event.setUserName(player(players, reader.readVarInt()));
+                default -> {
+                }
+            }
+            replay.getEvents().add(event);
+        }
+        return replay;
+    }
+
+    /**
+     * Resolves a player reference, where 0 means no player and n means the player at index n - 1.
+     */
+    private static String player(String[] players, int reference) {
+        return reference > 0 && reference <= players.length ? players[reference - 1] : null;
+    }
+
+    /**
+     * Appends the events of one game to a growable buffer.
+     * Calls for the same game may come from request and timer threads, so all appends are synchronized.
+     */
+    static final class Writer {
+
+        private final Map<UUID, Integer> playerReferences = new HashMap<>();
+        private byte[] buffer = new byte[256];
+        private int size;
+        private long lastTimestamp;
+        private int eventCount;
+        private boolean ended;
+
+        /**
+         * Writes the header and the game started event.
+         *
+         * @param gameId the ID of the game
+         * @param playerIds the IDs of the players in seat order
+         * @param playerNames the game names of the players in seat order
+         * @param startedAt the start time in epoch milliseconds
+         */
+        Writer(UUID gameId, List<UUID> playerIds, List<String> playerNames, long startedAt) {
+            writeVarInt(FORMAT_VERSION);
+            writeUuid(gameId);
+            writeVarLong(startedAt);
+            writeVarInt(playerIds.size());
+            for (int i = 0; i < playerIds.size(); i++) {
+                playerReferences.put(playerIds.get(i), i + 1);
+                writeUuid(playerIds.get(i));
+                writeString(playerNames.get(i));
+            }
+            lastTimestamp = startedAt;
+            event(GAME_STARTED, startedAt);
+        }
+
+        private Writer(Writer source) {
+            playerReferences.putAll(source.playerReferences);
+            buffer = Arrays.copyOf(source.buffer, source.buffer.length);
+            size = source.size;
+            lastTimestamp = source.lastTimestamp;
+            eventCount = source.eventCount;
+            ended = source.ended;
+        }
+
+        /**
+         * Copies the log written so far, so events can be added to the copy without touching this writer.
+         *
+         * @return an independent writer with the same content
+         */
+        synchronized Writer copy() {
+            return new Writer(this);
+        }
+
+        synchronized void roundStarted(int roundNumber, UUID countryId, long timestamp) {
+            if (event(ROUND_STARTED, timestamp)) {
+                writeVarInt(roundNumber);
+                writeUuid(countryId);
+            }
+        }
+
+        synchronized void guess(UUID userId, int roundNumber, UUID guessedCountryId, boolean correct, long timestamp) {
+            if (event(GUESS, timestamp)) {
+                writeVarInt(playerReferences.getOrDefault(userId, 0));
+                writeVarInt(roundNumber);
+                writeUuid(guessedCountryId);
+                writeVarInt(correct ? 1 : 0);
+            }
+        }
+
+        synchronized void score(UUID userId, int score, long timestamp) {
+            if (event(SCORE, timestamp)) {
+                writeVarInt(playerReferences.getOrDefault(userId, 0));
+                writeVarInt(score);
+            }
+        }
+
+        /**
+         * Writes the game ended event and closes the log.
+         *
+         * @param winnerId the ID of the winner, or null for a draw
+         * @param timestamp the end time in epoch milliseconds
+         * @return the encoded log
+         */
+        synchronized byte[] gameEnded(UUID winnerId, long timestamp) {
+            if (event(GAME_ENDED, timestamp)) {
+                writeVarInt(winnerId != null ? playerReferences.getOrDefault(winnerId, 0) : 0);
+                ended = true;
+            }
+            return Arrays.copyOf(buffer, size);
+        }
+
+        synchronized int eventCount() {
+            return eventCount;
+        }
+
+        synchronized boolean isEnded() {
+            return ended;
+        }
+
+        /**
+         * Starts an event. Timestamps that go backwards are clamped so deltas stay unsigned.
+         *
+         * @return false if the log is already closed
+         */
+        private boolean event(int type, long timestamp) {
+            if (ended) {
+                return false;
+            }
+            long delta = Math.max(0, timestamp - lastTimestamp);
+            lastTimestamp = Math.max(lastTimestamp, timestamp);
+            writeVarInt(type);
+            writeVarLong(delta);
+            eventCount++;
+            return true;
+        }
+
+        private void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private void writeUuid(UUID id) {
+            long most = id != null ? id.getMostSignificantBits() : 0;
+            long least = id != null ? id.getLeastSignificantBits() : 0;
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (most >>> shift));
+            }
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (least >>> shift));
+            }
+        }
+
+        private void writeString(String value) {
+            byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+            }
+        }
+    }
+
+    /**
+     * Sequential reader over an encoded log.
+     */
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        boolean hasRemaining() {
+            return position < data.length;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at byte " + position);
+        }
+
+        UUID readUuid() {
+            long most = 0;
+            long least = 0;
+            for (int i = 0; i < 8; i++) {
+                most = (most << 8) | readByte();
+            }
+            for (int i = 0; i < 8; i++) {
+                least = (least << 8) | readByte();
+            }
+            return new UUID(most, least);
+        }
+
+        String readString() {
+            int length = readVarInt();
+            if (length < 0 || position + length > data.length) {
+                throw new IllegalArgumentException("Truncated event log");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private int readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated event log");
+            }
+            return data[position++] & 0xFF;
+        }
+    }
+}
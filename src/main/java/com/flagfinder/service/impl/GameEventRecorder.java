@@ -0,0 +1,182 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.model.GameEventLog;
+import com.flagfinder.model.User;
+import com.flagfinder.repository.GameEventLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the events of running multiplayer games into in-memory buffers and persists each
+ * game's packed log once, when the game ends.
+ * Games started before a restart have no buffer; their events are ignored and they get no log.
+ * <p>
+ * Inside a transaction, events go to a copy of the game's buffer that replaces the shared one only once the
+ * transaction commits. A rolled back guess leaves no event behind, and a rolled back game end keeps the log
+ * open, so the retry still finds it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameEventRecorder {
+
+    private final GameEventLogRepository gameEventLogRepository;
+
+    private final Map<UUID, GameEventLogCodec.Writer> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Opens the log of a new game.
+     *
+     * @param gameId the ID of the game
+     * @param players the players in seat order
+     */
+    public void gameStarted(UUID gameId, List<User> players) {
+        gameStarted(gameId, players.stream().map(User::getId).toList(), players.stream().map(User::getGameName).toList());
+    }
+
+    /**
+     * Records the start of a game whose players are already known by ID and name.
+     *
+     * @param gameId the ID of the game
+     * @param playerIds the IDs of the players in seat order
+     * @param playerNames the game names of the players in seat order
+     */
+    public void gameStarted(UUID gameId, List<UUID> playerIds, List<String> playerNames) {
+        GameEventLogCodec.Writer writer = new GameEventLogCodec.Writer(gameId, playerIds, playerNames, System.currentTimeMillis());
+        Map<UUID, GameEventLogCodec.Writer> drafts = drafts();
+        if (drafts != null) {
+            drafts.put(gameId, writer);
+        } else {
+            writers.put(gameId, writer);
+        }
+    }
+
+    /**
+     * Records the start of a round.
+     *
+     * @param gameId the ID of the game
+     * @param roundNumber the number of the round
+     * @param countryId the ID of the country to guess
+     */
+    public void roundStarted(UUID gameId, int roundNumber, UUID countryId) {
+        GameEventLogCodec.Writer writer = writer(gameId);
+        if (writer != null) {
+            writer.roundStarted(roundNumber, countryId, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Records a guess with the server time it was received.
+     *
+     * @param gameId the ID of the game
+     * @param userId the ID of the guessing player
+     * @param roundNumber the number of the round
+     * @param guessedCountryId the ID of the guessed country
+     * @param correct whether the guess was correct
+     */
+    public void guessSubmitted(UUID gameId, UUID userId, int roundNumber, UUID guessedCountryId, boolean correct) {
+        GameEventLogCodec.Writer writer = writer(gameId);
+        if (writer != null) {
+            writer.guess(userId, roundNumber, guessedCountryId, correct, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Records a player's new score.
+     *
+     * @param gameId the ID of the game
+     * @param userId the ID of the player
+     * @param score the player's score after the change
+     */
+    public void scoreChanged(UUID gameId, UUID userId, int score) {
+        GameEventLogCodec.Writer writer = writer(gameId);
+        if (writer != null) {
+            writer.score(userId, score, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Closes the log of a game and saves it. Must be called inside the transaction that ends the game;
+     * the buffer is only dropped once that transaction commits.
+     *
+     * @param gameId the ID of the game
+     * @param winnerId the ID of the winner, or null for a draw
+     */
+    public void gameEnded(UUID gameId, UUID winnerId) {
+        GameEventLogCodec.Writer writer = drafts() != null ? writer(gameId) : writers.remove(gameId);
+        if (writer == null) {
+            return;
+        }
+
+        byte[] events = writer.gameEnded(winnerId, System.currentTimeMillis());
+        GameEventLog eventLog = new GameEventLog();
+        eventLog.setGameId(gameId);
+        eventLog.setFormatVersion(GameEventLogCodec.FORMAT_VERSION);
+        eventLog.setEventCount(writer.eventCount());
+        eventLog.setEvents(events);
+        gameEventLogRepository.save(eventLog);
+        log.debug("Saved event log of game {}: {} events in {} bytes", gameId, eventLog.getEventCount(), events.length);
+    }
+
+    /**
+     * Gets the buffer that events of a game go to: the transaction's copy inside a transaction,
+     * otherwise the shared buffer.
+     *
+     * @param gameId the ID of the game
+     * @return the buffer, or null if the game has no log
+     */
+    private GameEventLogCodec.Writer writer(UUID gameId) {
+        Map<UUID, GameEventLogCodec.Writer> drafts = drafts();
+        if (drafts == null) {
+            return writers.get(gameId);
+        }
+        GameEventLogCodec.Writer draft = drafts.get(gameId);
+        if (draft == null) {
+            GameEventLogCodec.Writer shared = writers.get(gameId);
+            if (shared == null) {
+                return null;
+            }
+            draft = shared.copy();
+            drafts.put(gameId, draft);
+        }
+        return draft;
+    }
+
+    /**
+     * Gets the buffers changed by the current transaction, registering them to replace the shared buffers
+     * after the commit the first time they are needed.
+     *
+     * @return the transaction's buffers by game ID, or null outside a transaction
+     */
+    @SuppressWarnings("unchecked")
+    private Map<UUID, GameEventLogCodec.Writer> drafts() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<UUID, GameEventLogCodec.Writer> drafts = (Map<UUID, GameEventLogCodec.Writer>) TransactionSynchronizationManager.getResource(this);
+        if (drafts == null) {
+            Map<UUID, GameEventLogCodec.Writer> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            AfterCommit.run(() -> {
+                TransactionSynchronizationManager.unbindResourceIfPossible(this);
+                created.forEach((gameId, draft) -> {
+                    if (draft.isEnded()) {
+                        writers.remove(gameId);
+                    } else {
+                        writers.put(gameId, draft);
+                    }
+                });
+            }, () -> TransactionSynchronizationManager.unbindResourceIfPossible(this));
+            drafts = created;
+        }
+        return drafts;
+    }
+}
@@ -0,0 +1,114 @@
+package com.flagfinder.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes changes to the same game with a fixed set of striped locks keyed by game ID.
+ * Guesses, bot moves, round timers and ending a game take their game's lock on the calling thread before their
+ * transaction starts, so work on one game never races with other work on the same game. Everything else runs in
+ * parallel on the request and timer threads, so the database work of different games is only bounded by the
+ * connection pool and admission control, not by a fixed number of worker threads.
+ * The locks are reentrant, so work that already holds a game's lock can touch the same game again.
+ */
+@Service
+public class GameLocks {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Creates the locks.
+     *
+     * @param stripeCount the number of lock stripes; games whose IDs share a stripe wait for each other
+     */
+    public GameLocks(@Value("${application.game.lock-stripes:256}") int stripeCount) {
+        stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Gets the number of lock stripes.
+     *
+     * @return the stripe count
+     */
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Gets the lock stripe that guards a game.
+     *
+     * @param gameId the ID of the game
+     * @return the index of the stripe
+     */
+    public int stripeOf(UUID gameId) {
+        return Math.floorMod(gameId.hashCode(), stripes.length);
+    }
+
+    /**
+     * Runs a task on the calling thread while holding a game's lock.
+     *
+     * @param gameId the ID of the game the task works on
+     * @param task the task to run
+     * @param <T> the type of the result
+     * @return the task's result
+     */
+    public <T> T call(UUID gameId, Supplier<T> task) {
+        ReentrantLock lock = stripes[stripeOf(gameId)];
+        lock.lock();
+        try {
+            return task.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a task on the calling thread while holding a game's lock.
+     *
+     * @param gameId the ID of the game the task works on
+     * @param task the task to run
+     */
+    public void run(UUID gameId, Runnable task) {
+        call(gameId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a task that works on several games while holding all of their locks, e.g. a batch of round timeouts.
+     * The stripes are taken in ascending order, so two batches never wait for each other in a cycle.
+     *
+     * @param gameIds the IDs of the games the task works on
+     * @param task the task to run
+     */
+    public void runAll(Collection<UUID> gameIds, Runnable task) {
+        boolean[] needed = new boolean[stripes.length];
+        for (UUID gameId : gameIds) {
+            needed[stripeOf(gameId)] = true;
+        }
+        int locked = 0;
+        try {
+            for (; locked < stripes.length; locked++) {
+                if (needed[locked]) {
+                    stripes[locked].lock();
+                }
+            }
+            task.run();
+        } finally {
+            for (int stripe = locked - 1; stripe >= 0; stripe--) {
+                if (needed[stripe]) {
+                    stripes[stripe].unlock();
+                }
+            }
+        }
+    }
+}
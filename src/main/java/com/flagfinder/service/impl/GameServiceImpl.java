@@ -1,10 +1,16 @@
 package com.flagfinder.service.impl;
 
 import com.flagfinder.dto.*;
+import com.flagfinder.enumeration.AccuracyWindow;
 import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.Difficulty;
+import com.flagfinder.enumeration.SinglePlayerMode;
 import com.flagfinder.enumeration.GameStatus;
 import com.flagfinder.enumeration.RoomStatus;
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.event.GameEndedEvent;
 import com.flagfinder.mapper.GameMapper;
+import com.flagfinder.mapper.ProjectionMapper;
 import com.flagfinder.mapper.RoundMapper;
 import com.flagfinder.mapper.SinglePlayerGameMapper;
 import com.flagfinder.mapper.SinglePlayerRoundMapper;
@@ -14,22 +20,30 @@ import com.flagfinder.service.CountryService;
 import com.flagfinder.service.GameService;
 import com.flagfinder.service.GameTimerService;
 import com.flagfinder.service.UserService;
+import com.flagfinder.service.UserStatsService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
@@ -60,16 +74,45 @@ public class GameServiceImpl implements GameService {
     private final SinglePlayerGameMapper singlePlayerGameMapper;
     private final RoundMapper roundMapper;
     private final SinglePlayerRoundMapper singlePlayerRoundMapper;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final GameBroadcastService gameBroadcastService;
     private final org.springframework.transaction.support.TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final GameEventRecorder gameEventRecorder;
+    private final GameEventLogRepository gameEventLogRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final UserStatsService userStatsService;
+    private final UserGameHistoryRepository userGameHistoryRepository;
+    private final ProjectionMapper projectionMapper;
+    private final LearningQueues learningQueues;
+    private final DailyChallenges dailyChallenges;
+    private final FlagSimilarityIndex flagSimilarityIndex;
+    private final BotPlayers botPlayers;
+    private final CountryCatalog countryCatalog;
+    private final Rematches rematches;
+    private final ExtractAuthenticatedUserService extractAuthenticatedUserService;
+
+    private final ReentrantLock[] roomStartLocks = createRoomStartLocks();
 
     private static final int TOTAL_ROUNDS = 3;
-    private static final int ROUND_DURATION_SECONDS = 12;
+    static final int ROUND_DURATION_SECONDS = 12;
+    private static final int MULTIPLE_CHOICE_OPTIONS = 4;
     private static final int TOTAL_RECENT_GAMES = 10;
     private static final String QUEUE_ROUND_STARTED = "/queue/round-started";
+    private static final String QUEUE_ROUND_ADVANCED = "/queue/round-advanced";
+    private static final String QUEUE_ROUND_ENDED = "/queue/round-ended";
+    private static final String FLAG_URL_PREFIX = "/api/v1/countries/";
+    private static final String FLAG_URL_SUFFIX = "/flag";
     private static final String QUEUE_GAME_STARTED = "/queue/game-started";
     private static final String QUEUE_GAME_ENDED = "/queue/game-ended";
     private static final String GAME_NOT_FOUND = "Game not found";
+    private static final int ROOM_START_LOCK_STRIPES = 64;
+
+    /**
+     * Room states in which a player is busy elsewhere and is left out of a rematch.
+     */
+    private static final List<RoomStatus> REMATCH_BLOCKING_STATUSES =
+            List.of(RoomStatus.WAITING_FOR_GUEST, RoomStatus.ROOM_READY_FOR_START, RoomStatus.GAME_IN_PROGRESS);
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
 
     
     /**
@@ -89,8 +132,10 @@ public class GameServiceImpl implements GameService {
      * Retrieves all completed games for the authenticated user.
      *
      * @return a list of CompletedGameDto objects representing the user's game history
+     * @deprecated loads the whole history with rounds and guesses; use {@link #getGameHistoryPage(String, int)}
      */
     @Override
+    @Deprecated
     public List<CompletedGameDto> getGamesByUser() {
         String userName = userService.getUserFromAuthentication().getGameName();
 
@@ -118,6 +163,63 @@ public class GameServiceImpl implements GameService {
         
         return new PageImpl<>(completedGameDtos, resultPage.getPageable(), resultPage.getTotalElements());
     }
+
+    /**
+     * Retrieves a page of the authenticated user's game history after a cursor.
+     * Rows come from the user_game_history projection by an index seek on (user_id, ended_at, game_id),
+     * so no games, rounds or guesses are loaded and deep pages cost the same as the first page.
+     * One extra row is read to decide whether there is a next page.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param pageSize the number of games per page, capped at 100
+     * @return the page of flat history rows and the cursor of the next page
+     * @throws ResponseStatusException if the cursor is malformed
+     */
+    @Override
+    public GameHistoryPageDto getGameHistoryPage(String cursor, int pageSize) {
+        UUID userId = userService.getUserFromAuthentication().getId();
+        int size = Math.min(Math.max(pageSize, 1), MAX_HISTORY_PAGE_SIZE);
+        Limit limit = Limit.of(size + 1);
+
+        List<UserGameHistory> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userGameHistoryRepository.findByUserIdOrderByEndedAtDescGameIdDesc(userId, limit);
+        } else {
+            String[] position = decodeHistoryCursor(cursor);
+            rows = userGameHistoryRepository.findPageAfter(userId, LocalDateTime.parse(position[0]), UUID.fromString(position[1]), limit);
+        }
+
+        GameHistoryPageDto page = new GameHistoryPageDto();
+        List<UserGameHistory> pageRows = rows.size() > size ? rows.subList(0, size) : rows;
+        page.setGames(pageRows.stream().map(projectionMapper::userGameHistoryToDto).toList());
+        if (rows.size() > size) {
+            UserGameHistory last = pageRows.get(pageRows.size() - 1);
+            page.setNextCursor(encodeHistoryCursor(last.getEndedAt(), last.getGameId()));
+        }
+        return page;
+    }
+
+    /**
+     * Encodes a history position as an opaque URL safe cursor.
+     */
+    private String encodeHistoryCursor(LocalDateTime endedAt, UUID gameId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((endedAt + "|" + gameId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a history cursor into its end time and game ID parts.
+     */
+    private String[] decodeHistoryCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            LocalDateTime.parse(position[0]);
+            UUID.fromString(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid history cursor");
+        }
+    }
     
     /**
      * Retrieves the count of games won by the authenticated user.
@@ -154,21 +256,44 @@ public class GameServiceImpl implements GameService {
     }
     
     /**
-     * Starts a new multiplayer game from a room with exactly 2 players.
+     * Starts a new multiplayer game from a room with the host and at least one joined player.
+     * Starts for the same room are serialized on a striped lock held until the transaction commits,
+     * so a second start sees the first game, while starts for different rooms run concurrently.
      *
      * @param roomId the unique UUID identifier of the room to start the game from
      * @param continents the list of continents to include in the game, or null for all continents
+     * @param difficulty the difficulty to weight country selection towards, or null for uniform selection
      * @return a GameDto object representing the started game
-     * @throws ResponseStatusException if the room is not found or doesn't have exactly 2 players
+     * @throws ResponseStatusException if the room is not found or doesn't have at least 2 players
      */
     @Override
-    @Transactional
-    public synchronized GameDto startGame(UUID roomId, List<com.flagfinder.enumeration.Continent> continents) {
+    public GameDto startGame(UUID roomId, List<com.flagfinder.enumeration.Continent> continents, Difficulty difficulty) {
+        ReentrantLock lock = roomStartLocks[Math.floorMod(roomId.hashCode(), ROOM_START_LOCK_STRIPES)];
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> startGameInTransaction(roomId, continents, difficulty));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates the game and its first round for a room.
+     * Runs inside a transaction while the caller holds the room's start lock.
+     *
+     * @param roomId the unique UUID identifier of the room to start the game from
+     * @param continents the list of continents to include in the game, or null for all continents
+     * @param difficulty the difficulty to weight country selection towards, or null for uniform selection
+     * @return a GameDto object representing the started game
+     * @throws ResponseStatusException if the room is not found or doesn't have at least 2 players
+     */
+    private GameDto startGameInTransaction(UUID roomId, List<com.flagfinder.enumeration.Continent> continents, Difficulty difficulty) {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room not found"));
         
-        if (room.getHost() == null || room.getGuest() == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Room must have exactly 2 players to start game");
+        List<User> seatedPlayers = RoomServiceImpl.getSeatedPlayers(room);
+        if (room.getHost() == null || seatedPlayers.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Room must have at least 2 players to start game");
         }
         
         Game existingGame = gameRepository.findByRoomAndStatus(room, GameStatus.IN_PROGRESS);
@@ -181,17 +306,26 @@ public class GameServiceImpl implements GameService {
             room = roomRepository.save(room);
         }
         
+        List<User> players = new ArrayList<>();
+        players.add(room.getHost());
+        players.addAll(seatedPlayers);
+
         Game game = new Game();
         game.setRoom(room);
-        game.setUsers(Arrays.asList(room.getHost(), room.getGuest()));
+        game.setUsers(players);
         game.setHostScore(0);
         game.setGuestScore(0);
+        for (User player : players) {
+            game.getScores().put(player.getId(), 0);
+        }
         game.setStatus(GameStatus.IN_PROGRESS);
         game.setStartedAt(LocalDateTime.now());
         game.setContinents(continents != null ? continents : new ArrayList<>());
+        game.setDifficulty(difficulty);
         game.setTotalRounds(room.getNumberOfRounds());
         
         Game savedGame = gameRepository.save(game);
+        gameEventRecorder.gameStarted(savedGame.getId(), players);
         
         room.setStatus(com.flagfinder.enumeration.RoomStatus.GAME_IN_PROGRESS);
         roomRepository.save(room);
@@ -201,25 +335,118 @@ public class GameServiceImpl implements GameService {
         GameDto gameDto = gameMapper.gameToGameDto(savedGame);
 
         populateCurrentRoundData(gameDto, savedGame);
+
+        gameBroadcastService.broadcast(playerNames(savedGame), QUEUE_GAME_STARTED, gameDto);
         
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    room.getHost().getGameName(),
-                    QUEUE_GAME_STARTED,
-                    gameDto
-            );
-        } catch (Exception e) {
+        return gameDto;
+    }
+
+    /**
+     * Starts a rematch of a finished game in the same room, with the same continents, difficulty and number of rounds.
+     * The settings and seat order come from the finished game's rematch context. Players who have moved on to
+     * another room since are not seated again, and the room and players are loaded by reference, so the new game's
+     * rows are written in one flush. Every player gets {@code game-started} as with a normal start. The first player to ask
+     * starts the rematch; asking again returns the game it started.
+     *
+     * @param gameId the unique UUID identifier of the finished game
+     * @return a GameDto object representing the started game
+     * @throws ResponseStatusException if the rematch is no longer available, the user did not play in the game
+     *         or has moved on to another room, fewer than two of its players are left,
+     *         or another player's request is still starting it
+     */
+    @Override
+    public GameDto rematch(UUID gameId) {
+        String email = extractAuthenticatedUserService.getAuthenticatedUser();
+        Rematches.Context context = rematches.find(gameId, email);
+        UUID startedGameId = context.rematchGameId();
+        if (startedGameId != null) {
+            return getGameState(startedGameId);
         }
-        
+        if (!context.claim()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Rematch is already starting");
+        }
+
+        ReentrantLock lock = roomStartLocks[Math.floorMod(context.roomId.hashCode(), ROOM_START_LOCK_STRIPES)];
+        lock.lock();
         try {
-            messagingTemplate.convertAndSendToUser(
-                    room.getGuest().getGameName(),
-                    QUEUE_GAME_STARTED,
-                    gameDto
-            );
-        } catch (Exception e) {
+            UUID requesterId = context.playerIdOf(email);
+            GameDto gameDto = transactionTemplate.execute(status -> startRematchInTransaction(context, requesterId));
+            context.started(gameDto.getId());
+            return gameDto;
+        } catch (RuntimeException e) {
+            context.release();
+            throw e;
+        } finally {
+            lock.unlock();
         }
-        
+    }
+
+    /**
+     * Creates the rematch game and its first round from a rematch context, seating the players of the finished
+     * game who have not moved on to another open or running room. A finished room can't be left, so whether a
+     * player is still available is decided by the rooms they are in now rather than by the finished room's seats.
+     * Runs inside a transaction while the caller holds the room's start lock.
+     *
+     * @param context the rematch context of the finished game
+     * @param requesterId the user ID of the player asking for the rematch
+     * @return a GameDto object representing the started game
+     * @throws ResponseStatusException if the room is gone, the requesting player has moved on to another room,
+     *         fewer than two players are left, or another game is already running in the room
+     */
+    private GameDto startRematchInTransaction(Rematches.Context context, UUID requesterId) {
+        Room room = roomRepository.getReferenceById(context.roomId);
+        if (gameRepository.findByRoomAndStatus(room, GameStatus.IN_PROGRESS) != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A game is already in progress in this room");
+        }
+
+        Set<UUID> movedOn = new HashSet<>(roomRepository.findUsersInOtherRooms(context.roomId, context.playerIds, REMATCH_BLOCKING_STATUSES));
+        if (movedOn.contains(requesterId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You have joined another room since the game ended");
+        }
+        List<UUID> playerIds = new ArrayList<>();
+        List<String> playerNames = new ArrayList<>();
+        for (int i = 0; i < context.playerIds.size(); i++) {
+            if (!movedOn.contains(context.playerIds.get(i))) {
+                playerIds.add(context.playerIds.get(i));
+                playerNames.add(context.playerNames.get(i));
+            }
+        }
+        if (playerIds.size() < 2) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Not enough players are left for a rematch");
+        }
+        if (roomRepository.updateStatus(context.roomId, RoomStatus.GAME_IN_PROGRESS) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Room no longer exists");
+        }
+
+        List<User> players = new ArrayList<>();
+        for (UUID playerId : playerIds) {
+            players.add(userRepository.getReferenceById(playerId));
+        }
+
+        Game game = new Game();
+        game.setRoom(room);
+        game.setUsers(players);
+        game.setHostScore(0);
+        game.setGuestScore(0);
+        for (UUID playerId : playerIds) {
+            game.getScores().put(playerId, 0);
+        }
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setStartedAt(LocalDateTime.now());
+        game.setContinents(new ArrayList<>(context.continents));
+        game.setDifficulty(context.difficulty);
+        game.setTotalRounds(context.totalRounds);
+
+        Game savedGame = gameRepository.save(game);
+        gameEventRecorder.gameStarted(savedGame.getId(), playerIds, playerNames);
+
+        startNewRound(savedGame, 1, context.continents.isEmpty() ? null : context.continents);
+
+        GameDto gameDto = gameMapper.gameToGameDto(savedGame);
+        populateCurrentRoundData(gameDto, savedGame);
+
+        gameBroadcastService.broadcast(playerNames, QUEUE_GAME_STARTED, gameDto);
+
         return gameDto;
     }
 
@@ -228,11 +455,15 @@ public class GameServiceImpl implements GameService {
      *
      * @param roomId the unique UUID identifier of the single player room to start the game from
      * @param continents the list of continents to include in the game, or null for all continents
+     * @param difficulty the difficulty to weight country selection towards, or null for uniform selection
+     * @param mode how countries are chosen, classic when null; practice games pick from the player's learning queue,
+     *             and daily challenge games play today's shared sequence and ignore the continents and difficulty
      * @return a SinglePlayerGameDto object representing the started single player game
-     * @throws ResponseStatusException if the room is not found or doesn't have a host
+     * @throws ResponseStatusException if the room is not found or doesn't have a host,
+     *                                 or the host already played today's daily challenge
      */
     @Override
-    public SinglePlayerGameDto startSinglePlayerGame(UUID roomId, List<Continent> continents) {
+    public SinglePlayerGameDto startSinglePlayerGame(UUID roomId, List<Continent> continents, Difficulty difficulty, SinglePlayerMode mode) {
         SinglePlayerRoom singlePlayerRoom = singlePlayerRoomRepository.findById(roomId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room not found"));
 
@@ -252,27 +483,29 @@ public class GameServiceImpl implements GameService {
         singlePlayerGame.setStatus(GameStatus.IN_PROGRESS);
         singlePlayerGame.setStartedAt(LocalDateTime.now());
         singlePlayerGame.setContinents(continents != null ? continents : new ArrayList<>());
+        singlePlayerGame.setDifficulty(difficulty);
+        singlePlayerGame.setMode(mode != null ? mode : SinglePlayerMode.CLASSIC);
         singlePlayerGame.setTotalRounds(singlePlayerRoom.getNumberOfRounds());
+        if (singlePlayerGame.getMode() == SinglePlayerMode.DAILY_CHALLENGE) {
+            LocalDate challengeDate = dailyChallenges.begin(singlePlayerRoom.getHost().getId());
+            singlePlayerGame.setChallengeDate(challengeDate);
+            singlePlayerGame.setContinents(new ArrayList<>());
+            singlePlayerGame.setDifficulty(null);
+            singlePlayerGame.setTotalRounds(dailyChallenges.rounds(challengeDate));
+        }
 
         singlePlayerGameRepository.save(singlePlayerGame);
 
         singlePlayerRoom.setStatus(com.flagfinder.enumeration.RoomStatus.GAME_IN_PROGRESS);
         singlePlayerRoomRepository.save(singlePlayerRoom);
 
-        startNewSinglePlayerRound(singlePlayerGame, 1, continents);
+        startNewSinglePlayerRound(singlePlayerGame, 1, singlePlayerGame.getContinents());
 
         SinglePlayerGameDto singlePlayerGameDto = singlePlayerGameMapper.singlePlayerGameToSinglePlayerGameDto(singlePlayerGame);
 
         populateCurrentSinglePlayerRoundData(singlePlayerGameDto, singlePlayerGame);
 
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    singlePlayerRoom.getHost().getGameName(),
-                    QUEUE_GAME_STARTED,
-                    singlePlayerGameDto
-            );
-        } catch (Exception e) {
-        }
+        gameBroadcastService.send(singlePlayerRoom.getHost().getGameName(), QUEUE_GAME_STARTED, singlePlayerGameDto);
 
         return singlePlayerGameDto;
     }
@@ -282,7 +515,8 @@ public class GameServiceImpl implements GameService {
      *
      * @param guessRequest the DTO containing the game ID, round number, and guessed country name
      * @return a GuessResponseDto containing the game state and guess result
-     * @throws ResponseStatusException if the game is not found, not in progress, or user already guessed in this round
+     * @throws ResponseStatusException if the game is not found, not in progress, the user is not a player of it,
+     *         or the user already guessed in this round
      */
     @Override
     @Transactional
@@ -314,7 +548,14 @@ public class GameServiceImpl implements GameService {
         String currentUserName = SecurityContextHolder.getContext().getAuthentication().getName();
         User currentUser = userRepository.findByEmail(currentUserName)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        
+
+        boolean isPlayer = game.getUsers().stream()
+                .anyMatch(player -> player.getId().equals(currentUser.getId()));
+
+        if (!isPlayer) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only players of the game can guess");
+        }
+
         Round currentRound = game.getRounds().stream()
                 .filter(round -> round.getRoundNumber().equals(guessRequest.getRoundNumber()))
                 .findFirst()
@@ -330,28 +571,7 @@ public class GameServiceImpl implements GameService {
         Country guessedCountry = countryRepository.findByNameOfCountyIgnoreCase(guessRequest.getGuessedCountryName())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid country name: " + guessRequest.getGuessedCountryName()));
         
-        Guess guess = new Guess();
-        guess.setUser(currentUser);
-        guess.setRound(currentRound);
-        guess.setGuessedCountry(guessedCountry);
-        guess.setCorrect(guessedCountry.equals(currentRound.getCountry()));
-        
-        guessRepository.save(guess);
-        
-        if (guess.isCorrect()) {
-            updateScore(game, currentUser);
-        }
-
-        
-        if (currentRound.getGuesses().size() >= 2 || shouldEndRound(currentRound)) {
-            Hibernate.initialize(game.getUsers());
-            Hibernate.initialize(game.getRounds());
-            if (game.getRoom() != null) {
-                Hibernate.initialize(game.getRoom());
-            }
-            endCurrentRound(game, currentRound.getRoundNumber());
-        } else {
-        }
+        Guess guess = applyGuess(game, currentRound, currentUser, guessedCountry);
 
         GameDto gameDto = gameMapper.gameToGameDto(gameRepository.save(game));
         populateCurrentRoundData(gameDto, game);
@@ -371,6 +591,114 @@ public class GameServiceImpl implements GameService {
         return response;
     }
     
+    /**
+     * Records a player's guess in a multiplayer round, scores it and ends the round once every player has guessed.
+     * Shared by guesses submitted by players and guesses played by the bot.
+     *
+     * @param game the game the round belongs to
+     * @param round the round being guessed
+     * @param user the player guessing
+     * @param guessedCountry the country the player named
+     * @return the saved guess
+     */
+    private Guess applyGuess(Game game, Round round, User user, Country guessedCountry) {
+        Guess guess = new Guess();
+        guess.setUser(user);
+        guess.setRound(round);
+        guess.setGuessedCountry(guessedCountry);
+        guess.setCorrect(guessedCountry.equals(round.getCountry()));
+        
+        guessRepository.save(guess);
+        round.getGuesses().add(guess);
+        gameEventRecorder.guessSubmitted(game.getId(), user.getId(), round.getRoundNumber(),
+                guessedCountry.getId(), guess.isCorrect());
+        
+        if (guess.isCorrect()) {
+            updateScore(game, user);
+        }
+
+        if (allPlayersGuessed(game, round)) {
+            Hibernate.initialize(game.getUsers());
+            Hibernate.initialize(game.getRounds());
+            if (game.getRoom() != null) {
+                Hibernate.initialize(game.getRoom());
+            }
+            endCurrentRound(game, round.getRoundNumber());
+        }
+        return guess;
+    }
+
+    /**
+     * Plays the bot's guess for a round, in its own transaction.
+     * Does nothing if the game has ended, the round is over or the bot has already guessed.
+     * A wrong answer names a flag that looks like the right one, the way a person would get it wrong.
+     *
+     * @param gameId the unique UUID identifier of the game
+     * @param roundNumber the number of the round the guess was planned for
+     * @param botId the user ID of the bot
+     * @param correct whether the bot recognises the flag
+     */
+    private void playBotGuess(UUID gameId, int roundNumber, UUID botId, boolean correct) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Game game = gameRepository.findByIdWithRelations(gameId).orElse(null);
+            if (game == null || game.getStatus() != GameStatus.IN_PROGRESS) {
+                return;
+            }
+            Round round = game.getRounds().stream()
+                    .max(Comparator.comparing(Round::getRoundNumber))
+                    .filter(latest -> latest.getRoundNumber() == roundNumber)
+                    .orElse(null);
+            if (round == null || round.getGuesses().stream().anyMatch(guess -> guess.getUser().getId().equals(botId))) {
+                return;
+            }
+            User bot = userRepository.findOneById(botId).orElse(null);
+            if (bot == null) {
+                return;
+            }
+
+            Country guessedCountry = correct ? round.getCountry() : wrongAnswerFor(round.getCountry());
+            applyGuess(game, round, bot, guessedCountry);
+            gameRepository.save(game);
+        });
+    }
+
+    /**
+     * Picks a plausible wrong answer for a flag: a look-alike flag if one is indexed, otherwise a random country.
+     *
+     * @param country the country shown in the round
+     * @return a different country
+     */
+    private Country wrongAnswerFor(Country country) {
+        UUID lookAlikeId = flagSimilarityIndex.lookAlike(country.getId(), ThreadLocalRandom.current());
+        if (lookAlikeId != null) {
+            Optional<Country> lookAlike = countryRepository.findById(lookAlikeId);
+            if (lookAlike.isPresent()) {
+                return lookAlike.get();
+            }
+        }
+        return countryService.getRandomCountryFromAnyContinentsExcluding(null, List.of(country.getId()), null);
+    }
+
+    /**
+     * Schedules the guesses of any bot seated in the game for a round that has just started.
+     * The guesses run on the round timer scheduler, so bot games need no threads of their own.
+     *
+     * @param game the game the round belongs to
+     * @param roundNumber the number of the round
+     * @param country the country shown in the round
+     */
+    private void scheduleBotGuesses(Game game, int roundNumber, Country country) {
+        for (User player : game.getUsers()) {
+            if (!botPlayers.isBot(player.getId())) {
+                continue;
+            }
+            UUID botId = player.getId();
+            BotPlayers.Plan plan = botPlayers.plan(country.getId(), ROUND_DURATION_SECONDS * 1000L);
+            gameTimerService.scheduleRoundTask(game.getId(), roundNumber, "bot-" + botId, plan.delayMillis(),
+                    () -> playBotGuess(game.getId(), roundNumber, botId, plan.correct()));
+        }
+    }
+
     /**
      * Retrieves the current state of a game with all related data.
      *
@@ -418,11 +746,7 @@ public class GameServiceImpl implements GameService {
         game.setStatus(GameStatus.COMPLETED);
         game.setEndedAt(LocalDateTime.now());
 
-        if (game.getHostScore() > game.getGuestScore()) {
-            game.setWinnerUserName(game.getUsers().get(0).getGameName());
-        } else if (game.getGuestScore() > game.getHostScore()) {
-            game.setWinnerUserName(game.getUsers().get(1).getGameName());
-        }
+        game.setWinnerUserName(determineWinner(game));
 
         Room room = game.getRoom();
         if (room != null) {
@@ -430,34 +754,67 @@ public class GameServiceImpl implements GameService {
             roomRepository.save(room);
         }
         gameTimerService.cancelGameTimers(gameId);
+        rematches.remember(game);
+        gameEventRecorder.gameEnded(gameId, game.getUsers().stream()
+                .filter(user -> user.getGameName().equals(game.getWinnerUserName()))
+                .map(User::getId)
+                .findFirst()
+                .orElse(null));
         
         GameDto gameDto = gameMapper.gameToGameDto(gameRepository.save(game));
         populateCurrentRoundData(gameDto, game);
 
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    room.getHost().getGameName(),
-                    QUEUE_GAME_ENDED,
-                    gameDto
-            );
-        } catch (Exception e) {
-        }
-        
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    room.getGuest().getGameName(),
-                    QUEUE_GAME_ENDED,
-                    gameDto
-            );
-        } catch (Exception e) {
-        }
+        GameCompletedPayload completedPayload = completedPayload(game);
+        userStatsService.recordMultiplayerGame(completedPayload);
+        outboxPublisher.publish(GameCompletedPayload.TYPE, gameId, completedPayload);
+        applicationEventPublisher.publishEvent(completedPayload);
+
+        gameBroadcastService.broadcast(playerNames(game), QUEUE_GAME_ENDED, gameDto);
+        applicationEventPublisher.publishEvent(new GameEndedEvent(
+                gameId,
+                room != null ? room.getId() : null,
+                game.getWinnerUserName(),
+                playerNames(game),
+                gameDto.getScores()
+        ));
         
         return gameDto;
     }
     
+    /**
+     * Gets the replay of a finished multiplayer game, decoded from its event log.
+     *
+     * @param gameId the UUID of the game
+     * @return the replay DTO with the players and events of the game
+     * @throws ResponseStatusException if the game has no event log
+     */
+    @Override
+    public GameReplayDto getGameReplay(UUID gameId) {
+        return GameEventLogCodec.decode(getGameEventLog(gameId));
+    }
+
+    /**
+     * Gets the raw packed event log of a finished multiplayer game.
+     *
+     * @param gameId the UUID of the game
+     * @return the encoded event log
+     * @throws ResponseStatusException if the game has no event log
+     */
+    @Override
+    public byte[] getGameEventLog(UUID gameId) {
+        return gameEventLogRepository.findByGameId(gameId)
+                .map(GameEventLog::getEvents)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Game replay not found"));
+    }
+
     /**
      * Starts a new round for a multiplayer game.
-     * Selects a random country, creates the round, starts timer, and notifies players.
+     * The round's country was normally chosen and announced with the previous round; only the first round of a game
+     * picks it now. The country of the following round is chosen straight away, so players can load its flag
+     * while this one is played. The first round is announced with the full game state on {@code /queue/round-started};
+     * later rounds only need a small {@link RoundStartedDto} on {@code /queue/round-advanced}, since their flag is
+     * already known to the players. Each destination always carries the same payload type.
+     * The round is added to the game's rounds, so a response built from the game afterwards reports the new round.
      *
      * @param game the Game object to start a new round for
      * @param roundNumber the number of the round to start
@@ -465,25 +822,49 @@ public class GameServiceImpl implements GameService {
      */
     private void startNewRound(Game game, int roundNumber, List<com.flagfinder.enumeration.Continent> continents) {
 
-        List<UUID> usedCountryIds = game.getRounds().stream()
+        List<UUID> usedCountryIds = new ArrayList<>(game.getRounds().stream()
                 .map(round -> round.getCountry().getId())
-                .toList();
-        
-        Country randomCountry;
-        if (continents != null && !continents.isEmpty()) {
-            randomCountry = countryService.getRandomCountryFromAnyContinentsExcluding(continents, usedCountryIds);
+                .toList());
+        List<com.flagfinder.enumeration.Continent> selection = continents != null && !continents.isEmpty() ? continents : null;
+
+        UUID announcedCountryId = game.getNextCountryId();
+        Country country;
+        if (announcedCountryId != null && !usedCountryIds.contains(announcedCountryId)) {
+            country = countryRepository.getReferenceById(announcedCountryId);
         } else {
-            randomCountry = countryService.getRandomCountryFromAnyContinentsExcluding(null, usedCountryIds);
+            announcedCountryId = null;
+            country = countryService.getRandomCountryFromAnyContinentsExcluding(selection, usedCountryIds, game.getDifficulty());
         }
+        usedCountryIds.add(country.getId());
+
+        UUID nextCountryId = roundNumber < game.getTotalRounds()
+                ? countryCatalog.pickRandom(selection, usedCountryIds, game.getDifficulty())
+                : null;
+        game.setNextCountryId(nextCountryId);
 
         Round round = new Round();
         round.setGame(game);
-        round.setCountry(randomCountry);
+        round.setCountry(country);
         round.setRoundNumber(roundNumber);
         
         gameTimerService.cancelGameTimers(game.getId());
         roundRepository.save(round);
+        game.getRounds().add(round);
+        gameRepository.save(game);
+        gameEventRecorder.roundStarted(game.getId(), roundNumber, country.getId());
         gameTimerService.startRoundTimer(game.getId(), roundNumber, ROUND_DURATION_SECONDS);
+        scheduleBotGuesses(game, roundNumber, country);
+
+        if (announcedCountryId != null) {
+            RoundStartedDto roundStarted = new RoundStartedDto();
+            roundStarted.setGameId(game.getId());
+            roundStarted.setRoundNumber(roundNumber);
+            roundStarted.setFlagUrl(flagUrl(announcedCountryId));
+            roundStarted.setNextFlagUrl(flagUrl(nextCountryId));
+            roundStarted.setTimeRemaining((long) ROUND_DURATION_SECONDS);
+            gameBroadcastService.broadcast(playerNames(game), QUEUE_ROUND_ADVANCED, roundStarted);
+            return;
+        }
         
         Game refreshedGame = gameRepository.findByIdWithRelations(game.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, GAME_NOT_FOUND));
@@ -496,25 +877,43 @@ public class GameServiceImpl implements GameService {
         
         GameDto gameDto = gameMapper.gameToGameDto(refreshedGame);
         populateCurrentRoundData(gameDto, refreshedGame);
-        Room room = refreshedGame.getRoom();
 
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    room.getHost().getGameName(),
-                    QUEUE_ROUND_STARTED,
-                    gameDto
-            );
-        } catch (Exception e) {
-        }
-        
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    room.getGuest().getGameName(),
-                    QUEUE_ROUND_STARTED,
-                    gameDto
-            );
-        } catch (Exception e) {
+        gameBroadcastService.broadcast(playerNames(refreshedGame), QUEUE_ROUND_STARTED, gameDto);
+    }
+
+    /**
+     * Announces the result of a round together with the flag of the next round, so players can load it
+     * before the round starts.
+     *
+     * @param game the game the round belongs to, with its users and rounds loaded
+     * @param roundNumber the number of the round that ended
+     */
+    private void broadcastRoundEnded(Game game, int roundNumber) {
+        RoundEndedDto roundEnded = new RoundEndedDto();
+        roundEnded.setGameId(game.getId());
+        roundEnded.setRoundNumber(roundNumber);
+        game.getRounds().stream()
+                .filter(round -> round.getRoundNumber() == roundNumber)
+                .findFirst()
+                .ifPresent(round -> roundEnded.setCorrectCountryName(round.getCountry().getNameOfCounty()));
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        for (User player : game.getUsers()) {
+            scores.put(player.getGameName(), game.getScores().getOrDefault(player.getId(), 0));
         }
+        roundEnded.setScores(scores);
+        roundEnded.setNextFlagUrl(roundNumber < game.getTotalRounds() ? flagUrl(game.getNextCountryId()) : null);
+
+        gameBroadcastService.broadcast(playerNames(game), QUEUE_ROUND_ENDED, roundEnded);
+    }
+
+    /**
+     * Gets the URL a country's flag is served from.
+     *
+     * @param countryId the ID of the country, or null
+     * @return the flag URL, or null if no country is given
+     */
+    private static String flagUrl(UUID countryId) {
+        return countryId != null ? FLAG_URL_PREFIX + countryId + FLAG_URL_SUFFIX : null;
     }
 
     /**
@@ -532,11 +931,22 @@ public class GameServiceImpl implements GameService {
                 .map(round -> round.getCountry().getId())
                 .toList();
 
-        Country randomCountry;
-        if (continents != null && !continents.isEmpty()) {
-            randomCountry = countryService.getRandomCountryFromAnyContinentsExcluding(continents, usedCountryIds);
-        } else {
-            randomCountry = countryService.getRandomCountryFromAnyContinentsExcluding(null, usedCountryIds);
+        Country randomCountry = null;
+        if (singlePlayerGame.getMode() == SinglePlayerMode.DAILY_CHALLENGE && singlePlayerGame.getChallengeDate() != null) {
+            UUID challengeCountryId = dailyChallenges.countryAt(singlePlayerGame.getChallengeDate(), roundNumber);
+            if (challengeCountryId != null) {
+                randomCountry = countryService.getCountryById(challengeCountryId);
+            }
+        } else if (singlePlayerGame.getMode() == SinglePlayerMode.PRACTICE && singlePlayerGame.getUser() != null) {
+            UUID practicedCountryId = learningQueues.next(singlePlayerGame.getUser().getId(), continents, usedCountryIds);
+            if (practicedCountryId != null) {
+                randomCountry = countryService.getCountryById(practicedCountryId);
+            }
+        }
+        if (randomCountry == null && continents != null && !continents.isEmpty()) {
+            randomCountry = countryService.getRandomCountryFromAnyContinentsExcluding(continents, usedCountryIds, singlePlayerGame.getDifficulty());
+        } else if (randomCountry == null) {
+            randomCountry = countryService.getRandomCountryFromAnyContinentsExcluding(null, usedCountryIds, singlePlayerGame.getDifficulty());
         }
 
         SinglePlayerRound singlePlayerRound = new SinglePlayerRound();
@@ -546,6 +956,7 @@ public class GameServiceImpl implements GameService {
 
         gameTimerService.cancelGameTimers(singlePlayerGame.getId());
         singlePlayerRoundRepository.save(singlePlayerRound);
+        singlePlayerGame.getRounds().add(singlePlayerRound);
         gameTimerService.startRoundTimer(singlePlayerGame.getId(), roundNumber, ROUND_DURATION_SECONDS);
 
         SinglePlayerGame refreshedGame = singlePlayerGameRepository.findByIdWithRelations(singlePlayerGame.getId())
@@ -561,18 +972,14 @@ public class GameServiceImpl implements GameService {
         populateCurrentSinglePlayerRoundData(singlePlayerGameDto, refreshedGame);
         SinglePlayerRoom singlePlayerRoom = refreshedGame.getSinglePlayerRoom();
 
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    singlePlayerRoom.getHost().getGameName(),
-                    QUEUE_ROUND_STARTED,
-                    singlePlayerGameDto
-            );
-        } catch (Exception e) {
+        if (singlePlayerRoom != null) {
+            gameBroadcastService.send(singlePlayerRoom.getHost().getGameName(), QUEUE_ROUND_STARTED, singlePlayerGameDto);
         }
     }
     
     private void endCurrentRound(Game game, int roundNumber) {
-        
+        broadcastRoundEnded(game, roundNumber);
+
         if (roundNumber < game.getTotalRounds()) {
             startNewRound(game, roundNumber + 1, game.getContinents());
         } else {
@@ -594,21 +1001,87 @@ public class GameServiceImpl implements GameService {
                 return;
             }
 
-            SinglePlayerGame singlePlayerGame = singlePlayerGameRepository.findByIdWithRelations(gameId).orElse(null);
-            if (singlePlayerGame != null && singlePlayerGame.getStatus() == GameStatus.IN_PROGRESS) {
-                Hibernate.initialize(singlePlayerGame.getUser());
-                Hibernate.initialize(singlePlayerGame.getRounds());
-                if (singlePlayerGame.getSinglePlayerRoom() != null) {
-                    Hibernate.initialize(singlePlayerGame.getSinglePlayerRoom());
+            handleSinglePlayerRoundTimeout(gameId, roundNumber);
+        } catch (Exception e) {
+        }
+    }
+
+    /**
+     * Ends every round that expired in the same timer tick, in one transaction.
+     * The multiplayer games are loaded with a single query and their changes are flushed together at commit;
+     * single player games are handled one by one as with a single timeout. A multiplayer round is only ended
+     * if it is still the game's current round. The statistics rows of every player whose game ends here are locked
+     * up front in user ID order, since locking them game by game could cross the order of another batch.
+     *
+     * @param roundsByGame the expired round number of every affected game
+     */
+    @Transactional
+    public void handleRoundTimeouts(Map<UUID, Integer> roundsByGame) {
+        Set<UUID> remaining = new LinkedHashSet<>(roundsByGame.keySet());
+        List<Game> expiredGames = new ArrayList<>();
+        Map<UUID, String> endingPlayers = new HashMap<>();
+        for (Game game : gameRepository.findAllByIdWithRelations(roundsByGame.keySet())) {
+            remaining.remove(game.getId());
+            int roundNumber = roundsByGame.get(game.getId());
+            boolean current = game.getRounds().stream()
+                    .mapToInt(Round::getRoundNumber)
+                    .max()
+                    .orElse(0) == roundNumber;
+            if (game.getStatus() == GameStatus.IN_PROGRESS && current) {
+                expiredGames.add(game);
+                if (roundNumber >= game.getTotalRounds()) {
+                    game.getUsers().forEach(player -> endingPlayers.put(player.getId(), player.getGameName()));
                 }
-                endCurrentSinglePlayerRound(singlePlayerGame, roundNumber);
             }
-        } catch (Exception e) {
+        }
+        List<SinglePlayerGame> singlePlayerGames = new ArrayList<>();
+        for (UUID gameId : remaining) {
+            singlePlayerGameRepository.findByIdWithRelations(gameId).ifPresent(singlePlayerGame -> {
+                singlePlayerGames.add(singlePlayerGame);
+                User user = singlePlayerGame.getUser();
+                if (user != null && singlePlayerGame.getStatus() == GameStatus.IN_PROGRESS
+                        && roundsByGame.get(gameId) >= singlePlayerGame.getTotalRounds()) {
+                    endingPlayers.put(user.getId(), user.getGameName());
+                }
+            });
+        }
+
+        if (!endingPlayers.isEmpty()) {
+            userStatsService.lockStats(endingPlayers);
+        }
+        for (Game game : expiredGames) {
+            endCurrentRound(game, roundsByGame.get(game.getId()));
+        }
+        for (SinglePlayerGame singlePlayerGame : singlePlayerGames) {
+            handleSinglePlayerRoundTimeout(singlePlayerGame, roundsByGame.get(singlePlayerGame.getId()));
+        }
+    }
+
+    private void handleSinglePlayerRoundTimeout(UUID gameId, Integer roundNumber) {
+        singlePlayerGameRepository.findByIdWithRelations(gameId)
+                .ifPresent(singlePlayerGame -> handleSinglePlayerRoundTimeout(singlePlayerGame, roundNumber));
+    }
+
+    private void handleSinglePlayerRoundTimeout(SinglePlayerGame singlePlayerGame, Integer roundNumber) {
+        if (singlePlayerGame.getStatus() == GameStatus.IN_PROGRESS) {
+            Hibernate.initialize(singlePlayerGame.getUser());
+            Hibernate.initialize(singlePlayerGame.getRounds());
+            if (singlePlayerGame.getSinglePlayerRoom() != null) {
+                Hibernate.initialize(singlePlayerGame.getSinglePlayerRoom());
+            }
+            endCurrentSinglePlayerRound(singlePlayerGame, roundNumber);
         }
     }
     
     private void endCurrentSinglePlayerRound(SinglePlayerGame singlePlayerGame, int roundNumber) {
-        
+        if (singlePlayerGame.getMode() == SinglePlayerMode.PRACTICE && singlePlayerGame.getUser() != null) {
+            singlePlayerGame.getRounds().stream()
+                    .filter(round -> round.getRoundNumber() == roundNumber && round.getGuess() == null && round.getCountry() != null)
+                    .findFirst()
+                    .ifPresent(round -> learningQueues.record(singlePlayerGame.getUser().getId(), round.getCountry().getId(),
+                            false, ROUND_DURATION_SECONDS * 1000L));
+        }
+
         if (roundNumber < singlePlayerGame.getTotalRounds()) {
             startNewSinglePlayerRound(singlePlayerGame, roundNumber + 1, singlePlayerGame.getContinents());
         } else {
@@ -638,29 +1111,142 @@ public class GameServiceImpl implements GameService {
         gameTimerService.cancelGameTimers(gameId);
         
         singlePlayerGameRepository.save(singlePlayerGame);
+        userStatsService.recordSinglePlayerGame(singlePlayerGame);
+        if (singlePlayerGame.getMode() == SinglePlayerMode.DAILY_CHALLENGE) {
+            dailyChallenges.record(singlePlayerGame);
+        }
         
         SinglePlayerGameDto singlePlayerGameDto = singlePlayerGameMapper.singlePlayerGameToSinglePlayerGameDto(singlePlayerGame);
         
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    singlePlayerRoom.getHost().getGameName(),
-                    QUEUE_GAME_ENDED,
-                    singlePlayerGameDto
-            );
-        } catch (Exception e) {
+        if (singlePlayerRoom != null) {
+            gameBroadcastService.send(singlePlayerRoom.getHost().getGameName(), QUEUE_GAME_ENDED, singlePlayerGameDto);
         }
     }
 
     private void updateScore(Game game, User user) {
+        int score = game.getScores().merge(user.getId(), 1, Integer::sum);
+        gameEventRecorder.scoreChanged(game.getId(), user.getId(), score);
+
         if (game.getUsers().get(0).equals(user)) {
             game.setHostScore(game.getHostScore() + 1);
-        } else {
+        } else if (game.getUsers().size() > 1 && game.getUsers().get(1).equals(user)) {
             game.setGuestScore(game.getGuestScore() + 1);
         }
     }
 
-    private boolean shouldEndRound(Round round) {
-        return round.getGuesses().size() >= 2;
+    /**
+     * Checks whether every player of the game has submitted a guess for the round.
+     *
+     * @param game the game the round belongs to
+     * @param round the round to check
+     * @return true if the round can end before its timer fires
+     */
+    private boolean allPlayersGuessed(Game game, Round round) {
+        return round.getGuesses().size() >= game.getUsers().size();
+    }
+
+    /**
+     * Determines the winner as the single player with the highest score.
+     * Returns null for a draw, i.e. when several players share the highest score.
+     * Games started before per-player scores are decided on the host and guest columns.
+     *
+     * @param game the game to decide
+     * @return the winner's game name, or null for a draw
+     */
+    private String determineWinner(Game game) {
+        if (game.getScores().isEmpty()) {
+            if (game.getHostScore() > game.getGuestScore()) {
+                return game.getUsers().get(0).getGameName();
+            } else if (game.getGuestScore() > game.getHostScore()) {
+                return game.getUsers().get(1).getGameName();
+            }
+            return null;
+        }
+
+        String winner = null;
+        int bestScore = Integer.MIN_VALUE;
+        for (User user : game.getUsers()) {
+            int score = game.getScores().getOrDefault(user.getId(), 0);
+            if (score > bestScore) {
+                bestScore = score;
+                winner = user.getGameName();
+            } else if (score == bestScore) {
+                winner = null;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Builds the outbox payload of a completed game from its players, rounds and guesses.
+     * Response times are measured from the round's creation to the guess's creation.
+     *
+     * @param game the completed game with its users and rounds loaded
+     * @return the payload for the projection builders
+     */
+    static GameCompletedPayload completedPayload(Game game) {
+        GameCompletedPayload payload = new GameCompletedPayload();
+        payload.setGameId(game.getId());
+        payload.setStartedAt(game.getStartedAt());
+        payload.setEndedAt(game.getEndedAt());
+        payload.setWinnerUserName(game.getWinnerUserName());
+        payload.setContinents(game.getContinents().stream().map(Enum::name).toList());
+
+        for (User user : game.getUsers()) {
+            GameCompletedPayload.PlayerResult player = new GameCompletedPayload.PlayerResult();
+            player.setUserId(user.getId());
+            player.setGameName(user.getGameName());
+            player.setScore(game.getScores().getOrDefault(user.getId(), 0));
+            payload.getPlayers().add(player);
+        }
+
+        game.getRounds().stream()
+                .sorted(Comparator.comparing(Round::getRoundNumber))
+                .forEach(round -> {
+                    GameCompletedPayload.RoundResult roundResult = new GameCompletedPayload.RoundResult();
+                    roundResult.setRoundNumber(round.getRoundNumber());
+                    if (round.getCountry() != null) {
+                        roundResult.setCountryId(round.getCountry().getId());
+                        roundResult.setCountryName(round.getCountry().getNameOfCounty());
+                    }
+                    for (Guess guess : round.getGuesses()) {
+                        GameCompletedPayload.GuessResult guessResult = new GameCompletedPayload.GuessResult();
+                        guessResult.setUserId(guess.getUser().getId());
+                        guessResult.setGuessedCountryId(guess.getGuessedCountry() != null ? guess.getGuessedCountry().getId() : null);
+                        guessResult.setCorrect(guess.isCorrect());
+                        if (round.getCreatedAt() != null && guess.getCreatedAt() != null) {
+                            guessResult.setResponseMillis(Math.max(0, guess.getCreatedAt().toEpochMilli() - round.getCreatedAt().toEpochMilli()));
+                        }
+                        roundResult.getGuesses().add(guessResult);
+                    }
+                    payload.getRounds().add(roundResult);
+                });
+        return payload;
+    }
+
+    /**
+     * Collects the game names of all players in a game.
+     *
+     * @param game the game whose players are collected
+     * @return list of player game names
+     */
+    private List<String> playerNames(Game game) {
+        return game.getUsers().stream()
+                .map(User::getGameName)
+                .toList();
+    }
+
+    /**
+     * Creates the striped locks that serialize game starts per room.
+     *
+     * @return the lock stripes
+     */
+    private static ReentrantLock[] createRoomStartLocks() {
+        ReentrantLock[] locks = new ReentrantLock[ROOM_START_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
     }
 
     private void populateCurrentRoundData(GameDto dto, Game game) {
@@ -674,6 +1260,9 @@ public class GameServiceImpl implements GameService {
             com.flagfinder.dto.RoundDto roundDto = roundMapper.roundToRoundDto(currentRound);
             roundDto.setRoundActive(gameTimerService.isRoundActive(game.getId(), currentRound.getRoundNumber()));
             roundDto.setTimeRemaining(gameTimerService.getRemainingTime(game.getId(), currentRound.getRoundNumber()));
+            if (game.getStatus() == GameStatus.IN_PROGRESS && currentRound.getRoundNumber() < game.getTotalRounds()) {
+                roundDto.setNextFlagUrl(flagUrl(game.getNextCountryId()));
+            }
             
             dto.setCurrentRoundData(roundDto);
         }
@@ -704,6 +1293,11 @@ public class GameServiceImpl implements GameService {
             
             roundDto.setRoundActive(isRoundActive);
             roundDto.setTimeRemaining(timeRemaining);
+            if (game.getMode() == SinglePlayerMode.MULTIPLE_CHOICE && currentSinglePlayerRound.getCountry() != null) {
+                roundDto.setOptions(flagSimilarityIndex.options(currentSinglePlayerRound.getCountry().getId(),
+                        currentSinglePlayerRound.getCountry().getNameOfCounty(), MULTIPLE_CHOICE_OPTIONS,
+                        currentSinglePlayerRound.getId().getMostSignificantBits()));
+            }
 
             dto.setCurrentSinglePlayerRoundData(roundDto);
         }
@@ -827,63 +1421,59 @@ public class GameServiceImpl implements GameService {
 
     /**
      * Calculates the accuracy percentage for a user based on their recent games.
-     * Uses the most recent games up to TOTAL_RECENT_GAMES limit.
+     * Uses the most recent games up to TOTAL_RECENT_GAMES limit and a single aggregate query.
      *
      * @param userName the username to calculate accuracy for
      * @return the accuracy percentage (0-100) based on correct guesses
      */
     @Override
     public int accuracyPercentage(String userName) {
-        Pageable pageable = PageRequest.of(0, TOTAL_RECENT_GAMES);
-
-        List<Game> games = gameRepository.findRecentGamesByUser(userName, pageable);
-
-        List<Round> rounds = games.stream()
-                .flatMap(game -> roundRepository.findByGameIdOrderByRoundNumber(game.getId()).stream())
-                .toList();
-
-        long correctGuesses = rounds.stream()
-                .map(round -> new AbstractMap.SimpleEntry<>(round,
-                        guessRepository.findOneByRoundIdAndGameName(round.getId(), userName)))
-                .filter(entry -> entry.getValue() != null)
-                .filter(entry -> entry.getValue().getGuessedCountry().equals(entry.getKey().getCountry()))
-                .count();
-
-        int totalGuesses = rounds.size();
+        return getAccuracy(userName, AccuracyWindow.LAST_GAMES, TOTAL_RECENT_GAMES).getAccuracyPercentage();
+    }
 
-        return totalGuesses > 0
-                    ? (int) ((correctGuesses * 100.0) / totalGuesses)
-                    : 0;
+    /**
+     * Computes a user's accuracy over a window of games with a single aggregate query.
+     * Every window costs the same query; only the creation time bound and the game limit change.
+     *
+     * @param userName the game name of the user
+     * @param window the window of games to count
+     * @param games the number of most recent games for {@link AccuracyWindow#LAST_GAMES}, defaults to 10
+     * @return the accuracy DTO with the counted games, rounds and correct guesses
+     */
+    @Override
+    public AccuracyDto getAccuracy(String userName, AccuracyWindow window, Integer games) {
+        AccuracyWindow resolvedWindow = window != null ? window : AccuracyWindow.LAST_GAMES;
+        Instant since = resolvedWindow == AccuracyWindow.LAST_7_DAYS
+                ? Instant.now().minus(Duration.ofDays(7))
+                : Instant.EPOCH;
+        int maxGames = resolvedWindow == AccuracyWindow.LAST_GAMES
+                ? (games != null && games > 0 ? games : TOTAL_RECENT_GAMES)
+                : Integer.MAX_VALUE;
+
+        GameRepository.AccuracyCounts counts = gameRepository.countAccuracy(userName, since, maxGames);
+        long rounds = counts != null && counts.getRounds() != null ? counts.getRounds() : 0;
+        long correctGuesses = counts != null && counts.getCorrectGuesses() != null ? counts.getCorrectGuesses() : 0;
+
+        AccuracyDto accuracyDto = new AccuracyDto();
+        accuracyDto.setWindow(resolvedWindow);
+        accuracyDto.setGames(counts != null && counts.getGames() != null ? counts.getGames() : 0);
+        accuracyDto.setRounds(rounds);
+        accuracyDto.setCorrectGuesses(correctGuesses);
+        accuracyDto.setAccuracyPercentage(rounds > 0 ? (int) ((correctGuesses * 100.0) / rounds) : 0);
+        return accuracyDto;
     }
 
     /**
-     * Calculates the best consecutive winning streak for a user.
-     * Analyzes all completed games in chronological order.
+     * Gets the best consecutive winning streak of a user.
+     * The streak is kept in the user's statistics row as games end, so this is a single primary key read.
      *
-     * @param userName the username to calculate the streak for
+     * @param userName the username to get the streak for
      * @return the maximum number of consecutive wins achieved
+     * @throws ResponseStatusException if the user is not found
      */
     @Override
     public int getBestWinningStreak(String userName) {
-        List<Game> allGames = gameRepository.findByUserAndStatusOrderByGameEndedAtAsc(userName, GameStatus.COMPLETED);
-        
-        if (allGames.isEmpty()) {
-            return 0;
-        }
-        
-        int maxStreak = 0;
-        int currentStreak = 0;
-        
-        for (Game game : allGames) {
-            if (userName.equalsIgnoreCase(game.getWinnerUserName())) {
-                currentStreak++;
-                maxStreak = Math.max(maxStreak, currentStreak);
-            } else {
-                currentStreak = 0;
-            }
-        }
-        
-        return maxStreak;
+        return userStatsService.getUserStats(userName).getBestStreak();
     }
 
     private GuessResponseDto submitSinglePlayerGuess(GuessRequestDto guessRequest, SinglePlayerGame singlePlayerGame) {
@@ -916,12 +1506,18 @@ public class GameServiceImpl implements GameService {
         if (isCorrect) {
             singlePlayerGame.setHostScore(singlePlayerGame.getHostScore() + 1);
         }
+        if (singlePlayerGame.getMode() == SinglePlayerMode.PRACTICE) {
+            long responseMillis = currentRound.getCreatedAt() != null
+                    ? Math.max(0, guess.getCreatedAt().toEpochMilli() - currentRound.getCreatedAt().toEpochMilli())
+                    : ROUND_DURATION_SECONDS * 1000L;
+            learningQueues.record(currentUser.getId(), currentRound.getCountry().getId(), isCorrect, responseMillis);
+        }
 
         int currentRoundNumber = guessRequest.getRoundNumber();
         UUID gameId = singlePlayerGame.getId();
         List<Continent> continents = new ArrayList<>(singlePlayerGame.getContinents());
 
-        java.util.concurrent.Executors.newSingleThreadScheduledExecutor().schedule(() -> {
+        gameTimerService.scheduleRoundTask(gameId, currentRoundNumber, "advance", 1000, () -> {
             transactionTemplate.execute(status -> {
                 try {
                     if (currentRoundNumber < singlePlayerGame.getTotalRounds()) {
@@ -932,10 +1528,8 @@ public class GameServiceImpl implements GameService {
                         }
                     } else {
                         SinglePlayerGame game = singlePlayerGameRepository.findById(gameId).orElse(null);
-                        if (game != null) {
-                            game.setStatus(GameStatus.COMPLETED);
-                            game.setEndedAt(LocalDateTime.now());
-                            singlePlayerGameRepository.save(game);
+                        if (game != null && game.getStatus() == GameStatus.IN_PROGRESS) {
+                            endSinglePlayerGame(gameId);
                         }
                     }
                 } catch (Exception e) {
@@ -943,7 +1537,7 @@ public class GameServiceImpl implements GameService {
                 }
                 return null;
             });
-        }, 1, java.util.concurrent.TimeUnit.SECONDS);
+        });
 
         singlePlayerGameRepository.save(singlePlayerGame);
         
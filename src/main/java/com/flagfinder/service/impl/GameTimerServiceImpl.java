@@ -1,25 +1,48 @@
 package com.flagfinder.service.impl;
 
 import com.flagfinder.service.GameTimerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Implementation of GameTimerService interface.
  * Provides comprehensive timer management for game rounds using scheduled executors.
  * Manages round timers, tracks remaining time, and handles automatic round progression.
  * Uses concurrent data structures for thread-safe timer operations.
+ * Round timers and round tasks run on a shared scheduler pool and hold their game's lock while they run,
+ * so they are never handled at the same time as a guess or another change to the same game.
+ * <p>
+ * Timers and round tasks started inside a transaction are only armed once it commits, so a rolled back round
+ * start or guess leaves nothing behind. Until then the round already counts as active, so state built in the same
+ * transaction shows the running round.
+ * <p>
+ * By default every round gets its own scheduled task. With {@code application.game.timer-mode=tick}
+ * round deadlines go into a delay queue instead, and a single loop wakes every tick, collects all rounds
+ * that expired since the last tick and hands them to the game service in a few batches, so many
+ * concurrent games share one transaction per batch and tick instead of one per expiring round. The batches are
+ * split by lock stripe, so each one only holds the locks of its own games and the batches run in parallel.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,15 +50,55 @@ import java.util.concurrent.TimeUnit;
 public class GameTimerServiceImpl implements GameTimerService {
     
     private final ApplicationContext applicationContext;
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(20);
+    private final GameLocks gameLocks;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(TIMER_THREADS);
     private final Map<String, ScheduledFuture<?>> activeTimers = new ConcurrentHashMap<>();
+    private final Set<String> pendingTimers = ConcurrentHashMap.newKeySet();
     private final Map<String, LocalDateTime> roundStartTimes = new ConcurrentHashMap<>();
     private final Map<String, Integer> roundDurations = new ConcurrentHashMap<>();
+    private final LongAdder timersFired = new LongAdder();
+    private final LongAdder totalTimerDriftMillis = new LongAdder();
+    private final AtomicLong maxTimerDriftMillis = new AtomicLong();
+    private final Map<String, Expiry> tickExpiries = new ConcurrentHashMap<>();
+    private final DelayQueue<Expiry> expiryQueue = new DelayQueue<>();
+
+    @Value("${application.game.timer-mode:scheduled}")
+    private String timerMode;
+
+    private static final int TIMER_THREADS = 20;
+    private static final int TICK_BATCH_GROUPS = 8;
+    private static final String TICK_MODE = "tick";
+    private static final long TICK_MILLIS = 50;
+
+    /**
+     * A batch holds the locks of all its games for its whole transaction, so guesses on games sharing their stripes
+     * wait for it. GameLocksContentionBenchmark shows guesses slowing down sharply beyond 64 games per batch.
+     */
+    private static final int MAX_TIMEOUTS_PER_BATCH = 64;
+
+    /**
+     * Starts the tick loop when round timers run in tick mode.
+     */
+    @PostConstruct
+    public void startTickLoop() {
+        if (isTickMode()) {
+            scheduler.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            log.info("Round timers run in tick mode every {} ms", TICK_MILLIS);
+        }
+    }
     
+    /**
+     * Stops the scheduler on shutdown. Pending round timers are dropped; they are lost with the process anyway.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
     /**
      * Starts a timer for a specific round in a game.
-     * Cancels any existing timer for the same round and creates a new scheduled task.
-     * When the timer expires, it triggers automatic round progression.
+     * Cancels any existing timer for the same round and creates a new scheduled task once the current
+     * transaction commits. When the timer expires, it triggers automatic round progression.
      *
      * @param gameId the UUID of the game
      * @param roundNumber the round number to start the timer for
@@ -49,19 +112,99 @@ public class GameTimerServiceImpl implements GameTimerService {
         
         roundStartTimes.put(timerKey, LocalDateTime.now());
         roundDurations.put(timerKey, durationSeconds);
+        long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        pendingTimers.add(timerKey);
+
+        AfterCommit.run(() -> armRoundTimer(timerKey, gameId, roundNumber, deadlineNanos), () -> {
+            if (pendingTimers.remove(timerKey)) {
+                roundStartTimes.remove(timerKey);
+                roundDurations.remove(timerKey);
+            }
+        });
+    }
+
+    /**
+     * Arms a round timer whose round start has committed, unless it was cancelled in the meantime.
+     *
+     * @param timerKey the key of the round timer
+     * @param gameId the UUID of the game
+     * @param roundNumber the round number
+     * @param deadlineNanos the {@link System#nanoTime()} value at which the round ends
+     */
+    private void armRoundTimer(String timerKey, UUID gameId, Integer roundNumber, long deadlineNanos) {
+        if (!pendingTimers.remove(timerKey)) {
+            return;
+        }
+
+        if (isTickMode()) {
+            Expiry expiry = new Expiry(timerKey, gameId, roundNumber, deadlineNanos);
+            tickExpiries.put(timerKey, expiry);
+            expiryQueue.offer(expiry);
+            return;
+        }
         
         ScheduledFuture<?> future = scheduler.schedule(() -> {
+            recordTimerDrift(deadlineNanos);
             try {
                 GameServiceImpl gameService = applicationContext.getBean(GameServiceImpl.class);
-                gameService.handleRoundTimeout(gameId, roundNumber);
+                gameLocks.run(gameId, () -> gameService.handleRoundTimeout(gameId, roundNumber));
             } catch (Exception e) {
             }
             cleanupRoundTimer(timerKey);
-        }, durationSeconds, TimeUnit.SECONDS);
+        }, Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
         
         activeTimers.put(timerKey, future);
     }
     
+    /**
+     * Schedules a task to run during a round, such as a bot's guess.
+     * The task runs on the timer scheduler under the game's lock like the round timers, so scheduled tasks cost
+     * a queue entry rather than a thread each. Its key starts with the game's prefix, so cancelling the game's timers
+     * cancels it as well. Inside a transaction the task is only scheduled once it commits.
+     *
+     * @param gameId the UUID of the game
+     * @param roundNumber the round number the task belongs to
+     * @param taskName a name that tells the round's tasks apart
+     * @param delayMillis the delay before the task runs, in milliseconds
+     * @param task the task to run
+     */
+    @Override
+    public void scheduleRoundTask(UUID gameId, Integer roundNumber, String taskName, long delayMillis, Runnable task) {
+        String taskKey = getTimerKey(gameId, roundNumber) + "_" + taskName;
+        long dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        pendingTimers.add(taskKey);
+
+        AfterCommit.run(() -> armRoundTask(taskKey, gameId, dueNanos, task), () -> pendingTimers.remove(taskKey));
+    }
+
+    /**
+     * Schedules a round task whose transaction has committed, unless it was cancelled in the meantime.
+     *
+     * @param taskKey the key of the task
+     * @param gameId the UUID of the game
+     * @param dueNanos the {@link System#nanoTime()} value at which the task is due
+     * @param task the task to run
+     */
+    private void armRoundTask(String taskKey, UUID gameId, long dueNanos, Runnable task) {
+        if (!pendingTimers.remove(taskKey)) {
+            return;
+        }
+
+        ScheduledFuture<?> future = scheduler.schedule(() -> {
+            try {
+                gameLocks.run(gameId, task);
+            } catch (Exception e) {
+                log.warn("Round task {} failed", taskKey, e);
+            }
+            activeTimers.remove(taskKey);
+        }, Math.max(0, dueNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+        ScheduledFuture<?> previous = activeTimers.put(taskKey, future);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
     /**
      * Cancels all active timers for a specific game.
      * Removes all timer-related data and cancels scheduled tasks.
@@ -71,6 +214,23 @@ public class GameTimerServiceImpl implements GameTimerService {
     @Override
     public void cancelGameTimers(UUID gameId) {
         String gamePrefix = gameId.toString() + "_";
+
+        pendingTimers.removeIf(key -> {
+            if (key.startsWith(gamePrefix)) {
+                roundStartTimes.remove(key);
+                roundDurations.remove(key);
+                return true;
+            }
+            return false;
+        });
+        tickExpiries.keySet().removeIf(key -> {
+            if (key.startsWith(gamePrefix)) {
+                roundStartTimes.remove(key);
+                roundDurations.remove(key);
+                return true;
+            }
+            return false;
+        });
         
         activeTimers.entrySet().removeIf(entry -> {
             if (entry.getKey().startsWith(gamePrefix)) {
@@ -120,11 +280,133 @@ public class GameTimerServiceImpl implements GameTimerService {
     @Override
     public boolean isRoundActive(UUID gameId, Integer roundNumber) {
         String timerKey = getTimerKey(gameId, roundNumber);
+        if (pendingTimers.contains(timerKey) || tickExpiries.containsKey(timerKey)) {
+            return true;
+        }
         ScheduledFuture<?> future = activeTimers.get(timerKey);
         
         return future != null && !future.isDone() && !future.isCancelled();
     }
     
+    /**
+     * Gets the number of games with a running round timer. A game has at most one running round,
+     * so this counts the round timers that have started and not yet fired or been cancelled.
+     *
+     * @return the number of active games
+     */
+    @Override
+    public int activeGameCount() {
+        return roundDurations.size();
+    }
+
+    /**
+     * Gets the number of round timers that have fired since the last reset.
+     *
+     * @return the number of fired timers
+     */
+    public long getTimersFired() {
+        return timersFired.sum();
+    }
+
+    /**
+     * Gets the average delay between a round timer's deadline and the moment it fired, since the last reset.
+     *
+     * @return the average timer drift in milliseconds
+     */
+    public long getAverageTimerDriftMillis() {
+        long fired = timersFired.sum();
+        return fired > 0 ? totalTimerDriftMillis.sum() / fired : 0;
+    }
+
+    /**
+     * Gets the largest delay between a round timer's deadline and the moment it fired, since the last reset.
+     *
+     * @return the maximum timer drift in milliseconds
+     */
+    public long getMaxTimerDriftMillis() {
+        return maxTimerDriftMillis.get();
+    }
+
+    /**
+     * Resets the timer drift statistics.
+     */
+    public void resetTimerDrift() {
+        timersFired.reset();
+        totalTimerDriftMillis.reset();
+        maxTimerDriftMillis.set(0);
+    }
+
+    /**
+     * Collects every round that expired since the last tick and ends them in batches on the scheduler pool.
+     * Games are grouped by lock stripe, so batches of different groups never wait for each other's locks.
+     * Deadlines of rounds that were cancelled or restarted in the meantime are skipped.
+     * If a batch fails, its rounds are retried one by one so a single broken game does not hold up the others.
+     */
+    private void tick() {
+        try {
+            List<Expiry> expired = new ArrayList<>();
+            for (Expiry expiry = expiryQueue.poll(); expiry != null; expiry = expiryQueue.poll()) {
+                if (tickExpiries.remove(expiry.timerKey, expiry)) {
+                    recordTimerDrift(expiry.deadlineNanos);
+                    expired.add(expiry);
+                }
+            }
+            List<List<Expiry>> byGroup = new ArrayList<>();
+            for (int group = 0; group < TICK_BATCH_GROUPS; group++) {
+                byGroup.add(new ArrayList<>());
+            }
+            for (Expiry expiry : expired) {
+                byGroup.get(gameLocks.stripeOf(expiry.gameId) % TICK_BATCH_GROUPS).add(expiry);
+            }
+            for (List<Expiry> groupExpired : byGroup) {
+                for (int from = 0; from < groupExpired.size(); from += MAX_TIMEOUTS_PER_BATCH) {
+                    List<Expiry> batch = groupExpired.subList(from, Math.min(groupExpired.size(), from + MAX_TIMEOUTS_PER_BATCH));
+                    scheduler.execute(() -> processBatch(batch));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Round timer tick failed", e);
+        }
+    }
+
+    private void processBatch(List<Expiry> batch) {
+        Map<UUID, Integer> roundsByGame = new LinkedHashMap<>();
+        for (Expiry expiry : batch) {
+            roundsByGame.put(expiry.gameId, expiry.roundNumber);
+        }
+
+        GameServiceImpl gameService = applicationContext.getBean(GameServiceImpl.class);
+        GameBroadcastService gameBroadcastService = applicationContext.getBean(GameBroadcastService.class);
+        try {
+            gameLocks.runAll(roundsByGame.keySet(),
+                    () -> gameBroadcastService.collect(() -> gameService.handleRoundTimeouts(roundsByGame)));
+        } catch (Exception e) {
+            log.warn("Failed to end {} rounds as a batch, ending them one by one", roundsByGame.size(), e);
+            roundsByGame.forEach((gameId, roundNumber) ->
+                    gameLocks.run(gameId, () -> gameService.handleRoundTimeout(gameId, roundNumber)));
+        }
+        for (Expiry expiry : batch) {
+            roundStartTimes.remove(expiry.timerKey);
+            roundDurations.remove(expiry.timerKey);
+        }
+    }
+
+    private boolean isTickMode() {
+        return TICK_MODE.equalsIgnoreCase(timerMode);
+    }
+
+    /**
+     * Records how late a round timer fired compared to its deadline.
+     *
+     * @param deadlineNanos the {@link System#nanoTime()} value at which the timer was due
+     */
+    private void recordTimerDrift(long deadlineNanos) {
+        long driftMillis = Math.max(0L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - deadlineNanos));
+        timersFired.increment();
+        totalTimerDriftMillis.add(driftMillis);
+        maxTimerDriftMillis.accumulateAndGet(driftMillis, Math::max);
+    }
+
     /**
      * Generates a unique timer key for a specific game and round combination.
      *
@@ -143,6 +425,7 @@ public class GameTimerServiceImpl implements GameTimerService {
      * @param timerKey the unique key of the timer to cancel
      */
     private void cancelRoundTimer(String timerKey) {
+        pendingTimers.remove(timerKey);
         ScheduledFuture<?> existingTimer = activeTimers.remove(timerKey);
         if (existingTimer != null) {
             existingTimer.cancel(false);
@@ -157,8 +440,36 @@ public class GameTimerServiceImpl implements GameTimerService {
      * @param timerKey the unique key of the timer to clean up
      */
     private void cleanupRoundTimer(String timerKey) {
+        tickExpiries.remove(timerKey);
         roundStartTimes.remove(timerKey);
         roundDurations.remove(timerKey);
         activeTimers.remove(timerKey);
     }
+
+    /**
+     * The deadline of a round in tick mode.
+     */
+    private static final class Expiry implements Delayed {
+        final String timerKey;
+        final UUID gameId;
+        final Integer roundNumber;
+        final long deadlineNanos;
+
+        Expiry(String timerKey, UUID gameId, Integer roundNumber, long deadlineNanos) {
+            this.timerKey = timerKey;
+            this.gameId = gameId;
+            this.roundNumber = roundNumber;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineNanos, ((Expiry) other).deadlineNanos);
+        }
+    }
 }
@@ -1,7 +1,8 @@
 package com.flagfinder.service.impl;
 
 import com.flagfinder.dto.UserInfoDto;
-import com.flagfinder.service.GameService;
+import com.flagfinder.dto.UserStatsDto;
+import com.flagfinder.service.UserStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,20 +14,22 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class HelperMethods {
 
-    private final GameService gameService;
+    private final UserStatsService userStatsService;
 
     /**
      * Creates a comprehensive user information card with game statistics.
-     * Aggregates player performance data including accuracy, wins, and streaks.
+     * Reads accuracy, wins, and streaks from the player's incrementally maintained statistics row.
      *
      * @param gameName the game name of the player to generate info card for
      * @return UserInfoDto containing player's game statistics and performance metrics
      */
     public UserInfoDto setPlayerInfoCard(String gameName) {
+        UserStatsDto userStats = userStatsService.getUserStats(gameName);
+
         UserInfoDto userInfoDto = new UserInfoDto();
-        userInfoDto.setAccuracyPercentage(gameService.accuracyPercentage(gameName));
-        userInfoDto.setNumberOfWonGame(gameService.countOfWinningGames(gameName));
-        userInfoDto.setBestStreak(gameService.getBestWinningStreak(gameName));
+        userInfoDto.setAccuracyPercentage(userStats.getRecentAccuracyPercentage());
+        userInfoDto.setNumberOfWonGame(userStats.getWins());
+        userInfoDto.setBestStreak(userStats.getBestStreak());
 
         return userInfoDto;
     }
@@ -0,0 +1,160 @@
+package com.flagfinder.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.flagfinder.enumeration.HistoryExportFormat;
+import com.flagfinder.mapper.ProjectionMapper;
+import com.flagfinder.model.UserGameHistory;
+import com.flagfinder.repository.UserGameHistoryRepository;
+import com.flagfinder.service.HistoryExportService;
+import com.flagfinder.service.UserService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of HistoryExportService interface.
+ * Rows are read from the user_game_history projection through a database cursor with a fetch size,
+ * written to the response one at a time and detached from the persistence context right after,
+ * so memory use stays the same whatever the size of the history.
+ * The export runs on the async request thread inside its own read-only transaction, which keeps the cursor open.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryExportServiceImpl implements HistoryExportService {
+
+    private final UserGameHistoryRepository userGameHistoryRepository;
+    private final UserService userService;
+    private final ProjectionMapper projectionMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    private static final String CSV_HEADER = "userId,gameId,startedAt,endedAt,result,score,bestOpponentScore,"
+            + "opponentNames,winnerUserName,roundsPlayed,correctGuesses";
+
+    /**
+     * Prepares a streamed export of the authenticated user's game history, most recent game first.
+     * The user is resolved on the request thread, before the body is written on the async thread.
+     *
+     * @param format the file format
+     * @return the response body that writes the export
+     */
+    @Override
+    public StreamingResponseBody exportUserHistory(HistoryExportFormat format) {
+        UUID userId = userService.getUserFromAuthentication().getId();
+        return outputStream -> export(() -> userGameHistoryRepository.streamByUserId(userId), format, outputStream);
+    }
+
+    /**
+     * Prepares a streamed export of every player's game history in end order.
+     *
+     * @param format the file format
+     * @return the response body that writes the export
+     */
+    @Override
+    public StreamingResponseBody exportAllHistory(HistoryExportFormat format) {
+        return outputStream -> export(userGameHistoryRepository::streamAll, format, outputStream);
+    }
+
+    /**
+     * Writes every row of a history stream to the output in the requested format.
+     *
+     * @param rows opens the stream of rows to export
+     * @param format the file format
+     * @param outputStream the response output
+     * @throws IOException if writing to the client fails
+     */
+    private void export(Supplier<Stream<UserGameHistory>> rows, HistoryExportFormat format, OutputStream outputStream) throws IOException {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UserGameHistory> stream = rows.get()) {
+                    if (format == HistoryExportFormat.CSV) {
+                        writer.write(CSV_HEADER);
+                        writer.write('\n');
+                    }
+                    stream.forEach(row -> {
+                        try {
+                            if (format == HistoryExportFormat.CSV) {
+                                writeCsv(writer, row);
+                            } else {
+                                writeJson(writer, row);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        entityManager.detach(row);
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.debug("Game history export aborted by the client", e);
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes a row as one JSON object per line, with the ID of the player it belongs to.
+     */
+    private void writeJson(Writer writer, UserGameHistory row) throws IOException {
+        ObjectNode line = objectMapper.valueToTree(projectionMapper.userGameHistoryToDto(row));
+        line.put("userId", String.valueOf(row.getUserId()));
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a row as one CSV line in the order of the header.
+     */
+    private void writeCsv(Writer writer, UserGameHistory row) throws IOException {
+        writer.write(String.join(",",
+                csv(row.getUserId()),
+                csv(row.getGameId()),
+                csv(row.getStartedAt()),
+                csv(row.getEndedAt()),
+                csv(row.getResult()),
+                csv(row.getScore()),
+                csv(row.getBestOpponentScore()),
+                csv(row.getOpponentNames()),
+                csv(row.getWinnerUserName()),
+                csv(row.getRoundsPlayed()),
+                csv(row.getCorrectGuesses())));
+        writer.write('\n');
+    }
+
+    /**
+     * Formats a CSV field, quoting it when it contains a separator, quote or line break.
+     */
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,257 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.dto.LeaderboardEntryDto;
+import com.flagfinder.enumeration.FriendshipStatus;
+import com.flagfinder.enumeration.LeaderboardPeriod;
+import com.flagfinder.enumeration.LeaderboardType;
+import com.flagfinder.event.UserStatsUpdatedEvent;
+import com.flagfinder.model.User;
+import com.flagfinder.repository.FriendshipRepository;
+import com.flagfinder.repository.LeaderboardSnapshotRepository;
+import com.flagfinder.repository.UserRepository;
+import com.flagfinder.repository.UserStatsRepository;
+import com.flagfinder.service.LeaderboardService;
+import com.flagfinder.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Implementation of the LeaderboardService interface.
+ * Every leaderboard is served from a {@link RankedIndex} held in memory, so the top of the board,
+ * a player's rank and the players around them are answered in O(log n) without touching the database.
+ * The indexes are loaded from the user_stats table at startup and kept current from
+ * {@link UserStatsUpdatedEvent}s published after each committed statistics change.
+ * Daily and weekly leaderboards are served from the open windows of {@link LeaderboardWindows}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final FriendshipRepository friendshipRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final LeaderboardWindows leaderboardWindows;
+    private final LeaderboardSnapshotRepository leaderboardSnapshotRepository;
+
+    private final Map<LeaderboardType, RankedIndex> indexes = createIndexes();
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    private static final int MAX_LIMIT = 500;
+    private static final int MAX_RADIUS = 50;
+
+    /**
+     * Loads every leaderboard from the user_stats table, paging by user ID so no offset scans are needed.
+     * Statistics updates received while loading take precedence over the loaded rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLeaderboards() {
+        UUID afterUserId = new UUID(0, 0);
+        int loaded = 0;
+        List<Object[]> page;
+        do {
+            page = userStatsRepository.findRankingPage(afterUserId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                afterUserId = (UUID) row[0];
+                indexes.get(LeaderboardType.WINS).putIfAbsent(afterUserId, (String) row[1], ((Number) row[2]).longValue());
+                indexes.get(LeaderboardType.RATING).putIfAbsent(afterUserId, (String) row[1], Math.round(((Number) row[3]).doubleValue()));
+                indexes.get(LeaderboardType.CORRECT_GUESSES).putIfAbsent(afterUserId, (String) row[1], ((Number) row[4]).longValue());
+            }
+            loaded += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        log.info("Loaded leaderboards with {} players", loaded);
+    }
+
+    /**
+     * Moves a player on the leaderboards once their statistics change is committed.
+     *
+     * @param event the statistics update
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserStatsUpdated(UserStatsUpdatedEvent event) {
+        indexes.get(LeaderboardType.WINS).put(event.getUserId(), event.getUserName(), event.getWins());
+        indexes.get(LeaderboardType.RATING).put(event.getUserId(), event.getUserName(), Math.round(event.getRating()));
+        indexes.get(LeaderboardType.CORRECT_GUESSES).put(event.getUserId(), event.getUserName(), event.getCorrectGuesses());
+    }
+
+    /**
+     * Gets the best players of a leaderboard.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @param limit the maximum number of players, capped at 500
+     * @return the best players in rank order
+     */
+    @Override
+    public List<LeaderboardEntryDto> getTop(LeaderboardType type, LeaderboardPeriod period, int limit) {
+        return toDtos(index(type, period).range(1, Math.min(Math.max(limit, 1), MAX_LIMIT)));
+    }
+
+    /**
+     * Gets the authenticated user's place on a leaderboard.
+     * A user without a score is ranked with the score of a new player.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @return the user's leaderboard entry
+     */
+    @Override
+    public LeaderboardEntryDto getMyRank(LeaderboardType type, LeaderboardPeriod period) {
+        User user = userService.getUserFromAuthentication();
+        RankedIndex index = index(type, period);
+        RankedIndex.Ranked ranked = index.get(user.getId());
+        if (ranked != null) {
+            return toDto(ranked.rank(), ranked.userName(), ranked.score());
+        }
+        long score = unrankedScore(type);
+        return toDto(index.rankOf(score), user.getGameName(), score);
+    }
+
+    /**
+     * Gets the players ranked directly above and below the authenticated user.
+     * A user without a score is placed with the score of a new player.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @param radius the number of players to include on each side, capped at 50
+     * @return the neighbouring players and the user in rank order
+     */
+    @Override
+    public List<LeaderboardEntryDto> getAroundMe(LeaderboardType type, LeaderboardPeriod period, int radius) {
+        User user = userService.getUserFromAuthentication();
+        RankedIndex index = index(type, period);
+        RankedIndex.Ranked ranked = index.get(user.getId());
+        int clampedRadius = Math.min(Math.max(radius, 0), MAX_RADIUS);
+        if (ranked == null) {
+            long score = unrankedScore(type);
+            int rank = index.rankOf(score);
+            List<LeaderboardEntryDto> entries = toDtos(index.range(rank - clampedRadius, Math.min(clampedRadius, rank - 1)));
+            entries.add(toDto(rank, user.getGameName(), score));
+            entries.addAll(toDtos(index.range(rank, clampedRadius)));
+            return entries;
+        }
+        return toDtos(index.range(ranked.position() - clampedRadius, 2 * clampedRadius + 1));
+    }
+
+    /**
+     * Gets the leaderboard of the authenticated user and their accepted friends, ranked among themselves.
+     * The friend list is read from the friendships table and looked up in the index, so the cost
+     * is proportional to the number of friends rather than to the number of players.
+     *
+     * @param type the leaderboard to read
+     * @param period the time window to rank results in
+     * @return the user and their friends in rank order
+     */
+    @Override
+    public List<LeaderboardEntryDto> getFriends(LeaderboardType type, LeaderboardPeriod period) {
+        User user = userService.getUserFromAuthentication();
+        RankedIndex index = index(type, period);
+
+        Set<UUID> memberIds = new HashSet<>(friendshipRepository.findFriendIds(user.getId(), FriendshipStatus.ACCEPTED));
+        memberIds.add(user.getId());
+
+        List<RankedIndex.Ranked> members = new ArrayList<>(memberIds.size());
+        List<UUID> unranked = new ArrayList<>();
+        for (UUID memberId : memberIds) {
+            RankedIndex.Ranked ranked = index.get(memberId);
+            if (ranked != null) {
+                members.add(ranked);
+            } else {
+                unranked.add(memberId);
+            }
+        }
+        for (User member : userRepository.findAllById(unranked)) {
+            members.add(new RankedIndex.Ranked(0, 0, member.getId(), member.getGameName(), unrankedScore(type)));
+        }
+        members.sort(Comparator.comparingLong(RankedIndex.Ranked::score).reversed()
+                .thenComparing(RankedIndex.Ranked::userName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+        List<LeaderboardEntryDto> entries = new ArrayList<>(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            RankedIndex.Ranked member = members.get(i);
+            int rank = i > 0 && member.score() == members.get(i - 1).score() ? entries.get(i - 1).getRank() : i + 1;
+            entries.add(toDto(rank, member.userName(), member.score()));
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the stored top of a closed daily or weekly leaderboard window.
+     *
+     * @param type the leaderboard to read
+     * @param period the daily or weekly period
+     * @param windowStart any day inside the window
+     * @return the stored players in rank order, empty if the window was not stored
+     * @throws ResponseStatusException if the period is all time
+     */
+    @Override
+    public List<LeaderboardEntryDto> getClosedWindow(LeaderboardType type, LeaderboardPeriod period, LocalDate windowStart) {
+        if (period == LeaderboardPeriod.ALL_TIME) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "All time leaderboard has no closed windows");
+        }
+        LocalDate start = period == LeaderboardPeriod.WEEKLY ? windowStart.with(DayOfWeek.MONDAY) : windowStart;
+        return leaderboardSnapshotRepository
+                .findByPeriodAndLeaderboardTypeAndWindowStartOrderByPositionAsc(period, type, start)
+                .stream()
+                .map(row -> toDto(row.getRank(), row.getUserName(), row.getScore()))
+                .toList();
+    }
+
+    /**
+     * Gets the index serving a leaderboard type and period.
+     */
+    private RankedIndex index(LeaderboardType type, LeaderboardPeriod period) {
+        return period == null || period == LeaderboardPeriod.ALL_TIME ? indexes.get(type) : leaderboardWindows.index(period, type);
+    }
+
+    /**
+     * Gets the score of a player who is not on the leaderboard yet.
+     */
+    private static long unrankedScore(LeaderboardType type) {
+        return type == LeaderboardType.RATING ? Math.round(EloRating.INITIAL_RATING) : 0;
+    }
+
+    private static Map<LeaderboardType, RankedIndex> createIndexes() {
+        Map<LeaderboardType, RankedIndex> indexes = new EnumMap<>(LeaderboardType.class);
+        for (LeaderboardType type : LeaderboardType.values()) {
+            indexes.put(type, new RankedIndex());
+        }
+        return indexes;
+    }
+
+    private static List<LeaderboardEntryDto> toDtos(List<RankedIndex.Ranked> ranked) {
+        List<LeaderboardEntryDto> entries = new ArrayList<>(ranked.size());
+        for (RankedIndex.Ranked player : ranked) {
+            entries.add(toDto(player.rank(), player.userName(), player.score()));
+        }
+        return entries;
+    }
+
+    private static LeaderboardEntryDto toDto(int rank, String userName, long score) {
+        LeaderboardEntryDto entry = new LeaderboardEntryDto();
+        entry.setRank(rank);
+        entry.setUserName(userName);
+        entry.setScore(score);
+        return entry;
+    }
+}
@@ -0,0 +1,274 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.GameResult;
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.enumeration.LeaderboardPeriod;
+import com.flagfinder.enumeration.LeaderboardType;
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.model.LeaderboardSnapshot;
+import com.flagfinder.repository.GameRepository;
+import com.flagfinder.repository.LeaderboardSnapshotRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory daily and weekly leaderboards.
+ * Each period keeps its open window in an atomic reference holding one {@link RankedIndex} per leaderboard type.
+ * Finished games add their wins and correct guesses to the open windows, so reading a window never touches the database.
+ * When a window ends, the first caller to notice swaps in an empty window with a compare-and-set; the closed window
+ * keeps taking late results for a short grace period and its top is then written to the database on a background thread,
+ * so rotation never pauses request threads.
+ * After a restart the open windows are rebuilt once from the games that ended in them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardWindows {
+
+    private final GameRepository gameRepository;
+    private final LeaderboardSnapshotRepository leaderboardSnapshotRepository;
+
+    private final Map<LeaderboardPeriod, AtomicReference<Window>> openWindows = createWindows();
+    private final Map<LeaderboardPeriod, Window> closingWindows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService snapshotWriter = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * Games that ended before this time were counted by the startup load and are ignored when their event arrives.
+     */
+    private volatile LocalDateTime countedUntil = LocalDateTime.MAX;
+
+    static final Set<LeaderboardType> WINDOWED_TYPES = EnumSet.of(LeaderboardType.WINS, LeaderboardType.CORRECT_GUESSES);
+
+    private static final int SNAPSHOT_SIZE = 100;
+    private static final long CLOSE_GRACE_SECONDS = 30;
+
+    /**
+     * Gets the index of a leaderboard type in the open window of a period.
+     *
+     * @param period the daily or weekly period
+     * @param type the leaderboard type
+     * @return the ranked index of the open window
+     * @throws ResponseStatusException if the type is not kept per window
+     */
+    RankedIndex index(LeaderboardPeriod period, LeaderboardType type) {
+        if (!WINDOWED_TYPES.contains(type)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, type + " leaderboard is only available for all time");
+        }
+        return open(period).indexes.get(type);
+    }
+
+    /**
+     * Rebuilds the open windows from the games that ended in them, and stores closed windows
+     * that were missed because the application was not running when they ended.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWindows() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        countedUntil = cutoff;
+        for (LeaderboardPeriod period : openWindows.keySet()) {
+            Window window = open(period);
+            load(window, window.start, cutoff);
+
+            LocalDateTime previousStart = windowStart(period, window.start.minusNanos(1));
+            if (!leaderboardSnapshotRepository.existsByPeriodAndWindowStart(period, previousStart.toLocalDate())) {
+                Window previous = new Window(period, previousStart, window.start);
+                load(previous, previous.start, previous.end);
+                if (previous.hasPlayers()) {
+                    snapshotWriter.execute(() -> store(previous));
+                }
+            }
+        }
+    }
+
+    /**
+     * Rotates windows that ended even when no game ends and nobody reads the leaderboard.
+     */
+    @Scheduled(fixedDelay = 10000)
+    public void rotateWindows() {
+        for (LeaderboardPeriod period : openWindows.keySet()) {
+            open(period);
+        }
+    }
+
+    /**
+     * Stops the snapshot writer on shutdown. A closed window whose snapshot is still waiting out its grace period
+     * is stored by {@link #loadWindows()} after the restart.
+     */
+    @PreDestroy
+    void shutdown() {
+        snapshotWriter.shutdownNow();
+    }
+
+    /**
+     * Adds the wins and correct guesses of a finished game to the windows it ended in.
+     *
+     * @param game the completed game
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGameCompleted(GameCompletedPayload game) {
+        if (game.getEndedAt() == null || game.getEndedAt().isBefore(countedUntil)) {
+            return;
+        }
+        for (LeaderboardPeriod period : openWindows.keySet()) {
+            Window window = open(period);
+            if (!window.contains(game.getEndedAt())) {
+                Window closing = closingWindows.get(period);
+                window = closing != null && closing.contains(game.getEndedAt()) ? closing : null;
+            }
+            if (window == null) {
+                continue;
+            }
+            for (GameCompletedPayload.PlayerResult player : game.getPlayers()) {
+                if (UserGameHistoryProjection.resultOf(game, player) == GameResult.WIN) {
+                    window.indexes.get(LeaderboardType.WINS).increment(player.getUserId(), player.getGameName(), 1);
+                }
+                int correct = UserGameHistoryProjection.correctGuesses(game, player);
+                if (correct > 0) {
+                    window.indexes.get(LeaderboardType.CORRECT_GUESSES).increment(player.getUserId(), player.getGameName(), correct);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the open window of a period, rotating it first if it has ended.
+     *
+     * @param period the daily or weekly period
+     * @return the window containing the current time
+     */
+    private Window open(LeaderboardPeriod period) {
+        AtomicReference<Window> reference = openWindows.get(period);
+        Window window = reference.get();
+        LocalDateTime now = LocalDateTime.now();
+        while (!now.isBefore(window.end)) {
+            LocalDateTime start = windowStart(period, now);
+            Window next = new Window(period, start, windowEnd(period, start));
+            if (reference.compareAndSet(window, next)) {
+                Window closed = window;
+                closingWindows.put(period, closed);
+                snapshotWriter.schedule(() -> {
+                    closingWindows.remove(period, closed);
+                    store(closed);
+                }, CLOSE_GRACE_SECONDS, TimeUnit.SECONDS);
+                log.info("Rotated {} leaderboard window to {}", period, start);
+            }
+            window = reference.get();
+        }
+        return window;
+    }
+
+    /**
+     * Adds the wins and correct guesses of games that ended in a time range to a window.
+     */
+    private void load(Window window, LocalDateTime from, LocalDateTime to) {
+        for (Object[] row : gameRepository.countWinsEndedBetween(GameStatus.COMPLETED, from, to)) {
+            window.indexes.get(LeaderboardType.WINS).increment((UUID) row[0], (String) row[1], ((Number) row[2]).longValue());
+        }
+        for (Object[] row : gameRepository.countCorrectGuessesEndedBetween(GameStatus.COMPLETED, from, to)) {
+            window.indexes.get(LeaderboardType.CORRECT_GUESSES).increment((UUID) row[0], (String) row[1], ((Number) row[2]).longValue());
+        }
+    }
+
+    /**
+     * Writes the top of a closed window to the database.
+     *
+     * @param window the closed window
+     */
+    private void store(Window window) {
+        List<LeaderboardSnapshot> rows = new ArrayList<>();
+        for (LeaderboardType type : WINDOWED_TYPES) {
+            for (RankedIndex.Ranked ranked : window.indexes.get(type).range(1, SNAPSHOT_SIZE)) {
+                LeaderboardSnapshot row = new LeaderboardSnapshot();
+                row.setPeriod(window.period);
+                row.setLeaderboardType(type);
+                row.setWindowStart(window.start.toLocalDate());
+                row.setPosition(ranked.position());
+                row.setRank(ranked.rank());
+                row.setUserId(ranked.userId());
+                row.setUserName(ranked.userName());
+                row.setScore(ranked.score());
+                rows.add(row);
+            }
+        }
+        try {
+            leaderboardSnapshotRepository.saveAll(rows);
+            log.info("Stored {} leaderboard window starting {} with {} rows", window.period, window.start, rows.size());
+        } catch (DataIntegrityViolationException e) {
+            log.info("{} leaderboard window starting {} was already stored", window.period, window.start);
+        } catch (Exception e) {
+            log.error("Failed to store {} leaderboard window starting {}", window.period, window.start, e);
+        }
+    }
+
+    private static LocalDateTime windowStart(LeaderboardPeriod period, LocalDateTime time) {
+        return period == LeaderboardPeriod.WEEKLY
+                ? time.toLocalDate().with(DayOfWeek.MONDAY).atStartOfDay()
+                : time.toLocalDate().atStartOfDay();
+    }
+
+    private static LocalDateTime windowEnd(LeaderboardPeriod period, LocalDateTime start) {
+        return period == LeaderboardPeriod.WEEKLY ? start.plusWeeks(1) : start.plusDays(1);
+    }
+
+    private static Map<LeaderboardPeriod, AtomicReference<Window>> createWindows() {
+        Map<LeaderboardPeriod, AtomicReference<Window>> windows = new EnumMap<>(LeaderboardPeriod.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (LeaderboardPeriod period : EnumSet.of(LeaderboardPeriod.DAILY, LeaderboardPeriod.WEEKLY)) {
+            LocalDateTime start = windowStart(period, now);
+            windows.put(period, new AtomicReference<>(new Window(period, start, windowEnd(period, start))));
+        }
+        return windows;
+    }
+
+    /**
+     * One daily or weekly window with a ranked index per leaderboard type.
+     */
+    private static final class Window {
+        private final LeaderboardPeriod period;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final Map<LeaderboardType, RankedIndex> indexes = new EnumMap<>(LeaderboardType.class);
+
+        private Window(LeaderboardPeriod period, LocalDateTime start, LocalDateTime end) {
+            this.period = period;
+            this.start = start;
+            this.end = end;
+            for (LeaderboardType type : WINDOWED_TYPES) {
+                indexes.put(type, new RankedIndex());
+            }
+        }
+
+        private boolean contains(LocalDateTime time) {
+            return !time.isBefore(start) && time.isBefore(end);
+        }
+
+        private boolean hasPlayers() {
+            return indexes.values().stream().anyMatch(index -> index.size() > 0);
+        }
+    }
+}
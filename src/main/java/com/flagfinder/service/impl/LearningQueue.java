@@ -0,0 +1,301 @@
+package com.flagfinder.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spaced-repetition learning queue of one player.
+ * The SM-2 state of every reviewed flag is kept in parallel primitive arrays indexed by country ordinal,
+ * and an indexed binary min-heap orders the reviewed flags by due time, so finding the most overdue flag
+ * and rescheduling it after an answer are O(log n). Flags the player has never seen are not in the heap.
+ * Changed flags are tracked in a bit set until they are written back.
+ */
+final class LearningQueue {
+
+    static final double INITIAL_EASINESS = 2.5;
+
+    private static final double MIN_EASINESS = 1.3;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final long RELEARN_MILLIS = 10L * 60 * 1000;
+    private static final long FAST_ANSWER_MILLIS = 3000;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private float[] easiness = new float[INITIAL_CAPACITY];
+    private short[] repetitions = new short[INITIAL_CAPACITY];
+    private int[] intervalDays = new int[INITIAL_CAPACITY];
+    private short[] lapses = new short[INITIAL_CAPACITY];
+    private long[] reviewedAt = new long[INITIAL_CAPACITY];
+    private long[] dueAt = new long[INITIAL_CAPACITY];
+    private int[] heapPosition = new int[INITIAL_CAPACITY];
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int heapSize;
+
+    private final BitSet seen = new BitSet();
+    private final BitSet dirty = new BitSet();
+
+    private long lastUsed = System.currentTimeMillis();
+    private boolean evicted;
+
+    /**
+     * Restores the stored state of a flag without marking it as changed.
+     *
+     * @param ordinal the country ordinal
+     * @param state the stored state
+     */
+    synchronized void restore(int ordinal, State state) {
+        ensureCapacity(ordinal + 1);
+        easiness[ordinal] = (float) state.easiness();
+        repetitions[ordinal] = (short) Math.min(state.repetitions(), Short.MAX_VALUE);
+        intervalDays[ordinal] = state.intervalDays();
+        lapses[ordinal] = (short) Math.min(state.lapses(), Short.MAX_VALUE);
+        reviewedAt[ordinal] = state.reviewedAt();
+        schedule(ordinal, state.dueAt());
+    }
+
+    /**
+     * Applies an answer to a flag with the SM-2 algorithm.
+     * A fast correct answer counts as a perfect recall, a slow one as a recall with hesitation, and a miss
+     * resets the repetitions and brings the flag back after a short relearning delay.
+     *
+     * @param ordinal the country ordinal
+     * @param correct whether the player recognized the flag
+     * @param responseMillis the time the player took to answer
+     * @param now the time of the answer in epoch milliseconds
+     */
+    synchronized void review(int ordinal, boolean correct, long responseMillis, long now) {
+        ensureCapacity(ordinal + 1);
+        if (!seen.get(ordinal)) {
+            easiness[ordinal] = (float) INITIAL_EASINESS;
+        }
+
+        int quality = !correct ? 1 : responseMillis <= FAST_ANSWER_MILLIS ? 5 : 4;
+        long due;
+        if (quality >= 3) {
+            int interval = switch (repetitions[ordinal]) {
+                case 0 -> 1;
+                case 1 -> 6;
+                default -> (int) Math.min(Integer.MAX_VALUE, Math.round(intervalDays[ordinal] * (double) easiness[ordinal]));
+            };
+            intervalDays[ordinal] = interval;
+            repetitions[ordinal] = (short) Math.min(repetitions[ordinal] + 1, Short.MAX_VALUE);
+            due = now + interval * DAY_MILLIS;
+        } else {
+            intervalDays[ordinal] = 0;
+            repetitions[ordinal] = 0;
+            lapses[ordinal] = (short) Math.min(lapses[ordinal] + 1, Short.MAX_VALUE);
+            due = now + RELEARN_MILLIS;
+        }
+        int penalty = 5 - quality;
+        easiness[ordinal] = (float) Math.max(MIN_EASINESS, easiness[ordinal] + 0.1 - penalty * (0.08 + penalty * 0.02));
+        reviewedAt[ordinal] = now;
+        schedule(ordinal, due);
+        dirty.set(ordinal);
+    }
+
+    /**
+     * Picks the next flag to show. The most overdue allowed flag comes first; when no allowed flag is due,
+     * a flag the player has never seen is introduced, and when every allowed flag has been seen the one due soonest is shown.
+     *
+     * @param allowed the ordinals of the countries that may be shown
+     * @param now the current time in epoch milliseconds
+     * @return the ordinal of the flag, or -1 if nothing is allowed
+     */
+    synchronized int next(BitSet allowed, long now) {
+        int earliest = -1;
+        int[] skipped = new int[Math.min(heapSize, 16)];
+        int skippedCount = 0;
+        while (heapSize > 0) {
+            int top = pollHeap();
+            if (allowed.get(top)) {
+                earliest = top;
+                pushHeap(top);
+                break;
+            }
+            if (skippedCount == skipped.length) {
+                skipped = Arrays.copyOf(skipped, skipped.length * 2);
+            }
+            skipped[skippedCount++] = top;
+        }
+        for (int i = 0; i < skippedCount; i++) {
+            pushHeap(skipped[i]);
+        }
+
+        if (earliest >= 0 && dueAt[earliest] <= now) {
+            return earliest;
+        }
+        BitSet unseen = (BitSet) allowed.clone();
+        unseen.andNot(seen);
+        int unseenCount = unseen.cardinality();
+        if (unseenCount > 0) {
+            int pick = unseen.nextSetBit(0);
+            for (int skip = ThreadLocalRandom.current().nextInt(unseenCount); skip > 0; skip--) {
+                pick = unseen.nextSetBit(pick + 1);
+            }
+            return pick;
+        }
+        return earliest;
+    }
+
+    /**
+     * Takes the state of every changed flag and clears the changed marks.
+     *
+     * @return the changed flags keyed by ordinal
+     */
+    synchronized List<Change> drainChanges() {
+        List<Change> changes = new ArrayList<>(dirty.cardinality());
+        for (int ordinal = dirty.nextSetBit(0); ordinal >= 0; ordinal = dirty.nextSetBit(ordinal + 1)) {
+            changes.add(new Change(ordinal, new State(easiness[ordinal], repetitions[ordinal], intervalDays[ordinal],
+                    lapses[ordinal], reviewedAt[ordinal], dueAt[ordinal])));
+        }
+        dirty.clear();
+        return changes;
+    }
+
+    /**
+     * Marks flags as changed again after writing them back failed.
+     *
+     * @param changes the changes that were not written
+     */
+    synchronized void requeue(List<Change> changes) {
+        for (Change change : changes) {
+            dirty.set(change.ordinal());
+        }
+    }
+
+    /**
+     * Records that the queue is in use.
+     *
+     * @param now the current time in epoch milliseconds
+     * @return false if the queue was evicted and must be loaded again
+     */
+    synchronized boolean touch(long now) {
+        if (evicted) {
+            return false;
+        }
+        lastUsed = now;
+        return true;
+    }
+
+    /**
+     * Evicts the queue if it was not used since the cutoff and has no unwritten changes.
+     *
+     * @param cutoff the last-use time before which the queue is idle
+     * @return true if the queue is evicted
+     */
+    synchronized boolean evictIfIdle(long cutoff) {
+        if (!evicted && lastUsed < cutoff && dirty.isEmpty()) {
+            evicted = true;
+        }
+        return evicted;
+    }
+
+    private void schedule(int ordinal, long due) {
+        dueAt[ordinal] = due;
+        seen.set(ordinal);
+        if (heapPosition[ordinal] == 0) {
+            pushHeap(ordinal);
+        } else {
+            int position = heapPosition[ordinal] - 1;
+            siftUp(position);
+            siftDown(heapPosition[ordinal] - 1);
+        }
+    }
+
+    private void pushHeap(int ordinal) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        heap[heapSize] = ordinal;
+        heapPosition[ordinal] = heapSize + 1;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    private int pollHeap() {
+        int top = heap[0];
+        heapPosition[top] = 0;
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPosition[heap[0]] = 1;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int position) {
+        int ordinal = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (dueAt[heap[parent]] <= dueAt[ordinal]) {
+                break;
+            }
+            heap[position] = heap[parent];
+            heapPosition[heap[position]] = position + 1;
+            position = parent;
+        }
+        heap[position] = ordinal;
+        heapPosition[ordinal] = position + 1;
+    }
+
+    private void siftDown(int position) {
+        int ordinal = heap[position];
+        int half = heapSize >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < heapSize && dueAt[heap[child + 1]] < dueAt[heap[child]]) {
+                child++;
+            }
+            if (dueAt[ordinal] <= dueAt[heap[child]]) {
+                break;
+            }
+            heap[position] = heap[child];
+            heapPosition[heap[position]] = position + 1;
+            position = child;
+        }
+        heap[position] = ordinal;
+        heapPosition[ordinal] = position + 1;
+    }
+
+    /**
+     * Grows the per-flag arrays to hold the given number of ordinals.
+     */
+    private void ensureCapacity(int size) {
+        if (size <= easiness.length) {
+            return;
+        }
+        int capacity = Math.max(size, easiness.length * 2);
+        easiness = Arrays.copyOf(easiness, capacity);
+        repetitions = Arrays.copyOf(repetitions, capacity);
+        intervalDays = Arrays.copyOf(intervalDays, capacity);
+        lapses = Arrays.copyOf(lapses, capacity);
+        reviewedAt = Arrays.copyOf(reviewedAt, capacity);
+        dueAt = Arrays.copyOf(dueAt, capacity);
+        heapPosition = Arrays.copyOf(heapPosition, capacity);
+    }
+
+    /**
+     * The SM-2 state of one flag.
+     *
+     * @param easiness the easiness factor
+     * @param repetitions the number of correct answers in a row
+     * @param intervalDays the current review interval in days
+     * @param lapses the number of misses
+     * @param reviewedAt the time of the last review in epoch milliseconds
+     * @param dueAt the time the flag is due in epoch milliseconds
+     */
+    record State(double easiness, int repetitions, int intervalDays, int lapses, long reviewedAt, long dueAt) {
+    }
+
+    /**
+     * The state of a flag that changed since it was last written back.
+     *
+     * @param ordinal the country ordinal
+     * @param state the current state
+     */
+    record Change(int ordinal, State state) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.model.LearningItem;
+import com.flagfinder.repository.LearningItemRepository;
+import com.flagfinder.repository.SinglePlayerRoundRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spaced-repetition learning queues of the players currently practicing.
+ * A player's queue is loaded on first use, from their stored learning items or, the first time they practice,
+ * by replaying their single player history. Picking a flag and recording an answer then only touch memory;
+ * changed flags are written back in batches by a scheduled flush, and queues idle for a while are dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LearningQueues {
+
+    private final LearningItemRepository learningItemRepository;
+    private final SinglePlayerRoundRepository singlePlayerRoundRepository;
+    private final CountryCatalog countryCatalog;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<UUID, LearningQueue> queues = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private static final long IDLE_EVICTION_MILLIS = 30L * 60 * 1000;
+
+    /**
+     * Picks the next country a player should practice.
+     *
+     * @param userId the ID of the player
+     * @param continents the continents to pick from, or null or empty for all countries
+     * @param excludedCountryIds country IDs that must not be picked, e.g. countries already used in the game
+     * @return the ID of the country, or null if every candidate is excluded
+     */
+    public UUID next(UUID userId, List<Continent> continents, Collection<UUID> excludedCountryIds) {
+        BitSet allowed = new BitSet();
+        for (UUID countryId : countryCatalog.candidates(continents)) {
+            if (excludedCountryIds == null || !excludedCountryIds.contains(countryId)) {
+                allowed.set(countryCatalog.ordinalOf(countryId));
+            }
+        }
+        int ordinal = queue(userId).next(allowed, System.currentTimeMillis());
+        return ordinal >= 0 ? countryCatalog.countryAt(ordinal) : null;
+    }
+
+    /**
+     * Records a player's answer for a practiced country and reschedules it.
+     * Inside a transaction the answer is applied once it commits, so a rolled back guess leaves the queue as it was.
+     *
+     * @param userId the ID of the player
+     * @param countryId the ID of the country that was shown
+     * @param correct whether the player recognized the flag
+     * @param responseMillis the time the player took to answer
+     */
+    public void record(UUID userId, UUID countryId, boolean correct, long responseMillis) {
+        long reviewedAt = System.currentTimeMillis();
+        AfterCommit.run(() -> queue(userId).review(countryCatalog.ordinalOf(countryId), correct, responseMillis, reviewedAt));
+    }
+
+    /**
+     * Writes changed flags of every queue back in one batch per player and drops idle queues.
+     */
+    @Scheduled(fixedDelay = 15000)
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            long idleCutoff = System.currentTimeMillis() - IDLE_EVICTION_MILLIS;
+            for (Map.Entry<UUID, LearningQueue> entry : queues.entrySet()) {
+                LearningQueue queue = entry.getValue();
+                List<LearningQueue.Change> changes = queue.drainChanges();
+                if (!changes.isEmpty()) {
+                    write(entry.getKey(), queue, changes);
+                }
+                if (queue.evictIfIdle(idleCutoff)) {
+                    queues.remove(entry.getKey(), queue);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the remaining changes before the application stops.
+     */
+    @PreDestroy
+    void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            queues.forEach((userId, queue) -> {
+                List<LearningQueue.Change> changes = queue.drainChanges();
+                if (!changes.isEmpty()) {
+                    write(userId, queue, changes);
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the loaded queue of a player, loading it if needed.
+     *
+     * @param userId the ID of the player
+     * @return the player's queue
+     */
+    private LearningQueue queue(UUID userId) {
+        long now = System.currentTimeMillis();
+        while (true) {
+            LearningQueue queue = queues.get(userId);
+            if (queue == null) {
+                LearningQueue loaded = load(userId);
+                queue = queues.putIfAbsent(userId, loaded);
+                if (queue == null) {
+                    queue = loaded;
+                }
+            }
+            if (queue.touch(now)) {
+                return queue;
+            }
+            queues.remove(userId, queue);
+        }
+    }
+
+    /**
+     * Loads a player's queue from their learning items, or seeds it from their single player history
+     * when they have none yet. Seeded flags are marked as changed, so the next flush stores them.
+     *
+     * @param userId the ID of the player
+     * @return the loaded queue
+     */
+    private LearningQueue load(UUID userId) {
+        LearningQueue queue = new LearningQueue();
+        List<LearningItem> items = learningItemRepository.findByUserId(userId);
+        if (!items.isEmpty()) {
+            for (LearningItem item : items) {
+                queue.restore(countryCatalog.ordinalOf(item.getCountryId()), new LearningQueue.State(
+                        item.getEasiness(), item.getRepetitions(), item.getIntervalDays(), item.getLapses(),
+                        millis(item.getReviewedAt()), millis(item.getDueAt())));
+            }
+            return queue;
+        }
+
+        int reviews = 0;
+        for (Object[] row : singlePlayerRoundRepository.findReviewHistory(userId, GameStatus.COMPLETED)) {
+            Instant shownAt = (Instant) row[2];
+            Instant answeredAt = (Instant) row[3];
+            long responseMillis = shownAt != null && answeredAt != null ? Math.max(0, answeredAt.toEpochMilli() - shownAt.toEpochMilli()) : Long.MAX_VALUE;
+            queue.review(countryCatalog.ordinalOf((UUID) row[0]), Boolean.TRUE.equals(row[1]), responseMillis, millis(shownAt));
+            reviews++;
+        }
+        log.debug("Seeded learning queue of user {} from {} single player rounds", userId, reviews);
+        return queue;
+    }
+
+    /**
+     * Upserts the changed flags of one player in a single transaction.
+     * Changes that could not be written are marked again and retried by the next flush.
+     */
+    private void write(UUID userId, LearningQueue queue, List<LearningQueue.Change> changes) {
+        Map<UUID, LearningQueue.State> states = new HashMap<>();
+        for (LearningQueue.Change change : changes) {
+            states.put(countryCatalog.countryAt(change.ordinal()), change.state());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<LearningItem> rows = new ArrayList<>(states.size());
+                Map<UUID, LearningQueue.State> remaining = new HashMap<>(states);
+                for (LearningItem item : learningItemRepository.findByUserIdAndCountryIdIn(userId, states.keySet())) {
+                    apply(item, remaining.remove(item.getCountryId()));
+                    rows.add(item);
+                }
+                remaining.forEach((countryId, state) -> {
+                    LearningItem item = new LearningItem();
+                    item.setUserId(userId);
+                    item.setCountryId(countryId);
+                    apply(item, state);
+                    rows.add(item);
+                });
+                learningItemRepository.saveAll(rows);
+            });
+        } catch (Exception e) {
+            log.warn("Failed to write {} learning items of user {}", changes.size(), userId, e);
+            queue.requeue(changes);
+        }
+    }
+
+    private void apply(LearningItem item, LearningQueue.State state) {
+        item.setEasiness(state.easiness());
+        item.setRepetitions(state.repetitions());
+        item.setIntervalDays(state.intervalDays());
+        item.setLapses(state.lapses());
+        item.setReviewedAt(state.reviewedAt() > 0 ? Instant.ofEpochMilli(state.reviewedAt()) : null);
+        item.setDueAt(Instant.ofEpochMilli(state.dueAt()));
+    }
+
+    private static long millis(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : 0L;
+    }
+}
@@ -0,0 +1,490 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.dto.GameDto;
+import com.flagfinder.dto.MatchFoundDto;
+import com.flagfinder.dto.MatchmakingStatsDto;
+import com.flagfinder.dto.QueueTicketDto;
+import com.flagfinder.dto.QuickMatchRequestDto;
+import com.flagfinder.dto.RoomDto;
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.model.User;
+import com.flagfinder.repository.UserRepository;
+import com.flagfinder.repository.UserStatsRepository;
+import com.flagfinder.service.GameService;
+import com.flagfinder.service.MatchmakingService;
+import com.flagfinder.service.RoomService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of MatchmakingService interface.
+ * Keeps waiting players in lock-free queues bucketed by continent filter and rating range.
+ * A scheduled matcher pairs players from the same or, as their wait grows, neighbouring rating buckets,
+ * then creates the room and game on a small worker pool so matching never waits on the database.
+ * If creating the room or game fails, the players go back into the queue with their original wait time,
+ * and are told to queue again once the match has failed too often.
+ * Enqueue and cancel only touch concurrent maps, queues and a compare-and-set on the ticket state.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchmakingServiceImpl implements MatchmakingService {
+
+    private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final ExtractAuthenticatedUserService extractAuthenticatedUserService;
+    private final RoomService roomService;
+    private final GameService gameService;
+    private final GameBroadcastService gameBroadcastService;
+    private final BotPlayers botPlayers;
+
+    private final Map<UUID, Ticket> ticketsByUser = new ConcurrentHashMap<>();
+    private final Map<BucketKey, Queue<Ticket>> buckets = new ConcurrentHashMap<>();
+    private final ExecutorService matchStarter = Executors.newFixedThreadPool(4);
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder totalEnqueued = new LongAdder();
+    private final LongAdder matchesMade = new LongAdder();
+    private final LongAdder matchedPlayers = new LongAdder();
+    private final LongAdder totalWaitMillis = new LongAdder();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+    private volatile long oldestWaitingMillis;
+
+    private static final int DEFAULT_RATING = 1500;
+    private static final int RATING_BUCKET_WIDTH = 100;
+    private static final long WIDEN_INTERVAL_MILLIS = 5000;
+    private static final int MAX_BUCKET_WIDENING = 10;
+    private static final long BOT_FALLBACK_MILLIS = 30_000;
+    private static final String ALL_CONTINENTS = "ALL";
+    private static final int MAX_MATCH_ATTEMPTS = 3;
+    private static final String QUEUE_MATCH_FOUND = "/queue/match-found";
+    private static final String QUEUE_MATCH_FAILED = "/queue/match-failed";
+
+    /**
+     * Puts the authenticated user into the quick match queue.
+     *
+     * @param request the queue request containing the continent filter and round count
+     * @return a QueueTicketDto describing the user's place in the queue
+     * @throws ResponseStatusException if the user is not found
+     */
+    @Override
+    public QueueTicketDto enqueue(QuickMatchRequestDto request) {
+        User user = userRepository.findByEmail(extractAuthenticatedUserService.getAuthenticatedUser())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User doesn't exist."));
+
+        List<Continent> continents = request.getContinents() != null ? request.getContinents() : List.of();
+        int rating = resolveRating(user);
+        Ticket ticket = new Ticket(
+                user.getId(),
+                user.getGameName(),
+                rating,
+                continents,
+                request.getNumberOfRounds(),
+                new BucketKey(continentsKey(continents), rating / RATING_BUCKET_WIDTH),
+                System.currentTimeMillis(),
+                0
+        );
+
+        Ticket existing = ticketsByUser.putIfAbsent(user.getId(), ticket);
+        if (existing != null) {
+            if (existing.settledState() == Ticket.WAITING) {
+                return toTicketDto(existing);
+            }
+            ticketsByUser.put(user.getId(), ticket);
+        }
+
+        buckets.computeIfAbsent(ticket.bucketKey, key -> new ConcurrentLinkedQueue<>()).offer(ticket);
+        queueDepth.incrementAndGet();
+        totalEnqueued.increment();
+
+        return toTicketDto(ticket);
+    }
+
+    /**
+     * Removes the authenticated user from the quick match queue.
+     * The ticket is only marked as cancelled; the matcher drops it from its bucket on the next pass.
+     *
+     * @throws ResponseStatusException if the user is not found or not waiting in the queue
+     */
+    @Override
+    public void leaveQueue() {
+        User user = userRepository.findByEmail(extractAuthenticatedUserService.getAuthenticatedUser())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User doesn't exist."));
+
+        Ticket ticket = ticketsByUser.get(user.getId());
+        if (ticket == null || !ticket.cancel()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User is not in the queue");
+        }
+        queueDepth.decrementAndGet();
+        ticketsByUser.remove(user.getId(), ticket);
+    }
+
+    /**
+     * Gets the current queue depth and wait time metrics.
+     *
+     * @return a MatchmakingStatsDto with the queue metrics
+     */
+    @Override
+    public MatchmakingStatsDto getStats() {
+        long matched = matchedPlayers.sum();
+
+        MatchmakingStatsDto stats = new MatchmakingStatsDto();
+        stats.setQueueDepth(queueDepth.get());
+        stats.setActiveBuckets((int) buckets.values().stream().filter(queue -> !queue.isEmpty()).count());
+        stats.setTotalEnqueued(totalEnqueued.sum());
+        stats.setMatchesMade(matchesMade.sum());
+        stats.setAverageWaitMillis(matched > 0 ? totalWaitMillis.sum() / matched : 0);
+        stats.setMaxWaitMillis(maxWaitMillis.get());
+        stats.setOldestWaitingMillis(oldestWaitingMillis);
+        return stats;
+    }
+
+    /**
+     * Pairs waiting players.
+     * Each waiting ticket looks for an opponent in its own bucket first and then in neighbouring
+     * rating buckets, widening by one bucket for every interval it has waited.
+     * A player who has found no opponent for long enough is matched with the bot instead.
+     * Tickets that are no longer waiting are dropped from their buckets along the way.
+     */
+    @Scheduled(fixedDelay = 250)
+    public void matchWaitingPlayers() {
+        long now = System.currentTimeMillis();
+        long oldestWaiting = 0;
+
+        for (Queue<Ticket> queue : buckets.values()) {
+            Iterator<Ticket> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                if (!ticket.isWaiting()) {
+                    iterator.remove();
+                    continue;
+                }
+
+                Ticket opponent = findOpponent(ticket, now);
+                if (opponent == null && now - ticket.queuedAt >= BOT_FALLBACK_MILLIS && botPlayers.botId() != null
+                        && ticket.state.compareAndSet(Ticket.WAITING, Ticket.MATCHED)) {
+                    iterator.remove();
+                    onMatchedWithBot(ticket, now);
+                    continue;
+                }
+                if (opponent == null) {
+                    oldestWaiting = Math.max(oldestWaiting, now - ticket.queuedAt);
+                    continue;
+                }
+
+                if (!ticket.state.compareAndSet(Ticket.WAITING, Ticket.CLAIMED)) {
+                    continue;
+                }
+                if (!opponent.state.compareAndSet(Ticket.WAITING, Ticket.MATCHED)) {
+                    ticket.state.compareAndSet(Ticket.CLAIMED, Ticket.WAITING);
+                    continue;
+                }
+                ticket.state.compareAndSet(Ticket.CLAIMED, Ticket.MATCHED);
+
+                iterator.remove();
+                onMatched(ticket, opponent, now);
+            }
+        }
+
+        oldestWaitingMillis = oldestWaiting;
+    }
+
+    /**
+     * Searches the ticket's own bucket and then neighbouring rating buckets for a waiting opponent.
+     *
+     * @param ticket the ticket looking for an opponent
+     * @param now the current time in milliseconds
+     * @return a waiting opponent, or null if none is within range
+     */
+    private Ticket findOpponent(Ticket ticket, long now) {
+        int widening = (int) Math.min(MAX_BUCKET_WIDENING, (now - ticket.queuedAt) / WIDEN_INTERVAL_MILLIS);
+
+        for (int distance = 0; distance <= widening; distance++) {
+            Ticket opponent = findWaitingIn(ticket, ticket.bucketKey.ratingBucket - distance);
+            if (opponent == null && distance > 0) {
+                opponent = findWaitingIn(ticket, ticket.bucketKey.ratingBucket + distance);
+            }
+            if (opponent != null) {
+                return opponent;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the first waiting ticket other than the given one in a rating bucket with the same continents.
+     *
+     * @param ticket the ticket looking for an opponent
+     * @param ratingBucket the rating bucket to search
+     * @return a waiting ticket, or null if there is none
+     */
+    private Ticket findWaitingIn(Ticket ticket, int ratingBucket) {
+        Queue<Ticket> queue = buckets.get(new BucketKey(ticket.bucketKey.continents, ratingBucket));
+        if (queue == null) {
+            return null;
+        }
+        for (Ticket candidate : queue) {
+            if (candidate != ticket && candidate.isWaiting() && !candidate.userId.equals(ticket.userId)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records metrics for a new match and hands room and game creation to the worker pool.
+     * The player who waited longer hosts the room.
+     *
+     * @param first one of the matched tickets
+     * @param second the other matched ticket
+     * @param now the current time in milliseconds
+     */
+    private void onMatched(Ticket first, Ticket second, long now) {
+        Ticket host = first.queuedAt <= second.queuedAt ? first : second;
+        Ticket guest = host == first ? second : first;
+
+        queueDepth.addAndGet(-2);
+        matchesMade.increment();
+        for (Ticket ticket : List.of(host, guest)) {
+            long waited = now - ticket.queuedAt;
+            matchedPlayers.increment();
+            totalWaitMillis.add(waited);
+            maxWaitMillis.accumulateAndGet(waited, Math::max);
+            ticketsByUser.remove(ticket.userId, ticket);
+        }
+
+        matchStarter.execute(() -> startMatch(host, guest, now));
+    }
+
+    /**
+     * Records metrics for a match against the bot and hands room and game creation to the worker pool.
+     *
+     * @param ticket the ticket of the player
+     * @param now the current time in milliseconds
+     */
+    private void onMatchedWithBot(Ticket ticket, long now) {
+        long waited = now - ticket.queuedAt;
+        queueDepth.decrementAndGet();
+        matchesMade.increment();
+        matchedPlayers.increment();
+        totalWaitMillis.add(waited);
+        maxWaitMillis.accumulateAndGet(waited, Math::max);
+        ticketsByUser.remove(ticket.userId, ticket);
+
+        matchStarter.execute(() -> startBotMatch(ticket, now));
+    }
+
+    /**
+     * Creates the room and game for a match against the bot, which takes the guest seat, and notifies the player.
+     *
+     * @param host the ticket of the player
+     * @param matchedAt the time the match was made, in milliseconds
+     */
+    private void startBotMatch(Ticket host, long matchedAt) {
+        try {
+            RoomDto room = roomService.createRoomForPlayers(host.userId, List.of(botPlayers.botId()), host.numberOfRounds);
+            GameDto game = gameService.startGame(room.getId(), host.continents.isEmpty() ? null : host.continents, null);
+
+            gameBroadcastService.send(host.gameName, QUEUE_MATCH_FOUND,
+                    toMatchFoundDto(room, game, botPlayers.botName(), matchedAt - host.queuedAt));
+        } catch (Exception e) {
+            log.error("Failed to start bot match for {}", host.gameName, e);
+            requeueOrNotify(host);
+        }
+    }
+
+    /**
+     * Creates the room and game for a match and notifies both players.
+     *
+     * @param host the ticket of the hosting player
+     * @param guest the ticket of the guest player
+     * @param matchedAt the time the match was made, in milliseconds
+     */
+    private void startMatch(Ticket host, Ticket guest, long matchedAt) {
+        try {
+            RoomDto room = roomService.createRoomForPlayers(host.userId, List.of(guest.userId), host.numberOfRounds);
+            GameDto game = gameService.startGame(room.getId(), host.continents.isEmpty() ? null : host.continents, null);
+
+            gameBroadcastService.send(host.gameName, QUEUE_MATCH_FOUND, toMatchFoundDto(room, game, guest.gameName, matchedAt - host.queuedAt));
+            gameBroadcastService.send(guest.gameName, QUEUE_MATCH_FOUND, toMatchFoundDto(room, game, host.gameName, matchedAt - guest.queuedAt));
+        } catch (Exception e) {
+            log.error("Failed to start quick match between {} and {}", host.gameName, guest.gameName, e);
+            requeueOrNotify(host);
+            requeueOrNotify(guest);
+        }
+    }
+
+    /**
+     * Puts a player whose match could not be started back into the queue, keeping their original wait time
+     * so they are matched again first. After too many failed attempts the player is told to queue again instead.
+     * A player who has queued again in the meantime keeps the new ticket.
+     *
+     * @param ticket the ticket of the player whose match failed
+     */
+    private void requeueOrNotify(Ticket ticket) {
+        if (ticket.attempts + 1 >= MAX_MATCH_ATTEMPTS) {
+            gameBroadcastService.send(ticket.gameName, QUEUE_MATCH_FAILED, "Could not start the match, please join the queue again");
+            return;
+        }
+
+        Ticket retry = new Ticket(ticket.userId, ticket.gameName, ticket.rating, ticket.continents,
+                ticket.numberOfRounds, ticket.bucketKey, ticket.queuedAt, ticket.attempts + 1);
+        if (ticketsByUser.putIfAbsent(ticket.userId, retry) != null) {
+            return;
+        }
+        buckets.computeIfAbsent(retry.bucketKey, key -> new ConcurrentLinkedQueue<>()).offer(retry);
+        queueDepth.incrementAndGet();
+    }
+
+    /**
+     * Stops the match worker pool on shutdown, giving matches being started a moment to finish.
+     *
+     * @throws InterruptedException if interrupted while waiting for the pool to stop
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        matchStarter.shutdown();
+        if (!matchStarter.awaitTermination(5, TimeUnit.SECONDS)) {
+            matchStarter.shutdownNow();
+        }
+    }
+
+    /**
+     * Resolves the rating a user is queued with: their Elo rating, or the default rating for a user without statistics.
+     *
+     * @param user the user entering the queue
+     * @return the user's rating
+     */
+    private int resolveRating(User user) {
+        return userStatsRepository.findById(user.getId())
+                .map(stats -> (int) Math.round(stats.getRating()))
+                .orElse(DEFAULT_RATING);
+    }
+
+    /**
+     * Builds a stable key for a continent filter, so that equal filters share buckets regardless of order.
+     *
+     * @param continents the selected continents
+     * @return the continent key
+     */
+    private String continentsKey(List<Continent> continents) {
+        if (continents.isEmpty()) {
+            return ALL_CONTINENTS;
+        }
+        return continents.stream()
+                .map(Enum::name)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private QueueTicketDto toTicketDto(Ticket ticket) {
+        QueueTicketDto dto = new QueueTicketDto();
+        dto.setRating(ticket.rating);
+        dto.setContinents(new ArrayList<>(ticket.continents));
+        dto.setQueuedAt(Instant.ofEpochMilli(ticket.queuedAt));
+        dto.setQueueDepth(queueDepth.get());
+        return dto;
+    }
+
+    private MatchFoundDto toMatchFoundDto(RoomDto room, GameDto game, String opponentUserName, long waitMillis) {
+        MatchFoundDto dto = new MatchFoundDto();
+        dto.setRoomId(room.getId());
+        dto.setGameId(game.getId());
+        dto.setOpponentUserName(opponentUserName);
+        dto.setWaitMillis(waitMillis);
+        return dto;
+    }
+
+    /**
+     * Identifies a bucket of tickets with the same continent filter and rating range.
+     */
+    private record BucketKey(String continents, int ratingBucket) {
+    }
+
+    /**
+     * A player's entry in the queue. The state moves from waiting to either matched or cancelled exactly once.
+     * While the matcher tries to claim an opponent it holds the ticket as claimed, and either matches it or
+     * puts it back to waiting. Only the matcher leaves the claimed state, so cancelling and re-queueing wait
+     * for those two compare-and-sets instead of racing the matcher's decision.
+     */
+    private static final class Ticket {
+        static final int WAITING = 0;
+        static final int MATCHED = 1;
+        static final int CANCELLED = 2;
+        static final int CLAIMED = 3;
+
+        final UUID userId;
+        final String gameName;
+        final int rating;
+        final List<Continent> continents;
+        final Integer numberOfRounds;
+        final BucketKey bucketKey;
+        final long queuedAt;
+        final int attempts;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Ticket(UUID userId, String gameName, int rating, List<Continent> continents,
+               Integer numberOfRounds, BucketKey bucketKey, long queuedAt, int attempts) {
+            this.userId = userId;
+            this.gameName = gameName;
+            this.rating = rating;
+            this.continents = continents;
+            this.numberOfRounds = numberOfRounds;
+            this.bucketKey = bucketKey;
+            this.queuedAt = queuedAt;
+            this.attempts = attempts;
+        }
+
+        boolean isWaiting() {
+            return state.get() == WAITING;
+        }
+
+        /**
+         * Gets the state once the matcher has decided on a claimed ticket.
+         */
+        int settledState() {
+            int current;
+            while ((current = state.get()) == CLAIMED) {
+                Thread.onSpinWait();
+            }
+            return current;
+        }
+
+        /**
+         * Cancels the ticket if it is still waiting once the matcher has decided on it.
+         *
+         * @return true if the ticket was cancelled
+         */
+        boolean cancel() {
+            while (settledState() == WAITING) {
+                if (state.compareAndSet(WAITING, CANCELLED)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.flagfinder.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagfinder.model.OutboxEvent;
+import com.flagfinder.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Writes domain events to the transactional outbox.
+ * Callers publish inside the transaction that makes the change, so an event exists if and only if the change committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Appends an event to the outbox.
+     *
+     * @param eventType the type of the event
+     * @param aggregateId the ID of the entity the event is about
+     * @param payload the payload to store as JSON
+     * @throws IllegalStateException if the payload cannot be serialized
+     */
+    public void publish(String eventType, UUID aggregateId, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setAggregateId(aggregateId);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + eventType + " event", e);
+        }
+        outboxEventRepository.save(event);
+    }
+}
@@ -0,0 +1,48 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.event.GameCompletedPayload;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A read model kept up to date from the outbox.
+ * Builders are applied to batches of events in outbox order. For a parallel rebuild the key space of a
+ * projection is split into partitions, and each partition only touches the rows of the keys it owns,
+ * so partitions can be applied concurrently without conflicting writes.
+ */
+public interface ProjectionBuilder {
+
+    /**
+     * Gets the name of the projection, also used as its checkpoint key.
+     *
+     * @return the projection name
+     */
+    String name();
+
+    /**
+     * Applies a batch of completed games to the rows owned by one partition.
+     *
+     * @param games the games in outbox order
+     * @param partition the index of the partition to apply
+     * @param partitionCount the total number of partitions, 1 for incremental updates
+     */
+    void apply(List<GameCompletedPayload> games, int partition, int partitionCount);
+
+    /**
+     * Deletes all rows of the projection before a rebuild.
+     */
+    void reset();
+
+    /**
+     * Checks whether a key belongs to a partition.
+     *
+     * @param key the row key
+     * @param partition the index of the partition
+     * @param partitionCount the total number of partitions
+     * @return true if the partition owns the key
+     */
+    static boolean owns(UUID key, int partition, int partitionCount) {
+        return partitionCount <= 1 || Math.floorMod(key.hashCode(), partitionCount) == partition;
+    }
+}
@@ -0,0 +1,307 @@
+package com.flagfinder.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory order statistics index of players by a non-negative integer score.
+ * Players are kept in one bucket per score value and a Fenwick tree counts the players per bucket,
+ * so the rank of a player, the player at a given position and updates all cost O(log S),
+ * where S is the highest score. Players with equal scores share a rank; inside a bucket they keep
+ * an arbitrary but stable order, and their slot is tracked so removal is O(1) by swapping with the last player.
+ * Reads share a read lock and updates take the write lock.
+ */
+final class RankedIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    private int capacity = INITIAL_CAPACITY;
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private List<Entry>[] buckets = newBuckets(INITIAL_CAPACITY);
+
+    /**
+     * Adds a player or moves them to a new score.
+     *
+     * @param userId the ID of the player
+     * @param userName the current game name of the player
+     * @param score the player's score, clamped to zero if negative
+     */
+    void put(UUID userId, String userName, long score) {
+        lock.writeLock().lock();
+        try {
+            move(entries.get(userId), userId, userName, score);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a player unless they are already indexed. Used by bulk loads, so a newer score
+     * put by a concurrent update is not overwritten with the value read from the database earlier.
+     *
+     * @param userId the ID of the player
+     * @param userName the game name of the player
+     * @param score the player's score, clamped to zero if negative
+     */
+    void putIfAbsent(UUID userId, String userName, long score) {
+        lock.writeLock().lock();
+        try {
+            if (!entries.containsKey(userId)) {
+                Entry entry = new Entry(userId, userName);
+                entry.score = (int) Math.min(Math.max(score, 0), Integer.MAX_VALUE - 1);
+                entries.put(userId, entry);
+                link(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds to a player's score, adding the player with the delta as their score if they are not indexed.
+     *
+     * @param userId the ID of the player
+     * @param userName the current game name of the player
+     * @param delta the amount to add, the resulting score is clamped to zero
+     */
+    void increment(UUID userId, String userName, long delta) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(userId);
+            move(entry, userId, userName, entry != null ? entry.score + delta : delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a player.
+     *
+     * @param userId the ID of the player
+     */
+    void remove(UUID userId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.remove(userId);
+            if (entry != null) {
+                unlink(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed players.
+     *
+     * @return the player count
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a player's rank and position.
+     *
+     * @param userId the ID of the player
+     * @return the ranked player, or null if the player is not indexed
+     */
+    Ranked get(UUID userId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                return null;
+            }
+            int above = countAbove(entry.score);
+            return new Ranked(above + 1, above + entry.slot + 1, entry.userId, entry.userName, entry.score);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the rank a player with the given score would have.
+     *
+     * @param score the score
+     * @return one more than the number of players with a higher score
+     */
+    int rankOf(long score) {
+        lock.readLock().lock();
+        try {
+            return countAbove((int) Math.min(Math.max(score, 0), Integer.MAX_VALUE - 1)) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets consecutive players in descending score order.
+     *
+     * @param fromPosition the 1-based position of the first player
+     * @param count the maximum number of players
+     * @return the players at the requested positions that exist
+     */
+    List<Ranked> range(int fromPosition, int count) {
+        lock.readLock().lock();
+        try {
+            int total = entries.size();
+            int first = Math.max(1, fromPosition);
+            int last = (int) Math.min(total, (long) first + count - 1);
+            List<Ranked> result = new ArrayList<>(Math.max(0, last - first + 1));
+            int position = first;
+            while (position <= last) {
+                int bucket = findKth(total - position + 1);
+                int above = total - prefix(bucket);
+                List<Entry> players = buckets[bucket - 1];
+                for (int slot = position - above - 1; slot < players.size() && position <= last; slot++, position++) {
+                    Entry entry = players.get(slot);
+                    result.add(new Ranked(above + 1, position, entry.userId, entry.userName, entry.score));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Moves an indexed player to a new score, or adds a new player. Must be called holding the write lock.
+     */
+    private void move(Entry entry, UUID userId, String userName, long score) {
+        int bucket = (int) Math.min(Math.max(score, 0), Integer.MAX_VALUE - 1);
+        if (entry != null) {
+            entry.userName = userName;
+            if (entry.score == bucket) {
+                return;
+            }
+            unlink(entry);
+        } else {
+            entry = new Entry(userId, userName);
+            entries.put(userId, entry);
+        }
+        entry.score = bucket;
+        link(entry);
+    }
+
+    private void link(Entry entry) {
+        ensureCapacity(entry.score + 1);
+        List<Entry> bucket = buckets[entry.score];
+        if (bucket == null) {
+            bucket = new ArrayList<>(4);
+            buckets[entry.score] = bucket;
+        }
+        entry.slot = bucket.size();
+        bucket.add(entry);
+        add(entry.score + 1, 1);
+    }
+
+    private void unlink(Entry entry) {
+        List<Entry> bucket = buckets[entry.score];
+        Entry last = bucket.remove(bucket.size() - 1);
+        if (last != entry) {
+            bucket.set(entry.slot, last);
+            last.slot = entry.slot;
+        }
+        add(entry.score + 1, -1);
+    }
+
+    /**
+     * Counts the players with a strictly higher score.
+     */
+    private int countAbove(int score) {
+        return entries.size() - prefix(Math.min(score + 1, capacity));
+    }
+
+    /**
+     * Grows the buckets to hold the given 1-based bucket index and rebuilds the tree in O(capacity).
+     */
+    private void ensureCapacity(int index) {
+        if (index <= capacity) {
+            return;
+        }
+        int newCapacity = Integer.highestOneBit(index - 1) << 1;
+        buckets = Arrays.copyOf(buckets, newCapacity);
+        tree = new int[newCapacity + 1];
+        for (int i = 1; i <= newCapacity; i++) {
+            List<Entry> bucket = buckets[i - 1];
+            tree[i] += bucket != null ? bucket.size() : 0;
+            int parent = i + (i & -i);
+            if (parent <= newCapacity) {
+                tree[parent] += tree[i];
+            }
+        }
+        capacity = newCapacity;
+    }
+
+    private void add(int index, int delta) {
+        for (int i = index; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int prefix(int index) {
+        int sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the smallest 1-based bucket index whose prefix count reaches k.
+     */
+    private int findKth(int k) {
+        int index = 0;
+        for (int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= capacity && tree[next] < k) {
+                index = next;
+                k -= tree[next];
+            }
+        }
+        return index + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Entry>[] newBuckets(int size) {
+        return (List<Entry>[]) new List[size];
+    }
+
+    /**
+     * A player's place in the index at the time of the read.
+     *
+     * @param rank the competition rank, shared by players with equal scores
+     * @param position the 1-based position in descending score order
+     * @param userId the ID of the player
+     * @param userName the game name of the player
+     * @param score the player's score
+     */
+    record Ranked(int rank, int position, UUID userId, String userName, long score) {
+    }
+
+    private static final class Entry {
+        private final UUID userId;
+        private String userName;
+        private int score;
+        private int slot;
+
+        private Entry(UUID userId, String userName) {
+            this.userId = userId;
+            this.userName = userName;
+        }
+    }
+}
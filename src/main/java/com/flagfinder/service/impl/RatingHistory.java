@@ -0,0 +1,243 @@
+package com.flagfinder.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Compact in-memory copy of the multiplayer game history used to recompute Elo ratings.
+ * Players are numbered densely and games are stored in end order as offsets into flat player and score arrays,
+ * so ten million games fit in a few hundred megabytes.
+ * Ratings only flow between players who played together, so the history is split into connected components
+ * of the player graph with a union-find pass and each component is replayed in end order on its own fork-join task.
+ * Not thread safe while loading; the replay writes each player's slot from exactly one task.
+ */
+final class RatingHistory {
+
+    private final Map<UUID, Integer> indexById = new HashMap<>();
+    private final List<UUID> playerIds = new ArrayList<>();
+    private final List<String> snapshotNames = new ArrayList<>();
+    private double[] snapshotRatings = new double[1024];
+    private int[] snapshotRatedGames = new int[1024];
+
+    private int games;
+    private int[] gameOffsets = new int[1025];
+    private int results;
+    private int[] resultPlayers = new int[2048];
+    private int[] resultScores = new int[2048];
+
+    private double[] ratings;
+    private int[] ratedGames;
+    private int components;
+    private int largestComponentGames;
+
+    /**
+     * Records a player's stored rating at the time of the snapshot.
+     *
+     * @param userId the ID of the player
+     * @param userName the game name of the player
+     * @param rating the stored rating
+     * @param ratedGameCount the stored number of rated games
+     */
+    void addSnapshot(UUID userId, String userName, double rating, int ratedGameCount) {
+        int player = playerIndex(userId);
+        snapshotNames.set(player, userName);
+        snapshotRatings[player] = rating;
+        snapshotRatedGames[player] = ratedGameCount;
+    }
+
+    /**
+     * Starts the next game in end order.
+     */
+    void startGame() {
+        if (games + 2 > gameOffsets.length) {
+            gameOffsets = Arrays.copyOf(gameOffsets, gameOffsets.length * 2);
+        }
+        games++;
+        gameOffsets[games] = results;
+    }
+
+    /**
+     * Adds a player's score to the game started last.
+     *
+     * @param userId the ID of the player
+     * @param score the player's score
+     */
+    void addResult(UUID userId, int score) {
+        if (results == resultPlayers.length) {
+            resultPlayers = Arrays.copyOf(resultPlayers, results * 2);
+            resultScores = Arrays.copyOf(resultScores, results * 2);
+        }
+        resultPlayers[results] = playerIndex(userId);
+        resultScores[results] = score;
+        results++;
+        gameOffsets[games] = results;
+    }
+
+    int gameCount() {
+        return games;
+    }
+
+    int playerCount() {
+        return playerIds.size();
+    }
+
+    int componentCount() {
+        return components;
+    }
+
+    int largestComponentGames() {
+        return largestComponentGames;
+    }
+
+    UUID playerId(int player) {
+        return playerIds.get(player);
+    }
+
+    /**
+     * Gets the game name recorded for a player in the snapshot.
+     *
+     * @param player the player index
+     * @return the game name, or null if the player had no stored rating
+     */
+    String snapshotName(int player) {
+        return snapshotNames.get(player);
+    }
+
+    double snapshotRating(int player) {
+        return snapshotRatings[player];
+    }
+
+    int snapshotRatedGames(int player) {
+        return snapshotRatedGames[player];
+    }
+
+    double rating(int player) {
+        return ratings[player];
+    }
+
+    int ratedGames(int player) {
+        return ratedGames[player];
+    }
+
+    /**
+     * Replays every game from the initial rating, running independent player components in parallel.
+     *
+     * @param pool the pool that runs the component tasks
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws ExecutionException if a component task fails
+     */
+    void replay(ForkJoinPool pool) throws InterruptedException, ExecutionException {
+        int players = playerIds.size();
+        ratings = new double[players];
+        ratedGames = new int[players];
+        Arrays.fill(ratings, EloRating.INITIAL_RATING);
+
+        int[] parent = new int[players];
+        for (int player = 0; player < players; player++) {
+            parent[player] = player;
+        }
+        for (int game = 0; game < games; game++) {
+            for (int result = gameOffsets[game] + 1; result < gameOffsets[game + 1]; result++) {
+                union(parent, resultPlayers[gameOffsets[game]], resultPlayers[result]);
+            }
+        }
+
+        int[] componentOfRoot = new int[players];
+        Arrays.fill(componentOfRoot, -1);
+        int[] componentOfGame = new int[games];
+        int[] componentStarts = new int[players + 1];
+        components = 0;
+        for (int game = 0; game < games; game++) {
+            if (gameOffsets[game + 1] - gameOffsets[game] < 2) {
+                componentOfGame[game] = -1;
+                continue;
+            }
+            int root = find(parent, resultPlayers[gameOffsets[game]]);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = components++;
+            }
+            componentOfGame[game] = componentOfRoot[root];
+            componentStarts[componentOfGame[game] + 1]++;
+        }
+
+        largestComponentGames = 0;
+        for (int component = 0; component < components; component++) {
+            largestComponentGames = Math.max(largestComponentGames, componentStarts[component + 1]);
+            componentStarts[component + 1] += componentStarts[component];
+        }
+        int[] gamesByComponent = new int[componentStarts[components]];
+        int[] filled = Arrays.copyOf(componentStarts, components);
+        for (int game = 0; game < games; game++) {
+            if (componentOfGame[game] >= 0) {
+                gamesByComponent[filled[componentOfGame[game]]++] = game;
+            }
+        }
+
+        pool.submit(() -> IntStream.range(0, components).parallel().forEach(component ->
+                replayComponent(gamesByComponent, componentStarts[component], componentStarts[component + 1])))
+                .get();
+    }
+
+    /**
+     * Replays the games of one component in end order.
+     */
+    private void replayComponent(int[] gamesByComponent, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int game = gamesByComponent[i];
+            int first = gameOffsets[game];
+            int size = gameOffsets[game + 1] - first;
+            double[] before = new double[size];
+            int[] played = new int[size];
+            int[] scores = new int[size];
+            for (int j = 0; j < size; j++) {
+                before[j] = ratings[resultPlayers[first + j]];
+                played[j] = ratedGames[resultPlayers[first + j]];
+                scores[j] = resultScores[first + j];
+            }
+            EloRating.update(before, played, scores, before);
+            for (int j = 0; j < size; j++) {
+                ratings[resultPlayers[first + j]] = before[j];
+                ratedGames[resultPlayers[first + j]]++;
+            }
+        }
+    }
+
+    private int playerIndex(UUID userId) {
+        Integer index = indexById.get(userId);
+        if (index != null) {
+            return index;
+        }
+        int player = playerIds.size();
+        indexById.put(userId, player);
+        playerIds.add(userId);
+        snapshotNames.add(null);
+        if (player == snapshotRatings.length) {
+            snapshotRatings = Arrays.copyOf(snapshotRatings, player * 2);
+            snapshotRatedGames = Arrays.copyOf(snapshotRatedGames, player * 2);
+        }
+        return player;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private static int find(int[] parent, int player) {
+        while (parent[player] != player) {
+            parent[player] = parent[parent[player]];
+            player = parent[player];
+        }
+        return player;
+    }
+}
@@ -0,0 +1,246 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.dto.RatingRecomputeStatusDto;
+import com.flagfinder.event.UserStatsUpdatedEvent;
+import com.flagfinder.model.UserStats;
+import com.flagfinder.repository.GameRepository;
+import com.flagfinder.repository.UserStatsRepository;
+import com.flagfinder.service.RatingService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of RatingService interface.
+ * The recomputation reads the stored ratings and the whole multiplayer history inside one read-only
+ * repeatable read transaction, so it sees exactly the games that produced the ratings it read and never
+ * blocks the games being played meanwhile. The history is replayed in memory by {@link RatingHistory},
+ * and the results are written back in small locked batches. Games that ended after the snapshot already
+ * moved the stored ratings, so that movement is kept on top of the recomputed value instead of being overwritten.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RatingServiceImpl implements RatingService {
+
+    private final GameRepository gameRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService recomputeCoordinator = Executors.newSingleThreadExecutor();
+
+    private volatile boolean failed;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long gamesReplayed;
+    private volatile int components;
+    private volatile int largestComponentGames;
+    private volatile long ratingsUpdated;
+
+    private static final int READ_PAGE_GAMES = 10_000;
+    private static final int READ_PAGE_PLAYERS = 10_000;
+    private static final int WRITE_BATCH_SIZE = 500;
+    private static final int REPLAY_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    /**
+     * Starts recomputing every player's rating from the multiplayer game history in the background.
+     * The replay uses one core less than the machine has, so live traffic keeps a core to itself.
+     *
+     * @return the recomputation status after it was scheduled
+     * @throws ResponseStatusException if a recomputation is already running
+     */
+    @Override
+    public RatingRecomputeStatusDto recomputeRatings() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ratings are already being recomputed");
+        }
+        failed = false;
+        startedAt = Instant.now();
+        finishedAt = null;
+        gamesReplayed = 0;
+        components = 0;
+        largestComponentGames = 0;
+        ratingsUpdated = 0;
+
+        recomputeCoordinator.submit(() -> {
+            try {
+                recompute();
+            } catch (Exception e) {
+                failed = true;
+                log.error("Failed to recompute ratings", e);
+            } finally {
+                finishedAt = Instant.now();
+                running.set(false);
+            }
+        });
+        return getRecomputeStatus();
+    }
+
+    /**
+     * Gets the progress of the last rating recomputation.
+     *
+     * @return the recomputation status
+     */
+    @Override
+    public RatingRecomputeStatusDto getRecomputeStatus() {
+        RatingRecomputeStatusDto dto = new RatingRecomputeStatusDto();
+        dto.setRunning(running.get());
+        dto.setFailed(failed);
+        dto.setStartedAt(startedAt);
+        dto.setFinishedAt(finishedAt);
+        dto.setGamesReplayed(gamesReplayed);
+        dto.setComponents(components);
+        dto.setLargestComponentGames(largestComponentGames);
+        dto.setRatingsUpdated(ratingsUpdated);
+        return dto;
+    }
+
+    /**
+     * Stops a running recomputation on shutdown. Ratings written so far are kept,
+     * and the recomputation can be started again after the restart.
+     */
+    @PreDestroy
+    public void shutdown() {
+        recomputeCoordinator.shutdownNow();
+    }
+
+    /**
+     * Loads the history, replays it in parallel and writes the changed ratings.
+     *
+     * @throws Exception if the replay fails
+     */
+    private void recompute() throws Exception {
+        TransactionTemplate snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setReadOnly(true);
+        RatingHistory history = snapshotTransaction.execute(status -> loadHistory());
+        gamesReplayed = history.gameCount();
+
+        ForkJoinPool pool = new ForkJoinPool(REPLAY_PARALLELISM);
+        try {
+            long replayStart = System.nanoTime();
+            history.replay(pool);
+            components = history.componentCount();
+            largestComponentGames = history.largestComponentGames();
+            log.info("Replayed {} games of {} players in {} components in {} ms", history.gameCount(),
+                    history.playerCount(), history.componentCount(), (System.nanoTime() - replayStart) / 1_000_000);
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Integer> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        for (int player = 0; player < history.playerCount(); player++) {
+            if (history.snapshotName(player) == null) {
+                continue;
+            }
+            if (history.rating(player) == history.snapshotRating(player)
+                    && history.ratedGames(player) == history.snapshotRatedGames(player)) {
+                continue;
+            }
+            batch.add(player);
+            if (batch.size() == WRITE_BATCH_SIZE) {
+                writeBatch(history, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(history, batch);
+        }
+        log.info("Rating recomputation updated {} ratings", ratingsUpdated);
+    }
+
+    /**
+     * Reads the stored ratings and then the game history, paging both by key.
+     * Must run inside the repeatable read transaction so both reads see the same snapshot.
+     *
+     * @return the loaded history
+     */
+    private RatingHistory loadHistory() {
+        RatingHistory history = new RatingHistory();
+
+        UUID afterUserId = FIRST_ID;
+        List<Object[]> ratings;
+        do {
+            ratings = userStatsRepository.findRatingPage(afterUserId, PageRequest.of(0, READ_PAGE_PLAYERS));
+            for (Object[] row : ratings) {
+                afterUserId = (UUID) row[0];
+                history.addSnapshot(afterUserId, (String) row[1], ((Number) row[2]).doubleValue(), ((Number) row[3]).intValue());
+            }
+        } while (ratings.size() == READ_PAGE_PLAYERS);
+
+        LocalDateTime afterEndedAt = HISTORY_START;
+        UUID afterGameId = FIRST_ID;
+        int gamesInPage;
+        do {
+            gamesInPage = 0;
+            for (Object[] row : gameRepository.findRatingHistoryPage(afterEndedAt, afterGameId, READ_PAGE_GAMES)) {
+                UUID gameId = (UUID) row[0];
+                if (!gameId.equals(afterGameId)) {
+                    history.startGame();
+                    afterGameId = gameId;
+                    afterEndedAt = toLocalDateTime(row[1]);
+                    gamesInPage++;
+                }
+                if (row[2] != null) {
+                    history.addResult((UUID) row[2], ((Number) row[3]).intValue());
+                }
+            }
+            gamesReplayed = history.gameCount();
+        } while (gamesInPage == READ_PAGE_GAMES);
+        return history;
+    }
+
+    /**
+     * Writes recomputed ratings, keeping the movement from games that ended after the snapshot.
+     *
+     * @param history the replayed history
+     * @param players the player indexes to write
+     */
+    private void writeBatch(RatingHistory history, List<Integer> players) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<UUID, Integer> playersById = new HashMap<>();
+            for (int player : players) {
+                playersById.put(history.playerId(player), player);
+            }
+            List<UserStats> rows = userStatsRepository.findAllForUpdate(playersById.keySet());
+            for (UserStats stats : rows) {
+                int player = playersById.get(stats.getUserId());
+                stats.setRating(history.rating(player) + stats.getRating() - history.snapshotRating(player));
+                stats.setRatedGames(history.ratedGames(player) + stats.getRatedGames() - history.snapshotRatedGames(player));
+                stats.setUpdatedAt(Instant.now());
+                applicationEventPublisher.publishEvent(new UserStatsUpdatedEvent(
+                        stats.getUserId(), history.snapshotName(player), stats.getWins(), stats.getRating(), stats.getMultiplayerCorrect()));
+            }
+            userStatsRepository.saveAll(rows);
+            ratingsUpdated += rows.size();
+        });
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
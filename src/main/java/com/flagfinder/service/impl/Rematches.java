@@ -0,0 +1,165 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.Difficulty;
+import com.flagfinder.model.Game;
+import com.flagfinder.model.User;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps what is needed to replay a finished multiplayer game in the same room: who played, in which seat order,
+ * and with which continent filter, difficulty and round count. With this in memory a rematch only has to check
+ * which players have moved on to another room and does not load the players or the finished game again. Contexts are kept for a while after the game ends and then dropped,
+ * after which the players have to set up a new room.
+ */
+@Service
+public class Rematches {
+
+    private final Map<UUID, Context> contexts = new ConcurrentHashMap<>();
+
+    private static final long CONTEXT_TTL_MILLIS = 10 * 60 * 1000;
+
+    /**
+     * Remembers a finished game so its players can ask for a rematch.
+     * The context is taken from the game now but only kept once the transaction that ended the game commits.
+     *
+     * @param game the finished game with its users and room loaded
+     */
+    void remember(Game game) {
+        if (game.getRoom() == null) {
+            return;
+        }
+        List<User> players = game.getUsers();
+        Context context = new Context(
+                game.getRoom().getId(),
+                players.stream().map(User::getId).toList(),
+                players.stream().map(User::getGameName).toList(),
+                players.stream().map(User::getEmail).toList(),
+                List.copyOf(game.getContinents()),
+                game.getDifficulty(),
+                game.getTotalRounds(),
+                System.currentTimeMillis() + CONTEXT_TTL_MILLIS);
+        UUID gameId = game.getId();
+        AfterCommit.run(() -> contexts.put(gameId, context));
+    }
+
+    /**
+     * Gets the rematch context of a finished game for one of its players.
+     *
+     * @param gameId the ID of the finished game
+     * @param email the email of the player asking for the rematch
+     * @return the context of the game
+     * @throws ResponseStatusException if the game is unknown or its rematch window has passed,
+     *         or the user did not play in it
+     */
+    Context find(UUID gameId, String email) {
+        Context context = contexts.get(gameId);
+        if (context == null || context.expiresAt < System.currentTimeMillis()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Rematch is no longer available for this game");
+        }
+        if (context.playerIdOf(email) == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only players of the game can ask for a rematch");
+        }
+        return context;
+    }
+
+    /**
+     * Drops contexts whose rematch window has passed.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        contexts.values().removeIf(context -> context.expiresAt < now);
+    }
+
+    /**
+     * What is needed to start a rematch of a finished game. Only the first request starts the rematch;
+     * later requests get the game it started.
+     */
+    static final class Context {
+        final UUID roomId;
+        final List<UUID> playerIds;
+        final List<String> playerNames;
+        final List<String> playerEmails;
+        final List<Continent> continents;
+        final Difficulty difficulty;
+        final Integer totalRounds;
+        final long expiresAt;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile UUID rematchGameId;
+
+        Context(UUID roomId, List<UUID> playerIds, List<String> playerNames, List<String> playerEmails,
+                List<Continent> continents, Difficulty difficulty, Integer totalRounds, long expiresAt) {
+            this.roomId = roomId;
+            this.playerIds = playerIds;
+            this.playerNames = playerNames;
+            this.playerEmails = playerEmails;
+            this.continents = continents;
+            this.difficulty = difficulty;
+            this.totalRounds = totalRounds;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Finds the player of the game with an email. Bot players have no email and never match.
+         *
+         * @param email the email of a user
+         * @return the user ID of the player, or null if the user did not play in the game
+         */
+        UUID playerIdOf(String email) {
+            if (email == null) {
+                return null;
+            }
+            for (int i = 0; i < playerEmails.size(); i++) {
+                if (Objects.equals(playerEmails.get(i), email)) {
+                    return playerIds.get(i);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Takes the right to start the rematch.
+         *
+         * @return true for the first caller, false if the rematch is already starting or started
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        /**
+         * Gives back the right to start the rematch after starting it failed.
+         */
+        void release() {
+            claimed.set(false);
+        }
+
+        /**
+         * Records the game the rematch started.
+         *
+         * @param gameId the ID of the new game
+         */
+        void started(UUID gameId) {
+            rematchGameId = gameId;
+        }
+
+        /**
+         * Gets the game the rematch started.
+         *
+         * @return the ID of the new game, or null if the rematch has not started yet
+         */
+        UUID rematchGameId() {
+            return rematchGameId;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.flagfinder.repository.RoomRepository;
 import com.flagfinder.repository.SinglePlayerRoomRepository;
 import com.flagfinder.repository.UserRepository;
 import com.flagfinder.service.RoomService;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -18,8 +19,8 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -42,6 +43,12 @@ public class RoomServiceImpl implements RoomService {
     private static final String USER_NOT_PRESENT = "User doesn't exist.";
     private final ExtractAuthenticatedUserService extractAuthenticatedUserService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final GameBroadcastService gameBroadcastService;
+    private final BotPlayers botPlayers;
+
+    private static final int MIN_PLAYERS_PER_ROOM = 2;
+    private static final int MAX_PLAYERS_PER_ROOM = 50;
+    private static final String QUEUE_ROOM_UPDATES = "/queue/room-updates";
 
 
     /**
@@ -59,16 +66,23 @@ public class RoomServiceImpl implements RoomService {
         List<Room> existingHostRooms = roomRepository.findByHostAndStatusNotInActiveOrCompleted(host);
         roomRepository.deleteAll(existingHostRooms);
 
-        List<Room> existingGuestRooms = roomRepository.findByGuestAndStatusNotInActiveOrCompleted(host);
+        List<Room> existingGuestRooms = roomRepository.findByPlayerAndStatusNotInActiveOrCompleted(host);
         for (Room existingRoom : existingGuestRooms) {
-            existingRoom.setGuest(null);
+            removePlayer(existingRoom, host);
             roomRepository.save(existingRoom);
         }
 
+        int maxPlayers = request.getMaxPlayers() != null ? request.getMaxPlayers() : MIN_PLAYERS_PER_ROOM;
+        if (maxPlayers < MIN_PLAYERS_PER_ROOM || maxPlayers > MAX_PLAYERS_PER_ROOM) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Room must allow between " + MIN_PLAYERS_PER_ROOM + " and " + MAX_PLAYERS_PER_ROOM + " players");
+        }
+
         Room room = new Room();
         room.setHost(host);
         room.setStatus(RoomStatus.WAITING_FOR_GUEST);
         room.setNumberOfRounds(request.getNumberOfRounds() != null ? request.getNumberOfRounds() : 5);
+        room.setMaxPlayers(maxPlayers);
         roomRepository.save(room);
 
         return roomMapper.roomToRoomDtoMapper(room);
@@ -99,22 +113,23 @@ public class RoomServiceImpl implements RoomService {
     }
     
     /**
-     * Allows a user to join an existing room as a guest.
+     * Allows a user to join an existing room as a player.
+     * The first player to join becomes the room's guest; further players are seated until the room is full.
+     * Players can only join before the game starts. The room row is locked for the join, so concurrent joins
+     * are checked against the capacity one at a time.
      *
      * @param joinRoomRequestDto the DTO containing the room ID to join
-     * @return a RoomDto object representing the updated room with the new guest
-     * @throws ResponseStatusException if the room doesn't exist, is full, or user is not found
+     * @return a RoomDto object representing the updated room with the new player
+     * @throws ResponseStatusException if the room doesn't exist, is full, its game has started or ended,
+     *         or user is not found
      * @throws IllegalArgumentException if user tries to join their own room
      */
     @Override
+    @Transactional
     public RoomDto joinRoom(JoinRoomRequestDto joinRoomRequestDto) {
-        Room room = roomRepository.findOneById(joinRoomRequestDto.getRoomId())
+        Room room = roomRepository.findByIdForUpdate(joinRoomRequestDto.getRoomId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,"Room doesn't exist"));
 
-        if (Objects.nonNull(room.getGuest())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Room is full");
-        }
-
         User guest = userRepository.findByEmail(extractAuthenticatedUserService.getAuthenticatedUser())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, USER_NOT_PRESENT));
 
@@ -122,20 +137,29 @@ public class RoomServiceImpl implements RoomService {
             throw new IllegalArgumentException("Cannot join your own room");
         }
 
-        room.setGuest(guest);
+        if (getSeatedPlayers(room).contains(guest)) {
+            return roomMapper.roomToRoomDtoMapper(room);
+        }
+
+        if (!isOpen(room)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "The game in this room has already started");
+        }
+
+        if (isFull(room)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Room is full");
+        }
+
+        room.getPlayers().add(guest);
+        if (room.getGuest() == null) {
+            room.setGuest(guest);
+        }
         room.setStatus(RoomStatus.ROOM_READY_FOR_START);
         roomRepository.save(room);
 
-        try {
-            var roomDto = roomMapper.roomToRoomDtoMapper(room);
-            messagingTemplate.convertAndSendToUser(
-                    room.getHost().getGameName(),
-                    "/queue/room-updates",
-                    roomDto
-            );
-        } catch (Exception e) {
-        }
-        return roomMapper.roomToRoomDtoMapper(room);
+        RoomDto roomDto = roomMapper.roomToRoomDtoMapper(room);
+        gameBroadcastService.broadcast(otherMembers(room, guest), QUEUE_ROOM_UPDATES, roomDto);
+
+        return roomDto;
     }
     
     /**
@@ -153,7 +177,7 @@ public class RoomServiceImpl implements RoomService {
 
         List<Room> hostRooms = roomRepository.findByHost(user);
         Room room = hostRooms.stream()
-                .filter(r -> r.getStatus() == RoomStatus.WAITING_FOR_GUEST)
+                .filter(this::isOpen)
                 .findFirst()
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No available room to invite friend to."));
 
@@ -161,7 +185,7 @@ public class RoomServiceImpl implements RoomService {
             throw new IllegalArgumentException("Friend doesn't exist " + inviteFriendRequestDto.getFriendUserName());
         }
 
-        if (Objects.nonNull(room.getGuest())) {
+        if (isFull(room)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Room is full");
         }
 
@@ -193,8 +217,8 @@ public class RoomServiceImpl implements RoomService {
 
     /**
      * Allows the authenticated user to leave their current active room.
-     * If the user is the host and there's a guest, the room is closed and guest is notified.
-     * If the user is a guest, they are removed from the room.
+     * If the user is the host, the room is closed and all joined players are notified.
+     * If the user is a player, they are removed from the room and the remaining members are notified.
      *
      * @throws ResponseStatusException if user is not found or not in any active room
      */
@@ -205,7 +229,7 @@ public class RoomServiceImpl implements RoomService {
                  .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,"User is not found"));
 
          List<Room> hostRooms = roomRepository.findByHost(user);
-         List<Room> guestRooms = roomRepository.findByGuest(user);
+         List<Room> guestRooms = roomRepository.findByPlayer(user);
          
          Room room = null;
          
@@ -222,35 +246,23 @@ public class RoomServiceImpl implements RoomService {
          }
 
           if (room.getHost().equals(user)) {
-            if (room.getGuest() != null) {
-                try {
-                    RoomClosedDto roomClosedDto = new RoomClosedDto();
-                    roomClosedDto.setRoomId(room.getId().toString());
-                    roomClosedDto.setMessage("The room has been closed by the host.");
-                    messagingTemplate.convertAndSendToUser(
-                            room.getGuest().getGameName(),
-                            "/queue/room-closed",
-                            roomClosedDto
-                    );
-                } catch (Exception e) {
-                }
+            List<String> playerNames = getSeatedPlayers(room).stream()
+                    .map(User::getGameName)
+                    .toList();
+            if (!playerNames.isEmpty()) {
+                RoomClosedDto roomClosedDto = new RoomClosedDto();
+                roomClosedDto.setRoomId(room.getId().toString());
+                roomClosedDto.setMessage("The room has been closed by the host.");
+                gameBroadcastService.broadcast(playerNames, "/queue/room-closed", roomClosedDto);
             }
             roomRepository.delete(room);
             return;
         }
 
-        room.setGuest(null);
-        room.setStatus(RoomStatus.WAITING_FOR_GUEST);
+        removePlayer(room, user);
         roomRepository.save(room);
-        try {
-            var roomDto = roomMapper.roomToRoomDtoMapper(room);
-            messagingTemplate.convertAndSendToUser(
-                    room.getHost().getGameName(),
-                    "/queue/room-updates",
-                    roomDto
-            );
-        } catch (Exception e) {
-        }
+
+        gameBroadcastService.broadcast(otherMembers(room, user), QUEUE_ROOM_UPDATES, roomMapper.roomToRoomDtoMapper(room));
     }
 
     /**
@@ -294,19 +306,170 @@ public class RoomServiceImpl implements RoomService {
         room.setNumberOfRounds(request.getNumberOfRounds());
         roomRepository.save(room);
 
-        if (room.getGuest() != null) {
-            try {
-                var roomDto = roomMapper.roomToRoomDtoMapper(room);
-                messagingTemplate.convertAndSendToUser(
-                        room.getGuest().getGameName(),
-                        "/queue/room-updates",
-                        roomDto
-                );
-            } catch (Exception e) {
-            }
+        RoomDto roomDto = roomMapper.roomToRoomDtoMapper(room);
+        gameBroadcastService.broadcast(otherMembers(room, user), QUEUE_ROOM_UPDATES, roomDto);
+
+        return roomDto;
+    }
+
+    /**
+     * Creates a room that is already seated with the given players, without invitations or joins.
+     *
+     * @param hostId the UUID of the user hosting the room
+     * @param playerIds the UUIDs of the other players, in seating order
+     * @param numberOfRounds the number of rounds to play, or null for the default
+     * @return a RoomDto object representing the created room, ready for the game to start
+     * @throws ResponseStatusException if a user is not found or the player count is out of range
+     */
+    @Override
+    @Transactional
+    public RoomDto createRoomForPlayers(UUID hostId, List<UUID> playerIds, Integer numberOfRounds) {
+        if (playerIds.isEmpty() || playerIds.size() + 1 > MAX_PLAYERS_PER_ROOM) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Room must have between " + MIN_PLAYERS_PER_ROOM + " and " + MAX_PLAYERS_PER_ROOM + " players");
+        }
+
+        User host = userRepository.findOneById(hostId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, USER_NOT_PRESENT));
+
+        Room room = new Room();
+        room.setHost(host);
+        for (UUID playerId : playerIds) {
+            User player = userRepository.findOneById(playerId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, USER_NOT_PRESENT));
+            room.getPlayers().add(player);
         }
+        room.setGuest(room.getPlayers().get(0));
+        room.setMaxPlayers(Math.max(MIN_PLAYERS_PER_ROOM, playerIds.size() + 1));
+        room.setNumberOfRounds(numberOfRounds != null ? numberOfRounds : 5);
+        room.setStatus(RoomStatus.ROOM_READY_FOR_START);
+        roomRepository.save(room);
 
         return roomMapper.roomToRoomDtoMapper(room);
     }
 
+    /**
+     * Seats the server-side bot in the authenticated host's room as an alternative to waiting for a human guest.
+     * The bot then plays every round of the game on its own.
+     *
+     * @param roomId the unique UUID identifier of the room
+     * @return a RoomDto object representing the updated room, ready for the game to start
+     * @throws ResponseStatusException if user/room not found, user is not host, the room is not open or full,
+     *         or the bot is not available
+     */
+    @Override
+    public RoomDto addBotGuest(UUID roomId) {
+        User user = userRepository.findByEmail(extractAuthenticatedUserService.getAuthenticatedUser())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, USER_NOT_PRESENT));
+
+        Room room = roomRepository.findOneById(roomId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room doesn't exist"));
+
+        if (!room.getHost().equals(user)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the host can add a bot");
+        }
+
+        if (room.getStatus() != RoomStatus.WAITING_FOR_GUEST && room.getStatus() != RoomStatus.ROOM_READY_FOR_START) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot add a bot to a room that is already in progress");
+        }
+
+        UUID botId = botPlayers.botId();
+        User bot = botId != null ? userRepository.findOneById(botId).orElse(null) : null;
+        if (bot == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Bot player is not available");
+        }
+
+        if (getSeatedPlayers(room).contains(bot)) {
+            return roomMapper.roomToRoomDtoMapper(room);
+        }
+
+        if (isFull(room)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Room is full");
+        }
+
+        room.getPlayers().add(bot);
+        if (room.getGuest() == null) {
+            room.setGuest(bot);
+        }
+        room.setStatus(RoomStatus.ROOM_READY_FOR_START);
+        roomRepository.save(room);
+
+        RoomDto roomDto = roomMapper.roomToRoomDtoMapper(room);
+        gameBroadcastService.broadcast(otherMembers(room, user), QUEUE_ROOM_UPDATES, roomDto);
+
+        return roomDto;
+    }
+
+    /**
+     * Returns every player seated in the room besides the host, in join order.
+     * Rooms created before multi-player support only track a guest, which is included as well.
+     *
+     * @param room the room to read players from
+     * @return list of seated players, excluding the host
+     */
+    static List<User> getSeatedPlayers(Room room) {
+        List<User> seated = new ArrayList<>(room.getPlayers());
+        if (room.getGuest() != null && !seated.contains(room.getGuest())) {
+            seated.add(0, room.getGuest());
+        }
+        return seated;
+    }
+
+    /**
+     * Checks whether players can still join the room, i.e. its game has not started yet.
+     *
+     * @param room the room to check
+     * @return true if the room is waiting for players or ready to start
+     */
+    private boolean isOpen(Room room) {
+        return room.getStatus() == RoomStatus.WAITING_FOR_GUEST || room.getStatus() == RoomStatus.ROOM_READY_FOR_START;
+    }
+
+    /**
+     * Checks whether the room has reached its player capacity, counting the host.
+     *
+     * @param room the room to check
+     * @return true if no more players can join
+     */
+    private boolean isFull(Room room) {
+        int maxPlayers = room.getMaxPlayers() != null ? room.getMaxPlayers() : MIN_PLAYERS_PER_ROOM;
+        return 1 + getSeatedPlayers(room).size() >= maxPlayers;
+    }
+
+    /**
+     * Removes a player from the room, promoting the next player to guest when needed.
+     * The room goes back to waiting when no players are left.
+     *
+     * @param room the room to remove the player from
+     * @param user the player to remove
+     */
+    private void removePlayer(Room room, User user) {
+        room.getPlayers().remove(user);
+        if (user.equals(room.getGuest())) {
+            room.setGuest(room.getPlayers().isEmpty() ? null : room.getPlayers().get(0));
+        }
+        if (room.getGuest() == null && room.getPlayers().isEmpty()) {
+            room.setStatus(RoomStatus.WAITING_FOR_GUEST);
+        }
+    }
+
+    /**
+     * Collects the game names of everyone in the room except the given user.
+     *
+     * @param room the room whose members are collected
+     * @param excluded the user to leave out
+     * @return list of member game names
+     */
+    private List<String> otherMembers(Room room, User excluded) {
+        List<String> names = new ArrayList<>();
+        if (room.getHost() != null && !room.getHost().equals(excluded)) {
+            names.add(room.getHost().getGameName());
+        }
+        for (User player : getSeatedPlayers(room)) {
+            if (!player.equals(excluded)) {
+                names.add(player.getGameName());
+            }
+        }
+        return names;
+    }
 }
@@ -0,0 +1,457 @@
+package com.flagfinder.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagfinder.dto.CountryConfusionDto;
+import com.flagfinder.dto.CountryDifficultyDto;
+import com.flagfinder.dto.ProjectionStatusDto;
+import com.flagfinder.dto.UserGameAggregateDto;
+import com.flagfinder.dto.UserGameHistoryDto;
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.mapper.ProjectionMapper;
+import com.flagfinder.model.CountryConfusion;
+import com.flagfinder.model.Game;
+import com.flagfinder.model.OutboxEvent;
+import com.flagfinder.model.ProjectionCheckpoint;
+import com.flagfinder.model.User;
+import com.flagfinder.model.UserGameAggregate;
+import com.flagfinder.repository.CountryConfusionRepository;
+import com.flagfinder.repository.CountryDifficultyRepository;
+import com.flagfinder.repository.CountryRepository;
+import com.flagfinder.repository.GameRepository;
+import com.flagfinder.repository.OutboxEventRepository;
+import com.flagfinder.repository.ProjectionCheckpointRepository;
+import com.flagfinder.repository.UserGameAggregateRepository;
+import com.flagfinder.repository.UserGameHistoryRepository;
+import com.flagfinder.service.StatsProjectionService;
+import com.flagfinder.service.UserService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of StatsProjectionService interface.
+ * A scheduled poller feeds new outbox events to every projection builder and moves each projection's
+ * checkpoint in the same transaction as its rows, so builders resume exactly where they stopped after a restart.
+ * A rebuild replays the whole outbox: every page is read and decoded once, then applied by all
+ * key partitions of the projection in parallel. The partitions commit separately, so while a rebuild runs the
+ * checkpoint is marked as untrusted; if the rebuild fails or the node stops, the poller clears the projection
+ * and replays it from the start instead of counting the partially applied events again.
+ * <p>
+ * Games that finished before the outbox was introduced have no event of their own. After startup they are written
+ * to the outbox once, in ID order pages, so history pages, exports and the other projections include them and a
+ * rebuild replays them like any other game.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatsProjectionServiceImpl implements StatsProjectionService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final GameRepository gameRepository;
+    private final ProjectionCheckpointRepository projectionCheckpointRepository;
+    private final UserGameHistoryRepository userGameHistoryRepository;
+    private final UserGameAggregateRepository userGameAggregateRepository;
+    private final CountryDifficultyRepository countryDifficultyRepository;
+    private final CountryConfusionRepository countryConfusionRepository;
+    private final CountryRepository countryRepository;
+    private final ProjectionMapper projectionMapper;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final List<ProjectionBuilder> projectionBuilders;
+
+    private final Map<String, ProjectionBuilder> builders = new LinkedHashMap<>();
+    private final Map<String, ReentrantLock> builderLocks = new LinkedHashMap<>();
+    private final Map<String, Boolean> rebuilding = new ConcurrentHashMap<>();
+
+    private final ExecutorService rebuildCoordinator = Executors.newSingleThreadExecutor();
+    private final ExecutorService rebuildWorkers = Executors.newFixedThreadPool(REBUILD_PARTITIONS);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int TOP_WRONG_GUESSES = 3;
+    private static final int REBUILD_PARTITIONS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final long COMMIT_SAFETY_LAG_MILLIS = 2000;
+    private static final long REBUILD_IN_PROGRESS = -1L;
+    private static final UUID NO_GAME = new UUID(0L, 0L);
+
+    /**
+     * Indexes the projection builders by name.
+     */
+    @PostConstruct
+    void registerBuilders() {
+        for (ProjectionBuilder builder : projectionBuilders) {
+            builders.put(builder.name(), builder);
+            builderLocks.put(builder.name(), new ReentrantLock());
+        }
+    }
+
+    /**
+     * Gets a page of the authenticated user's game history from the history projection.
+     *
+     * @param page the page number (0-based)
+     * @param pageSize the number of items per page
+     * @return a page of history rows, most recent game first
+     */
+    @Override
+    public Page<UserGameHistoryDto> getGameHistory(int page, int pageSize) {
+        User user = userService.getUserFromAuthentication();
+        return userGameHistoryRepository.findByUserIdOrderByEndedAtDescGameIdDesc(user.getId(), PageRequest.of(page, pageSize))
+                .map(projectionMapper::userGameHistoryToDto);
+    }
+
+    /**
+     * Gets the authenticated user's multiplayer totals from the aggregate projection.
+     *
+     * @return the user's totals, all zero if the user has no finished games yet
+     */
+    @Override
+    public UserGameAggregateDto getGameAggregate() {
+        User user = userService.getUserFromAuthentication();
+        UserGameAggregate aggregate = userGameAggregateRepository.findById(user.getId())
+                .orElseGet(() -> {
+                    UserGameAggregate empty = new UserGameAggregate();
+                    empty.setUserId(user.getId());
+                    return empty;
+                });
+        return projectionMapper.userGameAggregateToDto(aggregate);
+    }
+
+    /**
+     * Gets the recognition counters of all countries shown so far, hardest first,
+     * with each country's difficulty band and the wrong countries most often guessed for it.
+     *
+     * @return list of country difficulty DTOs ordered by ascending accuracy
+     */
+    @Override
+    public List<CountryDifficultyDto> getCountryDifficulty() {
+        Map<UUID, List<CountryConfusion>> wrongGuesses = new HashMap<>();
+        Set<UUID> guessedCountryIds = new HashSet<>();
+        for (CountryConfusion confusion : countryConfusionRepository.findAllByOrderByPicksDesc()) {
+            List<CountryConfusion> top = wrongGuesses.computeIfAbsent(confusion.getCountryId(), countryId -> new ArrayList<>());
+            if (top.size() < TOP_WRONG_GUESSES) {
+                top.add(confusion);
+                guessedCountryIds.add(confusion.getGuessedCountryId());
+            }
+        }
+        Map<UUID, String> names = new HashMap<>();
+        if (!guessedCountryIds.isEmpty()) {
+            for (Object[] row : countryRepository.findNamesByIdIn(guessedCountryIds)) {
+                names.put((UUID) row[0], (String) row[1]);
+            }
+        }
+
+        return countryDifficultyRepository.findAll().stream()
+                .map(difficulty -> {
+                    CountryDifficultyDto dto = projectionMapper.countryDifficultyToDto(difficulty);
+                    dto.setDifficulty(CountryCatalog.classify(difficulty.getCorrectAttempts(), difficulty.getAttempts()));
+                    for (CountryConfusion confusion : wrongGuesses.getOrDefault(difficulty.getCountryId(), List.of())) {
+                        CountryConfusionDto wrongGuess = new CountryConfusionDto();
+                        wrongGuess.setGuessedCountryId(confusion.getGuessedCountryId());
+                        wrongGuess.setGuessedCountryName(names.get(confusion.getGuessedCountryId()));
+                        wrongGuess.setPicks(confusion.getPicks());
+                        dto.getCommonWrongGuesses().add(wrongGuess);
+                    }
+                    return dto;
+                })
+                .sorted(Comparator.comparingInt(CountryDifficultyDto::getAccuracyPercentage)
+                        .thenComparing(Comparator.comparingLong(CountryDifficultyDto::getAttempts).reversed()))
+                .toList();
+    }
+
+    /**
+     * Gets the checkpoint and lag of every projection.
+     *
+     * @return list of projection status DTOs
+     */
+    @Override
+    public List<ProjectionStatusDto> getProjectionStatus() {
+        Long latest = outboxEventRepository.findMaxId();
+        List<ProjectionStatusDto> statuses = new ArrayList<>();
+        for (String name : builders.keySet()) {
+            statuses.add(status(name, latest));
+        }
+        return statuses;
+    }
+
+    /**
+     * Starts rebuilding a projection from the beginning of the outbox in the background.
+     *
+     * @param name the name of the projection
+     * @return the projection status after the rebuild was scheduled
+     * @throws ResponseStatusException if the projection does not exist or is already being rebuilt
+     */
+    @Override
+    public ProjectionStatusDto rebuildProjection(String name) {
+        ProjectionBuilder builder = builders.get(name);
+        if (builder == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Projection not found: " + name);
+        }
+        if (rebuilding.putIfAbsent(name, Boolean.TRUE) != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Projection is already being rebuilt");
+        }
+
+        rebuildCoordinator.submit(() -> {
+            try {
+                rebuild(builder);
+            } catch (Exception e) {
+                log.error("Rebuild of projection {} failed", name, e);
+            } finally {
+                rebuilding.remove(name);
+            }
+        });
+        return status(name, outboxEventRepository.findMaxId());
+    }
+
+    /**
+     * Applies new outbox events to every projection.
+     * Only events older than a short safety lag are read, so an event whose transaction commits
+     * after a later event's transaction is not skipped by the checkpoint.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void pollOutbox() {
+        Long upToId = outboxEventRepository.findMaxIdCreatedBefore(Instant.now().minusMillis(COMMIT_SAFETY_LAG_MILLIS));
+        if (upToId == null) {
+            return;
+        }
+
+        for (ProjectionBuilder builder : builders.values()) {
+            ReentrantLock lock = builderLocks.get(builder.name());
+            if (!lock.tryLock()) {
+                continue;
+            }
+            try {
+                catchUp(builder, upToId);
+            } catch (Exception e) {
+                log.warn("Projection {} failed to apply outbox events", builder.name(), e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the missing outbox events of completed games once after startup, on a background thread.
+     * Once every completed game has its event this is a single empty query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOutbox() {
+        Thread coordinator = new Thread(this::backfillCompletedGames, "outbox-backfill");
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    /**
+     * Stops the rebuild pools on shutdown. An interrupted rebuild leaves its checkpoint marked,
+     * so the projection is replayed from the start after the restart.
+     */
+    @PreDestroy
+    public void shutdown() {
+        rebuildCoordinator.shutdownNow();
+        rebuildWorkers.shutdownNow();
+    }
+
+    /**
+     * Applies events to a projection in batches until its checkpoint reaches the given ID.
+     * A projection left behind by an unfinished rebuild is cleared first and replayed from the first event.
+     *
+     * @param builder the projection to update
+     * @param upToId the ID of the last event to apply
+     */
+    private void catchUp(ProjectionBuilder builder, long upToId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProjectionCheckpoint checkpoint = checkpoint(builder.name());
+            if (checkpoint.getLastEventId() == REBUILD_IN_PROGRESS) {
+                log.warn("Projection {} was left by an unfinished rebuild, replaying it from the start", builder.name());
+                builder.reset();
+                checkpoint.setLastEventId(0L);
+                checkpoint.setUpdatedAt(Instant.now());
+                projectionCheckpointRepository.save(checkpoint);
+            }
+        });
+        while (true) {
+            Boolean applied = transactionTemplate.execute(status -> {
+                ProjectionCheckpoint checkpoint = checkpoint(builder.name());
+                if (checkpoint.getLastEventId() >= upToId) {
+                    return false;
+                }
+                List<OutboxEvent> events = outboxEventRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                        checkpoint.getLastEventId(), upToId, PageRequest.of(0, BATCH_SIZE));
+                if (events.isEmpty()) {
+                    return false;
+                }
+                builder.apply(decode(events), 0, 1);
+                checkpoint.setLastEventId(events.get(events.size() - 1).getId());
+                checkpoint.setUpdatedAt(Instant.now());
+                projectionCheckpointRepository.save(checkpoint);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(applied)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds a projection from the first outbox event. The incremental poller is paused for the
+     * projection while it runs and continues from the rebuilt checkpoint afterwards.
+     * Like the poller, the rebuild stops at the last event older than the commit safety lag, so an event
+     * whose transaction has not committed yet is left for the poller instead of being skipped.
+     * Until the rebuild finishes, the checkpoint stays marked as in progress.
+     *
+     * @param builder the projection to rebuild
+     */
+    private void rebuild(ProjectionBuilder builder) {
+        ReentrantLock lock = builderLocks.get(builder.name());
+        lock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            Long maxId = outboxEventRepository.findMaxIdCreatedBefore(Instant.now().minusMillis(COMMIT_SAFETY_LAG_MILLIS));
+            long upToId = maxId != null ? maxId : 0L;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                builder.reset();
+                ProjectionCheckpoint checkpoint = checkpoint(builder.name());
+                checkpoint.setLastEventId(REBUILD_IN_PROGRESS);
+                checkpoint.setUpdatedAt(Instant.now());
+                projectionCheckpointRepository.save(checkpoint);
+            });
+
+            long afterId = 0;
+            long applied = 0;
+            while (afterId < upToId) {
+                List<OutboxEvent> events = outboxEventRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                        afterId, upToId, PageRequest.of(0, BATCH_SIZE));
+                if (events.isEmpty()) {
+                    break;
+                }
+                List<GameCompletedPayload> games = decode(events);
+                CompletableFuture<?>[] partitions = new CompletableFuture<?>[REBUILD_PARTITIONS];
+                for (int partition = 0; partition < REBUILD_PARTITIONS; partition++) {
+                    int index = partition;
+                    partitions[partition] = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                            status -> builder.apply(games, index, REBUILD_PARTITIONS)), rebuildWorkers);
+                }
+                CompletableFuture.allOf(partitions).join();
+                afterId = events.get(events.size() - 1).getId();
+                applied += events.size();
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                ProjectionCheckpoint checkpoint = checkpoint(builder.name());
+                checkpoint.setLastEventId(upToId);
+                checkpoint.setUpdatedAt(Instant.now());
+                projectionCheckpointRepository.save(checkpoint);
+            });
+            log.info("Rebuilt projection {} from {} events in {} ms", builder.name(), applied, System.currentTimeMillis() - started);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publishes a completed-game event for every completed game that has none, page by page.
+     * Each page is written in one transaction in end order, so the poller applies the games oldest first.
+     * A game finishing meanwhile is never picked up twice, since its own event commits together with its status.
+     */
+    private void backfillCompletedGames() {
+        long startedAt = System.nanoTime();
+        int written = 0;
+        try {
+            UUID afterGameId = NO_GAME;
+            List<UUID> page;
+            do {
+                page = gameRepository.findIdsWithoutOutboxEvent(GameStatus.COMPLETED, GameCompletedPayload.TYPE,
+                        afterGameId, PageRequest.of(0, BATCH_SIZE));
+                if (page.isEmpty()) {
+                    break;
+                }
+                List<UUID> gameIds = page;
+                Integer published = transactionTemplate.execute(status -> {
+                    List<Game> games = new ArrayList<>(gameRepository.findAllByIdWithRelations(gameIds));
+                    games.sort(Comparator.comparing(Game::getEndedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+                    for (Game game : games) {
+                        outboxPublisher.publish(GameCompletedPayload.TYPE, game.getId(), GameServiceImpl.completedPayload(game));
+                    }
+                    return games.size();
+                });
+                written += published != null ? published : 0;
+                afterGameId = page.get(page.size() - 1);
+            } while (page.size() == BATCH_SIZE);
+
+            if (written > 0) {
+                log.info("Backfilled outbox events of {} completed games in {} ms", written, (System.nanoTime() - startedAt) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.error("Outbox backfill stopped after {} games", written, e);
+        }
+    }
+
+    /**
+     * Decodes the game payloads of a batch of outbox events, skipping other event types.
+     *
+     * @param events the outbox events in ID order
+     * @return the decoded payloads in the same order
+     */
+    private List<GameCompletedPayload> decode(List<OutboxEvent> events) {
+        List<GameCompletedPayload> games = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            if (!GameCompletedPayload.TYPE.equals(event.getEventType())) {
+                continue;
+            }
+            try {
+                games.add(objectMapper.readValue(event.getPayload(), GameCompletedPayload.class));
+            } catch (Exception e) {
+                log.warn("Skipping unreadable outbox event {}", event.getId(), e);
+            }
+        }
+        return games;
+    }
+
+    private ProjectionCheckpoint checkpoint(String name) {
+        return projectionCheckpointRepository.findById(name).orElseGet(() -> {
+            ProjectionCheckpoint checkpoint = new ProjectionCheckpoint();
+            checkpoint.setName(name);
+            return checkpoint;
+        });
+    }
+
+    private ProjectionStatusDto status(String name, Long latestEventId) {
+        ProjectionCheckpoint checkpoint = checkpoint(name);
+        ProjectionStatusDto dto = new ProjectionStatusDto();
+        dto.setName(name);
+        dto.setLastEventId(checkpoint.getLastEventId());
+        dto.setLag(latestEventId != null ? Math.max(0, latestEventId - checkpoint.getLastEventId()) : 0);
+        dto.setRebuilding(rebuilding.containsKey(name));
+        dto.setUpdatedAt(checkpoint.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,394 @@
+package com.flagfinder.service.impl;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.flagfinder.enumeration.TournamentFormat;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory bracket state of a tournament.
+ * Builds the pairings of each round for single elimination and Swiss formats and records match results.
+ * The bracket only holds plain data so it can be checkpointed to the database as JSON.
+ * It is not thread safe; callers synchronize on the tournament that owns it.
+ */
+@Data
+public class TournamentBracket {
+
+    /**
+     * Points are stored as half points so a draw stays an integer.
+     */
+    static final int WIN_HALF_POINTS = 2;
+    static final int DRAW_HALF_POINTS = 1;
+
+    static final String PENDING = "PENDING";
+    static final String IN_PROGRESS = "IN_PROGRESS";
+    static final String COMPLETED = "COMPLETED";
+
+    /**
+     * The pairing format of the tournament.
+     */
+    private TournamentFormat format;
+
+    /**
+     * All players in seed order.
+     */
+    private List<Participant> participants = new ArrayList<>();
+
+    /**
+     * The pairings of every round played so far, in round order.
+     */
+    private List<Match> matches = new ArrayList<>();
+
+    /**
+     * The round currently being played, or 0 before the start.
+     */
+    private int currentRound;
+
+    /**
+     * The total number of rounds, decided when the first round is paired.
+     */
+    private int totalRounds;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<UUID, Participant> participantsById;
+
+    /**
+     * Creates an empty bracket for the given format.
+     *
+     * @param format the pairing format
+     * @return the new bracket
+     */
+    static TournamentBracket create(TournamentFormat format) {
+        TournamentBracket bracket = new TournamentBracket();
+        bracket.setFormat(format);
+        return bracket;
+    }
+
+    /**
+     * Adds a player with the next seed.
+     *
+     * @param userId the ID of the player
+     * @param userName the game name of the player
+     * @return false if the player was already registered
+     */
+    boolean addParticipant(UUID userId, String userName) {
+        if (participant(userId) != null) {
+            return false;
+        }
+        Participant participant = new Participant();
+        participant.setUserId(userId);
+        participant.setUserName(userName);
+        participant.setSeed(participants.size() + 1);
+        participants.add(participant);
+        participantsById = null;
+        return true;
+    }
+
+    /**
+     * Pairs the next round. Byes are completed immediately.
+     * The number of rounds is fixed when the first round is paired: enough rounds
+     * to leave a single elimination winner, and the same count for Swiss.
+     *
+     * @return the matches of the new round that need a game
+     */
+    List<Match> startNextRound() {
+        if (currentRound == 0) {
+            totalRounds = Math.max(1, 32 - Integer.numberOfLeadingZeros(participants.size() - 1));
+        }
+        currentRound++;
+
+        List<Match> roundMatches = format == TournamentFormat.SWISS ? pairSwiss() : pairElimination();
+        matches.addAll(roundMatches);
+
+        List<Match> playable = new ArrayList<>();
+        for (Match match : roundMatches) {
+            if (match.getPlayerTwoId() == null) {
+                completeMatch(match, match.getPlayerOneId());
+                participant(match.getPlayerOneId()).setHadBye(true);
+            } else {
+                playable.add(match);
+            }
+        }
+        return playable;
+    }
+
+    /**
+     * Pairs the remaining players of a single elimination round in seed order. With an odd count
+     * the best remaining seed gets a bye, and the rest are paired first against second, third against fourth and so on.
+     *
+     * @return the pairings of the round
+     */
+    private List<Match> pairElimination() {
+        List<UUID> remaining = participants.stream()
+                .filter(participant -> !participant.isEliminated())
+                .map(Participant::getUserId)
+                .toList();
+
+        List<Match> pairings = new ArrayList<>();
+        int first = 0;
+        if (remaining.size() % 2 == 1) {
+            pairings.add(newMatch(remaining.get(0), null));
+            first = 1;
+        }
+        for (int i = first; i + 1 < remaining.size(); i += 2) {
+            pairings.add(newMatch(remaining.get(i), remaining.get(i + 1)));
+        }
+        return pairings;
+    }
+
+    /**
+     * Pairs a Swiss round. Players are ranked by points and then seed, and each player is paired
+     * with the best ranked player they have not met yet. With an odd count the lowest ranked
+     * player without a previous bye sits out with a bye.
+     *
+     * @return the pairings of the round
+     */
+    private List<Match> pairSwiss() {
+        List<Participant> ranked = new ArrayList<>(standings());
+        List<Match> pairings = new ArrayList<>();
+
+        if (ranked.size() % 2 == 1) {
+            Participant byePlayer = null;
+            for (int i = ranked.size() - 1; i >= 0 && byePlayer == null; i--) {
+                if (!ranked.get(i).isHadBye()) {
+                    byePlayer = ranked.get(i);
+                }
+            }
+            if (byePlayer == null) {
+                byePlayer = ranked.get(ranked.size() - 1);
+            }
+            ranked.remove(byePlayer);
+            pairings.add(newMatch(byePlayer.getUserId(), null));
+        }
+
+        boolean[] paired = new boolean[ranked.size()];
+        for (int i = 0; i < ranked.size(); i++) {
+            if (paired[i]) {
+                continue;
+            }
+            Participant player = ranked.get(i);
+            int opponentIndex = -1;
+            for (int j = i + 1; j < ranked.size(); j++) {
+                if (!paired[j] && !player.getOpponentIds().contains(ranked.get(j).getUserId())) {
+                    opponentIndex = j;
+                    break;
+                }
+            }
+            if (opponentIndex < 0) {
+                for (int j = i + 1; j < ranked.size(); j++) {
+                    if (!paired[j]) {
+                        opponentIndex = j;
+                        break;
+                    }
+                }
+            }
+            paired[i] = true;
+            paired[opponentIndex] = true;
+            pairings.add(newMatch(player.getUserId(), ranked.get(opponentIndex).getUserId()));
+        }
+        return pairings;
+    }
+
+    /**
+     * Records that a match's game has started.
+     *
+     * @param match the match that started
+     * @param roomId the ID of the room created for the match
+     * @param gameId the ID of the game played for the match
+     */
+    void matchStarted(Match match, UUID roomId, UUID gameId) {
+        match.setRoomId(roomId);
+        match.setGameId(gameId);
+        match.setStatus(IN_PROGRESS);
+    }
+
+    /**
+     * Records the result of a match's game.
+     * A drawn single elimination match is won by the better seed, which is always player one.
+     *
+     * @param gameId the ID of the completed game
+     * @param winnerUserName the game name of the game winner, or null for a draw
+     * @return the completed match, or null if no running match belongs to the game
+     */
+    Match recordResult(UUID gameId, String winnerUserName) {
+        Match match = matches.stream()
+                .filter(candidate -> gameId.equals(candidate.getGameId()) && !COMPLETED.equals(candidate.getStatus()))
+                .findFirst()
+                .orElse(null);
+        if (match == null) {
+            return null;
+        }
+
+        UUID winnerId = null;
+        if (winnerUserName != null) {
+            if (winnerUserName.equals(participant(match.getPlayerOneId()).getUserName())) {
+                winnerId = match.getPlayerOneId();
+            } else if (winnerUserName.equals(participant(match.getPlayerTwoId()).getUserName())) {
+                winnerId = match.getPlayerTwoId();
+            }
+        }
+        if (winnerId == null && format == TournamentFormat.SINGLE_ELIMINATION) {
+            winnerId = match.getPlayerOneId();
+        }
+
+        completeMatch(match, winnerId);
+        return match;
+    }
+
+    /**
+     * Completes a match that could not be played, advancing the better seed.
+     *
+     * @param match the match to forfeit
+     */
+    void forfeit(Match match) {
+        if (!COMPLETED.equals(match.getStatus())) {
+            completeMatch(match, match.getPlayerOneId());
+        }
+    }
+
+    /**
+     * Marks a match as completed and updates points, opponents and eliminations.
+     *
+     * @param match the match to complete
+     * @param winnerId the ID of the winner, or null for a draw
+     */
+    private void completeMatch(Match match, UUID winnerId) {
+        match.setWinnerId(winnerId);
+        match.setStatus(COMPLETED);
+
+        Participant playerOne = participant(match.getPlayerOneId());
+        Participant playerTwo = match.getPlayerTwoId() != null ? participant(match.getPlayerTwoId()) : null;
+        if (playerTwo != null) {
+            playerOne.getOpponentIds().add(playerTwo.getUserId());
+            playerTwo.getOpponentIds().add(playerOne.getUserId());
+        }
+
+        if (winnerId == null) {
+            playerOne.setHalfPoints(playerOne.getHalfPoints() + DRAW_HALF_POINTS);
+            if (playerTwo != null) {
+                playerTwo.setHalfPoints(playerTwo.getHalfPoints() + DRAW_HALF_POINTS);
+            }
+            return;
+        }
+
+        participant(winnerId).setHalfPoints(participant(winnerId).getHalfPoints() + WIN_HALF_POINTS);
+        if (format == TournamentFormat.SINGLE_ELIMINATION && playerTwo != null) {
+            Participant loser = winnerId.equals(playerOne.getUserId()) ? playerTwo : playerOne;
+            loser.setEliminated(true);
+        }
+    }
+
+    /**
+     * Checks whether every match of the current round is completed.
+     *
+     * @return true if the next round can be paired
+     */
+    boolean isRoundComplete() {
+        return matches.stream()
+                .filter(match -> match.getRound() == currentRound)
+                .allMatch(match -> COMPLETED.equals(match.getStatus()));
+    }
+
+    /**
+     * Checks whether the tournament is decided.
+     *
+     * @return true if the last round is completed
+     */
+    boolean isFinished() {
+        if (currentRound == 0 || !isRoundComplete()) {
+            return false;
+        }
+        if (format == TournamentFormat.SINGLE_ELIMINATION) {
+            return participants.stream().filter(participant -> !participant.isEliminated()).count() <= 1;
+        }
+        return currentRound >= totalRounds;
+    }
+
+    /**
+     * Gets the tournament winner: the last player standing, or the Swiss leader on points and then seed.
+     *
+     * @return the winning participant, or null if there are no players
+     */
+    Participant winner() {
+        List<Participant> standings = standings();
+        return standings.isEmpty() ? null : standings.get(0);
+    }
+
+    /**
+     * Ranks players: players still in the tournament first, then by points, then by seed.
+     *
+     * @return the players in ranking order
+     */
+    List<Participant> standings() {
+        return participants.stream()
+                .sorted(Comparator.comparing(Participant::isEliminated)
+                        .thenComparing(Comparator.comparingInt(Participant::getHalfPoints).reversed())
+                        .thenComparingInt(Participant::getSeed))
+                .toList();
+    }
+
+    /**
+     * Finds a player by user ID.
+     *
+     * @param userId the ID of the player
+     * @return the participant, or null if the user is not registered
+     */
+    Participant participant(UUID userId) {
+        if (participantsById == null) {
+            Map<UUID, Participant> index = new HashMap<>();
+            for (Participant participant : participants) {
+                index.put(participant.getUserId(), participant);
+            }
+            participantsById = index;
+        }
+        return participantsById.get(userId);
+    }
+
+    private Match newMatch(UUID playerOneId, UUID playerTwoId) {
+        Match match = new Match();
+        match.setRound(currentRound);
+        match.setPlayerOneId(playerOneId);
+        match.setPlayerTwoId(playerTwoId);
+        match.setStatus(PENDING);
+        return match;
+    }
+
+    /**
+     * A registered tournament player.
+     */
+    @Data
+    public static class Participant {
+        private UUID userId;
+        private String userName;
+        private int seed;
+        private int halfPoints;
+        private boolean eliminated;
+        private boolean hadBye;
+        private List<UUID> opponentIds = new ArrayList<>();
+    }
+
+    /**
+     * A pairing of two players, or a bye when player two is null.
+     */
+    @Data
+    public static class Match {
+        private int round;
+        private UUID playerOneId;
+        private UUID playerTwoId;
+        private UUID roomId;
+        private UUID gameId;
+        private UUID winnerId;
+        private String status;
+    }
+}
@@ -0,0 +1,472 @@
+package com.flagfinder.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagfinder.dto.CreateTournamentRequestDto;
+import com.flagfinder.dto.GameDto;
+import com.flagfinder.dto.RoomDto;
+import com.flagfinder.dto.TournamentDto;
+import com.flagfinder.dto.TournamentMatchDto;
+import com.flagfinder.dto.TournamentParticipantDto;
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.TournamentFormat;
+import com.flagfinder.enumeration.TournamentStatus;
+import com.flagfinder.event.GameEndedEvent;
+import com.flagfinder.model.Tournament;
+import com.flagfinder.model.User;
+import com.flagfinder.repository.TournamentRepository;
+import com.flagfinder.repository.UserRepository;
+import com.flagfinder.service.GameService;
+import com.flagfinder.service.RoomService;
+import com.flagfinder.service.TournamentService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of TournamentService interface.
+ * Runs single elimination and Swiss tournaments on top of regular rooms and games.
+ * The bracket of every running tournament is kept in memory and checkpointed to the database on each change.
+ * The games of a round are started in parallel on a worker pool, and a round advances when
+ * the last of its games publishes its {@link GameEndedEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TournamentServiceImpl implements TournamentService {
+
+    private final TournamentRepository tournamentRepository;
+    private final UserRepository userRepository;
+    private final ExtractAuthenticatedUserService extractAuthenticatedUserService;
+    private final RoomService roomService;
+    private final GameService gameService;
+    private final GameBroadcastService gameBroadcastService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<UUID, LiveTournament> liveTournaments = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> tournamentIdByGameId = new ConcurrentHashMap<>();
+    private final ExecutorService matchLauncher = Executors.newFixedThreadPool(MATCH_LAUNCH_THREADS);
+
+    private static final int MATCH_LAUNCH_THREADS = 16;
+    private static final int MATCH_START_ATTEMPTS = 3;
+    private static final int MAX_PARTICIPANTS = 1024;
+    private static final String QUEUE_TOURNAMENT_UPDATED = "/queue/tournament-updated";
+    private static final String TOURNAMENT_NOT_FOUND = "Tournament not found";
+
+    /**
+     * Creates a new tournament hosted by the authenticated user, who is registered as the first player.
+     *
+     * @param request the tournament format and game settings
+     * @return a TournamentDto representing the created tournament
+     * @throws ResponseStatusException if the user is not found
+     */
+    @Override
+    public TournamentDto createTournament(CreateTournamentRequestDto request) {
+        User host = getAuthenticatedUser();
+
+        Tournament tournament = new Tournament();
+        tournament.setName(request.getName());
+        tournament.setHost(host);
+        tournament.setFormat(request.getFormat() != null ? request.getFormat() : TournamentFormat.SINGLE_ELIMINATION);
+        tournament.setStatus(TournamentStatus.REGISTRATION);
+        tournament.setRoundsPerGame(request.getRoundsPerGame() != null ? request.getRoundsPerGame() : 5);
+        tournament.setContinents(request.getContinents() != null ? new ArrayList<>(request.getContinents()) : new ArrayList<>());
+        tournament = tournamentRepository.save(tournament);
+
+        LiveTournament live = new LiveTournament(tournament, TournamentBracket.create(tournament.getFormat()));
+        synchronized (live) {
+            live.bracket.addParticipant(host.getId(), host.getGameName());
+            liveTournaments.put(live.id, live);
+            checkpoint(live);
+            return toDto(live);
+        }
+    }
+
+    /**
+     * Registers the authenticated user for a tournament that has not started yet.
+     * Joining a tournament the user is already registered for has no effect.
+     *
+     * @param tournamentId the ID of the tournament to join
+     * @return a TournamentDto representing the updated tournament
+     * @throws ResponseStatusException if the tournament is not found, already started or full
+     */
+    @Override
+    public TournamentDto joinTournament(UUID tournamentId) {
+        User user = getAuthenticatedUser();
+        LiveTournament live = getLiveTournament(tournamentId);
+
+        synchronized (live) {
+            if (live.status != TournamentStatus.REGISTRATION) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tournament has already started");
+            }
+            if (live.bracket.getParticipants().size() >= MAX_PARTICIPANTS) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tournament is full");
+            }
+            if (live.bracket.addParticipant(user.getId(), user.getGameName())) {
+                checkpoint(live);
+            }
+            return toDto(live);
+        }
+    }
+
+    /**
+     * Starts a tournament and launches the games of its first round.
+     *
+     * @param tournamentId the ID of the tournament to start
+     * @return a TournamentDto representing the started tournament
+     * @throws ResponseStatusException if the tournament is not found, the user is not the host,
+     *                                 the tournament already started or it has fewer than 2 players
+     */
+    @Override
+    public TournamentDto startTournament(UUID tournamentId) {
+        User user = getAuthenticatedUser();
+        LiveTournament live = getLiveTournament(tournamentId);
+
+        synchronized (live) {
+            if (!user.getId().equals(live.hostId())) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the host can start the tournament");
+            }
+            if (live.status != TournamentStatus.REGISTRATION) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tournament has already started");
+            }
+            if (live.bracket.getParticipants().size() < 2) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tournament needs at least 2 players to start");
+            }
+
+            live.status = TournamentStatus.IN_PROGRESS;
+            advance(live);
+            return toDto(live);
+        }
+    }
+
+    /**
+     * Gets the current standings and pairings of a tournament.
+     *
+     * @param tournamentId the ID of the tournament
+     * @return a TournamentDto representing the tournament
+     * @throws ResponseStatusException if the tournament is not found
+     */
+    @Override
+    public TournamentDto getTournament(UUID tournamentId) {
+        LiveTournament live = getLiveTournament(tournamentId);
+
+        synchronized (live) {
+            return toDto(live);
+        }
+    }
+
+    /**
+     * Records the result of a tournament game once the game's transaction has committed.
+     * The bracket update and any new games are handled on the worker pool, so the thread
+     * that ended the game is not held up by the next round.
+     *
+     * @param event the game ended event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGameEnded(GameEndedEvent event) {
+        UUID tournamentId = tournamentIdByGameId.remove(event.getGameId());
+        if (tournamentId == null) {
+            return;
+        }
+
+        matchLauncher.execute(() -> {
+            LiveTournament live = liveTournaments.get(tournamentId);
+            if (live == null) {
+                return;
+            }
+            synchronized (live) {
+                if (live.bracket.recordResult(event.getGameId(), event.getWinnerUserName()) == null) {
+                    return;
+                }
+                if (live.bracket.isRoundComplete()) {
+                    advance(live);
+                } else {
+                    checkpoint(live);
+                }
+            }
+        });
+    }
+
+    /**
+     * Restores running tournaments from their last checkpoint after a restart,
+     * so results of games that are still being played are recorded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreRunningTournaments() {
+        for (Tournament tournament : tournamentRepository.findByStatus(TournamentStatus.IN_PROGRESS)) {
+            try {
+                LiveTournament live = restore(tournament);
+                liveTournaments.putIfAbsent(live.id, live);
+            } catch (Exception e) {
+                log.error("Failed to restore tournament {}", tournament.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Stops the match launcher on shutdown, letting games that are being started finish for a few seconds.
+     *
+     * @throws InterruptedException if interrupted while waiting for the launcher to stop
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        matchLauncher.shutdown();
+        if (!matchLauncher.awaitTermination(5, TimeUnit.SECONDS)) {
+            matchLauncher.shutdownNow();
+        }
+    }
+
+    /**
+     * Completes the tournament if the last round is done, otherwise pairs the next round and launches its games.
+     * Must be called while holding the tournament's lock.
+     *
+     * @param live the tournament to advance
+     */
+    private void advance(LiveTournament live) {
+        List<TournamentBracket.Match> playable = List.of();
+        while (!live.bracket.isFinished() && playable.isEmpty()) {
+            playable = live.bracket.startNextRound();
+        }
+
+        if (live.bracket.isFinished()) {
+            TournamentBracket.Participant winner = live.bracket.winner();
+            live.status = TournamentStatus.COMPLETED;
+            live.winnerUserName = winner != null ? winner.getUserName() : null;
+            checkpoint(live);
+            broadcastUpdate(live);
+            liveTournaments.remove(live.id);
+            return;
+        }
+
+        checkpoint(live);
+        broadcastUpdate(live);
+        launchRound(live, playable);
+    }
+
+    /**
+     * Starts the games of a round in parallel and checkpoints the bracket once all of them have started.
+     *
+     * @param live the tournament the matches belong to
+     * @param matches the matches that need a game
+     */
+    private void launchRound(LiveTournament live, List<TournamentBracket.Match> matches) {
+        CompletableFuture<?>[] launches = matches.stream()
+                .map(match -> CompletableFuture.runAsync(() -> startMatch(live, match), matchLauncher))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(launches).whenComplete((ignored, error) -> {
+            synchronized (live) {
+                checkpoint(live);
+            }
+        });
+    }
+
+    /**
+     * Creates the room and game for a match, retrying a few times before the match is forfeited to the better seed.
+     *
+     * @param live the tournament the match belongs to
+     * @param match the match to start
+     */
+    private void startMatch(LiveTournament live, TournamentBracket.Match match) {
+        for (int attempt = 1; attempt <= MATCH_START_ATTEMPTS; attempt++) {
+            try {
+                RoomDto room = roomService.createRoomForPlayers(match.getPlayerOneId(), List.of(match.getPlayerTwoId()), live.roundsPerGame);
+                GameDto game = gameService.startGame(room.getId(), live.continents.isEmpty() ? null : live.continents, null);
+
+                tournamentIdByGameId.put(game.getId(), live.id);
+                synchronized (live) {
+                    live.bracket.matchStarted(match, room.getId(), game.getId());
+                }
+                return;
+            } catch (Exception e) {
+                log.warn("Failed to start tournament {} match in round {} (attempt {})", live.id, match.getRound(), attempt, e);
+            }
+        }
+
+        synchronized (live) {
+            live.bracket.forfeit(match);
+            if (live.status == TournamentStatus.IN_PROGRESS && live.bracket.isRoundComplete()) {
+                advance(live);
+            }
+        }
+    }
+
+    /**
+     * Writes the tournament's status and bracket to the database.
+     * Must be called while holding the tournament's lock, so checkpoints are written in order.
+     *
+     * @param live the tournament to checkpoint
+     */
+    private void checkpoint(LiveTournament live) {
+        try {
+            Tournament tournament = tournamentRepository.findById(live.id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, TOURNAMENT_NOT_FOUND));
+            tournament.setStatus(live.status);
+            tournament.setWinnerUserName(live.winnerUserName);
+            tournament.setBracketState(objectMapper.writeValueAsString(live.bracket));
+            tournamentRepository.save(tournament);
+        } catch (Exception e) {
+            log.error("Failed to checkpoint tournament {}", live.id, e);
+        }
+    }
+
+    /**
+     * Gets a tournament from memory, restoring it from its last checkpoint if needed.
+     *
+     * @param tournamentId the ID of the tournament
+     * @return the live tournament
+     * @throws ResponseStatusException if the tournament is not found
+     */
+    private LiveTournament getLiveTournament(UUID tournamentId) {
+        LiveTournament live = liveTournaments.get(tournamentId);
+        if (live != null) {
+            return live;
+        }
+
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, TOURNAMENT_NOT_FOUND));
+        LiveTournament restored = restore(tournament);
+        if (restored.status == TournamentStatus.COMPLETED) {
+            return restored;
+        }
+        LiveTournament existing = liveTournaments.putIfAbsent(tournamentId, restored);
+        return existing != null ? existing : restored;
+    }
+
+    /**
+     * Rebuilds a live tournament from its checkpoint and indexes the games of its running matches.
+     *
+     * @param tournament the persisted tournament
+     * @return the live tournament
+     */
+    private LiveTournament restore(Tournament tournament) {
+        TournamentBracket bracket;
+        try {
+            bracket = tournament.getBracketState() != null
+                    ? objectMapper.readValue(tournament.getBracketState(), TournamentBracket.class)
+                    : TournamentBracket.create(tournament.getFormat());
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Tournament state is corrupted", e);
+        }
+
+        LiveTournament live = new LiveTournament(tournament, bracket);
+        for (TournamentBracket.Match match : bracket.getMatches()) {
+            if (TournamentBracket.IN_PROGRESS.equals(match.getStatus()) && match.getGameId() != null) {
+                tournamentIdByGameId.put(match.getGameId(), live.id);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Sends the tournament state to every registered player.
+     *
+     * @param live the tournament to broadcast
+     */
+    private void broadcastUpdate(LiveTournament live) {
+        List<String> userNames = live.bracket.getParticipants().stream()
+                .map(TournamentBracket.Participant::getUserName)
+                .toList();
+        gameBroadcastService.broadcast(userNames, QUEUE_TOURNAMENT_UPDATED, toDto(live));
+    }
+
+    private User getAuthenticatedUser() {
+        return userRepository.findByEmail(extractAuthenticatedUserService.getAuthenticatedUser())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User doesn't exist."));
+    }
+
+    private TournamentDto toDto(LiveTournament live) {
+        TournamentBracket bracket = live.bracket;
+
+        TournamentDto dto = new TournamentDto();
+        dto.setId(live.id);
+        dto.setCreatedAt(live.createdAt);
+        dto.setName(live.name);
+        dto.setHostUserName(bracket.getParticipants().isEmpty() ? null : bracket.getParticipants().get(0).getUserName());
+        dto.setFormat(bracket.getFormat());
+        dto.setStatus(live.status);
+        dto.setRoundsPerGame(live.roundsPerGame);
+        dto.setContinents(live.continents);
+        dto.setCurrentRound(bracket.getCurrentRound());
+        dto.setTotalRounds(bracket.getTotalRounds());
+        dto.setWinnerUserName(live.winnerUserName);
+
+        dto.setParticipants(bracket.standings().stream().map(participant -> {
+            TournamentParticipantDto participantDto = new TournamentParticipantDto();
+            participantDto.setUserName(participant.getUserName());
+            participantDto.setSeed(participant.getSeed());
+            participantDto.setPoints(participant.getHalfPoints() / 2.0);
+            participantDto.setEliminated(participant.isEliminated());
+            return participantDto;
+        }).toList());
+
+        dto.setMatches(bracket.getMatches().stream().map(match -> {
+            TournamentMatchDto matchDto = new TournamentMatchDto();
+            matchDto.setRound(match.getRound());
+            matchDto.setPlayerOneUserName(userName(bracket, match.getPlayerOneId()));
+            matchDto.setPlayerTwoUserName(userName(bracket, match.getPlayerTwoId()));
+            matchDto.setRoomId(match.getRoomId());
+            matchDto.setGameId(match.getGameId());
+            matchDto.setWinnerUserName(userName(bracket, match.getWinnerId()));
+            matchDto.setStatus(match.getStatus());
+            return matchDto;
+        }).toList());
+
+        return dto;
+    }
+
+    private String userName(TournamentBracket bracket, UUID userId) {
+        if (userId == null) {
+            return null;
+        }
+        TournamentBracket.Participant participant = bracket.participant(userId);
+        return participant != null ? participant.getUserName() : null;
+    }
+
+    /**
+     * A tournament held in memory while it runs. All access to the bracket and status synchronizes on this object.
+     */
+    private static final class LiveTournament {
+        final UUID id;
+        final String name;
+        final Instant createdAt;
+        final Integer roundsPerGame;
+        final List<Continent> continents;
+        final TournamentBracket bracket;
+        TournamentStatus status;
+        String winnerUserName;
+
+        LiveTournament(Tournament tournament, TournamentBracket bracket) {
+            this.id = tournament.getId();
+            this.name = tournament.getName();
+            this.createdAt = tournament.getCreatedAt();
+            this.roundsPerGame = tournament.getRoundsPerGame();
+            this.continents = List.copyOf(tournament.getContinents());
+            this.bracket = bracket;
+            this.status = tournament.getStatus();
+            this.winnerUserName = tournament.getWinnerUserName();
+        }
+
+        UUID hostId() {
+            return bracket.getParticipants().isEmpty() ? null : bracket.getParticipants().get(0).getUserId();
+        }
+    }
+}
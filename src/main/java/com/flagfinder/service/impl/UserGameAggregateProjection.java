@@ -0,0 +1,90 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.model.UserGameAggregate;
+import com.flagfinder.repository.UserGameAggregateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the per-player multiplayer totals.
+ * A batch is folded into one delta per player first, so each player row is read and written once per batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserGameAggregateProjection implements ProjectionBuilder {
+
+    static final String NAME = "user_game_aggregates";
+
+    private final UserGameAggregateRepository userGameAggregateRepository;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(List<GameCompletedPayload> games, int partition, int partitionCount) {
+        Map<UUID, UserGameAggregate> deltas = new LinkedHashMap<>();
+        for (GameCompletedPayload game : games) {
+            for (GameCompletedPayload.PlayerResult player : game.getPlayers()) {
+                if (!ProjectionBuilder.owns(player.getUserId(), partition, partitionCount)) {
+                    continue;
+                }
+                UserGameAggregate delta = deltas.computeIfAbsent(player.getUserId(), this::newAggregate);
+                delta.setGamesPlayed(delta.getGamesPlayed() + 1);
+                switch (UserGameHistoryProjection.resultOf(game, player)) {
+                    case WIN -> delta.setWins(delta.getWins() + 1);
+                    case DRAW -> delta.setDraws(delta.getDraws() + 1);
+                    case LOSS -> delta.setLosses(delta.getLosses() + 1);
+                }
+                delta.setRoundsPlayed(delta.getRoundsPlayed() + game.getRounds().size());
+                delta.setCorrectGuesses(delta.getCorrectGuesses() + UserGameHistoryProjection.correctGuesses(game, player));
+                if (game.getEndedAt() != null && (delta.getLastGameEndedAt() == null || game.getEndedAt().isAfter(delta.getLastGameEndedAt()))) {
+                    delta.setLastGameEndedAt(game.getEndedAt());
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, UserGameAggregate> rows = new LinkedHashMap<>();
+        for (UserGameAggregate existing : userGameAggregateRepository.findAllById(deltas.keySet())) {
+            rows.put(existing.getUserId(), existing);
+        }
+        for (UserGameAggregate delta : deltas.values()) {
+            UserGameAggregate row = rows.get(delta.getUserId());
+            if (row == null) {
+                rows.put(delta.getUserId(), delta);
+                continue;
+            }
+            row.setGamesPlayed(row.getGamesPlayed() + delta.getGamesPlayed());
+            row.setWins(row.getWins() + delta.getWins());
+            row.setDraws(row.getDraws() + delta.getDraws());
+            row.setLosses(row.getLosses() + delta.getLosses());
+            row.setRoundsPlayed(row.getRoundsPlayed() + delta.getRoundsPlayed());
+            row.setCorrectGuesses(row.getCorrectGuesses() + delta.getCorrectGuesses());
+            if (delta.getLastGameEndedAt() != null && (row.getLastGameEndedAt() == null || delta.getLastGameEndedAt().isAfter(row.getLastGameEndedAt()))) {
+                row.setLastGameEndedAt(delta.getLastGameEndedAt());
+            }
+        }
+        userGameAggregateRepository.saveAll(rows.values());
+    }
+
+    @Override
+    public void reset() {
+        userGameAggregateRepository.deleteAllInBatch();
+    }
+
+    private UserGameAggregate newAggregate(UUID userId) {
+        UserGameAggregate aggregate = new UserGameAggregate();
+        aggregate.setUserId(userId);
+        return aggregate;
+    }
+}
@@ -0,0 +1,103 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.GameResult;
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.model.UserGameHistory;
+import com.flagfinder.repository.UserGameHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the per-player game history rows, one row per player and game.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserGameHistoryProjection implements ProjectionBuilder {
+
+    static final String NAME = "user_game_history";
+
+    private final UserGameHistoryRepository userGameHistoryRepository;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(List<GameCompletedPayload> games, int partition, int partitionCount) {
+        List<UserGameHistory> rows = new ArrayList<>();
+        for (GameCompletedPayload game : games) {
+            for (GameCompletedPayload.PlayerResult player : game.getPlayers()) {
+                if (ProjectionBuilder.owns(player.getUserId(), partition, partitionCount)) {
+                    rows.add(toRow(game, player));
+                }
+            }
+        }
+        userGameHistoryRepository.saveAll(rows);
+    }
+
+    @Override
+    public void reset() {
+        userGameHistoryRepository.deleteAllInBatch();
+    }
+
+    private UserGameHistory toRow(GameCompletedPayload game, GameCompletedPayload.PlayerResult player) {
+        UserGameHistory row = new UserGameHistory();
+        row.setUserId(player.getUserId());
+        row.setGameId(game.getGameId());
+        row.setStartedAt(game.getStartedAt());
+        row.setEndedAt(game.getEndedAt());
+        row.setResult(resultOf(game, player));
+        row.setScore(player.getScore());
+        row.setBestOpponentScore(game.getPlayers().stream()
+                .filter(other -> !other.getUserId().equals(player.getUserId()))
+                .mapToInt(GameCompletedPayload.PlayerResult::getScore)
+                .max()
+                .orElse(0));
+        row.setOpponentNames(game.getPlayers().stream()
+                .filter(other -> !other.getUserId().equals(player.getUserId()))
+                .map(GameCompletedPayload.PlayerResult::getGameName)
+                .collect(Collectors.joining(",")));
+        row.setWinnerUserName(game.getWinnerUserName());
+        row.setRoundsPlayed(game.getRounds().size());
+        row.setCorrectGuesses(correctGuesses(game, player));
+        return row;
+    }
+
+    /**
+     * Decides the outcome of a game for a player. A game without a winner is a draw for every player.
+     *
+     * @param game the completed game
+     * @param player the player
+     * @return the player's result
+     */
+    static GameResult resultOf(GameCompletedPayload game, GameCompletedPayload.PlayerResult player) {
+        if (game.getWinnerUserName() == null) {
+            return GameResult.DRAW;
+        }
+        return game.getWinnerUserName().equals(player.getGameName()) ? GameResult.WIN : GameResult.LOSS;
+    }
+
+    /**
+     * Counts the correct guesses of a player in a game.
+     *
+     * @param game the completed game
+     * @param player the player
+     * @return the number of correct guesses
+     */
+    static int correctGuesses(GameCompletedPayload game, GameCompletedPayload.PlayerResult player) {
+        int correct = 0;
+        for (GameCompletedPayload.RoundResult round : game.getRounds()) {
+            for (GameCompletedPayload.GuessResult guess : round.getGuesses()) {
+                if (guess.isCorrect() && player.getUserId().equals(guess.getUserId())) {
+                    correct++;
+                }
+            }
+        }
+        return correct;
+    }
+}
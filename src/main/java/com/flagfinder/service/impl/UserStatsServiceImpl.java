@@ -0,0 +1,517 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.dto.ContinentStatsDto;
+import com.flagfinder.dto.UserStatsDto;
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.event.UserStatsUpdatedEvent;
+import com.flagfinder.model.SinglePlayerGame;
+import com.flagfinder.model.SinglePlayerRound;
+import com.flagfinder.model.User;
+import com.flagfinder.model.UserStats;
+import com.flagfinder.repository.UserRepository;
+import com.flagfinder.repository.UserStatsRepository;
+import com.flagfinder.service.UserStatsService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of UserStatsService interface.
+ * Every finished game adds its delta to the players' {@code user_stats} rows in the game's own transaction.
+ * Rows are locked while they are updated, so players finishing two games at once don't lose an update.
+ * Rows of users that have none yet are built from their game history once, by a parallel backfill after startup,
+ * or by the first game they finish if that comes first. Reading statistics never scans game history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsServiceImpl implements UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final UserRepository userRepository;
+    private final CountryCatalog countryCatalog;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final EntityManager entityManager;
+    private final BotPlayers botPlayers;
+
+    private static final int RECENT_GAMES = 10;
+    private static final int CONTINENTS = Continent.values().length;
+    private static final UUID NO_GAME = new UUID(0L, 0L);
+    private static final int BACKFILL_PAGE_SIZE = 1000;
+    private static final int BACKFILL_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    /**
+     * Adds a finished multiplayer game to the statistics of every player and moves their Elo ratings.
+     * The bot keeps no statistics and is left out of the rating update, so a game against the bot alone is unrated.
+     *
+     * @param game the completed game
+     */
+    @Override
+    public void recordMultiplayerGame(GameCompletedPayload game) {
+        List<GameCompletedPayload.PlayerResult> players = game.getPlayers().stream()
+                .filter(player -> !botPlayers.isBot(player.getUserId()))
+                .toList();
+        Map<UUID, String> gameNames = new LinkedHashMap<>();
+        for (GameCompletedPayload.PlayerResult player : players) {
+            gameNames.put(player.getUserId(), player.getGameName());
+        }
+        Map<UUID, UserStats> rows = lockOrCreateRows(gameNames, game.getGameId());
+
+        double[] ratings = new double[players.size()];
+        int[] ratedGames = new int[players.size()];
+        int[] scores = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            GameCompletedPayload.PlayerResult player = players.get(i);
+            UserStats stats = rows.get(player.getUserId());
+            applyMultiplayerGame(stats, game, player);
+            ratings[i] = stats.getRating();
+            ratedGames[i] = stats.getRatedGames();
+            scores[i] = player.getScore();
+        }
+
+        if (players.size() > 1) {
+            EloRating.update(ratings, ratedGames, scores, ratings);
+        }
+        for (int i = 0; i < players.size(); i++) {
+            GameCompletedPayload.PlayerResult player = players.get(i);
+            UserStats stats = rows.get(player.getUserId());
+            if (players.size() > 1) {
+                stats.setRating(ratings[i]);
+                stats.setRatedGames(stats.getRatedGames() + 1);
+            }
+            applicationEventPublisher.publishEvent(
+                    new UserStatsUpdatedEvent(player.getUserId(), player.getGameName(),
+                            stats.getWins(), stats.getRating(), stats.getMultiplayerCorrect()));
+        }
+        userStatsRepository.saveAll(rows.values());
+    }
+
+    /**
+     * Adds a finished single player game to the statistics of its player.
+     *
+     * @param game the completed single player game with its rounds loaded
+     */
+    @Override
+    public void recordSinglePlayerGame(SinglePlayerGame game) {
+        User user = game.getUser();
+        if (user == null) {
+            return;
+        }
+        UserStats stats = lockOrCreateRows(Map.of(user.getId(), user.getGameName()), game.getId()).get(user.getId());
+
+        stats.setSinglePlayerGamesPlayed(stats.getSinglePlayerGamesPlayed() + 1);
+        for (SinglePlayerRound round : game.getRounds()) {
+            boolean correct = round.getGuess() != null && round.getGuess().isCorrect();
+            stats.setSinglePlayerRounds(stats.getSinglePlayerRounds() + 1);
+            if (correct) {
+                stats.setSinglePlayerCorrect(stats.getSinglePlayerCorrect() + 1);
+            }
+            if (round.getCountry() != null) {
+                for (Continent continent : countryCatalog.continentsOf(round.getCountry().getId())) {
+                    stats.getSinglePlayerContinentRounds()[continent.ordinal()]++;
+                    if (correct) {
+                        stats.getSinglePlayerContinentCorrect()[continent.ordinal()]++;
+                    }
+                }
+            }
+        }
+        stats.setUpdatedAt(Instant.now());
+        userStatsRepository.save(stats);
+    }
+
+    /**
+     * Locks the stats rows of the players of several games about to end, creating the missing ones.
+     * The games are still in progress, so a created row is built from the user's other finished games.
+     *
+     * @param gameNames the game names of the players keyed by user ID
+     */
+    @Override
+    public void lockStats(Map<UUID, String> gameNames) {
+        Map<UUID, String> players = new LinkedHashMap<>();
+        gameNames.forEach((userId, gameName) -> {
+            if (!botPlayers.isBot(userId)) {
+                players.put(userId, gameName);
+            }
+        });
+        if (!players.isEmpty()) {
+            lockOrCreateRows(players, NO_GAME);
+        }
+    }
+
+    /**
+     * Gets the statistics of a user with one primary key read.
+     * A user without a row yet gets empty statistics; their history is counted by the backfill or their next game.
+     *
+     * @param userName the game name of the user
+     * @return the user's statistics DTO
+     * @throws ResponseStatusException if the user is not found
+     */
+    @Override
+    public UserStatsDto getUserStats(String userName) {
+        User user = userRepository.findOneByGameNameIgnoreCase(userName)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+        UserStats stats = userStatsRepository.findById(user.getId()).orElseGet(() -> {
+            UserStats empty = new UserStats();
+            empty.setUserId(user.getId());
+            return empty;
+        });
+        return toDto(user.getGameName(), stats);
+    }
+
+    /**
+     * Builds the stats rows of users that don't have one yet, so profiles never have to fall back to scanning history.
+     * Runs on a background thread after startup: users without a row are read in keyset pages and every page is
+     * backfilled in parallel, one short transaction per user. Once every user has a row this is a single empty query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingStats() {
+        Thread coordinator = new Thread(this::backfillAllMissing, "user-stats-backfill");
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    /**
+     * Backfills every user without a stats row, page by page.
+     */
+    private void backfillAllMissing() {
+        long startedAt = System.nanoTime();
+        int created = 0;
+        ExecutorService workers = Executors.newFixedThreadPool(BACKFILL_PARALLELISM);
+        try {
+            UUID afterUserId = NO_GAME;
+            List<Object[]> page;
+            do {
+                page = userStatsRepository.findUsersWithoutStats(afterUserId, PageRequest.of(0, BACKFILL_PAGE_SIZE));
+                List<Callable<Boolean>> tasks = new ArrayList<>(page.size());
+                for (Object[] row : page) {
+                    UUID userId = (UUID) row[0];
+                    String gameName = (String) row[1];
+                    tasks.add(() -> backfillMissing(userId, gameName));
+                }
+                for (Future<Boolean> result : workers.invokeAll(tasks)) {
+                    if (result.get()) {
+                        created++;
+                    }
+                }
+                if (!page.isEmpty()) {
+                    afterUserId = (UUID) page.get(page.size() - 1)[0];
+                }
+            } while (page.size() == BACKFILL_PAGE_SIZE);
+
+            if (created > 0) {
+                log.info("Backfilled statistics of {} users in {} ms", created, (System.nanoTime() - startedAt) / 1_000_000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("User statistics backfill stopped after {} users", created, e);
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Creates the stats row of one user from their history, unless a finished game created it in the meantime.
+     * The row is inserted rather than merged, so a row written concurrently is never overwritten.
+     *
+     * @param userId the ID of the user
+     * @param gameName the user's game name
+     * @return true if the row was created
+     */
+    private boolean backfillMissing(UUID userId, String gameName) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (userStatsRepository.existsById(userId)) {
+                    return false;
+                }
+                UserStats stats = backfill(userId, gameName, NO_GAME);
+                entityManager.persist(stats);
+                entityManager.flush();
+                applicationEventPublisher.publishEvent(new UserStatsUpdatedEvent(userId, gameName,
+                        stats.getWins(), stats.getRating(), stats.getMultiplayerCorrect()));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            log.debug("Statistics of user {} were created by a finished game during the backfill", userId);
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("Failed to backfill statistics of user {}", userId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Locks the existing stats rows of the given users and makes sure their counters have the current shape.
+     *
+     * @param userIds the IDs of the users
+     * @return the existing rows keyed by user ID
+     */
+    private Map<UUID, UserStats> lockRows(List<UUID> userIds) {
+        Map<UUID, UserStats> rows = new HashMap<>();
+        for (UserStats stats : userStatsRepository.findAllForUpdate(userIds)) {
+            normalize(stats);
+            rows.put(stats.getUserId(), stats);
+        }
+        return rows;
+    }
+
+    private void applyMultiplayerGame(UserStats stats, GameCompletedPayload game, GameCompletedPayload.PlayerResult player) {
+        stats.setGamesPlayed(stats.getGamesPlayed() + 1);
+        switch (UserGameHistoryProjection.resultOf(game, player)) {
+            case WIN -> {
+                stats.setWins(stats.getWins() + 1);
+                stats.setCurrentStreak(stats.getCurrentStreak() + 1);
+                stats.setBestStreak(Math.max(stats.getBestStreak(), stats.getCurrentStreak()));
+            }
+            case DRAW -> {
+                stats.setDraws(stats.getDraws() + 1);
+                stats.setCurrentStreak(0);
+            }
+            case LOSS -> {
+                stats.setLosses(stats.getLosses() + 1);
+                stats.setCurrentStreak(0);
+            }
+        }
+
+        int correctInGame = 0;
+        for (GameCompletedPayload.RoundResult round : game.getRounds()) {
+            boolean correct = round.getGuesses().stream()
+                    .anyMatch(guess -> guess.isCorrect() && player.getUserId().equals(guess.getUserId()));
+            if (correct) {
+                correctInGame++;
+            }
+            if (round.getCountryId() != null) {
+                for (Continent continent : countryCatalog.continentsOf(round.getCountryId())) {
+                    stats.getMultiplayerContinentRounds()[continent.ordinal()]++;
+                    if (correct) {
+                        stats.getMultiplayerContinentCorrect()[continent.ordinal()]++;
+                    }
+                }
+            }
+        }
+        stats.setMultiplayerRounds(stats.getMultiplayerRounds() + game.getRounds().size());
+        stats.setMultiplayerCorrect(stats.getMultiplayerCorrect() + correctInGame);
+        pushRecentGame(stats, game.getRounds().size(), correctInGame);
+        stats.setUpdatedAt(Instant.now());
+    }
+
+    /**
+     * Appends a game to the recent games window, dropping the oldest game when the window is full.
+     */
+    private void pushRecentGame(UserStats stats, int rounds, int correct) {
+        int[] recentRounds = stats.getRecentGameRounds();
+        int[] recentCorrect = stats.getRecentGameCorrect();
+        int kept = Math.min(recentRounds.length, RECENT_GAMES - 1);
+        int[] nextRounds = new int[kept + 1];
+        int[] nextCorrect = new int[kept + 1];
+        System.arraycopy(recentRounds, recentRounds.length - kept, nextRounds, 0, kept);
+        System.arraycopy(recentCorrect, recentCorrect.length - kept, nextCorrect, 0, kept);
+        nextRounds[kept] = rounds;
+        nextCorrect[kept] = correct;
+        stats.setRecentGameRounds(nextRounds);
+        stats.setRecentGameCorrect(nextCorrect);
+    }
+
+    /**
+     * Locks the stats rows of the given users, creating the missing ones first. A missing row is inserted with
+     * {@code ON CONFLICT DO NOTHING}, so a row created at the same time by the startup backfill or another
+     * finished game makes this wait for it instead of failing the whole game end on a duplicate key.
+     * Only rows inserted here are built from the user's history; rows created elsewhere already hold it.
+     *
+     * @param gameNames the game names of the users keyed by user ID, used to recognize their wins
+     * @param gameId the game being recorded, left out of the history
+     * @return a locked row for every user, keyed by user ID
+     */
+    private Map<UUID, UserStats> lockOrCreateRows(Map<UUID, String> gameNames, UUID gameId) {
+        Map<UUID, UserStats> rows = lockRows(new ArrayList<>(gameNames.keySet()));
+        List<UUID> missing = gameNames.keySet().stream()
+                .filter(userId -> !rows.containsKey(userId))
+                .sorted()
+                .toList();
+        if (missing.isEmpty()) {
+            return rows;
+        }
+
+        List<UUID> inserted = new ArrayList<>();
+        for (UUID userId : missing) {
+            if (userStatsRepository.insertIfAbsent(userId) > 0) {
+                inserted.add(userId);
+            }
+        }
+        rows.putAll(lockRows(missing));
+        for (UUID userId : inserted) {
+            rows.put(userId, entityManager.merge(backfill(userId, gameNames.get(userId), gameId)));
+        }
+        return rows;
+    }
+
+    /**
+     * Builds the stats row of a user from their finished games.
+     *
+     * @param userId the ID of the user
+     * @param gameName the user's game name, used to recognize their wins
+     * @param excludedGameId a game to leave out because it is being recorded
+     * @return the new, unsaved row
+     */
+    private UserStats backfill(UUID userId, String gameName, UUID excludedGameId) {
+        UUID excluded = excludedGameId != null ? excludedGameId : NO_GAME;
+        UserStats stats = new UserStats();
+        stats.setUserId(userId);
+        normalize(stats);
+
+        int streak = 0;
+        for (String winner : userStatsRepository.findWinnersInEndOrder(userId, GameStatus.COMPLETED, excluded)) {
+            stats.setGamesPlayed(stats.getGamesPlayed() + 1);
+            if (winner == null) {
+                stats.setDraws(stats.getDraws() + 1);
+                streak = 0;
+            } else if (winner.equalsIgnoreCase(gameName)) {
+                stats.setWins(stats.getWins() + 1);
+                streak++;
+                stats.setBestStreak(Math.max(stats.getBestStreak(), streak));
+            } else {
+                stats.setLosses(stats.getLosses() + 1);
+                streak = 0;
+            }
+        }
+        stats.setCurrentStreak(streak);
+
+        long[] multiplayerTotals = totals(userStatsRepository.countMultiplayerRounds(userId, GameStatus.COMPLETED, excluded));
+        stats.setMultiplayerRounds(multiplayerTotals[0]);
+        stats.setMultiplayerCorrect(multiplayerTotals[1]);
+        fillContinents(userStatsRepository.countMultiplayerRoundsByContinent(userId, GameStatus.COMPLETED, excluded),
+                stats.getMultiplayerContinentRounds(), stats.getMultiplayerContinentCorrect());
+
+        List<Object[]> recentGames = userStatsRepository.countRoundsPerGame(
+                userId, GameStatus.COMPLETED, excluded, PageRequest.of(0, RECENT_GAMES));
+        int[] recentRounds = new int[recentGames.size()];
+        int[] recentCorrect = new int[recentGames.size()];
+        for (int i = 0; i < recentGames.size(); i++) {
+            Object[] row = recentGames.get(recentGames.size() - 1 - i);
+            recentRounds[i] = (int) count(row[1]);
+            recentCorrect[i] = (int) count(row[2]);
+        }
+        stats.setRecentGameRounds(recentRounds);
+        stats.setRecentGameCorrect(recentCorrect);
+
+        stats.setSinglePlayerGamesPlayed(userStatsRepository.countSinglePlayerGames(userId, GameStatus.COMPLETED, excluded));
+        long[] singlePlayerTotals = totals(userStatsRepository.countSinglePlayerRounds(userId, GameStatus.COMPLETED, excluded));
+        stats.setSinglePlayerRounds(singlePlayerTotals[0]);
+        stats.setSinglePlayerCorrect(singlePlayerTotals[1]);
+        fillContinents(userStatsRepository.countSinglePlayerRoundsByContinent(userId, GameStatus.COMPLETED, excluded),
+                stats.getSinglePlayerContinentRounds(), stats.getSinglePlayerContinentCorrect());
+
+        stats.setUpdatedAt(Instant.now());
+        log.debug("Backfilled statistics of user {} from {} multiplayer games", userId, stats.getGamesPlayed());
+        return stats;
+    }
+
+    private long[] totals(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return new long[2];
+        }
+        return new long[]{count(rows.get(0)[0]), count(rows.get(0)[1])};
+    }
+
+    private void fillContinents(List<Object[]> rows, long[] rounds, long[] correct) {
+        for (Object[] row : rows) {
+            if (row[0] instanceof Continent continent) {
+                rounds[continent.ordinal()] += count(row[1]);
+                correct[continent.ordinal()] += count(row[2]);
+            }
+        }
+    }
+
+    private long count(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    /**
+     * Fills missing counters and grows the continent arrays when continents were added after the row was written.
+     */
+    private void normalize(UserStats stats) {
+        stats.setMultiplayerContinentRounds(sized(stats.getMultiplayerContinentRounds()));
+        stats.setMultiplayerContinentCorrect(sized(stats.getMultiplayerContinentCorrect()));
+        stats.setSinglePlayerContinentRounds(sized(stats.getSinglePlayerContinentRounds()));
+        stats.setSinglePlayerContinentCorrect(sized(stats.getSinglePlayerContinentCorrect()));
+        if (stats.getRecentGameRounds() == null || stats.getRecentGameCorrect() == null
+                || stats.getRecentGameRounds().length != stats.getRecentGameCorrect().length) {
+            stats.setRecentGameRounds(new int[0]);
+            stats.setRecentGameCorrect(new int[0]);
+        }
+    }
+
+    private long[] sized(long[] counters) {
+        if (counters == null) {
+            return new long[CONTINENTS];
+        }
+        return counters.length >= CONTINENTS ? counters : Arrays.copyOf(counters, CONTINENTS);
+    }
+
+    private UserStatsDto toDto(String userName, UserStats stats) {
+        normalize(stats);
+        UserStatsDto dto = new UserStatsDto();
+        dto.setUserName(userName);
+        dto.setGamesPlayed(stats.getGamesPlayed());
+        dto.setWins(stats.getWins());
+        dto.setDraws(stats.getDraws());
+        dto.setLosses(stats.getLosses());
+        dto.setCurrentStreak(stats.getCurrentStreak());
+        dto.setBestStreak(stats.getBestStreak());
+        dto.setRating(Math.round(stats.getRating()));
+        dto.setRatedGames(stats.getRatedGames());
+        dto.setSinglePlayerGamesPlayed(stats.getSinglePlayerGamesPlayed());
+        dto.setMultiplayerRounds(stats.getMultiplayerRounds());
+        dto.setMultiplayerCorrectGuesses(stats.getMultiplayerCorrect());
+        dto.setSinglePlayerRounds(stats.getSinglePlayerRounds());
+        dto.setSinglePlayerCorrectGuesses(stats.getSinglePlayerCorrect());
+
+        int recentRounds = Arrays.stream(stats.getRecentGameRounds()).sum();
+        int recentCorrect = Arrays.stream(stats.getRecentGameCorrect()).sum();
+        dto.setRecentAccuracyPercentage(recentRounds > 0 ? (int) ((recentCorrect * 100.0) / recentRounds) : 0);
+
+        for (Continent continent : Continent.values()) {
+            int index = continent.ordinal();
+            long multiplayerRounds = stats.getMultiplayerContinentRounds()[index];
+            long singlePlayerRounds = stats.getSinglePlayerContinentRounds()[index];
+            if (multiplayerRounds == 0 && singlePlayerRounds == 0) {
+                continue;
+            }
+            ContinentStatsDto continentStats = new ContinentStatsDto();
+            continentStats.setContinent(continent);
+            continentStats.setMultiplayerRounds(multiplayerRounds);
+            continentStats.setMultiplayerCorrectGuesses(stats.getMultiplayerContinentCorrect()[index]);
+            continentStats.setSinglePlayerRounds(singlePlayerRounds);
+            continentStats.setSinglePlayerCorrectGuesses(stats.getSinglePlayerContinentCorrect()[index]);
+            dto.getContinents().add(continentStats);
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,128 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.Continent;
+import com.flagfinder.enumeration.Difficulty;
+import com.flagfinder.model.CountryDifficulty;
+import com.flagfinder.repository.CountryDifficultyRepository;
+import com.flagfinder.repository.CountryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CountryCatalogTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private final UUID easyId = UUID.randomUUID();
+    private final UUID mediumId = UUID.randomUUID();
+    private final UUID hardId = UUID.randomUUID();
+    private final UUID unknownId = UUID.randomUUID();
+
+    private final CountryRepository countryRepository = mock(CountryRepository.class);
+    private final CountryDifficultyRepository countryDifficultyRepository = mock(CountryDifficultyRepository.class);
+    private final CountryCatalog catalog = new CountryCatalog(countryRepository, countryDifficultyRepository,
+            mock(ApplicationEventPublisher.class));
+
+    @BeforeEach
+    void setUp() {
+        when(countryRepository.findAllIdsWithContinents()).thenReturn(List.of(
+                new Object[]{easyId, Continent.ASIA},
+                new Object[]{mediumId, Continent.ASIA},
+                new Object[]{hardId, Continent.ASIA},
+                new Object[]{unknownId, Continent.AFRICA}));
+        when(countryDifficultyRepository.findAll()).thenReturn(List.of(
+                difficulty(easyId, 98, 100),
+                difficulty(mediumId, 50, 100),
+                difficulty(hardId, 5, 100)));
+    }
+
+    @Test
+    void weightedPicksFollowTheDifficultyWeights() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            Map<UUID, Double> weights = Map.of(
+                    easyId, weight(99.0 / 102, difficulty),
+                    mediumId, weight(0.5, difficulty),
+                    hardId, weight(6.0 / 102, difficulty),
+                    unknownId, weight(0.5, difficulty));
+            double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+
+            Map<UUID, Integer> picks = sample(null, Set.of(), difficulty);
+
+            for (Map.Entry<UUID, Double> entry : weights.entrySet()) {
+                double observed = picks.getOrDefault(entry.getKey(), 0) / (double) SAMPLES;
+                assertEquals(entry.getValue() / total, observed, 0.01, difficulty + " share of " + entry.getKey());
+            }
+        }
+    }
+
+    @Test
+    void weightedPicksStayOnTheSelectedContinents() {
+        Map<UUID, Integer> picks = sample(List.of(Continent.AFRICA), Set.of(), Difficulty.HARD);
+
+        assertEquals(Map.of(unknownId, SAMPLES), picks);
+    }
+
+    @Test
+    void exclusionsFallBackToTheRemainingWeights() {
+        Map<UUID, Integer> picks = sample(List.of(Continent.ASIA), Set.of(hardId, mediumId), Difficulty.HARD);
+
+        assertEquals(Map.of(easyId, SAMPLES), picks);
+        assertNull(catalog.pickRandom(List.of(Continent.ASIA), List.of(easyId, mediumId, hardId), Difficulty.EASY));
+        assertNull(catalog.pickRandom(List.of(Continent.ANTARCTICA), List.of(), Difficulty.EASY));
+    }
+
+    @Test
+    void uniformPicksCoverEveryCandidate() {
+        Map<UUID, Integer> picks = sample(null, Set.of(unknownId), null);
+
+        assertEquals(Set.of(easyId, mediumId, hardId), picks.keySet());
+        for (int count : picks.values()) {
+            assertEquals(1.0 / 3, count / (double) SAMPLES, 0.01);
+        }
+    }
+
+    @Test
+    void classifiesBySmoothedAccuracy() {
+        assertEquals(Difficulty.MEDIUM, CountryCatalog.classify(0, 0));
+        assertEquals(Difficulty.MEDIUM, CountryCatalog.classify(1, 1));
+        assertEquals(Difficulty.EASY, CountryCatalog.classify(7, 8));
+        assertEquals(Difficulty.HARD, CountryCatalog.classify(1, 8));
+        assertEquals(Difficulty.MEDIUM, CountryCatalog.classify(3, 8));
+        assertEquals(Difficulty.EASY, CountryCatalog.classify(13, 18));
+    }
+
+    private Map<UUID, Integer> sample(List<Continent> continents, Set<UUID> excluded, Difficulty difficulty) {
+        Map<UUID, Integer> picks = new HashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            picks.merge(catalog.pickRandom(continents, excluded, difficulty), 1, Integer::sum);
+        }
+        return picks;
+    }
+
+    private static double weight(double accuracy, Difficulty difficulty) {
+        return switch (difficulty) {
+            case EASY -> accuracy * accuracy;
+            case MEDIUM -> accuracy * (1 - accuracy);
+            case HARD -> (1 - accuracy) * (1 - accuracy);
+        };
+    }
+
+    private static CountryDifficulty difficulty(UUID countryId, long correctAttempts, long attempts) {
+        CountryDifficulty difficulty = new CountryDifficulty();
+        difficulty.setCountryId(countryId);
+        difficulty.setCorrectAttempts(correctAttempts);
+        difficulty.setAttempts(attempts);
+        return difficulty;
+    }
+}
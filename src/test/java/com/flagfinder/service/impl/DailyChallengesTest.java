@@ -0,0 +1,180 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.model.Guess;
+import com.flagfinder.model.SinglePlayerGame;
+import com.flagfinder.model.SinglePlayerRound;
+import com.flagfinder.model.User;
+import com.flagfinder.repository.DailyChallengeResultRepository;
+import com.flagfinder.repository.SinglePlayerGameRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DailyChallengesTest {
+
+    private static final LocalDate PAST_DAY = LocalDate.of(2024, 3, 1);
+
+    private final List<UUID> countryIds = new ArrayList<>();
+    private final SinglePlayerGameRepository singlePlayerGameRepository = mock(SinglePlayerGameRepository.class);
+    private final DailyChallengeResultRepository dailyChallengeResultRepository = mock(DailyChallengeResultRepository.class);
+    private final List<DailyChallenges> instances = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 50; i++) {
+            countryIds.add(UUID.randomUUID());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        instances.forEach(DailyChallenges::shutdown);
+    }
+
+    @Test
+    void everyInstanceDrawsTheSameSequenceForADay() {
+        List<UUID> shuffled = new ArrayList<>(countryIds);
+        Collections.shuffle(shuffled);
+        DailyChallenges first = challenges(countryIds);
+        DailyChallenges second = challenges(shuffled);
+
+        for (LocalDate date : List.of(first.today(), PAST_DAY)) {
+            assertEquals(DailyChallenges.ROUNDS, first.rounds(date));
+            Set<UUID> distinct = new HashSet<>();
+            for (int round = 1; round <= DailyChallenges.ROUNDS; round++) {
+                UUID countryId = first.countryAt(date, round);
+                assertEquals(countryId, second.countryAt(date, round));
+                assertTrue(countryIds.contains(countryId));
+                distinct.add(countryId);
+            }
+            assertEquals(DailyChallenges.ROUNDS, distinct.size());
+            assertNull(first.countryAt(date, 0));
+            assertNull(first.countryAt(date, DailyChallenges.ROUNDS + 1));
+        }
+        assertNotEquals(sequence(first, PAST_DAY), sequence(first, PAST_DAY.plusDays(1)));
+    }
+
+    @Test
+    void aSmallCatalogGivesAShorterChallenge() {
+        DailyChallenges challenges = challenges(countryIds.subList(0, 4));
+
+        assertEquals(4, challenges.rounds(challenges.today()));
+        assertEquals(Set.copyOf(countryIds.subList(0, 4)), Set.copyOf(sequence(challenges, challenges.today())));
+    }
+
+    @Test
+    void playersGetOneAttemptPerDay() {
+        DailyChallenges challenges = challenges(countryIds);
+        UUID userId = UUID.randomUUID();
+
+        assertFalse(challenges.attempted(userId));
+        assertEquals(challenges.today(), challenges.begin(userId));
+        assertTrue(challenges.attempted(userId));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> challenges.begin(userId));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    }
+
+    @Test
+    void ranksByCorrectAnswersAndKeepsTheFirstResult() {
+        DailyChallenges challenges = challenges(countryIds);
+        LocalDate today = challenges.today();
+        User alice = user("alice");
+        User bob = user("bob");
+
+        challenges.record(game(alice, today, true, true));
+        challenges.record(game(bob, today, true, false));
+        challenges.record(game(bob, today, true, true));
+        challenges.record(game(user("late"), PAST_DAY, true, true));
+
+        RankedIndex board = challenges.board();
+        assertEquals(2, board.size());
+        assertEquals(1, board.get(alice.getId()).rank());
+        assertEquals(2, board.get(bob.getId()).rank());
+        assertTrue(board.get(alice.getId()).score() >= 2_000);
+        assertTrue(board.get(bob.getId()).score() >= 1_000 && board.get(bob.getId()).score() < 2_000);
+    }
+
+    @Test
+    void rebuildsTheBoardWithTheTimeLeftOnTheClock() {
+        DailyChallenges challenges = challenges(countryIds);
+        LocalDate today = challenges.today();
+        UUID aliceId = UUID.randomUUID();
+        UUID bobId = UUID.randomUUID();
+        UUID quitterId = UUID.randomUUID();
+        Instant shown = Instant.parse("2024-03-01T10:00:00Z");
+        when(singlePlayerGameRepository.findUserIdsByChallengeDate(today)).thenReturn(List.of(aliceId, bobId, quitterId));
+        when(singlePlayerGameRepository.findChallengeRounds(eq(today), eq(GameStatus.COMPLETED))).thenReturn(List.of(
+                new Object[]{aliceId, "alice", shown, true, shown.plusMillis(3_000)},
+                new Object[]{aliceId, "alice", shown, true, shown.plusMillis(3_000)},
+                new Object[]{bobId, "bob", shown, true, shown.plusMillis(6_000)},
+                new Object[]{bobId, "bob", shown, null, null}));
+        when(dailyChallengeResultRepository.existsByChallengeDate(any())).thenReturn(true);
+
+        challenges.loadBoards();
+
+        assertEquals(2_000 + 999 * 18_000 / 24_000, challenges.board().get(aliceId).score());
+        assertEquals(1_000 + 999 * 6_000 / 24_000, challenges.board().get(bobId).score());
+        assertNull(challenges.board().get(quitterId));
+        assertTrue(challenges.attempted(quitterId));
+    }
+
+    private DailyChallenges challenges(List<UUID> catalog) {
+        CountryCatalog countryCatalog = mock(CountryCatalog.class);
+        when(countryCatalog.candidates(null)).thenReturn(List.copyOf(catalog));
+        DailyChallenges challenges = new DailyChallenges(countryCatalog, singlePlayerGameRepository, dailyChallengeResultRepository);
+        instances.add(challenges);
+        return challenges;
+    }
+
+    private static List<UUID> sequence(DailyChallenges challenges, LocalDate date) {
+        List<UUID> sequence = new ArrayList<>();
+        for (int round = 1; round <= challenges.rounds(date); round++) {
+            sequence.add(challenges.countryAt(date, round));
+        }
+        return sequence;
+    }
+
+    private static User user(String gameName) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setGameName(gameName);
+        return user;
+    }
+
+    private static SinglePlayerGame game(User user, LocalDate challengeDate, boolean... correct) {
+        SinglePlayerGame game = new SinglePlayerGame();
+        game.setUser(user);
+        game.setChallengeDate(challengeDate);
+        for (boolean isCorrect : correct) {
+            SinglePlayerRound round = new SinglePlayerRound();
+            Guess guess = new Guess();
+            guess.setCorrect(isCorrect);
+            round.setGuess(guess);
+            game.getRounds().add(round);
+        }
+        return game;
+    }
+}
@@ -0,0 +1,111 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.dto.GameReplayDto;
+import com.flagfinder.dto.GameReplayEventDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEventLogCodecTest {
+
+    private static final long STARTED_AT = 1_700_000_000_000L;
+
+    private final UUID gameId = UUID.randomUUID();
+    private final UUID hostId = UUID.randomUUID();
+    private final UUID guestId = UUID.randomUUID();
+    private final UUID countryId = UUID.randomUUID();
+    private final UUID wrongCountryId = UUID.randomUUID();
+
+    @Test
+    void decodesWhatTheWriterEncoded() {
+        GameEventLogCodec.Writer writer = new GameEventLogCodec.Writer(gameId, List.of(hostId, guestId),
+                List.of("host", "gäst"), STARTED_AT);
+        writer.roundStarted(1, countryId, STARTED_AT + 100);
+        writer.guess(guestId, 1, wrongCountryId, false, STARTED_AT + 2_500);
+        writer.guess(hostId, 1, countryId, true, STARTED_AT + 3_000);
+        writer.score(hostId, 1, STARTED_AT + 3_000);
+        byte[] data = writer.gameEnded(hostId, STARTED_AT + 200_000);
+
+        GameReplayDto replay = GameEventLogCodec.decode(data);
+
+        assertEquals(gameId, replay.getGameId());
+        assertEquals(Instant.ofEpochMilli(STARTED_AT), replay.getStartedAt());
+        assertEquals(List.of("host", "gäst"), replay.getPlayers());
+        assertEquals(List.of("GAME_STARTED", "ROUND_STARTED", "GUESS", "GUESS", "SCORE", "GAME_ENDED"),
+                replay.getEvents().stream().map(GameReplayEventDto::getType).toList());
+        assertEquals(List.of(0L, 100L, 2_500L, 3_000L, 3_000L, 200_000L),
+                replay.getEvents().stream().map(GameReplayEventDto::getOffsetMillis).toList());
+
+        GameReplayEventDto roundStarted = replay.getEvents().get(1);
+        assertEquals(1, roundStarted.getRoundNumber());
+        assertEquals(countryId, roundStarted.getCountryId());
+
+        GameReplayEventDto wrongGuess = replay.getEvents().get(2);
+        assertEquals("gäst", wrongGuess.getUserName());
+        assertEquals(wrongCountryId, wrongGuess.getCountryId());
+        assertEquals(false, wrongGuess.getCorrect());
+
+        GameReplayEventDto score = replay.getEvents().get(4);
+        assertEquals("host", score.getUserName());
+        assertEquals(1, score.getScore());
+
+        assertEquals("host", replay.getEvents().get(5).getUserName());
+    }
+
+    @Test
+    void clampsTimestampsThatGoBackwards() {
+        GameEventLogCodec.Writer writer = new GameEventLogCodec.Writer(gameId, List.of(hostId), List.of("host"), STARTED_AT);
+        writer.roundStarted(1, countryId, STARTED_AT + 500);
+        writer.guess(hostId, 1, countryId, true, STARTED_AT + 400);
+
+        GameReplayDto replay = GameEventLogCodec.decode(writer.gameEnded(null, STARTED_AT + 600));
+
+        assertEquals(List.of(0L, 500L, 500L, 600L),
+                replay.getEvents().stream().map(GameReplayEventDto::getOffsetMillis).toList());
+        assertNull(replay.getEvents().get(3).getUserName());
+    }
+
+    @Test
+    void ignoresEventsAfterTheGameEnded() {
+        GameEventLogCodec.Writer writer = new GameEventLogCodec.Writer(gameId, List.of(hostId), List.of("host"), STARTED_AT);
+        byte[] ended = writer.gameEnded(hostId, STARTED_AT + 10);
+        writer.score(hostId, 5, STARTED_AT + 20);
+
+        assertArrayEquals(ended, writer.gameEnded(hostId, STARTED_AT + 30));
+        assertEquals(2, writer.eventCount());
+    }
+
+    @Test
+    void unknownPlayersDecodeWithoutAName() {
+        GameEventLogCodec.Writer writer = new GameEventLogCodec.Writer(gameId, List.of(hostId), List.of("host"), STARTED_AT);
+        writer.score(UUID.randomUUID(), 3, STARTED_AT + 1);
+
+        GameReplayDto replay = GameEventLogCodec.decode(writer.gameEnded(null, STARTED_AT + 2));
+
+        assertNull(replay.getEvents().get(1).getUserName());
+        assertEquals(3, replay.getEvents().get(1).getScore());
+    }
+
+    @Test
+    void rejectsTruncatedAndUnknownLogs() {
+        GameEventLogCodec.Writer writer = new GameEventLogCodec.Writer(gameId, List.of(hostId), List.of("host"), STARTED_AT);
+        writer.roundStarted(1, countryId, STARTED_AT + 1);
+        byte[] data = writer.gameEnded(hostId, STARTED_AT + 2);
+
+        assertThrows(IllegalArgumentException.class, () -> GameEventLogCodec.decode(Arrays.copyOf(data, data.length - 10)));
+
+        byte[] otherVersion = data.clone();
+        otherVersion[0] = (byte) (GameEventLogCodec.FORMAT_VERSION + 1);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> GameEventLogCodec.decode(otherVersion));
+        assertTrue(e.getMessage().contains("version"));
+    }
+}
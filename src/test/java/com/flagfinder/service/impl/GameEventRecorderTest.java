@@ -0,0 +1,127 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.dto.GameReplayEventDto;
+import com.flagfinder.model.GameEventLog;
+import com.flagfinder.repository.GameEventLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class GameEventRecorderTest {
+
+    private final GameEventLogRepository gameEventLogRepository = mock(GameEventLogRepository.class);
+    private final GameEventRecorder recorder = new GameEventRecorder(gameEventLogRepository);
+
+    private final UUID gameId = UUID.randomUUID();
+    private final UUID hostId = UUID.randomUUID();
+    private final UUID guestId = UUID.randomUUID();
+    private final UUID countryId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(recorder);
+    }
+
+    @Test
+    void eventsOfARolledBackTransactionAreDropped() {
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            recorder.gameStarted(gameId, List.of(hostId, guestId), List.of("host", "guest"));
+            recorder.roundStarted(gameId, 1, countryId);
+        });
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            recorder.guessSubmitted(gameId, guestId, 1, countryId, true);
+            recorder.scoreChanged(gameId, guestId, 1);
+        });
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> recorder.guessSubmitted(gameId, hostId, 1, countryId, true));
+
+        recorder.gameEnded(gameId, hostId);
+
+        List<GameReplayEventDto> events = savedEvents(1).get(0);
+        assertEquals(List.of("GAME_STARTED", "ROUND_STARTED", "GUESS", "GAME_ENDED"),
+                events.stream().map(GameReplayEventDto::getType).toList());
+        assertEquals("host", events.get(2).getUserName());
+    }
+
+    @Test
+    void aRolledBackGameEndKeepsTheLogForTheRetry() {
+        recorder.gameStarted(gameId, List.of(hostId, guestId), List.of("host", "guest"));
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            recorder.scoreChanged(gameId, hostId, 3);
+            recorder.gameEnded(gameId, hostId);
+        });
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            recorder.scoreChanged(gameId, guestId, 2);
+            recorder.gameEnded(gameId, guestId);
+        });
+
+        List<List<GameReplayEventDto>> saved = savedEvents(2);
+        assertEquals(List.of("GAME_STARTED", "SCORE", "GAME_ENDED"), saved.get(0).stream().map(GameReplayEventDto::getType).toList());
+        List<GameReplayEventDto> retried = saved.get(1);
+        assertEquals(List.of("GAME_STARTED", "SCORE", "GAME_ENDED"), retried.stream().map(GameReplayEventDto::getType).toList());
+        assertEquals("guest", retried.get(1).getUserName());
+        assertEquals(2, retried.get(1).getScore());
+    }
+
+    @Test
+    void aCommittedGameEndDropsTheBuffer() {
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            recorder.gameStarted(gameId, List.of(hostId), List.of("host"));
+            recorder.gameEnded(gameId, null);
+        });
+
+        recorder.scoreChanged(gameId, hostId, 1);
+        recorder.gameEnded(gameId, hostId);
+
+        List<GameReplayEventDto> events = savedEvents(1).get(0);
+        assertEquals(2, events.size());
+        assertNull(events.get(1).getUserName());
+    }
+
+    @Test
+    void gamesStartedInARolledBackTransactionHaveNoLog() {
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK,
+                () -> recorder.gameStarted(gameId, List.of(hostId), List.of("host")));
+
+        recorder.gameEnded(gameId, hostId);
+
+        verify(gameEventLogRepository, never()).save(any());
+    }
+
+    /**
+     * Runs work inside a simulated transaction and finishes it the way the transaction manager does.
+     */
+    private static void inTransaction(int status, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        work.run();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private List<List<GameReplayEventDto>> savedEvents(int count) {
+        ArgumentCaptor<GameEventLog> captor = ArgumentCaptor.forClass(GameEventLog.class);
+        verify(gameEventLogRepository, times(count)).save(captor.capture());
+        return captor.getAllValues().stream()
+                .map(eventLog -> GameEventLogCodec.decode(eventLog.getEvents()).getEvents())
+                .toList();
+    }
+}
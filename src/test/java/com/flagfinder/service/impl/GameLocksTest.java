@@ -0,0 +1,129 @@
+package com.flagfinder.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameLocksTest {
+
+    private final GameLocks gameLocks = new GameLocks(16);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void mapsEveryGameToAStableStripe() {
+        assertEquals(1, new GameLocks(0).stripeCount());
+        for (int i = 0; i < 1_000; i++) {
+            UUID gameId = UUID.randomUUID();
+            int stripe = gameLocks.stripeOf(gameId);
+            assertTrue(stripe >= 0 && stripe < gameLocks.stripeCount());
+            assertEquals(stripe, gameLocks.stripeOf(new UUID(gameId.getMostSignificantBits(), gameId.getLeastSignificantBits())));
+        }
+    }
+
+    @Test
+    void serializesWorkOnTheSameGame() throws Exception {
+        UUID gameId = UUID.randomUUID();
+        int[] counter = new int[1];
+        List<Future<?>> futures = new ArrayList<>();
+        for (int task = 0; task < 8; task++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    gameLocks.run(gameId, () -> counter[0]++);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(80_000, counter[0]);
+        assertEquals(42, gameLocks.call(gameId, () -> gameLocks.call(gameId, () -> 42)));
+    }
+
+    @Test
+    void aBatchHoldsTheLocksOfAllItsGames() throws Exception {
+        List<UUID> gameIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        CountDownLatch batchRunning = new CountDownLatch(1);
+        CountDownLatch releaseBatch = new CountDownLatch(1);
+        Future<?> batch = executor.submit(() -> gameLocks.runAll(gameIds, () -> {
+            batchRunning.countDown();
+            await(releaseBatch);
+        }));
+        assertTrue(batchRunning.await(5, TimeUnit.SECONDS));
+
+        Future<Integer> guess = executor.submit(() -> gameLocks.call(gameIds.get(2), () -> 1));
+        assertThrows(TimeoutException.class, () -> guess.get(100, TimeUnit.MILLISECONDS));
+
+        releaseBatch.countDown();
+        batch.get(5, TimeUnit.SECONDS);
+        assertEquals(1, guess.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void overlappingBatchesDoNotDeadlock() {
+        List<UUID> gameIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            gameIds.add(UUID.randomUUID());
+        }
+        List<UUID> reversed = new ArrayList<>(gameIds);
+        Collections.reverse(reversed);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int task = 0; task < 8; task++) {
+                List<UUID> order = task % 2 == 0 ? gameIds : reversed;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        gameLocks.runAll(order.subList(i % 20, i % 20 + 20), Thread::yield);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        });
+    }
+
+    @Test
+    void releasesTheLocksWhenABatchFails() throws Exception {
+        List<UUID> gameIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        assertThrows(IllegalStateException.class, () -> gameLocks.runAll(gameIds, () -> {
+            throw new IllegalStateException("batch failed");
+        }));
+
+        for (UUID gameId : gameIds) {
+            assertFalse(executor.submit(() -> gameLocks.call(gameId, () -> false)).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.flagfinder.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameTimerServiceImplTest {
+
+    private final GameLocks gameLocks = new GameLocks(64);
+    private final GameServiceImpl gameService = mock(GameServiceImpl.class);
+    private final Map<UUID, Integer> endedRounds = new ConcurrentHashMap<>();
+    private final List<Set<Integer>> batchGroups = new ArrayList<>();
+    private GameTimerServiceImpl timers;
+
+    @BeforeEach
+    void setUp() {
+        GameBroadcastService gameBroadcastService = mock(GameBroadcastService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(gameBroadcastService).collect(any());
+        doAnswer(invocation -> {
+            Map<UUID, Integer> roundsByGame = invocation.getArgument(0);
+            synchronized (batchGroups) {
+                batchGroups.add(roundsByGame.keySet().stream()
+                        .map(gameId -> gameLocks.stripeOf(gameId) % 8)
+                        .collect(Collectors.toSet()));
+            }
+            roundsByGame.forEach((gameId, roundNumber) -> assertNull(endedRounds.put(gameId, roundNumber)));
+            return null;
+        }).when(gameService).handleRoundTimeouts(any());
+
+        ApplicationContext applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getBean(GameServiceImpl.class)).thenReturn(gameService);
+        when(applicationContext.getBean(GameBroadcastService.class)).thenReturn(gameBroadcastService);
+        timers = new GameTimerServiceImpl(applicationContext, gameLocks);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        timers.shutdown();
+    }
+
+    @Test
+    void tickModeEndsExpiredRoundsInBatchesOfOneLockGroup() throws Exception {
+        startTickMode();
+        Map<UUID, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            UUID gameId = UUID.randomUUID();
+            expected.put(gameId, 1 + i % 5);
+            timers.startRoundTimer(gameId, 1 + i % 5, 0);
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((endedRounds.size() < expected.size() || timers.activeGameCount() > 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(expected, endedRounds);
+        assertEquals(0, timers.activeGameCount());
+        assertEquals(300, timers.getTimersFired());
+        synchronized (batchGroups) {
+            assertTrue(batchGroups.stream().allMatch(groups -> groups.size() == 1));
+        }
+        verify(gameService, never()).handleRoundTimeout(any(), anyInt());
+    }
+
+    @Test
+    void timersStartedInATransactionWaitForTheCommit() {
+        UUID gameId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        timers.startRoundTimer(gameId, 1, 0);
+
+        assertTrue(timers.isRoundActive(gameId, 1));
+        assertEquals(1, timers.activeGameCount());
+        verify(gameService, after(200).never()).handleRoundTimeout(gameId, 1);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        verify(gameService, timeout(2_000)).handleRoundTimeout(gameId, 1);
+    }
+
+    @Test
+    void aRollbackDropsTheRoundTimer() {
+        UUID gameId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        timers.startRoundTimer(gameId, 2, 0);
+        timers.scheduleRoundTask(gameId, 2, "bot", 0, () -> gameService.handleRoundTimeout(gameId, 99));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertFalse(timers.isRoundActive(gameId, 2));
+        assertEquals(0, timers.activeGameCount());
+        assertEquals(0L, timers.getRemainingTime(gameId, 2));
+        verify(gameService, after(200).never()).handleRoundTimeout(any(), anyInt());
+    }
+
+    @Test
+    void timersCancelledBeforeTheCommitNeverFire() {
+        startTickMode();
+        UUID gameId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        timers.startRoundTimer(gameId, 1, 0);
+
+        timers.cancelGameTimers(gameId);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertFalse(timers.isRoundActive(gameId, 1));
+        verify(gameService, after(300).never()).handleRoundTimeouts(any());
+    }
+
+    private void startTickMode() {
+        ReflectionTestUtils.setField(timers, "timerMode", "tick");
+        timers.startTickLoop();
+    }
+
+    /**
+     * Finishes the simulated transaction the way the transaction manager does.
+     */
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.enumeration.LeaderboardPeriod;
+import com.flagfinder.enumeration.LeaderboardType;
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.repository.GameRepository;
+import com.flagfinder.repository.LeaderboardSnapshotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderboardWindowsTest {
+
+    private final UUID aliceId = UUID.randomUUID();
+    private final UUID bobId = UUID.randomUUID();
+
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final LeaderboardWindows windows = new LeaderboardWindows(gameRepository, mock(LeaderboardSnapshotRepository.class));
+
+    @AfterEach
+    void tearDown() {
+        windows.shutdown();
+    }
+
+    @Test
+    void ignoresGamesUntilTheWindowsAreLoaded() {
+        windows.onGameCompleted(game(LocalDateTime.now(), "alice"));
+
+        assertEquals(0, windows.index(LeaderboardPeriod.DAILY, LeaderboardType.WINS).size());
+    }
+
+    @Test
+    void addsGamesEndedAfterTheLoadToTheStoredCounts() {
+        List<Object[]> wins = List.<Object[]>of(new Object[]{aliceId, "alice", 2L});
+        when(gameRepository.countWinsEndedBetween(eq(GameStatus.COMPLETED), any(), any())).thenReturn(wins);
+        windows.loadWindows();
+
+        windows.onGameCompleted(game(LocalDateTime.now(), "alice"));
+
+        for (LeaderboardPeriod period : List.of(LeaderboardPeriod.DAILY, LeaderboardPeriod.WEEKLY)) {
+            RankedIndex winsIndex = windows.index(period, LeaderboardType.WINS);
+            assertEquals(3, winsIndex.get(aliceId).score());
+            assertNull(winsIndex.get(bobId));
+
+            RankedIndex guesses = windows.index(period, LeaderboardType.CORRECT_GUESSES);
+            assertEquals(1, guesses.get(aliceId).score());
+            assertEquals(2, guesses.get(bobId).score());
+            assertEquals(1, guesses.get(bobId).rank());
+        }
+    }
+
+    @Test
+    void drawsOnlyCountCorrectGuesses() {
+        windows.loadWindows();
+
+        windows.onGameCompleted(game(LocalDateTime.now(), null));
+
+        assertEquals(0, windows.index(LeaderboardPeriod.DAILY, LeaderboardType.WINS).size());
+        assertEquals(2, windows.index(LeaderboardPeriod.DAILY, LeaderboardType.CORRECT_GUESSES).size());
+    }
+
+    @Test
+    void gamesCountedByTheLoadAreNotCountedAgain() {
+        windows.loadWindows();
+
+        windows.onGameCompleted(game(LocalDateTime.now().minusMinutes(1), "alice"));
+
+        assertEquals(0, windows.index(LeaderboardPeriod.DAILY, LeaderboardType.WINS).size());
+        assertEquals(0, windows.index(LeaderboardPeriod.WEEKLY, LeaderboardType.CORRECT_GUESSES).size());
+    }
+
+    @Test
+    void rejectsTypesThatAreOnlyKeptForAllTime() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> windows.index(LeaderboardPeriod.WEEKLY, LeaderboardType.RATING));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    /**
+     * Builds a two-player game in which alice guesses once and bob twice correctly.
+     */
+    private GameCompletedPayload game(LocalDateTime endedAt, String winner) {
+        GameCompletedPayload game = new GameCompletedPayload();
+        game.setGameId(UUID.randomUUID());
+        game.setEndedAt(endedAt);
+        game.setWinnerUserName(winner);
+        game.setPlayers(List.of(player(aliceId, "alice"), player(bobId, "bob")));
+        GameCompletedPayload.RoundResult round = new GameCompletedPayload.RoundResult();
+        round.setRoundNumber(1);
+        round.setGuesses(List.of(guess(aliceId, true), guess(bobId, true), guess(bobId, true), guess(aliceId, false)));
+        game.setRounds(List.of(round));
+        return game;
+    }
+
+    private static GameCompletedPayload.PlayerResult player(UUID userId, String gameName) {
+        GameCompletedPayload.PlayerResult player = new GameCompletedPayload.PlayerResult();
+        player.setUserId(userId);
+        player.setGameName(gameName);
+        return player;
+    }
+
+    private static GameCompletedPayload.GuessResult guess(UUID userId, boolean correct) {
+        GameCompletedPayload.GuessResult guess = new GameCompletedPayload.GuessResult();
+        guess.setUserId(userId);
+        guess.setCorrect(correct);
+        return guess;
+    }
+}
@@ -0,0 +1,146 @@
+package com.flagfinder.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LearningQueueTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private final LearningQueue queue = new LearningQueue();
+
+    @Test
+    void correctAnswersGrowTheIntervalWithTheEasiness() {
+        queue.review(3, true, 1_000, NOW);
+        LearningQueue.State first = single(queue.drainChanges());
+        assertEquals(1, first.intervalDays());
+        assertEquals(NOW + DAY, first.dueAt());
+        assertEquals(2.6, first.easiness(), 1e-6);
+
+        queue.review(3, true, 1_000, NOW + DAY);
+        LearningQueue.State second = single(queue.drainChanges());
+        assertEquals(6, second.intervalDays());
+        assertEquals(2, second.repetitions());
+
+        queue.review(3, true, 10_000, NOW + 7 * DAY);
+        LearningQueue.State third = single(queue.drainChanges());
+        assertEquals(Math.round(6 * 2.7f), third.intervalDays());
+        assertEquals(NOW + 7 * DAY + third.intervalDays() * DAY, third.dueAt());
+        assertEquals(2.7, third.easiness(), 1e-6);
+    }
+
+    @Test
+    void aMissResetsTheRepetitionsAndBringsTheFlagBackSoon() {
+        queue.review(0, true, 1_000, NOW);
+        queue.review(0, false, 1_000, NOW + DAY);
+
+        LearningQueue.State state = single(queue.drainChanges());
+        assertEquals(0, state.repetitions());
+        assertEquals(0, state.intervalDays());
+        assertEquals(1, state.lapses());
+        assertEquals(NOW + DAY + 10 * 60 * 1000, state.dueAt());
+        assertEquals(2.6 - 0.54, state.easiness(), 1e-6);
+
+        for (int i = 0; i < 10; i++) {
+            queue.review(0, false, 1_000, NOW + DAY);
+        }
+        assertEquals(1.3, single(queue.drainChanges()).easiness(), 1e-6);
+    }
+
+    @Test
+    void restoredFlagsAreNotWrittenBackUntilRequeued() {
+        queue.restore(5, new LearningQueue.State(2.2, 3, 15, 1, NOW - DAY, NOW + DAY));
+        assertTrue(queue.drainChanges().isEmpty());
+
+        queue.review(5, true, 1_000, NOW);
+        List<LearningQueue.Change> changes = queue.drainChanges();
+        assertEquals(5, changes.get(0).ordinal());
+        assertEquals(4, changes.get(0).state().repetitions());
+        assertEquals(Math.round(15 * 2.2f), changes.get(0).state().intervalDays());
+        assertTrue(queue.drainChanges().isEmpty());
+
+        queue.requeue(changes);
+        assertEquals(changes, queue.drainChanges());
+    }
+
+    @Test
+    void showsOverdueFlagsFirstThenUnseenThenTheNextDue() {
+        queue.restore(1, new LearningQueue.State(2.5, 1, 1, 0, NOW - DAY, NOW + 2 * DAY));
+        queue.restore(2, new LearningQueue.State(2.5, 1, 1, 0, NOW - DAY, NOW - 5));
+        queue.restore(3, new LearningQueue.State(2.5, 1, 1, 0, NOW - DAY, NOW - 10));
+
+        assertEquals(3, queue.next(allowed(1, 2, 3, 4), NOW));
+        assertEquals(2, queue.next(allowed(1, 2, 4), NOW));
+        assertEquals(4, queue.next(allowed(1, 4), NOW));
+        assertEquals(1, queue.next(allowed(1), NOW));
+        assertEquals(-1, queue.next(new BitSet(), NOW));
+        assertEquals(3, queue.next(allowed(1, 2, 3), NOW));
+    }
+
+    @Test
+    void matchesABruteForceScheduleUnderRandomReviews() {
+        Random random = new Random(11);
+        int flags = 500;
+        long[] due = new long[flags];
+        for (int step = 0; step < 5_000; step++) {
+            int ordinal = random.nextInt(flags);
+            long now = NOW + random.nextInt(1_000) * DAY;
+            if (random.nextBoolean()) {
+                queue.review(ordinal, random.nextInt(4) > 0, random.nextInt(6_000), now);
+                due[ordinal] = queue.drainChanges().get(0).state().dueAt();
+            } else {
+                due[ordinal] = now + random.nextInt(100) * DAY;
+                queue.restore(ordinal, new LearningQueue.State(2.5, 0, 0, 0, now, due[ordinal]));
+            }
+
+            if (step % 10 == 0) {
+                BitSet allowed = new BitSet();
+                long earliest = Long.MAX_VALUE;
+                for (int candidate = 0; candidate < flags; candidate++) {
+                    if (due[candidate] != 0 && random.nextInt(4) == 0) {
+                        allowed.set(candidate);
+                        earliest = Math.min(earliest, due[candidate]);
+                    }
+                }
+                if (!allowed.isEmpty()) {
+                    int next = queue.next(allowed, Long.MAX_VALUE);
+                    assertTrue(allowed.get(next));
+                    assertEquals(earliest, due[next]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void evictsOnlyIdleQueuesWithoutPendingChanges() {
+        queue.touch(NOW);
+        queue.review(0, true, 1_000, NOW);
+        assertFalse(queue.evictIfIdle(NOW + 1));
+
+        queue.drainChanges();
+        assertFalse(queue.evictIfIdle(NOW));
+        assertTrue(queue.evictIfIdle(NOW + 1));
+        assertFalse(queue.touch(NOW + 2));
+    }
+
+    private static LearningQueue.State single(List<LearningQueue.Change> changes) {
+        assertEquals(1, changes.size());
+        return changes.get(0).state();
+    }
+
+    private static BitSet allowed(int... ordinals) {
+        BitSet allowed = new BitSet();
+        for (int ordinal : ordinals) {
+            allowed.set(ordinal);
+        }
+        return allowed;
+    }
+}
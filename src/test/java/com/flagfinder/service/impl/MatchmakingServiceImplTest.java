@@ -0,0 +1,138 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.dto.GameDto;
+import com.flagfinder.dto.QuickMatchRequestDto;
+import com.flagfinder.dto.RoomDto;
+import com.flagfinder.model.User;
+import com.flagfinder.repository.UserRepository;
+import com.flagfinder.repository.UserStatsRepository;
+import com.flagfinder.service.GameService;
+import com.flagfinder.service.RoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchmakingServiceImplTest {
+
+    private static final int PLAYERS = 200;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ExtractAuthenticatedUserService authenticatedUser = mock(ExtractAuthenticatedUserService.class);
+    private final RoomService roomService = mock(RoomService.class);
+    private final GameService gameService = mock(GameService.class);
+    private final GameBroadcastService gameBroadcastService = mock(GameBroadcastService.class);
+    private final MatchmakingServiceImpl matchmaking = new MatchmakingServiceImpl(userRepository,
+            mock(UserStatsRepository.class), authenticatedUser, roomService, gameService, gameBroadcastService,
+            mock(BotPlayers.class));
+
+    private final ThreadLocal<String> currentEmail = new ThreadLocal<>();
+    private final Set<String> matched = ConcurrentHashMap.newKeySet();
+    private final Map<String, Boolean> duplicates = new ConcurrentHashMap<>();
+    private final List<String> gameNames = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(authenticatedUser.getAuthenticatedUser()).thenAnswer(invocation -> currentEmail.get());
+        for (int i = 0; i < PLAYERS; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setGameName("player" + i);
+            user.setEmail("player" + i + "@example.com");
+            when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+            gameNames.add(user.getGameName());
+        }
+        when(roomService.createRoomForPlayers(any(), any(), any())).thenAnswer(invocation -> {
+            RoomDto room = new RoomDto();
+            room.setId(UUID.randomUUID());
+            return room;
+        });
+        when(gameService.startGame(any(), any(), any())).thenAnswer(invocation -> {
+            GameDto game = new GameDto();
+            game.setId(UUID.randomUUID());
+            return game;
+        });
+        doAnswer(invocation -> {
+            String gameName = invocation.getArgument(0);
+            if (!matched.add(gameName)) {
+                duplicates.put(gameName, true);
+            }
+            return null;
+        }).when(gameBroadcastService).send(anyString(), eq("/queue/match-found"), any());
+    }
+
+    @Test
+    void aPlayerWhoLeavesIsNeverMatchedAndAPlayerWhoCannotLeaveIsMatched() throws Exception {
+        for (int i = 0; i < PLAYERS; i++) {
+            as(i, () -> matchmaking.enqueue(new QuickMatchRequestDto()));
+        }
+
+        AtomicBoolean leaving = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(1);
+        Map<String, Boolean> left = new ConcurrentHashMap<>();
+        Thread leaver = new Thread(() -> {
+            started.countDown();
+            for (int i = 1; i < PLAYERS; i += 2) {
+                int player = i;
+                as(player, () -> {
+                    try {
+                        matchmaking.leaveQueue();
+                        left.put(gameNames.get(player), true);
+                    } catch (ResponseStatusException e) {
+                        left.put(gameNames.get(player), false);
+                    }
+                });
+            }
+            leaving.set(false);
+        });
+        leaver.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        while (leaving.get()) {
+            matchmaking.matchWaitingPlayers();
+        }
+        leaver.join(5_000);
+        matchmaking.matchWaitingPlayers();
+        matchmaking.shutdown();
+
+        assertTrue(duplicates.isEmpty());
+        for (Map.Entry<String, Boolean> attempt : left.entrySet()) {
+            assertNotEquals(attempt.getValue(), matched.contains(attempt.getKey()), attempt.getKey());
+        }
+        long waiting = gameNames.stream()
+                .filter(gameName -> !matched.contains(gameName) && !Boolean.TRUE.equals(left.get(gameName)))
+                .count();
+        assertEquals(waiting, matchmaking.getStats().getQueueDepth());
+        assertTrue(waiting <= 1);
+        assertFalse(left.isEmpty());
+    }
+
+    private void as(int player, Runnable action) {
+        currentEmail.set("player" + player + "@example.com");
+        try {
+            action.run();
+        } finally {
+            currentEmail.remove();
+        }
+    }
+}
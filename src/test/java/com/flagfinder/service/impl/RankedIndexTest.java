@@ -0,0 +1,147 @@
+package com.flagfinder.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankedIndexTest {
+
+    private final RankedIndex index = new RankedIndex();
+
+    @Test
+    void playersWithEqualScoresShareARank() {
+        UUID first = UUID.randomUUID();
+        UUID tiedA = UUID.randomUUID();
+        UUID tiedB = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        index.put(first, "first", 30);
+        index.put(tiedA, "tiedA", 20);
+        index.put(tiedB, "tiedB", 20);
+        index.put(last, "last", 0);
+
+        assertEquals(1, index.get(first).rank());
+        assertEquals(2, index.get(tiedA).rank());
+        assertEquals(2, index.get(tiedB).rank());
+        assertEquals(4, index.get(last).rank());
+        assertEquals(Set.of(2, 3), Set.of(index.get(tiedA).position(), index.get(tiedB).position()));
+        assertEquals(2, index.rankOf(25));
+        assertEquals(1, index.rankOf(31));
+        assertEquals(4, index.rankOf(-1));
+    }
+
+    @Test
+    void removingFromTheMiddleOfABucketKeepsTheOthersReachable() {
+        List<UUID> tied = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            UUID userId = UUID.randomUUID();
+            tied.add(userId);
+            index.put(userId, "p" + i, 10);
+        }
+
+        index.remove(tied.get(1));
+
+        assertNull(index.get(tied.get(1)));
+        assertEquals(4, index.size());
+        Set<Integer> positions = new HashSet<>();
+        for (UUID userId : List.of(tied.get(0), tied.get(2), tied.get(3), tied.get(4))) {
+            RankedIndex.Ranked ranked = index.get(userId);
+            assertEquals(1, ranked.rank());
+            positions.add(ranked.position());
+        }
+        assertEquals(Set.of(1, 2, 3, 4), positions);
+    }
+
+    @Test
+    void incrementAddsMissingPlayersAndClampsAtZero() {
+        UUID userId = UUID.randomUUID();
+        index.increment(userId, "player", 3);
+        index.increment(userId, "renamed", -10);
+
+        RankedIndex.Ranked ranked = index.get(userId);
+        assertEquals(0, ranked.score());
+        assertEquals("renamed", ranked.userName());
+    }
+
+    @Test
+    void putIfAbsentKeepsANewerScore() {
+        UUID userId = UUID.randomUUID();
+        index.put(userId, "player", 42);
+        index.putIfAbsent(userId, "player", 7);
+
+        assertEquals(42, index.get(userId).score());
+    }
+
+    @Test
+    void scoresBeyondTheInitialCapacityGrowTheTree() {
+        UUID low = UUID.randomUUID();
+        UUID high = UUID.randomUUID();
+        index.put(low, "low", 5);
+        index.put(high, "high", 100_000);
+
+        assertEquals(1, index.get(high).rank());
+        assertEquals(2, index.get(low).rank());
+        assertEquals(List.of(high, low), index.range(1, 10).stream().map(RankedIndex.Ranked::userId).toList());
+    }
+
+    @Test
+    void matchesABruteForceRankingUnderRandomUpdates() {
+        Random random = new Random(42);
+        Map<UUID, Integer> scores = new HashMap<>();
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+
+        for (int step = 0; step < 5_000; step++) {
+            UUID userId = userIds.get(random.nextInt(userIds.size()));
+            int operation = random.nextInt(10);
+            if (operation == 0) {
+                index.remove(userId);
+                scores.remove(userId);
+            } else if (operation < 4) {
+                int delta = random.nextInt(21) - 10;
+                index.increment(userId, "u", delta);
+                scores.merge(userId, Math.max(0, delta), (old, ignored) -> Math.max(0, old + delta));
+            } else {
+                int score = random.nextInt(2_000);
+                index.put(userId, "u", score);
+                scores.put(userId, score);
+            }
+        }
+
+        assertEquals(scores.size(), index.size());
+        for (Map.Entry<UUID, Integer> entry : scores.entrySet()) {
+            long higher = scores.values().stream().filter(score -> score > entry.getValue()).count();
+            RankedIndex.Ranked ranked = index.get(entry.getKey());
+            assertEquals(entry.getValue().longValue(), ranked.score());
+            assertEquals(higher + 1, ranked.rank());
+        }
+
+        List<RankedIndex.Ranked> all = index.range(1, scores.size() + 10);
+        assertEquals(scores.size(), all.size());
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            RankedIndex.Ranked ranked = all.get(i);
+            assertEquals(i + 1, ranked.position());
+            assertEquals(index.get(ranked.userId()).position(), ranked.position());
+            assertTrue(seen.add(ranked.userId()));
+            if (i > 0) {
+                assertTrue(all.get(i - 1).score() >= ranked.score());
+            }
+        }
+
+        List<RankedIndex.Ranked> page = index.range(50, 25);
+        assertEquals(all.subList(49, 74), page);
+    }
+}
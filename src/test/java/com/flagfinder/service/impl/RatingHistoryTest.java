@@ -0,0 +1,116 @@
+package com.flagfinder.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class RatingHistoryTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void componentReplayMatchesASequentialReplayInEndOrder() throws Exception {
+        Random random = new Random(7);
+        List<List<UUID>> groups = new ArrayList<>();
+        for (int group = 0; group < 6; group++) {
+            List<UUID> players = new ArrayList<>();
+            int size = 2 + random.nextInt(8);
+            for (int i = 0; i < size; i++) {
+                players.add(UUID.randomUUID());
+            }
+            groups.add(players);
+        }
+
+        RatingHistory history = new RatingHistory();
+        Map<UUID, Double> expectedRatings = new HashMap<>();
+        Map<UUID, Integer> expectedGames = new HashMap<>();
+        for (int game = 0; game < 2_000; game++) {
+            List<UUID> group = groups.get(random.nextInt(groups.size()));
+            List<UUID> players = new ArrayList<>(group);
+            Collections.shuffle(players, random);
+            players = players.subList(0, 2 + random.nextInt(players.size() - 1));
+
+            double[] ratings = new double[players.size()];
+            int[] played = new int[players.size()];
+            int[] scores = new int[players.size()];
+            history.startGame();
+            for (int i = 0; i < players.size(); i++) {
+                UUID player = players.get(i);
+                scores[i] = random.nextInt(6);
+                ratings[i] = expectedRatings.getOrDefault(player, EloRating.INITIAL_RATING);
+                played[i] = expectedGames.getOrDefault(player, 0);
+                history.addResult(player, scores[i]);
+            }
+            EloRating.update(ratings, played, scores, ratings);
+            for (int i = 0; i < players.size(); i++) {
+                expectedRatings.put(players.get(i), ratings[i]);
+                expectedGames.merge(players.get(i), 1, Integer::sum);
+            }
+        }
+
+        history.replay(pool);
+
+        assertEquals(groups.size(), history.componentCount());
+        assertEquals(expectedRatings.size(), history.playerCount());
+        for (int player = 0; player < history.playerCount(); player++) {
+            UUID userId = history.playerId(player);
+            assertEquals(expectedRatings.get(userId), history.rating(player));
+            assertEquals(expectedGames.get(userId), history.ratedGames(player));
+        }
+    }
+
+    @Test
+    void gamesWithOnePlayerAreNotRated() throws Exception {
+        UUID alone = UUID.randomUUID();
+        UUID winner = UUID.randomUUID();
+        UUID loser = UUID.randomUUID();
+        RatingHistory history = new RatingHistory();
+        history.startGame();
+        history.addResult(alone, 3);
+        history.startGame();
+        history.addResult(winner, 3);
+        history.addResult(loser, 1);
+
+        history.replay(pool);
+
+        assertEquals(2, history.gameCount());
+        assertEquals(1, history.componentCount());
+        assertEquals(1, history.largestComponentGames());
+        assertEquals(EloRating.INITIAL_RATING, history.rating(0));
+        assertEquals(0, history.ratedGames(0));
+        assertEquals(1, history.ratedGames(1));
+        assertNotEquals(EloRating.INITIAL_RATING, history.rating(1));
+        assertEquals(2 * EloRating.INITIAL_RATING, history.rating(1) + history.rating(2), 1e-9);
+    }
+
+    @Test
+    void keepsTheSnapshotNextToTheReplayedRating() throws Exception {
+        UUID player = UUID.randomUUID();
+        RatingHistory history = new RatingHistory();
+        history.addSnapshot(player, "player", 1612.5, 30);
+
+        history.replay(pool);
+
+        assertEquals(1, history.playerCount());
+        assertEquals("player", history.snapshotName(0));
+        assertEquals(1612.5, history.snapshotRating(0));
+        assertEquals(30, history.snapshotRatedGames(0));
+        assertEquals(EloRating.INITIAL_RATING, history.rating(0));
+    }
+}
@@ -0,0 +1,87 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.model.Game;
+import com.flagfinder.model.Room;
+import com.flagfinder.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RematchesTest {
+
+    private final Rematches rematches = new Rematches();
+
+    @Test
+    void aBotGameCanBeRematchedByItsHumanPlayer() {
+        User host = user("host", "host@example.com");
+        User bot = user("FlagBot", null);
+        Game game = game(host, bot);
+        rematches.remember(game);
+
+        Rematches.Context context = rematches.find(game.getId(), "host@example.com");
+
+        assertEquals(host.getId(), context.playerIdOf("host@example.com"));
+        assertNull(context.playerIdOf(null));
+        assertNull(context.playerIdOf("someone@example.com"));
+        assertEquals(List.of(host.getId(), bot.getId()), context.playerIds);
+        assertEquals(game.getRoom().getId(), context.roomId);
+    }
+
+    @Test
+    void onlyPlayersOfTheGameFindItsContext() {
+        Game game = game(user("host", "host@example.com"), user("FlagBot", null));
+        rematches.remember(game);
+
+        ResponseStatusException stranger = assertThrows(ResponseStatusException.class,
+                () -> rematches.find(game.getId(), "someone@example.com"));
+        assertEquals(HttpStatus.FORBIDDEN, stranger.getStatusCode());
+        assertThrows(ResponseStatusException.class, () -> rematches.find(game.getId(), null));
+        ResponseStatusException unknown = assertThrows(ResponseStatusException.class,
+                () -> rematches.find(UUID.randomUUID(), "host@example.com"));
+        assertEquals(HttpStatus.NOT_FOUND, unknown.getStatusCode());
+    }
+
+    @Test
+    void onlyTheFirstRequestStartsTheRematch() {
+        Game game = game(user("host", "host@example.com"), user("guest", "guest@example.com"));
+        rematches.remember(game);
+        Rematches.Context context = rematches.find(game.getId(), "guest@example.com");
+
+        assertTrue(context.claim());
+        assertFalse(context.claim());
+        context.release();
+        assertTrue(context.claim());
+
+        UUID rematchId = UUID.randomUUID();
+        context.started(rematchId);
+        assertEquals(rematchId, rematches.find(game.getId(), "host@example.com").rematchGameId());
+    }
+
+    private static Game game(User... players) {
+        Room room = new Room();
+        room.setId(UUID.randomUUID());
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setRoom(room);
+        game.setUsers(List.of(players));
+        game.setTotalRounds(5);
+        return game;
+    }
+
+    private static User user(String gameName, String email) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setGameName(gameName);
+        user.setEmail(email);
+        return user;
+    }
+}
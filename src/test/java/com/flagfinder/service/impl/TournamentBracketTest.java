@@ -0,0 +1,171 @@
+package com.flagfinder.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagfinder.enumeration.TournamentFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TournamentBracketTest {
+
+    private final List<UUID> players = new ArrayList<>();
+
+    @Test
+    void eliminationGivesTheBestSeedTheByeAndAdvancesWinners() {
+        TournamentBracket bracket = bracket(TournamentFormat.SINGLE_ELIMINATION, 5);
+
+        List<TournamentBracket.Match> first = bracket.startNextRound();
+        assertEquals(3, bracket.getTotalRounds());
+        assertPairs(first, 2, 3, 4, 5);
+        assertEquals(player(1), completedBye(bracket, 1).getWinnerId());
+        play(bracket, first.get(0), "p3");
+        play(bracket, first.get(1), "p5");
+        assertTrue(bracket.isRoundComplete());
+        assertFalse(bracket.isFinished());
+
+        List<TournamentBracket.Match> second = bracket.startNextRound();
+        assertPairs(second, 3, 5);
+        assertEquals(player(1), completedBye(bracket, 2).getWinnerId());
+        play(bracket, second.get(0), null);
+        assertEquals(player(3), second.get(0).getWinnerId());
+        assertTrue(bracket.participant(player(5)).isEliminated());
+
+        List<TournamentBracket.Match> finalRound = bracket.startNextRound();
+        assertPairs(finalRound, 1, 3);
+        bracket.forfeit(finalRound.get(0));
+
+        assertTrue(bracket.isFinished());
+        assertEquals(player(1), bracket.winner().getUserId());
+        assertEquals(List.of(player(1), player(3), player(5), player(2), player(4)),
+                bracket.standings().stream().map(TournamentBracket.Participant::getUserId).toList());
+    }
+
+    @Test
+    void swissPairsByPointsWithoutRematches() {
+        TournamentBracket bracket = bracket(TournamentFormat.SWISS, 4);
+
+        List<TournamentBracket.Match> first = bracket.startNextRound();
+        assertEquals(2, bracket.getTotalRounds());
+        assertPairs(first, 1, 2, 3, 4);
+        play(bracket, first.get(0), "p1");
+        play(bracket, first.get(1), null);
+        assertEquals(TournamentBracket.WIN_HALF_POINTS, bracket.participant(player(1)).getHalfPoints());
+        assertEquals(TournamentBracket.DRAW_HALF_POINTS, bracket.participant(player(4)).getHalfPoints());
+        assertFalse(bracket.participant(player(2)).isEliminated());
+
+        List<TournamentBracket.Match> second = bracket.startNextRound();
+        assertPairs(second, 1, 3, 4, 2);
+        play(bracket, second.get(0), "p3");
+        play(bracket, second.get(1), "p2");
+
+        assertTrue(bracket.isFinished());
+        assertEquals(player(3), bracket.winner().getUserId());
+    }
+
+    @Test
+    void swissByesGoToTheLowestRankedPlayerWithoutOne() {
+        TournamentBracket bracket = bracket(TournamentFormat.SWISS, 5);
+        Set<UUID> byes = new HashSet<>();
+
+        while (!bracket.isFinished()) {
+            for (TournamentBracket.Match match : bracket.startNextRound()) {
+                play(bracket, match, bracket.participant(match.getPlayerOneId()).getUserName());
+            }
+            TournamentBracket.Match bye = bracket.getMatches().stream()
+                    .filter(match -> match.getRound() == bracket.getCurrentRound() && match.getPlayerTwoId() == null)
+                    .findFirst()
+                    .orElseThrow();
+            assertTrue(byes.add(bye.getPlayerOneId()));
+        }
+
+        assertEquals(3, bracket.getCurrentRound());
+        assertEquals(3, byes.size());
+        assertEquals(player(5), bracket.getMatches().get(0).getPlayerOneId());
+    }
+
+    @Test
+    void ignoresUnknownAndRepeatedResults() {
+        TournamentBracket bracket = bracket(TournamentFormat.SINGLE_ELIMINATION, 2);
+        assertFalse(bracket.addParticipant(player(1), "again"));
+        TournamentBracket.Match match = bracket.startNextRound().get(0);
+        UUID gameId = UUID.randomUUID();
+        bracket.matchStarted(match, UUID.randomUUID(), gameId);
+        assertEquals(TournamentBracket.IN_PROGRESS, match.getStatus());
+
+        assertNull(bracket.recordResult(UUID.randomUUID(), "p2"));
+        assertSame(match, bracket.recordResult(gameId, "p2"));
+        assertNull(bracket.recordResult(gameId, "p1"));
+        bracket.forfeit(match);
+
+        assertEquals(player(2), match.getWinnerId());
+        assertTrue(bracket.isFinished());
+        assertEquals(player(2), bracket.winner().getUserId());
+    }
+
+    @Test
+    void survivesACheckpointRoundTrip() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        TournamentBracket bracket = bracket(TournamentFormat.SWISS, 3);
+        TournamentBracket.Match match = bracket.startNextRound().get(0);
+        UUID gameId = UUID.randomUUID();
+        bracket.matchStarted(match, UUID.randomUUID(), gameId);
+
+        TournamentBracket restored = objectMapper.readValue(objectMapper.writeValueAsString(bracket), TournamentBracket.class);
+        TournamentBracket.Match completed = restored.recordResult(gameId, "p1");
+
+        assertEquals(player(1), completed.getWinnerId());
+        assertEquals(TournamentBracket.WIN_HALF_POINTS, restored.participant(player(1)).getHalfPoints());
+        assertTrue(restored.isRoundComplete());
+        assertEquals(bracket.getParticipants().size(), restored.getParticipants().size());
+    }
+
+    private TournamentBracket bracket(TournamentFormat format, int count) {
+        TournamentBracket bracket = TournamentBracket.create(format);
+        for (int seed = 1; seed <= count; seed++) {
+            UUID userId = UUID.randomUUID();
+            players.add(userId);
+            assertTrue(bracket.addParticipant(userId, "p" + seed));
+        }
+        return bracket;
+    }
+
+    private UUID player(int seed) {
+        return players.get(seed - 1);
+    }
+
+    private void play(TournamentBracket bracket, TournamentBracket.Match match, String winnerUserName) {
+        UUID gameId = UUID.randomUUID();
+        bracket.matchStarted(match, UUID.randomUUID(), gameId);
+        assertSame(match, bracket.recordResult(gameId, winnerUserName));
+    }
+
+    private static TournamentBracket.Match completedBye(TournamentBracket bracket, int round) {
+        TournamentBracket.Match bye = bracket.getMatches().stream()
+                .filter(match -> match.getRound() == round && match.getPlayerTwoId() == null)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(TournamentBracket.COMPLETED, bye.getStatus());
+        return bye;
+    }
+
+    /**
+     * Checks the playable matches against pairs of seeds, player one first.
+     */
+    private void assertPairs(List<TournamentBracket.Match> matches, int... seeds) {
+        assertEquals(seeds.length / 2, matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            assertEquals(player(seeds[2 * i]), matches.get(i).getPlayerOneId());
+            assertEquals(player(seeds[2 * i + 1]), matches.get(i).getPlayerTwoId());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.flagfinder.service.impl;
+
+import com.flagfinder.enumeration.GameStatus;
+import com.flagfinder.event.GameCompletedPayload;
+import com.flagfinder.model.UserStats;
+import com.flagfinder.repository.UserRepository;
+import com.flagfinder.repository.UserStatsRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStatsServiceImplTest {
+
+    private final UserStatsRepository userStatsRepository = mock(UserStatsRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final BotPlayers botPlayers = mock(BotPlayers.class);
+    private final UserStatsServiceImpl userStatsService = new UserStatsServiceImpl(userStatsRepository,
+            mock(UserRepository.class), mock(CountryCatalog.class), mock(TransactionTemplate.class),
+            mock(ApplicationEventPublisher.class), entityManager, botPlayers);
+
+    private final Map<UUID, UserStats> table = new TreeMap<>();
+    private final UUID hostId = UUID.randomUUID();
+    private final UUID guestId = UUID.randomUUID();
+    private final UUID gameId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        table.put(hostId, row(hostId, 0));
+        when(userStatsRepository.findAllForUpdate(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> userIds = invocation.getArgument(0);
+            return table.values().stream().filter(stats -> userIds.contains(stats.getUserId())).toList();
+        });
+        when(entityManager.merge(any(UserStats.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void aRowCreatedByTheBackfillMeanwhileIsLockedAndUpdated() {
+        when(userStatsRepository.insertIfAbsent(guestId)).thenAnswer(invocation -> {
+            table.put(guestId, row(guestId, 7));
+            return 0;
+        });
+
+        userStatsService.recordMultiplayerGame(game("guest"));
+
+        assertEquals(8, table.get(guestId).getWins());
+        assertEquals(1, table.get(hostId).getLosses());
+        verify(entityManager, never()).merge(any());
+        verify(userStatsRepository, never()).findWinnersInEndOrder(any(), any(), any());
+    }
+
+    @Test
+    void aRowInsertedByTheGameIsBuiltFromHistoryWithoutTheGame() {
+        when(userStatsRepository.insertIfAbsent(guestId)).thenAnswer(invocation -> {
+            table.put(guestId, row(guestId, 0));
+            return 1;
+        });
+        when(userStatsRepository.findWinnersInEndOrder(guestId, GameStatus.COMPLETED, gameId))
+                .thenReturn(List.of("guest", "host"));
+
+        userStatsService.recordMultiplayerGame(game("guest"));
+
+        verify(userStatsRepository).insertIfAbsent(guestId);
+        verify(userStatsRepository, never()).insertIfAbsent(hostId);
+        verify(entityManager).merge(any(UserStats.class));
+        ArgumentCaptor<Collection<UserStats>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(userStatsRepository).saveAll(saved.capture());
+        UserStats guest = saved.getValue().stream()
+                .filter(stats -> guestId.equals(stats.getUserId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(3, guest.getGamesPlayed());
+        assertEquals(2, guest.getWins());
+        assertEquals(1, guest.getLosses());
+    }
+
+    @Test
+    void aBatchLocksTheRowsOfAllItsPlayersInOneQuery() {
+        UUID botId = UUID.randomUUID();
+        when(botPlayers.isBot(botId)).thenReturn(true);
+        when(userStatsRepository.insertIfAbsent(guestId)).thenAnswer(invocation -> {
+            table.put(guestId, row(guestId, 0));
+            return 1;
+        });
+
+        userStatsService.lockStats(Map.of(hostId, "host", guestId, "guest", botId, "FlagBot"));
+
+        verify(userStatsRepository).findAllForUpdate(argThat(userIds -> userIds.size() == 2
+                && userIds.containsAll(List.of(hostId, guestId))));
+        verify(userStatsRepository, never()).insertIfAbsent(botId);
+        verify(userStatsRepository).findWinnersInEndOrder(eq(guestId), eq(GameStatus.COMPLETED), any());
+    }
+
+    private GameCompletedPayload game(String winner) {
+        GameCompletedPayload game = new GameCompletedPayload();
+        game.setGameId(gameId);
+        game.setWinnerUserName(winner);
+        game.setPlayers(List.of(player(hostId, "host", 1), player(guestId, "guest", 3)));
+        return game;
+    }
+
+    private static GameCompletedPayload.PlayerResult player(UUID userId, String gameName, int score) {
+        GameCompletedPayload.PlayerResult player = new GameCompletedPayload.PlayerResult();
+        player.setUserId(userId);
+        player.setGameName(gameName);
+        player.setScore(score);
+        return player;
+    }
+
+    private static UserStats row(UUID userId, long wins) {
+        UserStats stats = new UserStats();
+        stats.setUserId(userId);
+        stats.setWins(wins);
+        stats.setGamesPlayed(wins);
+        return stats;
+    }
+}